@@ -0,0 +1,67 @@
+package dev.harrel.jsonschema.benchmarks;
+
+import dev.harrel.jsonschema.JsonNode;
+import dev.harrel.jsonschema.JsonNodeFactory;
+import dev.harrel.jsonschema.SpecificationVersion;
+import dev.harrel.jsonschema.Validator;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.net.URI;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link Validator#validate(URI, JsonNode)} throughput for a keyword group.
+ * Groups mirror the split between {@code Applicators.java} (keywords applying subschemas)
+ * and {@code Evaluators.java} (assertions on the instance itself).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class KeywordBenchmark {
+    public enum KeywordGroup {
+        APPLICATORS(Set.of("prefixItems", "items", "additionalItems", "contains", "additionalProperties", "properties",
+                "patternProperties", "dependentSchemas", "propertyNames", "if-then-else", "allOf", "anyOf", "oneOf", "not",
+                "unevaluatedItems", "unevaluatedProperties", "ref", "dynamicRef", "recursiveRef")),
+        EVALUATORS(Set.of("type", "const", "enum", "multipleOf", "maximum", "exclusiveMaximum", "minimum", "exclusiveMinimum",
+                "maxLength", "minLength", "pattern", "maxItems", "minItems", "uniqueItems", "maxContains", "minContains",
+                "maxProperties", "minProperties", "required", "dependentRequired", "dependencies"));
+
+        private final Set<String> keywords;
+
+        KeywordGroup(Set<String> keywords) {
+            this.keywords = keywords;
+        }
+    }
+
+    @Param
+    public KeywordGroup group;
+    @Param({"DRAFT2020_12", "DRAFT7"})
+    public SpecificationVersion version;
+    @Param("jackson")
+    public String provider;
+
+    private SuiteData data;
+    private Validator validator;
+    private List<URI> uris;
+
+    @Setup
+    public void setup() {
+        JsonNodeFactory factory = Providers.createFactory(provider);
+        data = SuiteData.load(factory, version, group.keywords::contains);
+        validator = SuiteData.createValidatorFactory(factory, version).createValidator();
+        uris = data.registerAll(validator);
+    }
+
+    @Benchmark
+    public void validate(Blackhole bh) {
+        for (int i = 0; i < uris.size(); i++) {
+            URI uri = uris.get(i);
+            for (JsonNode instance : data.bundles.get(i).instances()) {
+                bh.consume(validator.validate(uri, instance));
+            }
+        }
+    }
+}
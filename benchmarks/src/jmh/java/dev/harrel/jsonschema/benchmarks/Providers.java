@@ -0,0 +1,25 @@
+package dev.harrel.jsonschema.benchmarks;
+
+import dev.harrel.jsonschema.JsonNodeFactory;
+import dev.harrel.jsonschema.providers.*;
+
+/**
+ * Maps provider ids (as declared in {@code jsonProviders} of {@code lib/build.gradle}) to their factories.
+ */
+final class Providers {
+    private Providers() {}
+
+    static JsonNodeFactory createFactory(String providerId) {
+        return switch (providerId) {
+            case "jackson" -> new JacksonNode.Factory();
+            case "gson" -> new GsonNode.Factory();
+            case "orgJson" -> new OrgJsonNode.Factory();
+            case "kotlinxJson" -> new KotlinxJsonNode.Factory();
+            case "jakartaJson" -> new JakartaJsonNode.Factory();
+            case "jettison" -> new JettisonNode.Factory();
+            case "jsonSmart" -> new JsonSmartNode.Factory();
+            case "snakeYaml" -> new SnakeYamlNode.Factory();
+            default -> throw new IllegalArgumentException("Unknown provider [%s]".formatted(providerId));
+        };
+    }
+}
@@ -0,0 +1,40 @@
+package dev.harrel.jsonschema.benchmarks;
+
+import dev.harrel.jsonschema.JsonNodeFactory;
+import dev.harrel.jsonschema.SpecificationVersion;
+import dev.harrel.jsonschema.Validator;
+import dev.harrel.jsonschema.ValidatorFactory;
+import org.openjdk.jmh.annotations.*;
+
+import java.net.URI;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link Validator#registerSchema} throughput. A single operation creates a fresh {@link Validator}
+ * and registers every schema of the specification suite of a draft (including meta-schema resolution and validation).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class RegisterSchemaBenchmark {
+    @Param
+    public SpecificationVersion version;
+    @Param("jackson")
+    public String provider;
+
+    private SuiteData data;
+    private ValidatorFactory validatorFactory;
+
+    @Setup
+    public void setup() {
+        JsonNodeFactory factory = Providers.createFactory(provider);
+        data = SuiteData.load(factory, version);
+        validatorFactory = SuiteData.createValidatorFactory(factory, version);
+    }
+
+    @Benchmark
+    public List<URI> registerSchemas() {
+        return data.registerAll(validatorFactory.createValidator());
+    }
+}
@@ -0,0 +1,104 @@
+package dev.harrel.jsonschema.benchmarks;
+
+import dev.harrel.jsonschema.*;
+import dev.harrel.jsonschema.util.RemoteSchemaResolver;
+
+import java.net.URI;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+
+import static dev.harrel.jsonschema.util.TestUtil.readResource;
+
+/**
+ * Loads schemas and instances from the JSON-Schema-Test-Suite resources shipped with test fixtures.
+ */
+final class SuiteData {
+    private static final String SUITE_PATH = "/suite/tests";
+
+    final List<Bundle> bundles;
+
+    private SuiteData(List<Bundle> bundles) {
+        this.bundles = bundles;
+    }
+
+    static SuiteData load(JsonNodeFactory factory, SpecificationVersion version) {
+        return load(factory, version, fileName -> true);
+    }
+
+    static SuiteData load(JsonNodeFactory factory, SpecificationVersion version, Predicate<String> keywordFilter) {
+        String draftPath = SUITE_PATH + "/" + getSuiteDirectory(version);
+        List<Bundle> bundles = new ArrayList<>();
+        for (Path path : listFiles(draftPath)) {
+            String fileName = path.getFileName().toString();
+            if (keywordFilter.test(fileName.substring(0, fileName.lastIndexOf('.')))) {
+                readBundles(factory, path.toString(), bundles);
+            }
+        }
+        if (bundles.isEmpty()) {
+            throw new IllegalStateException("No test bundles found in [%s]".formatted(draftPath));
+        }
+        return new SuiteData(bundles);
+    }
+
+    static ValidatorFactory createValidatorFactory(JsonNodeFactory factory, SpecificationVersion version) {
+        return new ValidatorFactory()
+                .withDefaultDialect(getDialect(version))
+                .withJsonNodeFactory(factory)
+                .withSchemaResolver(new RemoteSchemaResolver());
+    }
+
+    List<URI> registerAll(Validator validator) {
+        List<URI> uris = new ArrayList<>(bundles.size());
+        for (Bundle bundle : bundles) {
+            uris.add(validator.registerSchema(bundle.schema));
+        }
+        return uris;
+    }
+
+    static Dialect getDialect(SpecificationVersion version) {
+        return switch (version) {
+            case DRAFT2020_12 -> new Dialects.Draft2020Dialect();
+            case DRAFT2019_09 -> new Dialects.Draft2019Dialect();
+            case DRAFT7 -> new Dialects.Draft7Dialect();
+            case DRAFT6 -> new Dialects.Draft6Dialect();
+            case DRAFT4 -> new Dialects.Draft4Dialect();
+        };
+    }
+
+    private static String getSuiteDirectory(SpecificationVersion version) {
+        return switch (version) {
+            case DRAFT2020_12 -> "draft2020-12";
+            case DRAFT2019_09 -> "draft2019-09";
+            case DRAFT7 -> "draft7";
+            case DRAFT6 -> "draft6";
+            case DRAFT4 -> "draft4";
+        };
+    }
+
+    /* Only top-level files, "optional" directory is skipped on purpose */
+    private static List<Path> listFiles(String directory) {
+        return Arrays.stream(readResource("/files.index").split(System.lineSeparator()))
+                .map(Path::of)
+                .filter(path -> path.getParent() != null && directory.equals(path.getParent().toString()))
+                .filter(path -> path.getFileName().toString().endsWith(".json"))
+                .sorted()
+                .toList();
+    }
+
+    private static void readBundles(JsonNodeFactory factory, String resource, List<Bundle> bundles) {
+        JsonNode root = factory.create(readResource(resource));
+        for (JsonNode bundleNode : root.asArray()) {
+            Map<String, JsonNode> bundle = bundleNode.asObject();
+            List<JsonNode> instances = bundle.get("tests").asArray().stream()
+                    .map(testCase -> factory.wrap(testCase.asObject().get("data")))
+                    .toList();
+            bundles.add(new Bundle(factory.wrap(bundle.get("schema")), instances));
+        }
+    }
+
+    record Bundle(JsonNode schema, List<JsonNode> instances) {}
+}
@@ -0,0 +1,48 @@
+package dev.harrel.jsonschema.benchmarks;
+
+import dev.harrel.jsonschema.JsonNode;
+import dev.harrel.jsonschema.JsonNodeFactory;
+import dev.harrel.jsonschema.SpecificationVersion;
+import dev.harrel.jsonschema.Validator;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.net.URI;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link Validator#validate(URI, JsonNode)} throughput over the whole specification suite of a draft.
+ * A single operation validates every instance of the suite against its (already registered) schema.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class ValidatorBenchmark {
+    @Param
+    public SpecificationVersion version;
+    @Param("jackson")
+    public String provider;
+
+    private SuiteData data;
+    private Validator validator;
+    private List<URI> uris;
+
+    @Setup
+    public void setup() {
+        JsonNodeFactory factory = Providers.createFactory(provider);
+        data = SuiteData.load(factory, version);
+        validator = SuiteData.createValidatorFactory(factory, version).createValidator();
+        uris = data.registerAll(validator);
+    }
+
+    @Benchmark
+    public void validate(Blackhole bh) {
+        for (int i = 0; i < uris.size(); i++) {
+            URI uri = uris.get(i);
+            for (JsonNode instance : data.bundles.get(i).instances()) {
+                bh.consume(validator.validate(uri, instance));
+            }
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package dev.harrel.jsonschema.benchmarks;
+
+import dev.harrel.jsonschema.JsonNode;
+import dev.harrel.jsonschema.JsonNodeFactory;
+import dev.harrel.jsonschema.SpecificationVersion;
+import dev.harrel.jsonschema.ValidatorFactory;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures ad-hoc {@link ValidatorFactory#validate(JsonNode, JsonNode)} throughput, which parses the schema on each call.
+ * A single operation validates every instance of the specification suite of a draft.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class ValidatorFactoryBenchmark {
+    @Param
+    public SpecificationVersion version;
+    @Param("jackson")
+    public String provider;
+
+    private SuiteData data;
+    private ValidatorFactory validatorFactory;
+
+    @Setup
+    public void setup() {
+        JsonNodeFactory factory = Providers.createFactory(provider);
+        data = SuiteData.load(factory, version);
+        validatorFactory = SuiteData.createValidatorFactory(factory, version);
+    }
+
+    @Benchmark
+    public void validate(Blackhole bh) {
+        for (SuiteData.Bundle bundle : data.bundles) {
+            for (JsonNode instance : bundle.instances()) {
+                bh.consume(validatorFactory.validate(bundle.schema(), instance));
+            }
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package dev.harrel.jsonschema.compiler;
+
+import dev.harrel.jsonschema.JsonNode;
+
+import java.net.URI;
+import java.util.Objects;
+
+/**
+ * {@code CompiledSchema} class represents a schema compiled by {@link SchemaCompiler}.
+ * It is immutable and thread-safe, and it does not reflect changes made to the {@link dev.harrel.jsonschema.Validator}
+ * after compilation (e.g. registering a schema that was missing at that time) - in such case the schema needs to be compiled again.
+ * It only checks if an instance is valid, so when validation fails,
+ * {@link dev.harrel.jsonschema.Validator#validate(URI, JsonNode)} can be used to get errors and annotations.
+ *
+ * @see SchemaCompiler#compile(dev.harrel.jsonschema.Validator, URI)
+ */
+public final class CompiledSchema {
+    private final URI schemaLocation;
+    private final CompiledValidation validation;
+    private final int compiledSchemasCount;
+    private final int interpretedSchemasCount;
+
+    CompiledSchema(URI schemaLocation, CompiledValidation validation, int compiledSchemasCount, int interpretedSchemasCount) {
+        this.schemaLocation = schemaLocation;
+        this.validation = validation;
+        this.compiledSchemasCount = compiledSchemasCount;
+        this.interpretedSchemasCount = interpretedSchemasCount;
+    }
+
+    /**
+     * Checks if instance is valid against the compiled schema.
+     * The outcome is the same as of {@link dev.harrel.jsonschema.Validator#isValid(URI, JsonNode)}.
+     *
+     * @param instanceNode instance node, which can be created with {@link dev.harrel.jsonschema.JsonNodeFactory#wrap(Object)}
+     * @return if validation was successful
+     */
+    public boolean isValid(JsonNode instanceNode) {
+        return validation.isValid(Objects.requireNonNull(instanceNode));
+    }
+
+    /**
+     * Getter for absolute location of the compiled schema.
+     *
+     * @return schema location
+     */
+    public URI getSchemaLocation() {
+        return schemaLocation;
+    }
+
+    /**
+     * Returns number of schemas (the root schema and its subschemas) that were compiled into generated code.
+     *
+     * @return number of compiled schemas
+     */
+    public int getCompiledSchemasCount() {
+        return compiledSchemasCount;
+    }
+
+    /**
+     * Returns number of schemas that could not be compiled, so they are evaluated by the {@link dev.harrel.jsonschema.Validator}.
+     * Their subschemas are not counted.
+     *
+     * @return number of interpreted schemas
+     */
+    public int getInterpretedSchemasCount() {
+        return interpretedSchemasCount;
+    }
+
+    @Override
+    public String toString() {
+        return "CompiledSchema{" +
+                "schemaLocation=" + schemaLocation +
+                ", compiledSchemasCount=" + compiledSchemasCount +
+                ", interpretedSchemasCount=" + interpretedSchemasCount +
+                '}';
+    }
+}
@@ -0,0 +1,8 @@
+package dev.harrel.jsonschema.compiler;
+
+import dev.harrel.jsonschema.JsonNode;
+
+/* Implemented by generated classes, or by the interpreter when schema cannot be compiled */
+interface CompiledValidation {
+    boolean isValid(JsonNode instanceNode);
+}
@@ -0,0 +1,849 @@
+package dev.harrel.jsonschema.compiler;
+
+import dev.harrel.jsonschema.Evaluator;
+import dev.harrel.jsonschema.JsonNode;
+import dev.harrel.jsonschema.SchemaView;
+import dev.harrel.jsonschema.SimpleType;
+import org.objectweb.asm.ClassTooLargeException;
+import org.objectweb.asm.ClassWriter;
+import org.objectweb.asm.Label;
+import org.objectweb.asm.MethodTooLargeException;
+import org.objectweb.asm.MethodVisitor;
+import org.objectweb.asm.Type;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.*;
+
+import static dev.harrel.jsonschema.Keyword.*;
+import static org.objectweb.asm.Opcodes.*;
+
+/**
+ * Generates hidden class implementing {@link CompiledValidation}, with one method per schema:
+ * {@code private static boolean s<index>(JsonNode)}. Schemas are discovered during generation,
+ * starting from the root schema (with index 0). Objects needed by generated code (e.g. built-in evaluators
+ * or views of interpreted schemas) are passed as class data and stored in static final fields.
+ */
+final class SchemaClassGenerator {
+    private static final String CLASS_NAME = "dev/harrel/jsonschema/compiler/GeneratedValidation";
+    private static final String OBJECT = Type.getInternalName(Object.class);
+    private static final String STRING = Type.getInternalName(String.class);
+    private static final String LIST = Type.getInternalName(List.class);
+    private static final String MAP = Type.getInternalName(Map.class);
+    private static final String MAP_ENTRY = Type.getInternalName(Map.Entry.class);
+    private static final String SET = Type.getInternalName(Set.class);
+    private static final String ITERATOR = Type.getInternalName(Iterator.class);
+    private static final String JSON_NODE = Type.getInternalName(JsonNode.class);
+    private static final String SIMPLE_TYPE = Type.getInternalName(SimpleType.class);
+    private static final String EVALUATOR = Type.getInternalName(Evaluator.class);
+    private static final String SCHEMA_VIEW = Type.getInternalName(SchemaView.class);
+    private static final String PROPERTY_NAME_NODE = Type.getInternalName(PropertyNameNode.class);
+    private static final String SCHEMA_METHOD_DESCRIPTOR = "(L" + JSON_NODE + ";)Z";
+
+    /* Keywords that only validate the instance itself, their built-in evaluators do not use evaluation context */
+    private static final Set<String> EVALUATED_KEYWORDS = Set.of(CONST, ENUM, MULTIPLE_OF, MAXIMUM, EXCLUSIVE_MAXIMUM,
+            MINIMUM, EXCLUSIVE_MINIMUM, PATTERN, UNIQUE_ITEMS, DEPENDENT_REQUIRED, "format");
+    private static final Set<String> INLINED_KEYWORDS = Set.of(TYPE, MAX_LENGTH, MIN_LENGTH, MAX_ITEMS, MIN_ITEMS,
+            MAX_PROPERTIES, MIN_PROPERTIES, REQUIRED);
+    private static final Set<String> APPLICATOR_KEYWORDS = Set.of(REF, PROPERTIES, ADDITIONAL_PROPERTIES, PROPERTY_NAMES,
+            DEPENDENT_SCHEMAS, DEPENDENCIES, PREFIX_ITEMS, ITEMS, ADDITIONAL_ITEMS, CONTAINS, ALL_OF, ANY_OF, ONE_OF, NOT, IF);
+    private static final Set<String> STRING_KEYWORDS = Set.of(MAX_LENGTH, MIN_LENGTH);
+    private static final Set<String> ARRAY_KEYWORDS = Set.of(MAX_ITEMS, MIN_ITEMS, PREFIX_ITEMS, ITEMS, ADDITIONAL_ITEMS, CONTAINS);
+    private static final Set<String> OBJECT_KEYWORDS = Set.of(MAX_PROPERTIES, MIN_PROPERTIES, REQUIRED, PROPERTIES,
+            ADDITIONAL_PROPERTIES, PROPERTY_NAMES, DEPENDENT_SCHEMAS, DEPENDENCIES);
+    /* Schemas with more inlined entries (e.g. properties) are interpreted, so that generated methods stay small enough for JIT compilation */
+    private static final int MAX_INLINED_ENTRIES = 400;
+
+    /* Local variable slots of schema methods */
+    private static final int NODE_VAR = 0;
+    private static final int TYPE_VAR = 1;
+    private static final int STRING_VAR = 2;
+    private static final int LENGTH_VAR = 3;
+    private static final int ARRAY_VAR = 4;
+    private static final int SIZE_VAR = 5;
+    private static final int INDEX_VAR = 6;
+    private static final int OBJECT_VAR = 7;
+    private static final int VALUE_VAR = 8;
+    private static final int ITERATOR_VAR = 9;
+    private static final int ENTRY_VAR = 10;
+    private static final int KEY_VAR = 11;
+    private static final int COUNT_VAR = 12;
+
+    private final SchemaView root;
+    private final ClassWriter classWriter;
+    private final List<SchemaView> schemas = new ArrayList<>();
+    private final Map<SchemaView, Integer> schemaIndexes = new HashMap<>();
+    private final List<Object> constants = new ArrayList<>();
+    private final List<String> constantTypes = new ArrayList<>();
+    private final Map<Object, String> constantFields = new HashMap<>();
+    private int compiledSchemasCount;
+    private int interpretedSchemasCount;
+
+    SchemaClassGenerator(SchemaView root) {
+        this.root = root;
+        this.classWriter = new ClassWriter(ClassWriter.COMPUTE_FRAMES) {
+            /* Frames are only merged for unrelated types that are never used after the merge point */
+            @Override
+            protected String getCommonSuperClass(String type1, String type2) {
+                return OBJECT;
+            }
+        };
+    }
+
+    CompiledSchema generate() {
+        classWriter.visit(V17, ACC_FINAL | ACC_SUPER, CLASS_NAME, null, OBJECT,
+                new String[]{Type.getInternalName(CompiledValidation.class)});
+        getSchemaIndex(root);
+        /* List of schemas grows while methods are generated */
+        for (int i = 0; i < schemas.size(); i++) {
+            generateSchemaMethod(i, schemas.get(i));
+        }
+        generateConstructor();
+        generateIsValidMethod();
+        generateStaticInitializer();
+        classWriter.visitEnd();
+
+        byte[] bytes;
+        try {
+            bytes = classWriter.toByteArray();
+        } catch (ClassTooLargeException | MethodTooLargeException e) {
+            return new CompiledSchema(root.getSchemaLocation(), root::isValid, 0, 1);
+        }
+        return new CompiledSchema(root.getSchemaLocation(), defineClass(bytes), compiledSchemasCount, interpretedSchemasCount);
+    }
+
+    private CompiledValidation defineClass(byte[] bytes) {
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.lookup().defineHiddenClassWithClassData(bytes, constants.toArray(), true);
+            return (CompiledValidation) lookup.findConstructor(lookup.lookupClass(), MethodType.methodType(void.class)).invoke();
+        } catch (Throwable e) {
+            throw new IllegalStateException("Generated class could not be instantiated", e);
+        }
+    }
+
+    private void generateConstructor() {
+        MethodVisitor mv = classWriter.visitMethod(ACC_PUBLIC, "<init>", "()V", null, null);
+        mv.visitCode();
+        mv.visitVarInsn(ALOAD, 0);
+        mv.visitMethodInsn(INVOKESPECIAL, OBJECT, "<init>", "()V", false);
+        mv.visitInsn(RETURN);
+        mv.visitMaxs(0, 0);
+        mv.visitEnd();
+    }
+
+    private void generateIsValidMethod() {
+        MethodVisitor mv = classWriter.visitMethod(ACC_PUBLIC, "isValid", SCHEMA_METHOD_DESCRIPTOR, null, null);
+        mv.visitCode();
+        mv.visitVarInsn(ALOAD, 1);
+        mv.visitMethodInsn(INVOKESTATIC, CLASS_NAME, "s0", SCHEMA_METHOD_DESCRIPTOR, false);
+        mv.visitInsn(IRETURN);
+        mv.visitMaxs(0, 0);
+        mv.visitEnd();
+    }
+
+    private void generateStaticInitializer() {
+        if (constants.isEmpty()) {
+            return;
+        }
+        MethodVisitor mv = classWriter.visitMethod(ACC_STATIC, "<clinit>", "()V", null, null);
+        mv.visitCode();
+        mv.visitMethodInsn(INVOKESTATIC, "java/lang/invoke/MethodHandles", "lookup", "()Ljava/lang/invoke/MethodHandles$Lookup;", false);
+        mv.visitLdcInsn("_");
+        mv.visitLdcInsn(Type.getType(Object[].class));
+        mv.visitMethodInsn(INVOKESTATIC, "java/lang/invoke/MethodHandles", "classData",
+                "(Ljava/lang/invoke/MethodHandles$Lookup;Ljava/lang/String;Ljava/lang/Class;)Ljava/lang/Object;", false);
+        mv.visitTypeInsn(CHECKCAST, Type.getInternalName(Object[].class));
+        mv.visitVarInsn(ASTORE, 0);
+        for (int i = 0; i < constants.size(); i++) {
+            mv.visitVarInsn(ALOAD, 0);
+            pushInt(mv, i);
+            mv.visitInsn(AALOAD);
+            mv.visitTypeInsn(CHECKCAST, constantTypes.get(i));
+            mv.visitFieldInsn(PUTSTATIC, CLASS_NAME, "c" + i, "L" + constantTypes.get(i) + ";");
+        }
+        mv.visitInsn(RETURN);
+        mv.visitMaxs(0, 0);
+        mv.visitEnd();
+    }
+
+    private void generateSchemaMethod(int index, SchemaView schema) {
+        MethodVisitor mv = classWriter.visitMethod(ACC_PRIVATE | ACC_STATIC, "s" + index, SCHEMA_METHOD_DESCRIPTOR, null, null);
+        mv.visitCode();
+        if (schema.getSchemaNode().isBoolean()) {
+            mv.visitInsn(schema.getSchemaNode().asBoolean() ? ICONST_1 : ICONST_0);
+            mv.visitInsn(IRETURN);
+            compiledSchemasCount++;
+        } else if (isCompilable(schema)) {
+            new SchemaMethodGenerator(mv, schema).generate();
+            compiledSchemasCount++;
+        } else {
+            mv.visitFieldInsn(GETSTATIC, CLASS_NAME, getConstantField(schema, SCHEMA_VIEW), "L" + SCHEMA_VIEW + ";");
+            mv.visitVarInsn(ALOAD, NODE_VAR);
+            mv.visitMethodInsn(INVOKEVIRTUAL, SCHEMA_VIEW, "isValid", SCHEMA_METHOD_DESCRIPTOR, false);
+            mv.visitInsn(IRETURN);
+            interpretedSchemasCount++;
+        }
+        mv.visitMaxs(0, 0);
+        mv.visitEnd();
+    }
+
+    private int getSchemaIndex(SchemaView schema) {
+        Integer index = schemaIndexes.get(schema);
+        if (index == null) {
+            index = schemas.size();
+            schemas.add(schema);
+            schemaIndexes.put(schema, index);
+        }
+        return index;
+    }
+
+    private String getConstantField(Object value, String type) {
+        String field = constantFields.get(value);
+        if (field == null) {
+            field = "c" + constants.size();
+            constants.add(value);
+            constantTypes.add(type);
+            constantFields.put(value, field);
+            classWriter.visitField(ACC_PRIVATE | ACC_STATIC | ACC_FINAL, field, "L" + type + ";", null, null).visitEnd();
+        }
+        return field;
+    }
+
+    /*
+     * Schema is compiled only if all of its keywords are built-in and can be evaluated without evaluation context,
+     * which is not the case for custom keywords and keywords that depend on annotations or dynamic scope.
+     * Schema resources with dynamic anchors are interpreted as a whole, so when compiled code calls an interpreted schema,
+     * its dynamic scope can start there without changing the outcome.
+     */
+    private static boolean isCompilable(SchemaView schema) {
+        if (schema.hasDynamicAnchors()) {
+            return false;
+        }
+        Map<String, JsonNode> object = schema.getSchemaNode().asObject();
+        int inlinedEntries = 0;
+        for (String keyword : schema.getKeywords()) {
+            if (!schema.isBuiltIn(keyword)) {
+                return false;
+            }
+            if (schema.isAnnotation(keyword) || EVALUATED_KEYWORDS.contains(keyword)) {
+                continue;
+            }
+            JsonNode value = object.get(keyword);
+            if (INLINED_KEYWORDS.contains(keyword)) {
+                if (value.isArray() && !value.asArray().stream().allMatch(JsonNode::isString)) {
+                    return false;
+                }
+            } else if (!APPLICATOR_KEYWORDS.contains(keyword) || !isApplicable(schema, object, keyword)) {
+                return false;
+            }
+            inlinedEntries += value.isArray() ? value.asArray().size() : value.isObject() ? value.asObject().size() : 1;
+        }
+        return inlinedEntries <= MAX_INLINED_ENTRIES;
+    }
+
+    private static boolean isApplicable(SchemaView schema, Map<String, JsonNode> object, String keyword) {
+        JsonNode value = object.get(keyword);
+        switch (keyword) {
+            case REF:
+                return schema.getRefTarget() != null;
+            case PROPERTIES:
+            case DEPENDENT_SCHEMAS:
+                return areSubschemas(schema, value.asObject().values());
+            case DEPENDENCIES:
+                for (JsonNode dependency : value.asObject().values()) {
+                    if (dependency.isArray() ? !dependency.asArray().stream().allMatch(JsonNode::isString) : !isSubschema(schema, dependency)) {
+                        return false;
+                    }
+                }
+                return true;
+            case PREFIX_ITEMS:
+            case ALL_OF:
+            case ANY_OF:
+            case ONE_OF:
+                return areSubschemas(schema, value.asArray());
+            case ITEMS:
+                return value.isArray() ? areSubschemas(schema, value.asArray()) : isSubschema(schema, value);
+            /* Evaluators of these keywords read sibling keywords that are not supported */
+            case ADDITIONAL_PROPERTIES:
+                return !object.containsKey(PATTERN_PROPERTIES) && isSubschema(schema, value);
+            case CONTAINS:
+                return !object.containsKey(MIN_CONTAINS) && !object.containsKey(MAX_CONTAINS) && isSubschema(schema, value);
+            case IF:
+                return isSubschema(schema, value) &&
+                        (!object.containsKey(THEN) || isSubschema(schema, object.get(THEN))) &&
+                        (!object.containsKey(ELSE) || isSubschema(schema, object.get(ELSE)));
+            default:
+                return isSubschema(schema, value);
+        }
+    }
+
+    private static boolean areSubschemas(SchemaView schema, Collection<JsonNode> nodes) {
+        for (JsonNode node : nodes) {
+            if (!isSubschema(schema, node)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isSubschema(SchemaView schema, JsonNode node) {
+        return schema.getSubschema(node) != null;
+    }
+
+    /* If schema accepts every instance, so it does not need to be called */
+    private static boolean isAlwaysValid(SchemaView schema) {
+        JsonNode schemaNode = schema.getSchemaNode();
+        if (schemaNode.isBoolean()) {
+            return schemaNode.asBoolean();
+        }
+        for (String keyword : schema.getKeywords()) {
+            if (!schema.isBuiltIn(keyword) || !schema.isAnnotation(keyword)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /* If schema rejects every instance, so it does not need to be called */
+    private static boolean isAlwaysInvalid(SchemaView schema) {
+        JsonNode schemaNode = schema.getSchemaNode();
+        return schemaNode.isBoolean() && !schemaNode.asBoolean();
+    }
+
+    private static void pushInt(MethodVisitor mv, int value) {
+        if (value >= -1 && value <= 5) {
+            mv.visitInsn(ICONST_0 + value);
+        } else if (value >= Byte.MIN_VALUE && value <= Byte.MAX_VALUE) {
+            mv.visitIntInsn(BIPUSH, value);
+        } else if (value >= Short.MIN_VALUE && value <= Short.MAX_VALUE) {
+            mv.visitIntInsn(SIPUSH, value);
+        } else {
+            mv.visitLdcInsn(value);
+        }
+    }
+
+    private final class SchemaMethodGenerator {
+        private final MethodVisitor mv;
+        private final SchemaView schema;
+        private final Map<String, JsonNode> object;
+        private final Set<String> keywords = new HashSet<>();
+        private final Label fail = new Label();
+
+        SchemaMethodGenerator(MethodVisitor mv, SchemaView schema) {
+            this.mv = mv;
+            this.schema = schema;
+            this.object = schema.getSchemaNode().asObject();
+            for (String keyword : schema.getKeywords()) {
+                if (!schema.isAnnotation(keyword)) {
+                    keywords.add(keyword);
+                }
+            }
+        }
+
+        void generate() {
+            mv.visitVarInsn(ALOAD, NODE_VAR);
+            mv.visitMethodInsn(INVOKEINTERFACE, JSON_NODE, "getNodeType", "()L" + SIMPLE_TYPE + ";", true);
+            mv.visitVarInsn(ASTORE, TYPE_VAR);
+
+            if (keywords.contains(TYPE)) {
+                generateType(object.get(TYPE));
+            }
+            for (String keyword : schema.getKeywords()) {
+                if (EVALUATED_KEYWORDS.contains(keyword) && keywords.contains(keyword)) {
+                    generateEvaluatorCall(schema.getEvaluator(keyword));
+                }
+            }
+            if (!Collections.disjoint(keywords, STRING_KEYWORDS)) {
+                generateStringKeywords();
+            }
+            if (!Collections.disjoint(keywords, ARRAY_KEYWORDS)) {
+                generateArrayKeywords();
+            }
+            if (!Collections.disjoint(keywords, OBJECT_KEYWORDS)) {
+                generateObjectKeywords();
+            }
+            if (keywords.contains(REF)) {
+                generateAllOf(Collections.singletonList(schema.getRefTarget()));
+            }
+            if (keywords.contains(ALL_OF)) {
+                generateAllOf(getSubschemas(object.get(ALL_OF).asArray()));
+            }
+            if (keywords.contains(ANY_OF)) {
+                generateAnyOf(getSubschemas(object.get(ANY_OF).asArray()));
+            }
+            if (keywords.contains(ONE_OF)) {
+                generateOneOf(getSubschemas(object.get(ONE_OF).asArray()));
+            }
+            if (keywords.contains(NOT)) {
+                generateNot(getSubschema(object.get(NOT)));
+            }
+            if (keywords.contains(IF)) {
+                generateIfThenElse();
+            }
+
+            mv.visitInsn(ICONST_1);
+            mv.visitInsn(IRETURN);
+            mv.visitLabel(fail);
+            mv.visitInsn(ICONST_0);
+            mv.visitInsn(IRETURN);
+        }
+
+        private void generateType(JsonNode typeNode) {
+            Set<SimpleType> types = EnumSet.noneOf(SimpleType.class);
+            List<JsonNode> typeNames = typeNode.isArray() ? typeNode.asArray() : Collections.singletonList(typeNode);
+            for (JsonNode typeName : typeNames) {
+                SimpleType type = SimpleType.fromName(typeName.asString());
+                if (type != null) {
+                    types.add(type);
+                }
+            }
+            if (types.contains(SimpleType.NUMBER)) {
+                types.add(SimpleType.INTEGER);
+            }
+            if (types.size() == SimpleType.values().length) {
+                return;
+            }
+            Label valid = new Label();
+            for (SimpleType type : types) {
+                loadType(type);
+                mv.visitJumpInsn(IF_ACMPEQ, valid);
+            }
+            mv.visitJumpInsn(GOTO, fail);
+            mv.visitLabel(valid);
+        }
+
+        private void generateEvaluatorCall(Evaluator evaluator) {
+            mv.visitFieldInsn(GETSTATIC, CLASS_NAME, getConstantField(evaluator, EVALUATOR), "L" + EVALUATOR + ";");
+            mv.visitInsn(ACONST_NULL);
+            mv.visitVarInsn(ALOAD, NODE_VAR);
+            mv.visitMethodInsn(INVOKEINTERFACE, EVALUATOR, "evaluate",
+                    "(Ldev/harrel/jsonschema/EvaluationContext;L" + JSON_NODE + ";)Ldev/harrel/jsonschema/Evaluator$Result;", true);
+            mv.visitMethodInsn(INVOKEVIRTUAL, "dev/harrel/jsonschema/Evaluator$Result", "isValid", "()Z", false);
+            mv.visitJumpInsn(IFEQ, fail);
+        }
+
+        private void generateStringKeywords() {
+            Label end = new Label();
+            loadType(SimpleType.STRING);
+            mv.visitJumpInsn(IF_ACMPNE, end);
+            mv.visitVarInsn(ALOAD, NODE_VAR);
+            mv.visitMethodInsn(INVOKEINTERFACE, JSON_NODE, "asString", "()L" + STRING + ";", true);
+            mv.visitVarInsn(ASTORE, STRING_VAR);
+            mv.visitVarInsn(ALOAD, STRING_VAR);
+            mv.visitInsn(ICONST_0);
+            mv.visitVarInsn(ALOAD, STRING_VAR);
+            mv.visitMethodInsn(INVOKEVIRTUAL, STRING, "length", "()I", false);
+            mv.visitMethodInsn(INVOKEVIRTUAL, STRING, "codePointCount", "(II)I", false);
+            mv.visitVarInsn(ISTORE, LENGTH_VAR);
+            generateLimit(MAX_LENGTH, LENGTH_VAR, IF_ICMPGT);
+            generateLimit(MIN_LENGTH, LENGTH_VAR, IF_ICMPLT);
+            mv.visitLabel(end);
+        }
+
+        private void generateArrayKeywords() {
+            Label end = new Label();
+            loadType(SimpleType.ARRAY);
+            mv.visitJumpInsn(IF_ACMPNE, end);
+            mv.visitVarInsn(ALOAD, NODE_VAR);
+            mv.visitMethodInsn(INVOKEINTERFACE, JSON_NODE, "asArray", "()L" + LIST + ";", true);
+            mv.visitVarInsn(ASTORE, ARRAY_VAR);
+            mv.visitVarInsn(ALOAD, ARRAY_VAR);
+            mv.visitMethodInsn(INVOKEINTERFACE, LIST, "size", "()I", true);
+            mv.visitVarInsn(ISTORE, SIZE_VAR);
+            generateLimit(MAX_ITEMS, SIZE_VAR, IF_ICMPGT);
+            generateLimit(MIN_ITEMS, SIZE_VAR, IF_ICMPLT);
+
+            JsonNode itemsNode = keywords.contains(ITEMS) ? object.get(ITEMS) : null;
+            /* Only one of them can be evaluated: prefixItems (since 2020-12) or items in array form (before 2020-12) */
+            List<JsonNode> tupleNodes = null;
+            if (keywords.contains(PREFIX_ITEMS)) {
+                tupleNodes = object.get(PREFIX_ITEMS).asArray();
+            } else if (itemsNode != null && itemsNode.isArray()) {
+                tupleNodes = itemsNode.asArray();
+            }
+            if (tupleNodes != null) {
+                generateTupleItems(getSubschemas(tupleNodes));
+            }
+            if (itemsNode != null && !itemsNode.isArray()) {
+                generateEachItem(getSubschema(itemsNode), tupleNodes == null ? 0 : tupleNodes.size());
+            }
+            /* additionalItems only applies after items in array form */
+            if (keywords.contains(ADDITIONAL_ITEMS) && itemsNode != null && itemsNode.isArray()) {
+                generateEachItem(getSubschema(object.get(ADDITIONAL_ITEMS)), itemsNode.asArray().size());
+            }
+            if (keywords.contains(CONTAINS)) {
+                generateContains(getSubschema(object.get(CONTAINS)));
+            }
+            mv.visitLabel(end);
+        }
+
+        private void generateTupleItems(List<SchemaView> itemSchemas) {
+            Label end = new Label();
+            for (int i = 0; i < itemSchemas.size(); i++) {
+                SchemaView itemSchema = itemSchemas.get(i);
+                if (isAlwaysValid(itemSchema)) {
+                    continue;
+                }
+                mv.visitVarInsn(ILOAD, SIZE_VAR);
+                pushInt(mv, i);
+                mv.visitJumpInsn(IF_ICMPLE, end);
+                mv.visitVarInsn(ALOAD, ARRAY_VAR);
+                pushInt(mv, i);
+                mv.visitMethodInsn(INVOKEINTERFACE, LIST, "get", "(I)L" + OBJECT + ";", true);
+                mv.visitTypeInsn(CHECKCAST, JSON_NODE);
+                generateSchemaCall(itemSchema);
+                mv.visitJumpInsn(IFEQ, fail);
+            }
+            mv.visitLabel(end);
+        }
+
+        private void generateEachItem(SchemaView itemSchema, int startIndex) {
+            if (isAlwaysValid(itemSchema)) {
+                return;
+            }
+            if (isAlwaysInvalid(itemSchema)) {
+                mv.visitVarInsn(ILOAD, SIZE_VAR);
+                pushInt(mv, startIndex);
+                mv.visitJumpInsn(IF_ICMPGT, fail);
+                return;
+            }
+            Label loop = new Label();
+            Label end = new Label();
+            pushInt(mv, startIndex);
+            mv.visitVarInsn(ISTORE, INDEX_VAR);
+            mv.visitLabel(loop);
+            mv.visitVarInsn(ILOAD, INDEX_VAR);
+            mv.visitVarInsn(ILOAD, SIZE_VAR);
+            mv.visitJumpInsn(IF_ICMPGE, end);
+            mv.visitVarInsn(ALOAD, ARRAY_VAR);
+            mv.visitVarInsn(ILOAD, INDEX_VAR);
+            mv.visitMethodInsn(INVOKEINTERFACE, LIST, "get", "(I)L" + OBJECT + ";", true);
+            mv.visitTypeInsn(CHECKCAST, JSON_NODE);
+            generateSchemaCall(itemSchema);
+            mv.visitJumpInsn(IFEQ, fail);
+            mv.visitIincInsn(INDEX_VAR, 1);
+            mv.visitJumpInsn(GOTO, loop);
+            mv.visitLabel(end);
+        }
+
+        private void generateContains(SchemaView itemSchema) {
+            if (isAlwaysValid(itemSchema)) {
+                mv.visitVarInsn(ILOAD, SIZE_VAR);
+                mv.visitJumpInsn(IFEQ, fail);
+                return;
+            }
+            if (isAlwaysInvalid(itemSchema)) {
+                mv.visitJumpInsn(GOTO, fail);
+                return;
+            }
+            Label loop = new Label();
+            Label found = new Label();
+            pushInt(mv, 0);
+            mv.visitVarInsn(ISTORE, INDEX_VAR);
+            mv.visitLabel(loop);
+            mv.visitVarInsn(ILOAD, INDEX_VAR);
+            mv.visitVarInsn(ILOAD, SIZE_VAR);
+            mv.visitJumpInsn(IF_ICMPGE, fail);
+            mv.visitVarInsn(ALOAD, ARRAY_VAR);
+            mv.visitVarInsn(ILOAD, INDEX_VAR);
+            mv.visitMethodInsn(INVOKEINTERFACE, LIST, "get", "(I)L" + OBJECT + ";", true);
+            mv.visitTypeInsn(CHECKCAST, JSON_NODE);
+            generateSchemaCall(itemSchema);
+            mv.visitJumpInsn(IFNE, found);
+            mv.visitIincInsn(INDEX_VAR, 1);
+            mv.visitJumpInsn(GOTO, loop);
+            mv.visitLabel(found);
+        }
+
+        private void generateObjectKeywords() {
+            Label end = new Label();
+            loadType(SimpleType.OBJECT);
+            mv.visitJumpInsn(IF_ACMPNE, end);
+            mv.visitVarInsn(ALOAD, NODE_VAR);
+            mv.visitMethodInsn(INVOKEINTERFACE, JSON_NODE, "asObject", "()L" + MAP + ";", true);
+            mv.visitVarInsn(ASTORE, OBJECT_VAR);
+            if (keywords.contains(MAX_PROPERTIES) || keywords.contains(MIN_PROPERTIES)) {
+                mv.visitVarInsn(ALOAD, OBJECT_VAR);
+                mv.visitMethodInsn(INVOKEINTERFACE, MAP, "size", "()I", true);
+                mv.visitVarInsn(ISTORE, SIZE_VAR);
+                generateLimit(MAX_PROPERTIES, SIZE_VAR, IF_ICMPGT);
+                generateLimit(MIN_PROPERTIES, SIZE_VAR, IF_ICMPLT);
+            }
+            if (keywords.contains(REQUIRED)) {
+                generateRequired(object.get(REQUIRED).asArray());
+            }
+            if (keywords.contains(PROPERTIES)) {
+                generateProperties(object.get(PROPERTIES).asObject());
+            }
+            if (keywords.contains(ADDITIONAL_PROPERTIES)) {
+                JsonNode propertiesNode = object.get(PROPERTIES);
+                Set<String> propertyNames = propertiesNode != null && propertiesNode.isObject() ? propertiesNode.asObject().keySet() : Set.of();
+                generateAdditionalProperties(getSubschema(object.get(ADDITIONAL_PROPERTIES)), propertyNames);
+            }
+            if (keywords.contains(PROPERTY_NAMES)) {
+                generatePropertyNames(getSubschema(object.get(PROPERTY_NAMES)));
+            }
+            if (keywords.contains(DEPENDENT_SCHEMAS)) {
+                object.get(DEPENDENT_SCHEMAS).asObject().forEach((name, node) -> generateDependentSchema(name, getSubschema(node)));
+            }
+            if (keywords.contains(DEPENDENCIES)) {
+                object.get(DEPENDENCIES).asObject().forEach((name, node) -> {
+                    if (node.isArray()) {
+                        generateDependentRequired(name, node.asArray());
+                    } else {
+                        generateDependentSchema(name, getSubschema(node));
+                    }
+                });
+            }
+            mv.visitLabel(end);
+        }
+
+        private void generateRequired(List<JsonNode> requiredNodes) {
+            for (JsonNode requiredNode : requiredNodes) {
+                generateContainsKey(requiredNode.asString());
+                mv.visitJumpInsn(IFEQ, fail);
+            }
+        }
+
+        private void generateProperties(Map<String, JsonNode> properties) {
+            for (Map.Entry<String, JsonNode> entry : properties.entrySet()) {
+                SchemaView propertySchema = getSubschema(entry.getValue());
+                if (isAlwaysValid(propertySchema)) {
+                    continue;
+                }
+                if (isAlwaysInvalid(propertySchema)) {
+                    generateContainsKey(entry.getKey());
+                    mv.visitJumpInsn(IFNE, fail);
+                    continue;
+                }
+                Label next = new Label();
+                mv.visitVarInsn(ALOAD, OBJECT_VAR);
+                mv.visitLdcInsn(entry.getKey());
+                mv.visitMethodInsn(INVOKEINTERFACE, MAP, "get", "(L" + OBJECT + ";)L" + OBJECT + ";", true);
+                mv.visitVarInsn(ASTORE, VALUE_VAR);
+                mv.visitVarInsn(ALOAD, VALUE_VAR);
+                mv.visitJumpInsn(IFNULL, next);
+                mv.visitVarInsn(ALOAD, VALUE_VAR);
+                mv.visitTypeInsn(CHECKCAST, JSON_NODE);
+                generateSchemaCall(propertySchema);
+                mv.visitJumpInsn(IFEQ, fail);
+                mv.visitLabel(next);
+            }
+        }
+
+        private void generateAdditionalProperties(SchemaView additionalSchema, Set<String> propertyNames) {
+            if (isAlwaysValid(additionalSchema)) {
+                return;
+            }
+            String namesField = propertyNames.isEmpty() ? null : getConstantField(Set.copyOf(propertyNames), SET);
+            if (isAlwaysInvalid(additionalSchema)) {
+                if (namesField == null) {
+                    mv.visitVarInsn(ALOAD, OBJECT_VAR);
+                    mv.visitMethodInsn(INVOKEINTERFACE, MAP, "isEmpty", "()Z", true);
+                } else {
+                    mv.visitFieldInsn(GETSTATIC, CLASS_NAME, namesField, "L" + SET + ";");
+                    mv.visitVarInsn(ALOAD, OBJECT_VAR);
+                    mv.visitMethodInsn(INVOKEINTERFACE, MAP, "keySet", "()L" + SET + ";", true);
+                    mv.visitMethodInsn(INVOKEINTERFACE, SET, "containsAll", "(Ljava/util/Collection;)Z", true);
+                }
+                mv.visitJumpInsn(IFEQ, fail);
+                return;
+            }
+            Label loop = new Label();
+            Label end = new Label();
+            mv.visitVarInsn(ALOAD, OBJECT_VAR);
+            mv.visitMethodInsn(INVOKEINTERFACE, MAP, "entrySet", "()L" + SET + ";", true);
+            mv.visitMethodInsn(INVOKEINTERFACE, SET, "iterator", "()L" + ITERATOR + ";", true);
+            mv.visitVarInsn(ASTORE, ITERATOR_VAR);
+            mv.visitLabel(loop);
+            mv.visitVarInsn(ALOAD, ITERATOR_VAR);
+            mv.visitMethodInsn(INVOKEINTERFACE, ITERATOR, "hasNext", "()Z", true);
+            mv.visitJumpInsn(IFEQ, end);
+            mv.visitVarInsn(ALOAD, ITERATOR_VAR);
+            mv.visitMethodInsn(INVOKEINTERFACE, ITERATOR, "next", "()L" + OBJECT + ";", true);
+            mv.visitTypeInsn(CHECKCAST, MAP_ENTRY);
+            mv.visitVarInsn(ASTORE, ENTRY_VAR);
+            if (namesField != null) {
+                mv.visitFieldInsn(GETSTATIC, CLASS_NAME, namesField, "L" + SET + ";");
+                mv.visitVarInsn(ALOAD, ENTRY_VAR);
+                mv.visitMethodInsn(INVOKEINTERFACE, MAP_ENTRY, "getKey", "()L" + OBJECT + ";", true);
+                mv.visitMethodInsn(INVOKEINTERFACE, SET, "contains", "(L" + OBJECT + ";)Z", true);
+                mv.visitJumpInsn(IFNE, loop);
+            }
+            mv.visitVarInsn(ALOAD, ENTRY_VAR);
+            mv.visitMethodInsn(INVOKEINTERFACE, MAP_ENTRY, "getValue", "()L" + OBJECT + ";", true);
+            mv.visitTypeInsn(CHECKCAST, JSON_NODE);
+            generateSchemaCall(additionalSchema);
+            mv.visitJumpInsn(IFEQ, fail);
+            mv.visitJumpInsn(GOTO, loop);
+            mv.visitLabel(end);
+        }
+
+        private void generatePropertyNames(SchemaView namesSchema) {
+            if (isAlwaysValid(namesSchema)) {
+                return;
+            }
+            if (isAlwaysInvalid(namesSchema)) {
+                mv.visitVarInsn(ALOAD, OBJECT_VAR);
+                mv.visitMethodInsn(INVOKEINTERFACE, MAP, "isEmpty", "()Z", true);
+                mv.visitJumpInsn(IFEQ, fail);
+                return;
+            }
+            Label loop = new Label();
+            Label end = new Label();
+            mv.visitVarInsn(ALOAD, OBJECT_VAR);
+            mv.visitMethodInsn(INVOKEINTERFACE, MAP, "keySet", "()L" + SET + ";", true);
+            mv.visitMethodInsn(INVOKEINTERFACE, SET, "iterator", "()L" + ITERATOR + ";", true);
+            mv.visitVarInsn(ASTORE, ITERATOR_VAR);
+            mv.visitLabel(loop);
+            mv.visitVarInsn(ALOAD, ITERATOR_VAR);
+            mv.visitMethodInsn(INVOKEINTERFACE, ITERATOR, "hasNext", "()Z", true);
+            mv.visitJumpInsn(IFEQ, end);
+            mv.visitVarInsn(ALOAD, ITERATOR_VAR);
+            mv.visitMethodInsn(INVOKEINTERFACE, ITERATOR, "next", "()L" + OBJECT + ";", true);
+            mv.visitTypeInsn(CHECKCAST, STRING);
+            mv.visitVarInsn(ASTORE, KEY_VAR);
+            mv.visitTypeInsn(NEW, PROPERTY_NAME_NODE);
+            mv.visitInsn(DUP);
+            mv.visitVarInsn(ALOAD, KEY_VAR);
+            mv.visitVarInsn(ALOAD, NODE_VAR);
+            mv.visitMethodInsn(INVOKEINTERFACE, JSON_NODE, "getJsonPointer", "()L" + STRING + ";", true);
+            mv.visitMethodInsn(INVOKESPECIAL, PROPERTY_NAME_NODE, "<init>", "(L" + STRING + ";L" + STRING + ";)V", false);
+            generateSchemaCall(namesSchema);
+            mv.visitJumpInsn(IFEQ, fail);
+            mv.visitJumpInsn(GOTO, loop);
+            mv.visitLabel(end);
+        }
+
+        private void generateDependentSchema(String propertyName, SchemaView dependentSchema) {
+            if (isAlwaysValid(dependentSchema)) {
+                return;
+            }
+            Label next = new Label();
+            generateContainsKey(propertyName);
+            mv.visitJumpInsn(IFEQ, next);
+            mv.visitVarInsn(ALOAD, NODE_VAR);
+            generateSchemaCall(dependentSchema);
+            mv.visitJumpInsn(IFEQ, fail);
+            mv.visitLabel(next);
+        }
+
+        private void generateDependentRequired(String propertyName, List<JsonNode> requiredNodes) {
+            Label next = new Label();
+            generateContainsKey(propertyName);
+            mv.visitJumpInsn(IFEQ, next);
+            generateRequired(requiredNodes);
+            mv.visitLabel(next);
+        }
+
+        private void generateAllOf(List<SchemaView> subschemas) {
+            for (SchemaView subschema : subschemas) {
+                if (!isAlwaysValid(subschema)) {
+                    mv.visitVarInsn(ALOAD, NODE_VAR);
+                    generateSchemaCall(subschema);
+                    mv.visitJumpInsn(IFEQ, fail);
+                }
+            }
+        }
+
+        private void generateAnyOf(List<SchemaView> subschemas) {
+            if (subschemas.stream().anyMatch(SchemaClassGenerator::isAlwaysValid)) {
+                return;
+            }
+            Label valid = new Label();
+            for (SchemaView subschema : subschemas) {
+                mv.visitVarInsn(ALOAD, NODE_VAR);
+                generateSchemaCall(subschema);
+                mv.visitJumpInsn(IFNE, valid);
+            }
+            mv.visitJumpInsn(GOTO, fail);
+            mv.visitLabel(valid);
+        }
+
+        private void generateOneOf(List<SchemaView> subschemas) {
+            pushInt(mv, 0);
+            mv.visitVarInsn(ISTORE, COUNT_VAR);
+            for (SchemaView subschema : subschemas) {
+                Label next = new Label();
+                mv.visitVarInsn(ALOAD, NODE_VAR);
+                generateSchemaCall(subschema);
+                mv.visitJumpInsn(IFEQ, next);
+                mv.visitIincInsn(COUNT_VAR, 1);
+                mv.visitVarInsn(ILOAD, COUNT_VAR);
+                pushInt(mv, 1);
+                mv.visitJumpInsn(IF_ICMPGT, fail);
+                mv.visitLabel(next);
+            }
+            mv.visitVarInsn(ILOAD, COUNT_VAR);
+            mv.visitJumpInsn(IFEQ, fail);
+        }
+
+        private void generateNot(SchemaView subschema) {
+            if (isAlwaysInvalid(subschema)) {
+                return;
+            }
+            mv.visitVarInsn(ALOAD, NODE_VAR);
+            generateSchemaCall(subschema);
+            mv.visitJumpInsn(IFNE, fail);
+        }
+
+        private void generateIfThenElse() {
+            SchemaView thenSchema = object.containsKey(THEN) ? getSubschema(object.get(THEN)) : null;
+            SchemaView elseSchema = object.containsKey(ELSE) ? getSubschema(object.get(ELSE)) : null;
+            if (thenSchema == null && elseSchema == null) {
+                return;
+            }
+            Label otherwise = new Label();
+            Label end = new Label();
+            mv.visitVarInsn(ALOAD, NODE_VAR);
+            generateSchemaCall(getSubschema(object.get(IF)));
+            mv.visitJumpInsn(IFEQ, otherwise);
+            if (thenSchema != null) {
+                generateAllOf(Collections.singletonList(thenSchema));
+            }
+            mv.visitJumpInsn(GOTO, end);
+            mv.visitLabel(otherwise);
+            if (elseSchema != null) {
+                generateAllOf(Collections.singletonList(elseSchema));
+            }
+            mv.visitLabel(end);
+        }
+
+        /* Compares keyword value with the variable, and fails if the comparison is true */
+        private void generateLimit(String keyword, int variable, int failingComparison) {
+            if (keywords.contains(keyword)) {
+                mv.visitVarInsn(ILOAD, variable);
+                pushInt(mv, object.get(keyword).asInteger().intValueExact());
+                mv.visitJumpInsn(failingComparison, fail);
+            }
+        }
+
+        private void generateContainsKey(String key) {
+            mv.visitVarInsn(ALOAD, OBJECT_VAR);
+            mv.visitLdcInsn(key);
+            mv.visitMethodInsn(INVOKEINTERFACE, MAP, "containsKey", "(L" + OBJECT + ";)Z", true);
+        }
+
+        /* Expects instance node on the stack, replaces it with validation outcome */
+        private void generateSchemaCall(SchemaView subschema) {
+            mv.visitMethodInsn(INVOKESTATIC, CLASS_NAME, "s" + getSchemaIndex(subschema), SCHEMA_METHOD_DESCRIPTOR, false);
+        }
+
+        private void loadType(SimpleType type) {
+            mv.visitVarInsn(ALOAD, TYPE_VAR);
+            mv.visitFieldInsn(GETSTATIC, SIMPLE_TYPE, type.name(), "L" + SIMPLE_TYPE + ";");
+        }
+
+        private SchemaView getSubschema(JsonNode node) {
+            return schema.getSubschema(node);
+        }
+
+        private List<SchemaView> getSubschemas(List<JsonNode> nodes) {
+            List<SchemaView> subschemas = new ArrayList<>(nodes.size());
+            for (JsonNode node : nodes) {
+                subschemas.add(getSubschema(node));
+            }
+            return subschemas;
+        }
+    }
+}
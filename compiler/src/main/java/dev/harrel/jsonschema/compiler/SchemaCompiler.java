@@ -0,0 +1,37 @@
+package dev.harrel.jsonschema.compiler;
+
+import dev.harrel.jsonschema.SchemaNotFoundException;
+import dev.harrel.jsonschema.SchemaView;
+import dev.harrel.jsonschema.Validator;
+
+import java.net.URI;
+import java.util.Objects;
+
+/**
+ * {@code SchemaCompiler} class compiles schemas registered in {@link Validator} into generated hidden classes.
+ * Each schema reachable from the compiled one becomes a specialized method: keywords are inlined with their values
+ * embedded as constants, and subschemas (including <i>$ref</i> targets) are invoked directly.
+ * <p>
+ * Only keywords provided by the library itself can be compiled. Schemas containing custom keywords
+ * (from custom {@link dev.harrel.jsonschema.EvaluatorFactory} or {@link dev.harrel.jsonschema.Dialect} implementations)
+ * or keywords that depend on annotations or dynamic scope (e.g. <i>unevaluatedProperties</i>, <i>$dynamicRef</i>)
+ * are evaluated by the {@link Validator} instead, together with all their subschemas.
+ */
+public final class SchemaCompiler {
+    private SchemaCompiler() {}
+
+    /**
+     * Compiles registered schema.
+     *
+     * @param validator validator in which the schema is registered
+     * @param schemaUri URI of the schema
+     * @return compiled schema
+     * @throws SchemaNotFoundException if schema with provided URI is not registered
+     */
+    public static CompiledSchema compile(Validator validator, URI schemaUri) {
+        Objects.requireNonNull(validator);
+        Objects.requireNonNull(schemaUri);
+        SchemaView root = validator.getSchemaView(schemaUri);
+        return new SchemaClassGenerator(root).generate();
+    }
+}
@@ -0,0 +1,32 @@
+package dev.harrel.jsonschema.compiler;
+
+import dev.harrel.jsonschema.*;
+import dev.harrel.jsonschema.providers.JacksonNode;
+import dev.harrel.jsonschema.util.ProviderMapper;
+import dev.harrel.jsonschema.util.SuiteTestGenerator;
+
+import java.net.URI;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CompiledSpecificationSuiteTest extends SpecificationSuiteTest {
+    @Override
+    public JsonNodeFactory getJsonNodeFactory() {
+        return new JacksonNode.Factory();
+    }
+
+    @Override
+    protected SuiteTestGenerator createGenerator(Validator validator, Map<String, Map<String, Set<String>>> skippedTests) {
+        return new SuiteTestGenerator(new ProviderMapper(getJsonNodeFactory()), validator, skippedTests) {
+            @Override
+            protected void assertValidation(URI uri, JsonNode instance, boolean valid) {
+                /* interpreted validation comes first, so remote schemas are already resolved when compiling */
+                super.assertValidation(uri, instance, valid);
+                CompiledSchema compiled = SchemaCompiler.compile(validator, uri);
+                assertThat(compiled.isValid(instance)).isEqualTo(valid);
+            }
+        };
+    }
+}
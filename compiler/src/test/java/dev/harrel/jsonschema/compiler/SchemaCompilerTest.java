@@ -0,0 +1,245 @@
+package dev.harrel.jsonschema.compiler;
+
+import dev.harrel.jsonschema.*;
+import dev.harrel.jsonschema.providers.JacksonNode;
+import org.junit.jupiter.api.Test;
+
+import java.net.URI;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SchemaCompilerTest {
+    private final JsonNodeFactory nodeFactory = new JacksonNode.Factory();
+
+    @Test
+    void compilesAllSchemas() {
+        Validator validator = new ValidatorFactory().createValidator();
+        URI uri = validator.registerSchema("""
+                {
+                  "type": "object",
+                  "required": ["id", "items"],
+                  "additionalProperties": false,
+                  "properties": {
+                    "id": {"type": "string", "pattern": "^[A-Z]+-[0-9]+$", "maxLength": 10},
+                    "status": {"enum": ["new", "paid"]},
+                    "items": {
+                      "type": "array",
+                      "minItems": 1,
+                      "prefixItems": [{"const": "header"}],
+                      "items": {"$ref": "#/$defs/item"}
+                    },
+                    "tags": {"type": "array", "uniqueItems": true, "contains": {"const": "main"}}
+                  },
+                  "$defs": {
+                    "item": {
+                      "type": "object",
+                      "required": ["qty"],
+                      "properties": {
+                        "qty": {"type": "integer", "minimum": 1},
+                        "kind": {"oneOf": [{"const": "physical"}, {"const": "digital"}]}
+                      }
+                    }
+                  }
+                }""");
+
+        CompiledSchema compiled = SchemaCompiler.compile(validator, uri);
+        assertThat(compiled.getSchemaLocation()).isEqualTo(validator.getSchemaView(uri).getSchemaLocation());
+        assertThat(compiled.getCompiledSchemasCount()).isEqualTo(13);
+        assertThat(compiled.getInterpretedSchemasCount()).isZero();
+        assertThat(compiled.isValid(nodeFactory.create("[]"))).isFalse();
+        assertSameOutcome(validator, uri, compiled,
+                """
+                {"id": "AB-1", "items": ["header", {"qty": 1, "kind": "digital"}], "tags": ["main", "x"]}""",
+                """
+                {"id": "AB-1", "items": ["header"]}""",
+                """
+                {"id": "AB-1", "items": ["header", {"qty": 0}]}""",
+                """
+                {"id": "AB-1", "items": ["other", {"qty": 1}]}""",
+                """
+                {"id": "AB-1", "items": ["header", {"qty": 1, "kind": "other"}]}""",
+                """
+                {"id": "ab-1", "items": ["header"]}""",
+                """
+                {"id": "AB-1234567890", "items": ["header"]}""",
+                """
+                {"id": "AB-1", "items": []}""",
+                """
+                {"id": "AB-1", "items": ["header"], "tags": ["main", "main"]}""",
+                """
+                {"id": "AB-1", "items": ["header"], "tags": ["x"]}""",
+                """
+                {"id": "AB-1", "items": ["header"], "other": null}""",
+                """
+                {"items": ["header"]}""",
+                "[]");
+    }
+
+    @Test
+    void compilesRecursiveSchemas() {
+        Validator validator = new ValidatorFactory().createValidator();
+        URI uri = validator.registerSchema("""
+                {
+                  "type": "object",
+                  "properties": {
+                    "value": {"type": "number"},
+                    "children": {"type": "array", "items": {"$ref": "#"}}
+                  },
+                  "propertyNames": {"maxLength": 8},
+                  "dependentRequired": {"value": ["children"]}
+                }""");
+
+        CompiledSchema compiled = SchemaCompiler.compile(validator, uri);
+        assertThat(compiled.getInterpretedSchemasCount()).isZero();
+        assertSameOutcome(validator, uri, compiled,
+                """
+                {"value": 1, "children": [{"value": 2, "children": [{"children": []}]}]}""",
+                """
+                {"value": 1, "children": [{"value": "2", "children": []}]}""",
+                """
+                {"value": 1, "children": [{"value": 2}]}""",
+                """
+                {"children": [{"children": [{"tooLongName": 1}]}]}""");
+    }
+
+    @Test
+    void compilesLegacyKeywords() {
+        Validator validator = new ValidatorFactory().withDefaultDialect(new Dialects.Draft7Dialect()).createValidator();
+        URI uri = validator.registerSchema("""
+                {
+                  "type": "array",
+                  "items": [{"type": "string"}, {"type": "integer"}],
+                  "additionalItems": {"type": "boolean"},
+                  "definitions": {
+                    "object": {
+                      "dependencies": {"a": ["b"], "c": {"maxProperties": 2}},
+                      "if": {"required": ["a"]},
+                      "then": {"minProperties": 2},
+                      "else": {"not": {"required": ["b"]}}
+                    }
+                  },
+                  "contains": {"$ref": "#/definitions/object"}
+                }""");
+
+        CompiledSchema compiled = SchemaCompiler.compile(validator, uri);
+        assertThat(compiled.getInterpretedSchemasCount()).isZero();
+        assertSameOutcome(validator, uri, compiled,
+                """
+                ["a", 1, true, {"a": 1, "b": 2}]""",
+                """
+                ["a", 1, null, {"a": 1, "b": 2}]""",
+                """
+                ["a", "b", {"a": 1, "b": 2}]""",
+                """
+                ["a", 1, {"a": 1}]""",
+                """
+                ["a", 1, {"b": 1}]""",
+                """
+                ["a", 1, {"c": 1, "d": 2, "e": 3}]""",
+                """
+                ["a", 1, {"c": 1}]""",
+                "[]");
+    }
+
+    @Test
+    void interpretsSchemasWithCustomKeywords() {
+        Validator validator = new ValidatorFactory()
+                .withEvaluatorFactory(new EvaluatorFactory.Builder()
+                        .withKeyword("even", () -> (ctx, node) -> node.isInteger() && node.asInteger().testBit(0) ? Evaluator.Result.failure() : Evaluator.Result.success())
+                        .build())
+                .createValidator();
+        URI uri = validator.registerSchema("""
+                {
+                  "type": "array",
+                  "items": {"type": "integer", "even": true}
+                }""");
+
+        CompiledSchema compiled = SchemaCompiler.compile(validator, uri);
+        assertThat(compiled.getCompiledSchemasCount()).isEqualTo(1);
+        assertThat(compiled.getInterpretedSchemasCount()).isEqualTo(1);
+        assertSameOutcome(validator, uri, compiled, "[2, 4]", "[2, 3]", "[2, 4.5]");
+    }
+
+    @Test
+    void interpretsSchemasDependingOnAnnotations() {
+        Validator validator = new ValidatorFactory().createValidator();
+        URI uri = validator.registerSchema("""
+                {
+                  "type": "object",
+                  "properties": {
+                    "nested": {
+                      "properties": {"a": true},
+                      "patternProperties": {"^b": {"type": "string"}},
+                      "unevaluatedProperties": false
+                    }
+                  }
+                }""");
+
+        CompiledSchema compiled = SchemaCompiler.compile(validator, uri);
+        assertThat(compiled.getCompiledSchemasCount()).isEqualTo(1);
+        assertThat(compiled.getInterpretedSchemasCount()).isEqualTo(1);
+        assertSameOutcome(validator, uri, compiled,
+                """
+                {"nested": {"a": 1, "b1": "x"}}""",
+                """
+                {"nested": {"a": 1, "b1": 1}}""",
+                """
+                {"nested": {"a": 1, "c": 1}}""");
+    }
+
+    @Test
+    void interpretsSchemaResourcesWithDynamicAnchors() {
+        Validator validator = new ValidatorFactory().createValidator();
+        validator.registerSchema(URI.create("urn:tree"), """
+                {
+                  "$id": "urn:tree",
+                  "$dynamicAnchor": "node",
+                  "type": "object",
+                  "properties": {
+                    "children": {"type": "array", "items": {"$dynamicRef": "#node"}}
+                  }
+                }""");
+        URI uri = validator.registerSchema(URI.create("urn:wrapper"), """
+                {
+                  "type": "object",
+                  "properties": {
+                    "tree": {"$ref": "urn:strict-tree"}
+                  },
+                  "$defs": {
+                    "strictTree": {
+                      "$id": "urn:strict-tree",
+                      "$dynamicAnchor": "node",
+                      "$ref": "urn:tree",
+                      "unevaluatedProperties": false
+                    }
+                  }
+                }""");
+
+        CompiledSchema compiled = SchemaCompiler.compile(validator, uri);
+        assertThat(compiled.getCompiledSchemasCount()).isEqualTo(2);
+        assertThat(compiled.getInterpretedSchemasCount()).isEqualTo(1);
+        assertSameOutcome(validator, uri, compiled,
+                """
+                {"tree": {"children": [{"children": []}]}}""",
+                """
+                {"tree": {"children": [{"children": [], "other": 1}]}}""");
+    }
+
+    @Test
+    void failsForNonExistentSchema() {
+        Validator validator = new ValidatorFactory().createValidator();
+        URI uri = URI.create("urn:missing");
+        assertThatThrownBy(() -> SchemaCompiler.compile(validator, uri))
+                .isInstanceOf(SchemaNotFoundException.class);
+    }
+
+    private void assertSameOutcome(Validator validator, URI uri, CompiledSchema compiled, String... instances) {
+        for (String instance : instances) {
+            JsonNode node = nodeFactory.create(instance);
+            assertThat(compiled.isValid(node))
+                    .as(instance)
+                    .isEqualTo(validator.isValid(uri, node));
+        }
+    }
+}
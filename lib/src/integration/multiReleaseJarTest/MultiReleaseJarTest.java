@@ -0,0 +1,33 @@
+import dev.harrel.jsonschema.Evaluator;
+import dev.harrel.jsonschema.Validator;
+import dev.harrel.jsonschema.ValidatorFactory;
+import org.junit.jupiter.api.Test;
+
+import java.net.URI;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MultiReleaseJarTest {
+    @Test
+    void shouldLoadValidatorFromJar() {
+        URI location = URI.create(Validator.class.getProtectionDomain().getCodeSource().getLocation().toString());
+        assertThat(location.getPath()).endsWith(".jar");
+    }
+
+    @Test
+    void shouldValidateOnVirtualThreadsByDefault() throws Exception {
+        Evaluator virtualThreadEvaluator = (ctx, node) -> Thread.currentThread().isVirtual()
+                ? Evaluator.Result.success()
+                : Evaluator.Result.failure("Not a virtual thread");
+        Validator validator = new ValidatorFactory()
+                .withEvaluatorFactory((ctx, fieldName, fieldNode) -> "virtualThread".equals(fieldName) ? Optional.of(virtualThreadEvaluator) : Optional.empty())
+                .createValidator();
+        URI uri = validator.registerSchema("{\"virtualThread\": true}");
+
+        List<Validator.Result> results = validator.validateAll(uri, List.of("1", "2", "3"));
+        assertThat(results).allMatch(Validator.Result::isValid);
+        assertThat(validator.validateAsync(uri, "1").get().isValid()).isTrue();
+    }
+}
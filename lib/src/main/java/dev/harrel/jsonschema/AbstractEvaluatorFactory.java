@@ -7,6 +7,7 @@ import java.util.Set;
 import java.util.function.BiFunction;
 
 import static dev.harrel.jsonschema.Keyword.*;
+import static java.util.Collections.singleton;
 import static java.util.Collections.unmodifiableMap;
 import static java.util.Collections.unmodifiableSet;
 
@@ -40,11 +41,27 @@ abstract class AbstractEvaluatorFactory implements EvaluatorFactory {
 
         try {
             return Optional.ofNullable(evaluatorInfo.creator.apply(ctx, node));
+        } catch (RegexEngineException e) {
+            throw e;
         } catch (Exception e) {
             return Optional.empty();
         }
     }
 
+    /**
+     * Compiles a pattern of a keyword. Patterns rejected by the engine as invalid make the keyword ignored (like any other
+     * invalid keyword value), but any other failure of the engine is propagated, so it cannot silently disable the keyword.
+     */
+    static RegexEngine.Regex compileRegex(RegexEngine regexEngine, String pattern) {
+        try {
+            return regexEngine.compile(pattern);
+        } catch (IllegalArgumentException e) {
+            throw e;
+        } catch (RuntimeException e) {
+            throw new RegexEngineException(pattern, e);
+        }
+    }
+
     static Map<String, EvaluatorInfo> createDefaultEvaluatorsMap(VocabularyData data) {
         Map<String, EvaluatorInfo> map = new HashMap<>();
         map.put(REF, new EvaluatorInfo(data.coreVocab, RefEvaluator::new));
@@ -59,7 +76,7 @@ abstract class AbstractEvaluatorFactory implements EvaluatorFactory {
         map.put(EXCLUSIVE_MINIMUM, new EvaluatorInfo(data.validationVocab, (ctx, node) -> new ExclusiveMinimumEvaluator(node)));
         map.put(MAX_LENGTH, new EvaluatorInfo(data.validationVocab, (ctx, node) -> new MaxLengthEvaluator(node)));
         map.put(MIN_LENGTH, new EvaluatorInfo(data.validationVocab, (ctx, node) -> new MinLengthEvaluator(node)));
-        map.put(PATTERN, new EvaluatorInfo(data.validationVocab, (ctx, node) -> new PatternEvaluator(node)));
+        map.put(PATTERN, new EvaluatorInfo(data.validationVocab, PatternEvaluator::new));
         map.put(MAX_ITEMS, new EvaluatorInfo(data.validationVocab, (ctx, node) -> new MaxItemsEvaluator(node)));
         map.put(MIN_ITEMS, new EvaluatorInfo(data.validationVocab, (ctx, node) -> new MinItemsEvaluator(node)));
         map.put(UNIQUE_ITEMS, new EvaluatorInfo(data.validationVocab, (ctx, node) -> new UniqueItemsEvaluator(node)));
@@ -177,5 +194,18 @@ abstract class AbstractEvaluatorFactory implements EvaluatorFactory {
                 return Result.success();
             }
         }
+
+        @Override
+        public Set<SimpleType> getApplicableTypes() {
+            return singleton(SimpleType.STRING);
+        }
+    }
+
+    static final class RegexEngineException extends IllegalStateException {
+        private static final long serialVersionUID = 1L;
+
+        RegexEngineException(String pattern, RuntimeException cause) {
+            super(String.format("Regex engine failed to compile pattern [%s]", pattern), cause);
+        }
     }
 }
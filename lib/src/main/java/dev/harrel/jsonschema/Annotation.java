@@ -11,6 +11,11 @@ public class Annotation extends EvaluationItem {
         this.annotation = annotation;
     }
 
+    Annotation(String evaluationPath, String schemaLocation, JsonNode instanceNode, String keyword, Object annotation) {
+        super(evaluationPath, schemaLocation, instanceNode, keyword);
+        this.annotation = annotation;
+    }
+
     /**
      * Returns collected annotation.
      */
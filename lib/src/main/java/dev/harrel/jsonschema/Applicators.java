@@ -2,7 +2,6 @@ package dev.harrel.jsonschema;
 
 import java.math.BigInteger;
 import java.util.*;
-import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
 import static java.util.Collections.*;
@@ -19,6 +18,10 @@ class PrefixItemsEvaluator implements Evaluator {
                 .collect(Collectors.toList()));
     }
 
+    List<CompoundUri> getPrefixRefs() {
+        return prefixRefs;
+    }
+
     @Override
     public Result evaluate(EvaluationContext ctx, JsonNode node) {
         if (!node.isArray()) {
@@ -28,12 +31,24 @@ class PrefixItemsEvaluator implements Evaluator {
         List<JsonNode> elements = node.asArray();
         int size = Math.min(prefixRefs.size(), elements.size());
         boolean valid = true;
-        for (int i = 0; i < size; i++) {
-            valid = ctx.resolveInternalRefAndValidate(prefixRefs.get(i), elements.get(i)) && valid;
+        if (ctx.shouldValidateInParallel(size)) {
+            valid = ctx.resolveInternalRefsAndValidateInParallel(prefixRefs.subList(0, size), elements.subList(0, size));
+        } else {
+            for (int i = 0; i < size; i++) {
+                valid = ctx.resolveInternalRefAndValidate(prefixRefs.get(i), elements.get(i)) && valid;
+                if (!valid && ctx.isFlagMode()) {
+                    break;
+                }
+            }
         }
         Object annotation = size == elements.size() ? Boolean.TRUE : prefixRefs.size();
         return valid ? Result.success(annotation) : Result.annotatedFailure(annotation);
     }
+
+    @Override
+    public Set<SimpleType> getApplicableTypes() {
+        return singleton(SimpleType.ARRAY);
+    }
 }
 
 class ItemsEvaluator implements Evaluator {
@@ -46,6 +61,10 @@ class ItemsEvaluator implements Evaluator {
         this.schemaRef = ctx.getCompoundUri(node);
     }
 
+    CompoundUri getSchemaRef() {
+        return schemaRef;
+    }
+
     @Override
     public Result evaluate(EvaluationContext ctx, JsonNode node) {
         if (!node.isArray()) {
@@ -59,12 +78,24 @@ class ItemsEvaluator implements Evaluator {
 
         int prefixItemsSize = prefixItemsAnnotation instanceof Integer ? (Integer) prefixItemsAnnotation : 0;
         boolean valid = true;
-        for (int i = prefixItemsSize; i < array.size(); i++) {
-            valid = ctx.resolveInternalRefAndValidate(schemaRef, array.get(i)) && valid;
+        if (ctx.shouldValidateInParallel(array.size() - prefixItemsSize)) {
+            valid = ctx.resolveInternalRefsAndValidateInParallel(nCopies(array.size() - prefixItemsSize, schemaRef), array.subList(prefixItemsSize, array.size()));
+        } else {
+            for (int i = prefixItemsSize; i < array.size(); i++) {
+                valid = ctx.resolveInternalRefAndValidate(schemaRef, array.get(i)) && valid;
+                if (!valid && ctx.isFlagMode()) {
+                    break;
+                }
+            }
         }
         return valid ? Result.success(true) : Result.annotatedFailure(true);
     }
 
+    @Override
+    public Set<SimpleType> getApplicableTypes() {
+        return singleton(SimpleType.ARRAY);
+    }
+
     @Override
     public int getOrder() {
         return 10;
@@ -89,6 +120,14 @@ class ItemsLegacyEvaluator implements Evaluator {
         }
     }
 
+    CompoundUri getSchemaRef() {
+        return schemaRef;
+    }
+
+    List<CompoundUri> getSchemaRefs() {
+        return schemaRefs;
+    }
+
     @Override
     public Result evaluate(EvaluationContext ctx, JsonNode node) {
         if (!node.isArray()) {
@@ -97,20 +136,39 @@ class ItemsLegacyEvaluator implements Evaluator {
         List<JsonNode> array = node.asArray();
         if (schemaRef != null) {
             boolean valid = true;
-            for (JsonNode element : array) {
-                valid = ctx.resolveInternalRefAndValidate(schemaRef, element) && valid;
+            if (ctx.shouldValidateInParallel(array.size())) {
+                valid = ctx.resolveInternalRefsAndValidateInParallel(nCopies(array.size(), schemaRef), array);
+            } else {
+                for (JsonNode element : array) {
+                    valid = ctx.resolveInternalRefAndValidate(schemaRef, element) && valid;
+                    if (!valid && ctx.isFlagMode()) {
+                        break;
+                    }
+                }
             }
             return valid ? Result.success(true) : Result.annotatedFailure(true);
         } else {
             int size = Math.min(schemaRefs.size(), array.size());
             boolean valid = true;
-            for (int i = 0; i < size; i++) {
-                valid = ctx.resolveInternalRefAndValidate(schemaRefs.get(i), array.get(i)) && valid;
+            if (ctx.shouldValidateInParallel(size)) {
+                valid = ctx.resolveInternalRefsAndValidateInParallel(schemaRefs.subList(0, size), array.subList(0, size));
+            } else {
+                for (int i = 0; i < size; i++) {
+                    valid = ctx.resolveInternalRefAndValidate(schemaRefs.get(i), array.get(i)) && valid;
+                    if (!valid && ctx.isFlagMode()) {
+                        break;
+                    }
+                }
             }
             Object annotation = size == array.size() ? Boolean.TRUE : schemaRefs.size();
             return valid ? Result.success(annotation) : Result.annotatedFailure(annotation);
         }
     }
+
+    @Override
+    public Set<SimpleType> getApplicableTypes() {
+        return singleton(SimpleType.ARRAY);
+    }
 }
 
 class AdditionalItemsEvaluator implements Evaluator {
@@ -123,6 +181,10 @@ class AdditionalItemsEvaluator implements Evaluator {
         this.schemaRef = ctx.getCompoundUri(node);
     }
 
+    CompoundUri getSchemaRef() {
+        return schemaRef;
+    }
+
     @Override
     public Result evaluate(EvaluationContext ctx, JsonNode node) {
         if (!node.isArray()) {
@@ -134,13 +196,26 @@ class AdditionalItemsEvaluator implements Evaluator {
             return Result.success();
         }
 
+        int itemsSize = (Integer) itemsAnnotation;
         boolean valid = true;
-        for (int i = (Integer) itemsAnnotation; i < array.size(); i++) {
-            valid = ctx.resolveInternalRefAndValidate(schemaRef, array.get(i)) && valid;
+        if (ctx.shouldValidateInParallel(array.size() - itemsSize)) {
+            valid = ctx.resolveInternalRefsAndValidateInParallel(nCopies(array.size() - itemsSize, schemaRef), array.subList(itemsSize, array.size()));
+        } else {
+            for (int i = itemsSize; i < array.size(); i++) {
+                valid = ctx.resolveInternalRefAndValidate(schemaRef, array.get(i)) && valid;
+                if (!valid && ctx.isFlagMode()) {
+                    break;
+                }
+            }
         }
         return valid ? Result.success(true) : Result.annotatedFailure(true);
     }
 
+    @Override
+    public Set<SimpleType> getApplicableTypes() {
+        return singleton(SimpleType.ARRAY);
+    }
+
     @Override
     public int getOrder() {
         return 10;
@@ -150,6 +225,8 @@ class AdditionalItemsEvaluator implements Evaluator {
 class ContainsEvaluator implements Evaluator {
     private final CompoundUri schemaRef;
     private final boolean minContainsZero;
+    /* If sibling keywords need the exact number of matches */
+    private final boolean countsMatches;
 
     ContainsEvaluator(SchemaParsingContext ctx, JsonNode node) {
         if (!node.isObject() && !node.isBoolean()) {
@@ -161,6 +238,8 @@ class ContainsEvaluator implements Evaluator {
                 .map(BigInteger::intValueExact)
                 .map(min -> min == 0)
                 .orElse(false);
+        this.countsMatches = ctx.getCurrentSchemaObject().containsKey(Keyword.MIN_CONTAINS) ||
+                ctx.getCurrentSchemaObject().containsKey(Keyword.MAX_CONTAINS);
     }
 
     @Override
@@ -170,6 +249,16 @@ class ContainsEvaluator implements Evaluator {
         }
 
         List<JsonNode> array = node.asArray();
+        if (!countsMatches && !ctx.isCollectingAnnotations()) {
+            /* Nobody reads the matched indices, so the first match decides the outcome */
+            for (JsonNode item : array) {
+                if (ctx.resolveInternalRefAndValidate(schemaRef, item)) {
+                    return Result.success();
+                }
+            }
+            return minContainsZero ? Result.success() : Result.formattedFailure("contains");
+        }
+
         List<Integer> indices = new ArrayList<>();
         for (int i = 0; i < array.size(); i++) {
             if (ctx.resolveInternalRefAndValidate(schemaRef, array.get(i))) {
@@ -178,13 +267,19 @@ class ContainsEvaluator implements Evaluator {
         }
         return minContainsZero || !indices.isEmpty() ? Result.success(indices) : Result.formattedFailure("contains");
     }
+
+    @Override
+    public Set<SimpleType> getApplicableTypes() {
+        return singleton(SimpleType.ARRAY);
+    }
 }
 
 class AdditionalPropertiesEvaluator implements Evaluator {
     private final CompoundUri schemaRef;
     /* To reduce annotation usage when not needed */
     private final Set<String> propertyNames;
-    private final boolean hasPatternProperties;
+    /* Matcher of sibling patternProperties (compiled once for both), so its annotation does not need to be read */
+    private final MultiPatternMatcher patternMatcher;
 
     AdditionalPropertiesEvaluator(SchemaParsingContext ctx, JsonNode node) {
         if (!node.isObject() && !node.isBoolean()) {
@@ -198,41 +293,77 @@ class AdditionalPropertiesEvaluator implements Evaluator {
             tmpProps = propertiesNode.asObject().keySet();
         }
         this.propertyNames = unmodifiableSet(tmpProps);
-        this.hasPatternProperties = ctx.getCurrentSchemaObject().containsKey(Keyword.PATTERN_PROPERTIES);
+        this.patternMatcher = createPatternMatcher(ctx);
     }
 
     @Override
-    @SuppressWarnings("unchecked")
     public Result evaluate(EvaluationContext ctx, JsonNode node) {
         if (!node.isObject()) {
             return Result.success();
         }
 
-        Set<String> patternNames = emptySet();
-        if (hasPatternProperties) {
-            Object patternAnnotation = ctx.getSiblingAnnotation(Keyword.PATTERN_PROPERTIES);
-            if (patternAnnotation instanceof Set) {
-                patternNames = (Set<String>) patternAnnotation;
-            }
-        }
-
         Map<String, JsonNode> objectMap = node.asObject();
-        List<String> processed = new ArrayList<>(objectMap.size());
+        if (ctx.shouldValidateInParallel(objectMap.size())) {
+            return evaluateInParallel(ctx, objectMap);
+        }
+        List<String> processed = ctx.isCollectingAnnotations() ? new ArrayList<>(objectMap.size()) : null;
         boolean valid = true;
         for (Map.Entry<String, JsonNode> entry : objectMap.entrySet()) {
             String key = entry.getKey();
-            if (!propertyNames.contains(key) && !patternNames.contains(key)) {
-                processed.add(key);
+            if (!propertyNames.contains(key) && (patternMatcher == null || !patternMatcher.matchesAny(key))) {
+                if (processed != null) {
+                    processed.add(key);
+                }
                 valid = ctx.resolveInternalRefAndValidate(schemaRef, entry.getValue()) && valid;
+                if (!valid && ctx.isFlagMode()) {
+                    break;
+                }
             }
         }
+        if (processed == null) {
+            return valid ? Result.success() : Result.failure();
+        }
         return valid ? Result.success(unmodifiableList(processed)) : Result.annotatedFailure(unmodifiableList(processed));
     }
 
+    @Override
+    public Set<SimpleType> getApplicableTypes() {
+        return singleton(SimpleType.OBJECT);
+    }
+
     @Override
     public int getOrder() {
         return 10;
     }
+
+    private Result evaluateInParallel(EvaluationContext ctx, Map<String, JsonNode> objectMap) {
+        List<String> processed = new ArrayList<>();
+        List<JsonNode> nodes = new ArrayList<>();
+        for (Map.Entry<String, JsonNode> entry : objectMap.entrySet()) {
+            String key = entry.getKey();
+            if (!propertyNames.contains(key) && (patternMatcher == null || !patternMatcher.matchesAny(key))) {
+                processed.add(key);
+                nodes.add(entry.getValue());
+            }
+        }
+        boolean valid = ctx.resolveInternalRefsAndValidateInParallel(nCopies(nodes.size(), schemaRef), nodes);
+        if (!ctx.isCollectingAnnotations()) {
+            return valid ? Result.success() : Result.failure();
+        }
+        return valid ? Result.success(unmodifiableList(processed)) : Result.annotatedFailure(unmodifiableList(processed));
+    }
+
+    private static MultiPatternMatcher createPatternMatcher(SchemaParsingContext ctx) {
+        if (!ctx.getCurrentSchemaObject().containsKey(Keyword.PATTERN_PROPERTIES)) {
+            return null;
+        }
+        try {
+            return ctx.getPatternPropertiesMatcher();
+        } catch (IllegalArgumentException e) {
+            /* Invalid patternProperties will not be evaluated at all */
+            return null;
+        }
+    }
 }
 
 class PropertiesEvaluator implements Evaluator {
@@ -249,34 +380,81 @@ class PropertiesEvaluator implements Evaluator {
         this.schemaRefs = unmodifiableMap(uris);
     }
 
+    Map<String, CompoundUri> getSchemaRefs() {
+        return schemaRefs;
+    }
+
     @Override
     public Result evaluate(EvaluationContext ctx, JsonNode node) {
         if (!node.isObject()) {
             return Result.success();
         }
 
-        Set<String> processed = new HashSet<>();
+        Map<String, JsonNode> objectMap = node.asObject();
+        if (ctx.shouldValidateInParallel(objectMap.size())) {
+            return evaluateInParallel(ctx, objectMap);
+        }
+        /* Sibling additionalProperties reads property names at parse time, so only other schemas could need the annotation */
+        Set<String> processed = ctx.isCollectingAnnotations() ? new HashSet<>() : null;
         boolean valid = true;
-        for (Map.Entry<String, JsonNode> entry : node.asObject().entrySet()) {
+        for (Map.Entry<String, JsonNode> entry : objectMap.entrySet()) {
             CompoundUri ref = schemaRefs.get(entry.getKey());
             if (ref != null) {
-                processed.add(entry.getKey());
+                if (processed != null) {
+                    processed.add(entry.getKey());
+                }
                 valid = ctx.resolveInternalRefAndValidate(ref, entry.getValue()) && valid;
+                if (!valid && ctx.isFlagMode()) {
+                    break;
+                }
+            }
+        }
+        if (processed == null) {
+            return valid ? Result.success() : Result.failure();
+        }
+        return valid ? Result.success(unmodifiableSet(processed)) : Result.annotatedFailure(unmodifiableSet(processed));
+    }
+
+    @Override
+    public Set<SimpleType> getApplicableTypes() {
+        return singleton(SimpleType.OBJECT);
+    }
+
+    private Result evaluateInParallel(EvaluationContext ctx, Map<String, JsonNode> objectMap) {
+        Set<String> processed = new HashSet<>();
+        List<CompoundUri> refs = new ArrayList<>();
+        List<JsonNode> nodes = new ArrayList<>();
+        for (Map.Entry<String, JsonNode> entry : objectMap.entrySet()) {
+            CompoundUri ref = schemaRefs.get(entry.getKey());
+            if (ref != null) {
+                processed.add(entry.getKey());
+                refs.add(ref);
+                nodes.add(entry.getValue());
             }
         }
+        boolean valid = ctx.resolveInternalRefsAndValidateInParallel(refs, nodes);
+        if (!ctx.isCollectingAnnotations()) {
+            return valid ? Result.success() : Result.failure();
+        }
         return valid ? Result.success(unmodifiableSet(processed)) : Result.annotatedFailure(unmodifiableSet(processed));
     }
 }
 
 class PatternPropertiesEvaluator implements Evaluator {
-    private final Map<Pattern, CompoundUri> schemasByPatterns;
+    private final MultiPatternMatcher matcher;
+    private final List<CompoundUri> schemaRefs;
 
     PatternPropertiesEvaluator(SchemaParsingContext ctx, JsonNode node) {
         if (!node.isObject()) {
             throw new IllegalArgumentException();
         }
-        this.schemasByPatterns = node.asObject().entrySet().stream()
-                .collect(Collectors.toMap(e -> Pattern.compile(e.getKey()), e -> ctx.getCompoundUri(e.getValue())));
+        List<CompoundUri> refs = new ArrayList<>();
+        for (JsonNode schemaNode : node.asObject().values()) {
+            refs.add(ctx.getCompoundUri(schemaNode));
+        }
+        /* Patterns are in the same order as subschemas, as both come from the same node */
+        this.matcher = ctx.getPatternPropertiesMatcher();
+        this.schemaRefs = unmodifiableList(refs);
     }
 
     @Override
@@ -286,17 +464,32 @@ class PatternPropertiesEvaluator implements Evaluator {
         }
 
         boolean valid = true;
-        Set<String> processed = new HashSet<>();
+        Set<String> processed = ctx.isCollectingAnnotations() ? new HashSet<>() : null;
         for (Map.Entry<String, JsonNode> entry : node.asObject().entrySet()) {
-            for (Map.Entry<Pattern, CompoundUri> patternEntry : schemasByPatterns.entrySet()) {
-                if (patternEntry.getKey().matcher(entry.getKey()).find()) {
-                    processed.add(entry.getKey());
-                    valid = ctx.resolveInternalRefAndValidate(patternEntry.getValue(), entry.getValue()) && valid;
-                }
+            BitSet matched = matcher.matches(entry.getKey());
+            if (matched == null) {
+                continue;
+            }
+            if (processed != null) {
+                processed.add(entry.getKey());
+            }
+            for (int i = matched.nextSetBit(0); i >= 0; i = matched.nextSetBit(i + 1)) {
+                valid = ctx.resolveInternalRefAndValidate(schemaRefs.get(i), entry.getValue()) && valid;
             }
+            if (!valid && ctx.isFlagMode()) {
+                break;
+            }
+        }
+        if (processed == null) {
+            return valid ? Result.success() : Result.failure();
         }
         return valid ? Result.success(unmodifiableSet(processed)) : Result.annotatedFailure(unmodifiableSet(processed));
     }
+
+    @Override
+    public Set<SimpleType> getApplicableTypes() {
+        return singleton(SimpleType.OBJECT);
+    }
 }
 
 class DependentSchemasEvaluator implements Evaluator {
@@ -324,6 +517,9 @@ class DependentSchemasEvaluator implements Evaluator {
             CompoundUri ref = dependentSchemas.get(e.getKey());
             if (ref != null && !ctx.resolveInternalRefAndValidate(ref, node)) {
                 failedFields.add(e.getKey());
+                if (ctx.isFlagMode()) {
+                    break;
+                }
             }
         }
         if (failedFields.isEmpty()) {
@@ -333,6 +529,11 @@ class DependentSchemasEvaluator implements Evaluator {
         }
     }
 
+    @Override
+    public Set<SimpleType> getApplicableTypes() {
+        return singleton(SimpleType.OBJECT);
+    }
+
     private static Map<String, CompoundUri> toMap(SchemaParsingContext ctx, Map<String, JsonNode> objectNode) {
         return objectNode.entrySet()
                 .stream()
@@ -359,9 +560,17 @@ class PropertyNamesEvaluator implements Evaluator {
         boolean valid = true;
         for (String propName : node.asObject().keySet()) {
             valid = ctx.resolveInternalRefAndValidate(schemaRef, new StringNode(propName, node.getJsonPointer())) && valid;
+            if (!valid && ctx.isFlagMode()) {
+                break;
+            }
         }
         return valid ? Result.success() : Result.failure();
     }
+
+    @Override
+    public Set<SimpleType> getApplicableTypes() {
+        return singleton(SimpleType.OBJECT);
+    }
 }
 
 class IfThenElseEvaluator implements Evaluator {
@@ -402,12 +611,19 @@ class AllOfEvaluator implements Evaluator {
         this.refs = unmodifiableList(node.asArray().stream().map(ctx::getCompoundUri).collect(Collectors.toList()));
     }
 
+    List<CompoundUri> getRefs() {
+        return refs;
+    }
+
     @Override
     public Result evaluate(EvaluationContext ctx, JsonNode node) {
         List<Integer> unmatchedIndexes = new ArrayList<>();
         for (int i = 0; i < refs.size(); i++) {
             if (!ctx.resolveInternalRefAndValidate(refs.get(i), node)) {
                 unmatchedIndexes.add(i);
+                if (ctx.isFlagMode()) {
+                    break;
+                }
             }
         }
 
@@ -420,6 +636,8 @@ class AllOfEvaluator implements Evaluator {
 
 class AnyOfEvaluator implements Evaluator {
     private final List<CompoundUri> refs;
+    /* Built on the first evaluation, when all the subschemas are already registered, and rebuilt after registry changes */
+    private volatile DiscriminatorIndex discriminatorIndex;
 
     AnyOfEvaluator(SchemaParsingContext ctx, JsonNode node) {
         if (!node.isArray()) {
@@ -430,16 +648,49 @@ class AnyOfEvaluator implements Evaluator {
 
     @Override
     public Result evaluate(EvaluationContext ctx, JsonNode node) {
+        int[] candidates = getDiscriminatorIndex(ctx).getCandidates(node);
+        if (candidates != null) {
+            /* Other branches cannot match, so their evaluation is only needed for error reporting */
+            int errorsBefore = ctx.getErrorsSize();
+            int annotationsBefore = ctx.getAnnotationsSize();
+            boolean valid = false;
+            for (int candidate : candidates) {
+                valid = ctx.resolveInternalRefAndValidate(refs.get(candidate), node) || valid;
+                if (valid && !ctx.isCollectingAnnotations()) {
+                    break;
+                }
+            }
+            if (valid || ctx.isFlagMode()) {
+                return valid ? Result.success() : Result.formattedFailure("anyOf");
+            }
+            ctx.discardResults(errorsBefore, annotationsBefore);
+        }
+
         boolean valid = false;
         for (CompoundUri ref : refs) {
             valid = ctx.resolveInternalRefAndValidate(ref, node) || valid;
+            if (valid && !ctx.isCollectingAnnotations()) {
+                break;
+            }
         }
         return valid ? Result.success() : Result.formattedFailure("anyOf");
     }
+
+    private DiscriminatorIndex getDiscriminatorIndex(EvaluationContext ctx) {
+        DiscriminatorIndex index = discriminatorIndex;
+        int modCount = ctx.getRegistryModCount();
+        if (index == null || !index.isUpToDate(modCount)) {
+            index = DiscriminatorIndex.build(refs, ctx::getInternalSchema, modCount);
+            discriminatorIndex = index;
+        }
+        return index;
+    }
 }
 
 class OneOfEvaluator implements Evaluator {
     private final List<CompoundUri> refs;
+    /* Built on the first evaluation, when all the subschemas are already registered, and rebuilt after registry changes */
+    private volatile DiscriminatorIndex discriminatorIndex;
 
     OneOfEvaluator(SchemaParsingContext ctx, JsonNode node) {
         if (!node.isArray()) {
@@ -450,14 +701,50 @@ class OneOfEvaluator implements Evaluator {
 
     @Override
     public Result evaluate(EvaluationContext ctx, JsonNode node) {
+        int[] candidates = getDiscriminatorIndex(ctx).getCandidates(node);
+        if (candidates != null) {
+            /* Other branches cannot match, so their evaluation is only needed for error reporting */
+            int errorsBefore = ctx.getErrorsSize();
+            int annotationsBefore = ctx.getAnnotationsSize();
+            List<Integer> matchedIndexes = new ArrayList<>();
+            for (int candidate : candidates) {
+                if (ctx.resolveInternalRefAndValidate(refs.get(candidate), node)) {
+                    matchedIndexes.add(candidate);
+                    if (matchedIndexes.size() > 1 && ctx.isFlagMode()) {
+                        break;
+                    }
+                }
+            }
+            if (matchedIndexes.size() == 1) {
+                return Result.success();
+            }
+            if (ctx.isFlagMode()) {
+                return Result.formattedFailure("oneOf", matchedIndexes.size(), matchedIndexes);
+            }
+            ctx.discardResults(errorsBefore, annotationsBefore);
+        }
+
         List<Integer> matchedIndexes = new ArrayList<>();
         for (int i = 0; i < refs.size(); i++) {
             if (ctx.resolveInternalRefAndValidate(refs.get(i), node)) {
                 matchedIndexes.add(i);
+                if (matchedIndexes.size() > 1 && ctx.isFlagMode()) {
+                    break;
+                }
             }
         }
         return matchedIndexes.size() == 1 ? Result.success() : Result.formattedFailure("oneOf", matchedIndexes.size(), matchedIndexes);
     }
+
+    private DiscriminatorIndex getDiscriminatorIndex(EvaluationContext ctx) {
+        DiscriminatorIndex index = discriminatorIndex;
+        int modCount = ctx.getRegistryModCount();
+        if (index == null || !index.isUpToDate(modCount)) {
+            index = DiscriminatorIndex.build(refs, ctx::getInternalSchema, modCount);
+            discriminatorIndex = index;
+        }
+        return index;
+    }
 }
 
 class NotEvaluator implements Evaluator {
@@ -493,7 +780,7 @@ class UnevaluatedItemsEvaluator implements Evaluator {
             return Result.success();
         }
 
-        Map.Entry<Integer, Set<Integer>> evaluated = ctx.calculateEvaluatedItems(node.getJsonPointer());
+        Map.Entry<Integer, Set<Integer>> evaluated = ctx.calculateEvaluatedItems(node);
         List<JsonNode> array = node.asArray();
         if (evaluated.getKey() >= array.size()) {
             return Result.success();
@@ -503,11 +790,19 @@ class UnevaluatedItemsEvaluator implements Evaluator {
         for (int i = evaluated.getKey(); i < array.size(); i++) {
             if (!evaluatedIndices.contains(i)) {
                 valid = ctx.resolveInternalRefAndValidate(schemaRef, array.get(i)) && valid;
+                if (!valid && ctx.isFlagMode()) {
+                    break;
+                }
             }
         }
         return valid ? Result.success(true) : Result.failure();
     }
 
+    @Override
+    public Set<SimpleType> getApplicableTypes() {
+        return singleton(SimpleType.ARRAY);
+    }
+
     @Override
     public int getOrder() {
         return 30;
@@ -530,18 +825,31 @@ class UnevaluatedPropertiesEvaluator implements Evaluator {
             return Result.success();
         }
 
-        Set<String> evaluatedInstances = ctx.calculateEvaluatedProperties(node.getJsonPointer());
-        Set<String> processed = new HashSet<>();
+        Set<String> evaluatedInstances = ctx.calculateEvaluatedProperties(node);
+        Set<String> processed = ctx.isCollectingAnnotations() ? new HashSet<>() : null;
         boolean valid = true;
         for (Map.Entry<String, JsonNode> entry : node.asObject().entrySet()) {
             if (!evaluatedInstances.contains(entry.getKey())) {
-                processed.add(entry.getKey());
+                if (processed != null) {
+                    processed.add(entry.getKey());
+                }
                 valid = ctx.resolveInternalRefAndValidate(schemaRef, entry.getValue()) && valid;
+                if (!valid && ctx.isFlagMode()) {
+                    break;
+                }
             }
         }
+        if (processed == null) {
+            return valid ? Result.success() : Result.failure();
+        }
         return valid ? Result.success(processed) : Result.failure();
     }
 
+    @Override
+    public Set<SimpleType> getApplicableTypes() {
+        return singleton(SimpleType.OBJECT);
+    }
+
     @Override
     public int getOrder() {
         return 20;
@@ -558,6 +866,10 @@ class RefEvaluator implements Evaluator {
         this.ref = UriUtil.resolveUri(ctx.getParentUri(), CompoundUri.fromString(node.asString()));
     }
 
+    CompoundUri getRef() {
+        return ref;
+    }
+
     @Override
     public Result evaluate(EvaluationContext ctx, JsonNode node) {
         try {
@@ -622,6 +934,10 @@ class LegacyRefEvaluator implements Evaluator {
         }
     }
 
+    CompoundUri getRef() {
+        return ref;
+    }
+
     @Override
     public Result evaluate(EvaluationContext ctx, JsonNode node) {
         try {
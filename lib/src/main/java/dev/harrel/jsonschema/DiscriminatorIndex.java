@@ -0,0 +1,161 @@
+package dev.harrel.jsonschema;
+
+import java.util.*;
+import java.util.function.Function;
+
+/**
+ * Index of <i>oneOf</i>/<i>anyOf</i> branches over a tagged union. A branch is discriminated by a property
+ * if it requires that property and restricts its value to a set of strings (by <i>const</i> or <i>enum</i>).
+ * Such a branch cannot match an object instance unless the property value is one of those strings,
+ * so only the remaining branches need to be evaluated.
+ * Branches are analyzed through <i>$ref</i> and <i>allOf</i>, as all of those have to hold for the branch to match.
+ * The index reflects the registry at the time it was built, so it has to be rebuilt after any change of the registry
+ * (see {@link DiscriminatorIndex#isUpToDate(int)}).
+ */
+final class DiscriminatorIndex {
+    private static final int MAX_DEPTH = 8;
+
+    private final String property;
+    /* Branches which are not discriminated - they always have to be evaluated */
+    private final int[] undiscriminated;
+    /* Discriminated branches merged with undiscriminated ones, in branch order */
+    private final Map<String, int[]> candidatesByValue;
+    /* Modification count of the registry the index was built from */
+    private final int registryModCount;
+
+    private DiscriminatorIndex(String property, int[] undiscriminated, Map<String, int[]> candidatesByValue, int registryModCount) {
+        this.property = property;
+        this.undiscriminated = undiscriminated;
+        this.candidatesByValue = candidatesByValue;
+        this.registryModCount = registryModCount;
+    }
+
+    boolean isUpToDate(int currentRegistryModCount) {
+        return registryModCount == currentRegistryModCount;
+    }
+
+    /**
+     * Returns indexes of branches that might match the instance, or {@code null} if all of them have to be evaluated.
+     */
+    int[] getCandidates(JsonNode node) {
+        if (property == null || !node.isObject()) {
+            return null;
+        }
+        JsonNode value = node.asObject().get(property);
+        if (value == null || !value.isString()) {
+            return undiscriminated;
+        }
+        int[] candidates = candidatesByValue.get(value.asString());
+        return candidates != null ? candidates : undiscriminated;
+    }
+
+    static DiscriminatorIndex build(List<CompoundUri> refs, Function<CompoundUri, Schema> schemaLookup, int registryModCount) {
+        List<Map<String, Set<String>>> branches = new ArrayList<>(refs.size());
+        Map<String, Integer> counts = new HashMap<>();
+        for (CompoundUri ref : refs) {
+            Map<String, Set<String>> discriminators = new HashMap<>();
+            Schema schema = schemaLookup.apply(ref);
+            if (schema != null) {
+                Set<String> required = new HashSet<>();
+                Map<String, Set<String>> values = new HashMap<>();
+                collectConstraints(schema, schemaLookup, required, values, 0);
+                for (Map.Entry<String, Set<String>> entry : values.entrySet()) {
+                    if (required.contains(entry.getKey())) {
+                        discriminators.put(entry.getKey(), entry.getValue());
+                        counts.merge(entry.getKey(), 1, Integer::sum);
+                    }
+                }
+            }
+            branches.add(discriminators);
+        }
+
+        String property = counts.entrySet().stream()
+                .filter(e -> e.getValue() > 1)
+                .max(Map.Entry.<String, Integer>comparingByValue().thenComparing(Map.Entry.comparingByKey(Comparator.reverseOrder())))
+                .map(Map.Entry::getKey)
+                .orElse(null);
+        if (property == null) {
+            return new DiscriminatorIndex(null, new int[0], Collections.emptyMap(), registryModCount);
+        }
+
+        List<Integer> undiscriminated = new ArrayList<>();
+        Map<String, SortedSet<Integer>> byValue = new HashMap<>();
+        for (int i = 0; i < branches.size(); i++) {
+            Set<String> values = branches.get(i).get(property);
+            if (values == null) {
+                undiscriminated.add(i);
+            } else {
+                for (String value : values) {
+                    byValue.computeIfAbsent(value, k -> new TreeSet<>()).add(i);
+                }
+            }
+        }
+        Map<String, int[]> candidatesByValue = new HashMap<>();
+        for (Map.Entry<String, SortedSet<Integer>> entry : byValue.entrySet()) {
+            SortedSet<Integer> candidates = entry.getValue();
+            candidates.addAll(undiscriminated);
+            candidatesByValue.put(entry.getKey(), toIntArray(candidates));
+        }
+        return new DiscriminatorIndex(property, toIntArray(undiscriminated), candidatesByValue, registryModCount);
+    }
+
+    private static void collectConstraints(Schema schema,
+                                           Function<CompoundUri, Schema> schemaLookup,
+                                           Set<String> required,
+                                           Map<String, Set<String>> values,
+                                           int depth) {
+        if (depth > MAX_DEPTH) {
+            return;
+        }
+        for (EvaluatorWrapper wrapper : schema.getEvaluators()) {
+            Evaluator evaluator = wrapper.getEvaluator();
+            if (evaluator instanceof RequiredEvaluator) {
+                required.addAll(((RequiredEvaluator) evaluator).getRequiredProperties());
+            } else if (evaluator instanceof PropertiesEvaluator) {
+                for (Map.Entry<String, CompoundUri> entry : ((PropertiesEvaluator) evaluator).getSchemaRefs().entrySet()) {
+                    Schema propertySchema = schemaLookup.apply(entry.getValue());
+                    Set<String> allowed = propertySchema != null ? getAllowedStrings(propertySchema) : null;
+                    if (allowed != null) {
+                        values.putIfAbsent(entry.getKey(), allowed);
+                    }
+                }
+            } else if (evaluator instanceof RefEvaluator) {
+                Schema refSchema = schemaLookup.apply(((RefEvaluator) evaluator).getRef());
+                if (refSchema != null) {
+                    collectConstraints(refSchema, schemaLookup, required, values, depth + 1);
+                }
+            } else if (evaluator instanceof AllOfEvaluator) {
+                for (CompoundUri ref : ((AllOfEvaluator) evaluator).getRefs()) {
+                    Schema subschema = schemaLookup.apply(ref);
+                    if (subschema != null) {
+                        collectConstraints(subschema, schemaLookup, required, values, depth + 1);
+                    }
+                }
+            }
+        }
+    }
+
+    private static Set<String> getAllowedStrings(Schema schema) {
+        for (EvaluatorWrapper wrapper : schema.getEvaluators()) {
+            Evaluator evaluator = wrapper.getEvaluator();
+            if (evaluator instanceof ConstEvaluator) {
+                JsonNode constNode = ((ConstEvaluator) evaluator).getConstNode();
+                return constNode.isString() ? Collections.singleton(constNode.asString()) : null;
+            } else if (evaluator instanceof EnumEvaluator) {
+                Set<String> allowed = new HashSet<>();
+                for (JsonNode enumNode : ((EnumEvaluator) evaluator).getEnumNodes()) {
+                    if (!enumNode.isString()) {
+                        return null;
+                    }
+                    allowed.add(enumNode.asString());
+                }
+                return allowed;
+            }
+        }
+        return null;
+    }
+
+    private static int[] toIntArray(Collection<Integer> ints) {
+        return ints.stream().mapToInt(Integer::intValue).toArray();
+    }
+}
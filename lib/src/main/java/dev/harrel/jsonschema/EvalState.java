@@ -4,18 +4,92 @@ import java.net.URI;
 import java.util.HashMap;
 import java.util.Map;
 
+import static java.util.Collections.emptyMap;
+
 final class EvalState {
-    private final Annotation[] annotations = new Annotation[12];
-    private Map<String, Annotation> annotationsMap;
+    private static final Object NO_RECURSIVE_TARGET = new Object();
+
+    private final Object[] annotations = new Object[12];
+    private Map<String, Object> annotationsMap;
+
     final URI schemaUri;
     final int annotationsBefore;
+    /* Dynamic anchors of the schema resource (see Schema#getDynamicAnchors), identifying the resource as well */
+    final Map<String, Schema> dynamicAnchors;
+    /* State that entered the schema resource of this state - this state itself, unless its parent belongs to the same resource */
+    final EvalState resourceState;
+    /* Resource state of the enclosing schema resource, only set for resource states */
+    private final EvalState outerResourceState;
+    /* Memoized results of dynamic resolution, only used for resource states. */
+    /* States are shared with parallel evaluation, so memos are immutable values (dynamic anchors form an immutable list) */
+    private DynamicAnchorMemo dynamicAnchorMemo;
+    private Object recursiveTargetMemo;
 
     EvalState(URI schemaUri, int annotationsBefore) {
+        this(schemaUri, annotationsBefore, emptyMap(), null);
+    }
+
+    /* State entering a schema resource */
+    EvalState(URI schemaUri, int annotationsBefore, Map<String, Schema> dynamicAnchors, EvalState outerResourceState) {
         this.schemaUri = schemaUri;
         this.annotationsBefore = annotationsBefore;
+        this.dynamicAnchors = dynamicAnchors;
+        this.resourceState = this;
+        this.outerResourceState = outerResourceState;
     }
 
-    Annotation getSiblingAnnotation(String keyword) {
+    /* State within the schema resource of given resource state */
+    EvalState(URI schemaUri, int annotationsBefore, EvalState resourceState) {
+        this.schemaUri = schemaUri;
+        this.annotationsBefore = annotationsBefore;
+        this.dynamicAnchors = resourceState.dynamicAnchors;
+        this.resourceState = resourceState;
+        this.outerResourceState = null;
+    }
+
+    /**
+     * Finds the schema with given dynamic anchor in the outermost schema resource of the dynamic scope.
+     * Results are memoized per resource and anchor, so resolution does not walk the whole scope on every call.
+     */
+    Schema resolveDynamicAnchor(String anchor) {
+        DynamicAnchorMemo head = resourceState.dynamicAnchorMemo;
+        for (DynamicAnchorMemo memo = head; memo != null; memo = memo.next) {
+            if (memo.anchor.equals(anchor)) {
+                return memo.schema;
+            }
+        }
+        EvalState outer = resourceState.outerResourceState;
+        Schema schema = outer != null ? outer.resolveDynamicAnchor(anchor) : null;
+        if (schema == null) {
+            schema = dynamicAnchors.get(anchor);
+        }
+        /* A concurrent update may drop one of the memos, which only costs another resolution */
+        resourceState.dynamicAnchorMemo = new DynamicAnchorMemo(anchor, schema, head);
+        return schema;
+    }
+
+    /**
+     * Finds the target of <i>$recursiveRef</i>: the outermost schema resource with <i>$recursiveAnchor</i>,
+     * reached from the current one through resources which all have it. Returns null if the current resource does not have it.
+     */
+    Schema resolveRecursiveTarget() {
+        Object memo = resourceState.recursiveTargetMemo;
+        if (memo != null) {
+            return memo == NO_RECURSIVE_TARGET ? null : (Schema) memo;
+        }
+        Schema target = dynamicAnchors.get("");
+        EvalState outer = resourceState.outerResourceState;
+        if (target != null && outer != null) {
+            Schema outerTarget = outer.resolveRecursiveTarget();
+            if (outerTarget != null) {
+                target = outerTarget;
+            }
+        }
+        resourceState.recursiveTargetMemo = target != null ? target : NO_RECURSIVE_TARGET;
+        return target;
+    }
+
+    Object getSiblingAnnotation(String keyword) {
         int id = getKeywordId(keyword);
         if (id >= 0) {
             return annotations[id];
@@ -26,7 +100,7 @@ final class EvalState {
         return annotationsMap.get(keyword);
     }
 
-    void setSiblingAnnotation(String keyword, Annotation annotation) {
+    void setSiblingAnnotation(String keyword, Object annotation) {
         int id = getKeywordId(keyword);
         if (id >= 0) {
             annotations[id] = annotation;
@@ -38,6 +112,18 @@ final class EvalState {
         annotationsMap.put(keyword, annotation);
     }
 
+    private static final class DynamicAnchorMemo {
+        private final String anchor;
+        private final Schema schema;
+        private final DynamicAnchorMemo next;
+
+        private DynamicAnchorMemo(String anchor, Schema schema, DynamicAnchorMemo next) {
+            this.anchor = anchor;
+            this.schema = schema;
+            this.next = next;
+        }
+    }
+
     private static int getKeywordId(String keyword) {
         switch (keyword) {
             case Keyword.TITLE: return 0;
@@ -1,8 +1,12 @@
 package dev.harrel.jsonschema;
 
-import java.net.URI;
 import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicBoolean;
 
+import static java.util.Collections.emptyList;
 import static java.util.Collections.emptySet;
 import static java.util.Collections.unmodifiableList;
 
@@ -18,23 +22,63 @@ public final class EvaluationContext {
     private final SchemaRegistry schemaRegistry;
     private final SchemaResolver schemaResolver;
     private final MessageProvider messageProvider;
+    private final boolean flagMode;
+    private final boolean annotationsEnabled;
+    /* Pool for parallel evaluation of large arrays and objects, null if disabled */
+    private final ForkJoinPool forkJoinPool;
+    private final int parallelThreshold;
+    /* Null if not configured - evaluation is only instrumented when present */
+    private final EvaluationListener listener;
     private final Deque<EvalState> stateStack = new ArrayDeque<>();
     private final Deque<RefStackItem> refStack = new ArrayDeque<>();
-    private final Deque<String> evaluationStack = new ArrayDeque<>();
-    private final List<Annotation> annotations = new ArrayList<>();
-    private final List<RawError> errors = new ArrayList<>();
+    /* Evaluator being currently evaluated, evaluation paths are only built from it (and refStack) when needed */
+    private EvaluatorWrapper currentEvaluator;
+    private List<Annotation> annotations = new ArrayList<>();
+    private List<RawError> errors = new ArrayList<>();
+    /* Largest sizes the buffers reached since the last reset, as trimming them does not shrink their backing arrays */
+    private int annotationsPeak = 0;
+    private int errorsPeak = 0;
+    /* Number of schemas on the stack which read annotations of their subschemas (unevaluated* keywords) */
+    private int annotationConsumers = 0;
 
     EvaluationContext(JsonNodeFactory jsonNodeFactory,
                       JsonParser jsonParser,
                       SchemaRegistry schemaRegistry,
                       SchemaResolver schemaResolver,
                       MessageProvider messageProvider) {
+        this(jsonNodeFactory, jsonParser, schemaRegistry, schemaResolver, messageProvider, false, true);
+    }
+
+    EvaluationContext(JsonNodeFactory jsonNodeFactory,
+                      JsonParser jsonParser,
+                      SchemaRegistry schemaRegistry,
+                      SchemaResolver schemaResolver,
+                      MessageProvider messageProvider,
+                      boolean flagMode,
+                      boolean annotationsEnabled) {
+        this(jsonNodeFactory, jsonParser, schemaRegistry, schemaResolver, messageProvider, flagMode, annotationsEnabled, null, 0, null);
+    }
+
+    EvaluationContext(JsonNodeFactory jsonNodeFactory,
+                      JsonParser jsonParser,
+                      SchemaRegistry schemaRegistry,
+                      SchemaResolver schemaResolver,
+                      MessageProvider messageProvider,
+                      boolean flagMode,
+                      boolean annotationsEnabled,
+                      ForkJoinPool forkJoinPool,
+                      int parallelThreshold,
+                      EvaluationListener listener) {
         this.jsonNodeFactory = Objects.requireNonNull(jsonNodeFactory);
         this.jsonParser = Objects.requireNonNull(jsonParser);
         this.schemaRegistry = Objects.requireNonNull(schemaRegistry);
         this.schemaResolver = Objects.requireNonNull(schemaResolver);
         this.messageProvider = Objects.requireNonNull(messageProvider);
-        this.evaluationStack.push("");
+        this.flagMode = flagMode;
+        this.annotationsEnabled = annotationsEnabled && !flagMode;
+        this.forkJoinPool = parallelThreshold > 0 ? forkJoinPool : null;
+        this.parallelThreshold = parallelThreshold;
+        this.listener = listener;
     }
 
     /**
@@ -114,15 +158,106 @@ public final class EvaluationContext {
     }
 
     boolean resolveInternalRefAndValidate(CompoundUri compoundUri, JsonNode node) {
-        Schema schema = schemaRegistry.get(compoundUri);
+        Schema schema = schemaRegistry.getLinked(compoundUri);
         if (schema == null) {
             throw new SchemaNotFoundException(compoundUri);
         }
         return validateAgainstSchema(schema, node);
     }
 
+    /**
+     * Checks if validation of given number of child nodes should be done by
+     * {@link EvaluationContext#resolveInternalRefsAndValidateInParallel(List, List)}.
+     */
+    boolean shouldValidateInParallel(int size) {
+        return forkJoinPool != null && size >= parallelThreshold;
+    }
+
+    /**
+     * Validates each node against corresponding internal schema, like consecutive calls to
+     * {@link EvaluationContext#resolveInternalRefAndValidate(CompoundUri, JsonNode)} would. Nodes are split into chunks
+     * that are validated by fork/join tasks, each with its own copy of this context. Errors and annotations of the chunks
+     * are merged back in the order of nodes, so the outcome is the same as for sequential validation.
+     */
+    boolean resolveInternalRefsAndValidateInParallel(List<CompoundUri> schemaRefs, List<JsonNode> nodes) {
+        int size = nodes.size();
+        if (size == 0) {
+            return true;
+        }
+        int chunkCount = Math.min(size, forkJoinPool.getParallelism() * 4);
+        AtomicBoolean failed = new AtomicBoolean();
+        List<ChunkTask> chunks = new ArrayList<>(chunkCount);
+        for (int i = 0; i < chunkCount; i++) {
+            chunks.add(new ChunkTask(copy(), schemaRefs, nodes, (int) ((long) size * i / chunkCount), (int) ((long) size * (i + 1) / chunkCount), failed));
+        }
+        RecursiveTask<Boolean> rootTask = new RecursiveTask<Boolean>() {
+            @Override
+            protected Boolean compute() {
+                invokeAll(chunks);
+                return Boolean.TRUE;
+            }
+        };
+        if (ForkJoinTask.getPool() == forkJoinPool) {
+            rootTask.invoke();
+        } else {
+            forkJoinPool.invoke(rootTask);
+        }
+
+        boolean valid = true;
+        for (ChunkTask chunk : chunks) {
+            valid = chunk.getRawResult() && valid;
+            errors.addAll(chunk.ctx.errors);
+            annotations.addAll(chunk.ctx.annotations);
+        }
+        return valid;
+    }
+
+    /* Creates a context that continues evaluation from the current point in a separate thread */
+    private EvaluationContext copy() {
+        EvaluationContext ctx = new EvaluationContext(jsonNodeFactory, jsonParser, schemaRegistry, schemaResolver, messageProvider,
+                flagMode, annotationsEnabled, forkJoinPool, parallelThreshold, listener);
+        ctx.stateStack.addAll(stateStack);
+        ctx.refStack.addAll(refStack);
+        ctx.currentEvaluator = currentEvaluator;
+        ctx.annotationConsumers = annotationConsumers;
+        return ctx;
+    }
+
+    Schema getInternalSchema(CompoundUri compoundUri) {
+        return schemaRegistry.get(compoundUri);
+    }
+
+    int getRegistryModCount() {
+        return schemaRegistry.getModCount();
+    }
+
+    int getErrorsSize() {
+        return errors.size();
+    }
+
+    int getAnnotationsSize() {
+        return annotations.size();
+    }
+
+    /**
+     * Discards errors and annotations collected after given sizes, so an evaluation can be repeated without duplicates.
+     */
+    void discardResults(int errorsSize, int annotationsSize) {
+        truncateErrors(errorsSize);
+        truncateAnnotations(annotationsSize);
+    }
+
     List<Annotation> getAnnotations() {
-        return unmodifiableList(annotations);
+        if (!annotationsEnabled || annotations.isEmpty()) {
+            return emptyList();
+        }
+        /* Copy with resolved instance locations, as the context might be reused after the result is created
+        and returned annotations must not keep the instance tree reachable */
+        List<Annotation> result = new ArrayList<>(annotations.size());
+        for (Annotation annotation : annotations) {
+            result.add(new Annotation(annotation.getEvaluationPath(), annotation.getSchemaLocation(), annotation.getInstanceLocation(), annotation.getKeyword(), annotation.getAnnotation()));
+        }
+        return unmodifiableList(result);
     }
 
     List<Error> resolveErrors() {
@@ -142,19 +277,74 @@ public final class EvaluationContext {
         return unmodifiableList(result);
     }
 
+    /**
+     * Clears the state, so the context can be reused for another evaluation.
+     * Buffers that grew beyond {@code highWaterMark} elements are dropped instead of being retained.
+     */
+    void reset(int highWaterMark) {
+        stateStack.clear();
+        refStack.clear();
+        currentEvaluator = null;
+        annotationConsumers = 0;
+        if (Math.max(annotationsPeak, annotations.size()) > highWaterMark) {
+            annotations = new ArrayList<>();
+        } else {
+            annotations.clear();
+        }
+        if (Math.max(errorsPeak, errors.size()) > highWaterMark) {
+            errors = new ArrayList<>();
+        } else {
+            errors.clear();
+        }
+        annotationsPeak = 0;
+        errorsPeak = 0;
+    }
+
+    private void truncateErrors(int size) {
+        int currentSize = errors.size();
+        if (currentSize > size) {
+            errorsPeak = Math.max(errorsPeak, currentSize);
+            errors.subList(size, currentSize).clear();
+        }
+    }
+
+    private void truncateAnnotations(int size) {
+        int currentSize = annotations.size();
+        if (currentSize > size) {
+            annotationsPeak = Math.max(annotationsPeak, currentSize);
+            annotations.subList(size, currentSize).clear();
+        }
+    }
+
     Object getSiblingAnnotation(String sibling) {
-        Annotation annotation = stateStack.element().getSiblingAnnotation(sibling);
-        return annotation == null ? null : annotation.getAnnotation();
+        return stateStack.element().getSiblingAnnotation(sibling);
+    }
+
+    /**
+     * In flag mode only the boolean outcome matters - no errors are recorded,
+     * and evaluators may stop as soon as the outcome is known.
+     */
+    boolean isFlagMode() {
+        return flagMode;
+    }
+
+    /**
+     * Annotations are needed for the output (unless disabled) and when any schema in scope consumes them.
+     * If this returns false, evaluators do not need to produce annotations that are not read by their siblings,
+     * nor apply subschemas only for the sake of annotations.
+     */
+    boolean isCollectingAnnotations() {
+        return annotationsEnabled || annotationConsumers > 0;
     }
 
     @SuppressWarnings("unchecked")
-    Map.Entry<Integer, Set<Integer>> calculateEvaluatedItems(String instanceLocation) {
+    Map.Entry<Integer, Set<Integer>> calculateEvaluatedItems(JsonNode instanceNode) {
         int fromIdx = stateStack.element().annotationsBefore;
         Set<Integer> items = new HashSet<>();
         int maxIdx = 0;
         for (int i = fromIdx; i < annotations.size(); i++) {
             Annotation annotation = annotations.get(i);
-            if (annotation.getInstanceLocation().equals(instanceLocation)) {
+            if (annotation.isAtInstance(instanceNode)) {
                 if (Keyword.ITEM_KEYWORDS.contains(annotation.getKeyword())) {
                     if (annotation.getAnnotation() instanceof Boolean) {
                         return new AbstractMap.SimpleEntry<>(Integer.MAX_VALUE, emptySet());
@@ -169,12 +359,12 @@ public final class EvaluationContext {
     }
 
     @SuppressWarnings("unchecked")
-    Set<String> calculateEvaluatedProperties(String instanceLocation) {
+    Set<String> calculateEvaluatedProperties(JsonNode instanceNode) {
         int fromIdx = stateStack.element().annotationsBefore;
         Set<String> props = new HashSet<>();
         for (int i = fromIdx; i < annotations.size(); i++) {
             Annotation annotation = annotations.get(i);
-            if (annotation.getInstanceLocation().equals(instanceLocation) && Keyword.PROPERTY_KEYWORDS.contains(annotation.getKeyword())) {
+            if (Keyword.PROPERTY_KEYWORDS.contains(annotation.getKeyword()) && annotation.isAtInstance(instanceNode)) {
                 props.addAll((Collection<String>) annotation.getAnnotation());
             }
         }
@@ -182,57 +372,199 @@ public final class EvaluationContext {
     }
 
     boolean validateAgainstRootSchema(Schema schema, JsonNode node) {
+        return validateAgainstRootSchema(schema, schema.getEvaluators(node.getNodeType()), node);
+    }
+
+    /**
+     * Validates instance node against a root schema, but using provided evaluators instead of the schema's own ones.
+     */
+    boolean validateAgainstRootSchema(Schema schema, List<EvaluatorWrapper> evaluators, JsonNode node) {
         String fragment = schema.getSchemaLocation().getRawFragment();
-        if (fragment != null && !fragment.isEmpty()) {
-            refStack.add(new RefStackItem(schema.getSchemaLocation().getFragment(), ""));
+        if (!flagMode && fragment != null && !fragment.isEmpty()) {
+            refStack.add(new RefStackItem(schema.getSchemaLocation().getFragment(), null, null));
+        }
+        return validateUsingEvaluators(schema, evaluators, node);
+    }
+
+    /**
+     * Validates instance node against a subschema on behalf of provided evaluator,
+     * so it can be used when the evaluator cannot be invoked with the whole instance (e.g. it is not held in memory).
+     */
+    boolean validateOnBehalfOf(EvaluatorWrapper evaluator, CompoundUri schemaRef, JsonNode node) {
+        EvaluatorWrapper parentEvaluator = currentEvaluator;
+        currentEvaluator = evaluator;
+        boolean valid = resolveInternalRefAndValidate(schemaRef, node);
+        currentEvaluator = parentEvaluator;
+        return valid;
+    }
+
+    /**
+     * Removes errors and annotations collected after given sizes and returns them, so they can be
+     * added back later with {@link EvaluationContext#restoreResults(Results)}.
+     */
+    Results extractResults(int errorsSize, int annotationsSize) {
+        List<RawError> errorsTail = errors.subList(errorsSize, errors.size());
+        List<Annotation> annotationsTail = annotations.subList(annotationsSize, annotations.size());
+        Results results = new Results(new ArrayList<>(errorsTail), new ArrayList<>(annotationsTail));
+        truncateErrors(errorsSize);
+        truncateAnnotations(annotationsSize);
+        return results;
+    }
+
+    /**
+     * Replaces errors and annotations collected after given sizes with copies that do not reference instance nodes,
+     * so the nodes can be garbage collected while the results are still held.
+     */
+    void detachInstanceNodes(int errorsSize, int annotationsSize) {
+        for (int i = errorsSize; i < errors.size(); i++) {
+            errors.set(i, errors.get(i).detach());
+        }
+        for (int i = annotationsSize; i < annotations.size(); i++) {
+            Annotation annotation = annotations.get(i);
+            annotations.set(i, new Annotation(annotation.getEvaluationPath(), annotation.getSchemaLocation(), annotation.getInstanceLocation(), annotation.getKeyword(), annotation.getAnnotation()));
         }
-        return validateAgainstSchema(schema, node);
+    }
+
+    void restoreResults(Results results) {
+        errors.addAll(results.errors);
+        annotations.addAll(results.annotations);
     }
 
     boolean validateAgainstSchema(Schema schema, JsonNode node) {
-        EvalState state = new EvalState(schema.getParentUri(), annotations.size());
-        stateStack.push(state);
+        return validateUsingEvaluators(schema, schema.getEvaluators(node.getNodeType()), node);
+    }
 
-        List<EvaluatorWrapper> evaluators = schema.getEvaluators();
+    private boolean validateUsingEvaluators(Schema schema, List<EvaluatorWrapper> evaluators, JsonNode node) {
+        if (listener != null) {
+            return validateAgainstSchemaListened(schema, evaluators, node);
+        }
+        if (flagMode) {
+            return validateAgainstSchemaFlag(schema, evaluators, node);
+        }
+        return validateAgainstSchema(schema, evaluators, node);
+    }
+
+    private boolean validateAgainstSchemaListened(Schema schema, List<EvaluatorWrapper> evaluators, JsonNode node) {
+        String schemaLocation = schema.getSchemaLocation().toString();
+        listener.onSchemaEnter(schemaLocation, node);
+        long start = System.nanoTime();
+        boolean valid = false;
+        try {
+            valid = flagMode ? validateAgainstSchemaFlag(schema, evaluators, node) : validateAgainstSchema(schema, evaluators, node);
+            return valid;
+        } finally {
+            listener.onSchemaExit(schemaLocation, node, valid, System.nanoTime() - start);
+        }
+    }
+
+    private Evaluator.Result evaluate(Schema schema, EvaluatorWrapper evaluator, JsonNode node) {
+        if (listener == null) {
+            return evaluator.evaluate(this, node);
+        }
+        String schemaLocation = schema.getSchemaLocation().toString();
+        listener.onEvaluatorEnter(evaluator.getKeyword(), schemaLocation, node);
+        long start = System.nanoTime();
+        Evaluator.Result result = null;
+        try {
+            result = evaluator.evaluate(this, node);
+            return result;
+        } finally {
+            listener.onEvaluatorExit(evaluator.getKeyword(), schemaLocation, node, result != null && result.isValid(), System.nanoTime() - start);
+        }
+    }
+
+    private boolean validateAgainstSchema(Schema schema, List<EvaluatorWrapper> evaluators, JsonNode node) {
+        EvalState state = pushState(schema);
+        boolean consumesAnnotations = schema.consumesAnnotations();
+        if (consumesAnnotations) {
+            annotationConsumers++;
+        }
+
+        EvaluatorWrapper parentEvaluator = currentEvaluator;
         int evaluatorsSize = evaluators.size();
         boolean valid = true;
         for (int i = 0; i < evaluatorsSize; i++) {
             EvaluatorWrapper evaluator = evaluators.get(i);
-            String evaluationPath = resolveEvaluationPath(evaluator);
-            evaluationStack.push(evaluationPath);
+            currentEvaluator = evaluator;
             int errorsBefore = errors.size();
-            Evaluator.Result result = evaluator.evaluate(this, node);
+            Evaluator.Result result = evaluate(schema, evaluator, node);
             if (result.getAnnotation() != null) {
-                Annotation annotation = new Annotation(evaluationPath, schema.getSchemaLocation().toString(), node.getJsonPointer(), evaluator.getKeyword(), result.getAnnotation());
-                state.setSiblingAnnotation(evaluator.getKeyword(), annotation);
-                annotations.add(annotation);
+                state.setSiblingAnnotation(evaluator.getKeyword(), result.getAnnotation());
+                if (isCollectingAnnotations()) {
+                    annotations.add(new Annotation(resolveEvaluationPath(refStack.peek(), evaluator), schema.getSchemaLocation().toString(), node, evaluator.getKeyword(), result.getAnnotation()));
+                }
             }
             if (result.isValid()) {
                 /* Discarding errors that were produced by keywords evaluated to true */
-                errors.subList(errorsBefore, errors.size()).clear();
+                truncateErrors(errorsBefore);
             } else {
                 valid = false;
-                errors.add(new RawError(evaluationPath, schema.getSchemaLocation().toString(), node.getJsonPointer(), evaluator.getKeyword(), result.getError(), result.getArgsSupplier()));
+                errors.add(new RawError(resolveEvaluationPath(refStack.peek(), evaluator), schema.getSchemaLocation().toString(), node, evaluator.getKeyword(), result.getError(), result.getArgsSupplier()));
             }
-            evaluationStack.pop();
+        }
+        currentEvaluator = parentEvaluator;
+        if (consumesAnnotations) {
+            annotationConsumers--;
         }
         if (!valid) {
             /* Discarding annotations */
-            annotations.subList(state.annotationsBefore, annotations.size()).clear();
+            truncateAnnotations(state.annotationsBefore);
+        }
+        stateStack.pop();
+        return valid;
+    }
+
+    private boolean validateAgainstSchemaFlag(Schema schema, List<EvaluatorWrapper> evaluators, JsonNode node) {
+        EvalState state = pushState(schema);
+        boolean consumesAnnotations = schema.consumesAnnotations();
+        if (consumesAnnotations) {
+            annotationConsumers++;
+        }
+
+        int evaluatorsSize = evaluators.size();
+        boolean valid = true;
+        for (int i = 0; valid && i < evaluatorsSize; i++) {
+            EvaluatorWrapper evaluator = evaluators.get(i);
+            Evaluator.Result result = evaluate(schema, evaluator, node);
+            valid = result.isValid();
+            if (valid && result.getAnnotation() != null) {
+                state.setSiblingAnnotation(evaluator.getKeyword(), result.getAnnotation());
+                if (isCollectingAnnotations()) {
+                    /* Paths are never reported in flag mode, only instance location is needed for unevaluated* keywords */
+                    annotations.add(new Annotation(null, null, node, evaluator.getKeyword(), result.getAnnotation()));
+                }
+            }
+        }
+
+        if (consumesAnnotations) {
+            annotationConsumers--;
+        }
+        if (!valid) {
+            truncateAnnotations(state.annotationsBefore);
         }
         stateStack.pop();
         return valid;
     }
 
     private boolean validateAgainstRefSchema(Schema schema, JsonNode node) {
-        refStack.push(new RefStackItem(schema.getSchemaLocation().getFragment(), evaluationStack.peek()));
-        boolean valid = validateAgainstSchema(schema, node);
+        return validateAgainstRefSchema(schema, schema.getEvaluators(node.getNodeType()), node);
+    }
+
+    /**
+     * Validates instance node against a referenced schema, but using provided evaluators instead of the schema's own ones.
+     */
+    boolean validateAgainstRefSchema(Schema schema, List<EvaluatorWrapper> evaluators, JsonNode node) {
+        if (flagMode) {
+            return validateUsingEvaluators(schema, evaluators, node);
+        }
+        refStack.push(new RefStackItem(schema.getSchemaLocation().getFragment(), refStack.peek(), currentEvaluator));
+        boolean valid = validateUsingEvaluators(schema, evaluators, node);
         refStack.pop();
         return valid;
     }
 
     private Schema resolveSchema(CompoundUri compoundUri) {
-        Schema schema = schemaRegistry.get(compoundUri);
+        Schema schema = schemaRegistry.getLinked(compoundUri);
         if (schema != null) {
             return schema;
         }
@@ -244,52 +576,47 @@ public final class EvaluationContext {
     }
 
     private Schema resolveDynamicSchema(CompoundUri compoundUri) {
-        Schema staticSchema = schemaRegistry.get(compoundUri);
+        Schema staticSchema = schemaRegistry.getLinked(compoundUri);
         if (staticSchema != null) {
             return staticSchema;
         }
-
-        Iterator<EvalState> it = stateStack.descendingIterator();
-        URI last = null;
-        while (it.hasNext()) {
-            URI schemaUri = it.next().schemaUri;
-            if (schemaUri.equals(last)) {
-                continue;
-            }
-            last = schemaUri;
-            Schema schema = schemaRegistry.getDynamic(new CompoundUri(schemaUri, compoundUri.fragment));
-            if (schema != null) {
-                return schema;
-            }
-        }
-        return null;
+        return stateStack.element().resolveDynamicAnchor(compoundUri.fragment);
     }
 
     private Schema resolveRecursiveSchema() {
-        Schema schema = schemaRegistry.get(stateStack.element().schemaUri);
-        URI last = null;
-        for (EvalState state : stateStack) {
-            if (state.schemaUri.equals(last)) {
-                continue;
-            }
-            last = state.schemaUri;
-            Schema recursedSchema = schemaRegistry.getDynamic(state.schemaUri);
-            if (recursedSchema == null) {
-                return schema;
-            } else {
-                schema = recursedSchema;
-            }
+        EvalState state = stateStack.element();
+        Schema target = state.resolveRecursiveTarget();
+        return target != null ? target : schemaRegistry.get(state.schemaUri);
+    }
+
+    /**
+     * Pushes evaluation state of given schema. States are grouped by schema resources (which are identified by their dynamic anchors),
+     * so dynamic scope consists of resource states only, and resolution of dynamic references can be memoized per resource.
+     */
+    private EvalState pushState(Schema schema) {
+        EvalState parent = stateStack.peek();
+        Map<String, Schema> anchors = schema.getDynamicAnchors();
+        EvalState state;
+        if (parent == null) {
+            state = new EvalState(schema.getParentUri(), annotations.size(), anchors, null);
+        } else if (parent.dynamicAnchors == anchors) {
+            state = new EvalState(schema.getParentUri(), annotations.size(), parent.resourceState);
+        } else {
+            state = new EvalState(schema.getParentUri(), annotations.size(), anchors, parent.resourceState);
         }
-        return schema;
+        stateStack.push(state);
+        return state;
     }
 
-    private String resolveEvaluationPath(EvaluatorWrapper evaluator) {
-        if (refStack.isEmpty()) {
+    private static String resolveEvaluationPath(RefStackItem refItem, EvaluatorWrapper evaluator) {
+        if (evaluator == null) {
+            return "";
+        }
+        if (refItem == null) {
             return evaluator.getKeywordPath();
         }
-        RefStackItem refItem = refStack.peek();
         String evaluationPathPart = evaluator.getKeywordPath().substring(refItem.schemaLocation.length());
-        return refItem.evaluationPath + evaluationPathPart;
+        return refItem.getEvaluationPath() + evaluationPathPart;
     }
 
     private Schema resolveExternalSchema(CompoundUri compoundUri) {
@@ -299,18 +626,84 @@ public final class EvaluationContext {
         return schemaResolver.resolve(compoundUri.uri.toString())
                 .toJsonNode(jsonNodeFactory)
                 .map(node -> {
-                    jsonParser.parseRootSchema(compoundUri.uri, node);
+                    jsonParser.parseResolvedRootSchema(compoundUri.uri, node);
                     return resolveSchema(compoundUri);
                 }).orElse(null);
     }
 
+    private static final class ChunkTask extends RecursiveTask<Boolean> {
+        private static final long serialVersionUID = 1L;
+
+        /* Tasks are never serialized, so the state does not need to be serializable */
+        private final transient EvaluationContext ctx;
+        private final transient List<CompoundUri> schemaRefs;
+        private final transient List<JsonNode> nodes;
+        private final int from;
+        private final int to;
+        /* In flag mode, other chunks can stop as soon as one of them fails */
+        private final AtomicBoolean failed;
+
+        private ChunkTask(EvaluationContext ctx, List<CompoundUri> schemaRefs, List<JsonNode> nodes, int from, int to, AtomicBoolean failed) {
+            this.ctx = ctx;
+            this.schemaRefs = schemaRefs;
+            this.nodes = nodes;
+            this.from = from;
+            this.to = to;
+            this.failed = failed;
+        }
+
+        @Override
+        protected Boolean compute() {
+            boolean valid = true;
+            for (int i = from; i < to; i++) {
+                if (ctx.flagMode && failed.get()) {
+                    return false;
+                }
+                valid = ctx.resolveInternalRefAndValidate(schemaRefs.get(i), nodes.get(i)) && valid;
+                if (!valid && ctx.flagMode) {
+                    failed.set(true);
+                    break;
+                }
+            }
+            return valid;
+        }
+    }
+
+    /**
+     * Errors and annotations detached from the context.
+     */
+    static final class Results {
+        private final List<RawError> errors;
+        private final List<Annotation> annotations;
+
+        private Results(List<RawError> errors, List<Annotation> annotations) {
+            this.errors = errors;
+            this.annotations = annotations;
+        }
+    }
+
+    /**
+     * Linked frame of a reference jump. Evaluation path of the referring evaluator is not materialized
+     * up front, it is derived from {@code parent} and {@code evaluator} when an error or annotation is first emitted
+     * and then memoized, as the frame never changes once pushed.
+     */
     private static class RefStackItem {
         private final String schemaLocation;
-        private final String evaluationPath;
+        private final RefStackItem parent;
+        private final EvaluatorWrapper evaluator;
+        private String evaluationPath;
 
-        private RefStackItem(String schemaLocation, String evaluationPath) {
+        private RefStackItem(String schemaLocation, RefStackItem parent, EvaluatorWrapper evaluator) {
             this.schemaLocation = schemaLocation;
-            this.evaluationPath = evaluationPath;
+            this.parent = parent;
+            this.evaluator = evaluator;
+        }
+
+        private String getEvaluationPath() {
+            if (evaluationPath == null) {
+                evaluationPath = resolveEvaluationPath(parent, evaluator);
+            }
+            return evaluationPath;
         }
     }
 }
@@ -0,0 +1,51 @@
+package dev.harrel.jsonschema;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Supplier;
+
+/**
+ * Lock-free pool of {@link EvaluationContext}s, so that their buffers are not reallocated on every validation.
+ * Contexts are kept in slots selected by thread id. A thread that finds its slot empty (e.g. because of contention
+ * or when many virtual threads are running) simply creates a new context, and returning a context to an occupied slot drops it.
+ * No thread is ever blocked, and the number of retained contexts is bounded by the number of slots.
+ */
+final class EvaluationContextPool {
+    private final Supplier<EvaluationContext> contextFactory;
+    private final int highWaterMark;
+    private final AtomicReferenceArray<EvaluationContext> slots;
+    private final int mask;
+
+    EvaluationContextPool(Supplier<EvaluationContext> contextFactory, int highWaterMark) {
+        this.contextFactory = contextFactory;
+        this.highWaterMark = highWaterMark;
+        if (highWaterMark > 0) {
+            int size = Integer.highestOneBit(Runtime.getRuntime().availableProcessors() * 2 - 1) << 1;
+            this.slots = new AtomicReferenceArray<>(size);
+            this.mask = size - 1;
+        } else {
+            this.slots = null;
+            this.mask = 0;
+        }
+    }
+
+    EvaluationContext acquire() {
+        if (slots != null) {
+            EvaluationContext ctx = slots.getAndSet(slotIndex(), null);
+            if (ctx != null) {
+                return ctx;
+            }
+        }
+        return contextFactory.get();
+    }
+
+    void release(EvaluationContext ctx) {
+        if (slots != null) {
+            ctx.reset(highWaterMark);
+            slots.compareAndSet(slotIndex(), null, ctx);
+        }
+    }
+
+    private int slotIndex() {
+        return (int) Thread.currentThread().getId() & mask;
+    }
+}
@@ -1,12 +1,16 @@
 package dev.harrel.jsonschema;
 
+import dev.harrel.jsonschema.internal.AbstractJsonNode;
+
 import java.util.function.Supplier;
 
 class EvaluationItem {
     private final String evaluationPath;
     private final String schemaLocation;
-    private final String instanceLocation;
     private final String keyword;
+    /* Instance location is derived from the node only when needed, as JSON pointers are computed lazily by providers */
+    private final JsonNode instanceNode;
+    private String instanceLocation;
 
     EvaluationItem(String evaluationPath,
                    String schemaLocation,
@@ -14,10 +18,21 @@ class EvaluationItem {
                    String keyword) {
         this.evaluationPath = evaluationPath;
         this.schemaLocation = schemaLocation;
+        this.instanceNode = null;
         this.instanceLocation = instanceLocation;
         this.keyword = keyword;
     }
 
+    EvaluationItem(String evaluationPath,
+                   String schemaLocation,
+                   JsonNode instanceNode,
+                   String keyword) {
+        this.evaluationPath = evaluationPath;
+        this.schemaLocation = schemaLocation;
+        this.instanceNode = instanceNode;
+        this.keyword = keyword;
+    }
+
     /**
      * Returns JSON pointer like path representing evaluation point in schema JSON.
      */
@@ -36,9 +51,26 @@ class EvaluationItem {
      * Returns JSON pointer like path representing evaluation point in instance JSON.
      */
     public String getInstanceLocation() {
+        if (instanceLocation == null && instanceNode != null) {
+            instanceLocation = instanceNode.getJsonPointer();
+        }
         return instanceLocation;
     }
 
+    /**
+     * Checks if this item was produced for given instance node. For providers that reuse child node objects
+     * (all built-in ones) it is an identity check, which does not require computing JSON pointers.
+     */
+    boolean isAtInstance(JsonNode node) {
+        if (instanceNode == node) {
+            return true;
+        }
+        if (instanceNode instanceof AbstractJsonNode && node instanceof AbstractJsonNode) {
+            return false;
+        }
+        return getInstanceLocation().equals(node.getJsonPointer());
+    }
+
     /**
      * Returns keyword name associated with given evaluation point. Might be null.
      */
@@ -51,7 +83,7 @@ class EvaluationItem {
         return "keyword=" + keyword +
                 ", evaluationPath=" + evaluationPath +
                 ", schemaLocation=" + schemaLocation +
-                ", instanceLocation=" + instanceLocation;
+                ", instanceLocation=" + getInstanceLocation();
     }
 }
 
@@ -59,9 +91,24 @@ final class RawError extends EvaluationItem {
     final String error;
     final Supplier<Object[]> argsSupplier;
 
-    RawError(String evaluationPath, String schemaLocation, String instanceLocation, String keyword, String error, Supplier<Object[]> argsSupplier) {
+    RawError(String evaluationPath, String schemaLocation, JsonNode instanceNode, String keyword, String error, Supplier<Object[]> argsSupplier) {
+        super(evaluationPath, schemaLocation, instanceNode, keyword);
+        this.error = error;
+        this.argsSupplier = argsSupplier;
+    }
+
+    private RawError(String evaluationPath, String schemaLocation, String instanceLocation, String keyword, String error, Supplier<Object[]> argsSupplier) {
         super(evaluationPath, schemaLocation, instanceLocation, keyword);
         this.error = error;
         this.argsSupplier = argsSupplier;
     }
+
+    /**
+     * Returns a copy that does not reference the instance node. Message arguments are computed eagerly,
+     * as the supplier might capture the node too.
+     */
+    RawError detach() {
+        Object[] args = argsSupplier != null ? argsSupplier.get() : null;
+        return new RawError(getEvaluationPath(), getSchemaLocation(), getInstanceLocation(), getKeyword(), error, args != null ? () -> args : null);
+    }
 }
\ No newline at end of file
@@ -0,0 +1,58 @@
+package dev.harrel.jsonschema;
+
+/**
+ * {@code EvaluationListener} interface allows observing the evaluation process, e.g. to find out which keywords
+ * or subschemas take the most time. It is notified when evaluation of a schema starts and ends,
+ * and before and after each keyword ({@link Evaluator}) is evaluated. All the methods do nothing by default.
+ * Listener is invoked synchronously in the evaluating thread, so it should be fast,
+ * and it must be thread-safe if {@link Validator} is used concurrently (or with parallel evaluation).
+ * Every enter callback is paired with an exit callback, even if evaluation ends with an exception (e.g. {@link SchemaNotFoundException}),
+ * in which case it is reported as invalid. When no listener is configured, evaluation is not instrumented at all.
+ *
+ * @see ValidatorFactory#withEvaluationListener(EvaluationListener)
+ * @see LatencyHistogramListener
+ * @see SchemaProfiler
+ */
+public interface EvaluationListener {
+    /**
+     * Called when evaluation of a schema starts.
+     *
+     * @param schemaLocation absolute location of the schema
+     * @param node           instance node being validated
+     */
+    default void onSchemaEnter(String schemaLocation, JsonNode node) {
+    }
+
+    /**
+     * Called when evaluation of a schema ends.
+     *
+     * @param schemaLocation absolute location of the schema
+     * @param node           instance node being validated
+     * @param valid          if the node is valid against the schema
+     * @param nanos          evaluation time in nanoseconds
+     */
+    default void onSchemaExit(String schemaLocation, JsonNode node, boolean valid, long nanos) {
+    }
+
+    /**
+     * Called before a keyword is evaluated.
+     *
+     * @param keyword        keyword name
+     * @param schemaLocation absolute location of the schema containing the keyword
+     * @param node           instance node being validated
+     */
+    default void onEvaluatorEnter(String keyword, String schemaLocation, JsonNode node) {
+    }
+
+    /**
+     * Called after a keyword is evaluated. Evaluation time includes evaluation of subschemas applied by the keyword.
+     *
+     * @param keyword        keyword name
+     * @param schemaLocation absolute location of the schema containing the keyword
+     * @param node           instance node being validated
+     * @param valid          if the keyword evaluation was successful
+     * @param nanos          evaluation time in nanoseconds
+     */
+    default void onEvaluatorExit(String keyword, String schemaLocation, JsonNode node, boolean valid, long nanos) {
+    }
+}
@@ -1,5 +1,6 @@
 package dev.harrel.jsonschema;
 
+import java.util.EnumSet;
 import java.util.Objects;
 import java.util.Set;
 import java.util.function.Supplier;
@@ -31,6 +32,19 @@ public interface Evaluator {
         return 0;
     }
 
+    /**
+     * Types of instances that this {@code Evaluator} can affect. For instances of any other type
+     * it is not invoked at all, which is equivalent to returning {@link Result#success()} without an annotation.
+     * {@link SimpleType#NUMBER} covers integers as well.
+     * By default, all types are returned, so the evaluator is always invoked.
+     * This method is called only once, when the schema is parsed.
+     *
+     * @return set of applicable instance types
+     */
+    default Set<SimpleType> getApplicableTypes() {
+        return EnumSet.allOf(SimpleType.class);
+    }
+
     /**
      * If evaluator is considered to belong to some specific vocabularies, then it should return their URIs. By default,
      * this method returns an empty set, which means it belongs to no vocabulary, and it will always be taken into
@@ -133,7 +147,12 @@ public interface Evaluator {
             return new Result(false, annotation, null, null);
         }
 
-        boolean isValid() {
+        /**
+         * Getter for evaluation outcome.
+         *
+         * @return if evaluation was successful
+         */
+        public boolean isValid() {
             return valid;
         }
 
@@ -1,6 +1,7 @@
 package dev.harrel.jsonschema;
 
 import java.util.Objects;
+import java.util.Set;
 
 final class EvaluatorWrapper implements Evaluator {
     private final String keyword;
@@ -27,6 +28,11 @@ final class EvaluatorWrapper implements Evaluator {
         return evaluator.getOrder();
     }
 
+    @Override
+    public Set<SimpleType> getApplicableTypes() {
+        return evaluator.getApplicableTypes();
+    }
+
     String getKeyword() {
         return keyword;
     }
@@ -34,4 +40,17 @@ final class EvaluatorWrapper implements Evaluator {
     String getKeywordPath() {
         return keywordPath;
     }
+
+    Evaluator getEvaluator() {
+        return evaluator;
+    }
+
+    /* If evaluator is provided by the library itself, so its behaviour is defined by the specification */
+    boolean isBuiltIn() {
+        Class<?> type = evaluator.getClass();
+        String packagePrefix = EvaluatorWrapper.class.getName().substring(0, EvaluatorWrapper.class.getName().lastIndexOf('.') + 1);
+        return type.getClassLoader() == EvaluatorWrapper.class.getClassLoader() &&
+                type.getName().startsWith(packagePrefix) &&
+                type.getName().indexOf('.', packagePrefix.length()) < 0;
+    }
 }
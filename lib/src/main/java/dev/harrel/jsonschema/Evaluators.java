@@ -3,7 +3,6 @@ package dev.harrel.jsonschema;
 import java.math.BigDecimal;
 import java.util.*;
 import java.util.function.Supplier;
-import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
 import static dev.harrel.jsonschema.internal.InternalProviderUtil.canUseNativeEquals;
@@ -46,6 +45,10 @@ class ConstEvaluator implements Evaluator {
         this.constNode = node;
     }
 
+    JsonNode getConstNode() {
+        return constNode;
+    }
+
     @Override
     public Result evaluate(EvaluationContext ctx, JsonNode node) {
         boolean valid = canUseNativeEquals(constNode) && canUseNativeEquals(node) ? constNode.equals(node) : JsonNodeUtil.equals(constNode, node);
@@ -65,6 +68,10 @@ class EnumEvaluator implements Evaluator {
         this.canUseNativeEquals = canUseNativeEquals(node);
     }
 
+    Set<JsonNode> getEnumNodes() {
+        return enumNodes;
+    }
+
     @Override
     public Result evaluate(EvaluationContext ctx, JsonNode node) {
         if (canUseNativeEquals && canUseNativeEquals(node)) {
@@ -107,6 +114,11 @@ class MultipleOfEvaluator implements Evaluator {
             return Result.formattedFailure("multipleOf", number, factor);
         }
     }
+
+    @Override
+    public Set<SimpleType> getApplicableTypes() {
+        return singleton(SimpleType.NUMBER);
+    }
 }
 
 class MaximumEvaluator implements Evaluator {
@@ -132,6 +144,11 @@ class MaximumEvaluator implements Evaluator {
             return Result.formattedFailure("maximum", number, max);
         }
     }
+
+    @Override
+    public Set<SimpleType> getApplicableTypes() {
+        return singleton(SimpleType.NUMBER);
+    }
 }
 
 class ExclusiveMaximumEvaluator implements Evaluator {
@@ -157,6 +174,11 @@ class ExclusiveMaximumEvaluator implements Evaluator {
             return Result.formattedFailure("exclusiveMaximum", number, max);
         }
     }
+
+    @Override
+    public Set<SimpleType> getApplicableTypes() {
+        return singleton(SimpleType.NUMBER);
+    }
 }
 
 class LegacyMaximumEvaluator implements Evaluator {
@@ -175,6 +197,11 @@ class LegacyMaximumEvaluator implements Evaluator {
     public Result evaluate(EvaluationContext ctx, JsonNode node) {
         return delegate.evaluate(ctx, node);
     }
+
+    @Override
+    public Set<SimpleType> getApplicableTypes() {
+        return singleton(SimpleType.NUMBER);
+    }
 }
 
 class MinimumEvaluator implements Evaluator {
@@ -200,6 +227,11 @@ class MinimumEvaluator implements Evaluator {
             return Result.formattedFailure("minimum", number, min);
         }
     }
+
+    @Override
+    public Set<SimpleType> getApplicableTypes() {
+        return singleton(SimpleType.NUMBER);
+    }
 }
 
 class ExclusiveMinimumEvaluator implements Evaluator {
@@ -225,6 +257,11 @@ class ExclusiveMinimumEvaluator implements Evaluator {
             return Result.formattedFailure("exclusiveMinimum", number, min);
         }
     }
+
+    @Override
+    public Set<SimpleType> getApplicableTypes() {
+        return singleton(SimpleType.NUMBER);
+    }
 }
 
 class LegacyMinimumEvaluator implements Evaluator {
@@ -243,6 +280,11 @@ class LegacyMinimumEvaluator implements Evaluator {
     public Result evaluate(EvaluationContext ctx, JsonNode node) {
         return delegate.evaluate(ctx, node);
     }
+
+    @Override
+    public Set<SimpleType> getApplicableTypes() {
+        return singleton(SimpleType.NUMBER);
+    }
 }
 
 class MaxLengthEvaluator implements Evaluator {
@@ -268,6 +310,11 @@ class MaxLengthEvaluator implements Evaluator {
             return Result.formattedFailure("maxLength", string, maxLength);
         }
     }
+
+    @Override
+    public Set<SimpleType> getApplicableTypes() {
+        return singleton(SimpleType.STRING);
+    }
 }
 
 class MinLengthEvaluator implements Evaluator {
@@ -293,16 +340,23 @@ class MinLengthEvaluator implements Evaluator {
             return Result.formattedFailure("minLength", string, minLength);
         }
     }
+
+    @Override
+    public Set<SimpleType> getApplicableTypes() {
+        return singleton(SimpleType.STRING);
+    }
 }
 
 class PatternEvaluator implements Evaluator {
-    private final Pattern pattern;
+    private final String pattern;
+    private final RegexEngine.Regex regex;
 
-    PatternEvaluator(JsonNode node) {
+    PatternEvaluator(SchemaParsingContext ctx, JsonNode node) {
         if (!node.isString()) {
             throw new IllegalArgumentException();
         }
-        this.pattern = Pattern.compile(node.asString());
+        this.pattern = node.asString();
+        this.regex = AbstractEvaluatorFactory.compileRegex(ctx.getRegexEngine(), pattern);
     }
 
     @Override
@@ -312,12 +366,17 @@ class PatternEvaluator implements Evaluator {
         }
 
         String string = node.asString();
-        if (pattern.matcher(string).find()) {
+        if (regex.find(string)) {
             return Result.success();
         } else {
             return Result.formattedFailure("pattern", string, pattern);
         }
     }
+
+    @Override
+    public Set<SimpleType> getApplicableTypes() {
+        return singleton(SimpleType.STRING);
+    }
 }
 
 class MaxItemsEvaluator implements Evaluator {
@@ -343,6 +402,11 @@ class MaxItemsEvaluator implements Evaluator {
             return Result.formattedFailure("maxItems", arraySize, maxItems);
         }
     }
+
+    @Override
+    public Set<SimpleType> getApplicableTypes() {
+        return singleton(SimpleType.ARRAY);
+    }
 }
 
 class MinItemsEvaluator implements Evaluator {
@@ -368,6 +432,11 @@ class MinItemsEvaluator implements Evaluator {
             return Result.formattedFailure("minItems", arraySize, minItems);
         }
     }
+
+    @Override
+    public Set<SimpleType> getApplicableTypes() {
+        return singleton(SimpleType.ARRAY);
+    }
 }
 
 class UniqueItemsEvaluator implements Evaluator {
@@ -407,6 +476,11 @@ class UniqueItemsEvaluator implements Evaluator {
 
         return Result.success();
     }
+
+    @Override
+    public Set<SimpleType> getApplicableTypes() {
+        return singleton(SimpleType.ARRAY);
+    }
 }
 
 class MaxContainsEvaluator implements Evaluator {
@@ -434,6 +508,11 @@ class MaxContainsEvaluator implements Evaluator {
         }
     }
 
+    @Override
+    public Set<SimpleType> getApplicableTypes() {
+        return singleton(SimpleType.ARRAY);
+    }
+
     @Override
     public int getOrder() {
         return 10;
@@ -465,6 +544,11 @@ class MinContainsEvaluator implements Evaluator {
         }
     }
 
+    @Override
+    public Set<SimpleType> getApplicableTypes() {
+        return singleton(SimpleType.ARRAY);
+    }
+
     @Override
     public int getOrder() {
         return 10;
@@ -494,6 +578,11 @@ class MaxPropertiesEvaluator implements Evaluator {
             return Result.formattedFailure("maxProperties", propsSize, max);
         }
     }
+
+    @Override
+    public Set<SimpleType> getApplicableTypes() {
+        return singleton(SimpleType.OBJECT);
+    }
 }
 
 class MinPropertiesEvaluator implements Evaluator {
@@ -519,6 +608,11 @@ class MinPropertiesEvaluator implements Evaluator {
             return Result.formattedFailure("minProperties", propsSize, min);
         }
     }
+
+    @Override
+    public Set<SimpleType> getApplicableTypes() {
+        return singleton(SimpleType.OBJECT);
+    }
 }
 
 class RequiredEvaluator implements Evaluator {
@@ -531,6 +625,10 @@ class RequiredEvaluator implements Evaluator {
         this.requiredProperties = unmodifiableList(node.asArray().stream().map(JsonNode::asString).collect(Collectors.toList()));
     }
 
+    List<String> getRequiredProperties() {
+        return requiredProperties;
+    }
+
     @Override
     public Result evaluate(EvaluationContext ctx, JsonNode node) {
         if (!node.isObject()) {
@@ -549,6 +647,11 @@ class RequiredEvaluator implements Evaluator {
             return Result.formattedFailure("required", args);
         }
     }
+
+    @Override
+    public Set<SimpleType> getApplicableTypes() {
+        return singleton(SimpleType.OBJECT);
+    }
 }
 
 class DependenciesLegacyEvaluator implements Evaluator {
@@ -576,6 +679,11 @@ class DependenciesLegacyEvaluator implements Evaluator {
             return schemasDelegate.evaluate(ctx, node);
         }
     }
+
+    @Override
+    public Set<SimpleType> getApplicableTypes() {
+        return singleton(SimpleType.OBJECT);
+    }
 }
 
 class DependentRequiredEvaluator implements Evaluator {
@@ -617,6 +725,11 @@ class DependentRequiredEvaluator implements Evaluator {
         }
     }
 
+    @Override
+    public Set<SimpleType> getApplicableTypes() {
+        return singleton(SimpleType.OBJECT);
+    }
+
     private static Map<String, List<String>> toMap(Map<String, JsonNode> objectNode) {
         return objectNode.entrySet()
                 .stream()
@@ -11,6 +11,7 @@ import java.util.function.Consumer;
 import java.util.function.Predicate;
 import java.util.regex.Pattern;
 
+import static java.util.Collections.singleton;
 import static java.util.Collections.unmodifiableSet;
 
 /**
@@ -59,7 +60,7 @@ import static java.util.Collections.unmodifiableSet;
  *          <strong>json-pointer, relative-json-pointer</strong> - manual validation,
  *     </li>
  *     <li>
- *          <strong>regex</strong> - uses {@link Pattern}.
+ *          <strong>regex</strong> - uses configured {@link RegexEngine}.
  *     </li>
  * </ul>
  *
@@ -96,7 +97,7 @@ public final class FormatEvaluatorFactory implements EvaluatorFactory {
         if (!"format".equals(fieldName) || !fieldNode.isString() || !vocabPredicate.test(ctx)) {
             return Optional.empty();
         }
-        return Optional.of(new FormatEvaluator(fieldNode.asString()));
+        return Optional.of(new FormatEvaluator(fieldNode.asString(), ctx.getRegexEngine()));
     }
 
     private static final class FormatException extends Exception {
@@ -127,9 +128,9 @@ public final class FormatEvaluatorFactory implements EvaluatorFactory {
         private final String format;
         private final FormatOperator operator;
 
-        private FormatEvaluator(String format) {
+        private FormatEvaluator(String format, RegexEngine regexEngine) {
             this.format = format;
-            this.operator = getOperator(format);
+            this.operator = getOperator(format, regexEngine);
         }
 
         @Override
@@ -147,7 +148,12 @@ public final class FormatEvaluatorFactory implements EvaluatorFactory {
             }
         }
 
-        private static FormatOperator getOperator(String format) {
+        @Override
+        public Set<SimpleType> getApplicableTypes() {
+            return singleton(SimpleType.STRING);
+        }
+
+        private static FormatOperator getOperator(String format, RegexEngine regexEngine) {
             switch (format) {
                 case "date":
                     return tryOf(DateTimeFormatter.ISO_DATE::parse);
@@ -184,7 +190,7 @@ public final class FormatEvaluatorFactory implements EvaluatorFactory {
                 case "relative-json-pointer":
                     return predicateOf(FormatEvaluator::validateRjp);
                 case "regex":
-                    return tryOf(Pattern::compile);
+                    return tryOf(regexEngine::compile);
                 default:
                     return v -> {};
             }
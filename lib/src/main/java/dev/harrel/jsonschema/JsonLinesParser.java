@@ -0,0 +1,108 @@
+package dev.harrel.jsonschema;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import dev.harrel.jsonschema.providers.JacksonNode;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.util.function.ObjIntConsumer;
+
+/**
+ * Parsing of values in <a href="https://jsonlines.org">JSON Lines</a> format with a single Jackson parser.
+ * The parser is fed one non-blank line at a time and gets an end of input if a value does not end within its line,
+ * so each line is parsed independently, the same way as {@link JacksonNode.Factory#create(String)} would do it
+ * (including ignoring any content after the value).
+ * As Jackson parsers cannot continue after a syntax error, the parser is only replaced after a malformed line.
+ */
+final class JsonLinesParser extends Reader {
+    private final BufferedReader reader;
+    /* Current line with a line terminator, so that the parser can tell where a trailing scalar value ends */
+    private String line;
+    private int position;
+    private int lineNumber = 0;
+    private boolean nextLineAllowed;
+
+    private JsonLinesParser(Reader reader) {
+        this.reader = reader instanceof BufferedReader ? (BufferedReader) reader : new BufferedReader(reader);
+    }
+
+    /* Passes values (as JsonNode) or errors of malformed lines (as IllegalArgumentException) along with line numbers (starting from 1) */
+    static void parse(Reader reader, ObjIntConsumer<Object> consumer) {
+        new JsonLinesParser(reader).parse(consumer);
+    }
+
+    private void parse(ObjIntConsumer<Object> consumer) {
+        try {
+            JsonParser parser = StreamingValidation.MAPPER.getFactory().createParser(this);
+            try {
+                while (true) {
+                    nextLineAllowed = true;
+                    try {
+                        JsonToken token = parser.nextToken();
+                        if (nextLineAllowed) {
+                            /* Nothing was read, so the token (if any) follows a value in the previous line */
+                            if (token == null) {
+                                return;
+                            }
+                            parser = skipLine(parser);
+                        } else {
+                            consumer.accept(new JacksonNode(StreamingValidation.readValue(parser)), lineNumber);
+                        }
+                    } catch (JsonProcessingException e) {
+                        if (!nextLineAllowed) {
+                            consumer.accept(new IllegalArgumentException(e.getOriginalMessage(), e), lineNumber);
+                        }
+                        parser = skipLine(parser);
+                    }
+                }
+            } finally {
+                parser.close();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private JsonParser skipLine(JsonParser parser) throws IOException {
+        parser.close();
+        line = null;
+        return StreamingValidation.MAPPER.getFactory().createParser(this);
+    }
+
+    @Override
+    public int read(char[] buffer, int offset, int length) throws IOException {
+        if (line == null || position == line.length()) {
+            if (!nextLineAllowed || !readNextLine()) {
+                return -1;
+            }
+            nextLineAllowed = false;
+        }
+        int count = Math.min(length, line.length() - position);
+        line.getChars(position, position + count, buffer, offset);
+        position += count;
+        return count;
+    }
+
+    private boolean readNextLine() throws IOException {
+        String next;
+        do {
+            next = reader.readLine();
+            if (next == null) {
+                return false;
+            }
+            lineNumber++;
+        } while (next.trim().isEmpty());
+        line = next + '\n';
+        position = 0;
+        return true;
+    }
+
+    @Override
+    public void close() {
+        /* Provided reader is not closed */
+    }
+}
@@ -83,6 +83,39 @@ final class JsonNodeUtil {
         }
     }
 
+    /**
+     * Hash code consistent with {@link JsonNodeUtil#equals(JsonNode, JsonNode)}.
+     */
+    static int hashCode(JsonNode node) {
+        switch (node.getNodeType()) {
+            case NULL:
+                return 0;
+            case BOOLEAN:
+                return Boolean.hashCode(node.asBoolean());
+            case STRING:
+                return node.asString().hashCode();
+            case INTEGER:
+                return node.asInteger().hashCode();
+            case NUMBER:
+                return node.asNumber().hashCode();
+            case ARRAY:
+                int arrayHash = 1;
+                for (JsonNode element : node.asArray()) {
+                    arrayHash = 31 * arrayHash + hashCode(element);
+                }
+                return arrayHash;
+            case OBJECT:
+                /* order of properties is irrelevant */
+                int objectHash = 7;
+                for (Map.Entry<String, JsonNode> entry : node.asObject().entrySet()) {
+                    objectHash += entry.getKey().hashCode() ^ hashCode(entry.getValue());
+                }
+                return objectHash;
+            default:
+                throw new IllegalArgumentException(String.format("Unknown nodeType [%s]", node.getNodeType()));
+        }
+    }
+
     private static boolean compareArrays(List<JsonNode> arr1, List<JsonNode> arr2) {
         if (arr1.size() != arr2.size()) {
             return false;
@@ -2,7 +2,13 @@ package dev.harrel.jsonschema;
 
 import java.net.URI;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
 
 import static java.util.Collections.emptyMap;
 import static java.util.Collections.singletonList;
@@ -14,31 +20,183 @@ final class JsonParser {
     private final SchemaRegistry schemaRegistry;
     private final MetaSchemaValidator metaSchemaValidator;
     private final boolean disabledSchemaValidation;
+    private final RegexEngine regexEngine;
     private final ReentrantLock lock = new ReentrantLock();
     private final Map<URI, UnfinishedSchema> unfinishedSchemas = new HashMap<>();
+    /* Set while importing a snapshot - its schemas were already validated against meta-schemas */
+    private boolean trustedSchemas = false;
 
     JsonParser(Map<URI, Dialect> dialects,
                Dialect defaultDialect,
                EvaluatorFactory evaluatorFactory,
                SchemaRegistry schemaRegistry,
                MetaSchemaValidator metaSchemaValidator,
-               boolean disabledSchemaValidation) {
+               boolean disabledSchemaValidation,
+               RegexEngine regexEngine) {
         this.dialects = Objects.requireNonNull(dialects);
         this.defaultDialect = Objects.requireNonNull(defaultDialect);
         this.evaluatorFactory = evaluatorFactory;
         this.schemaRegistry = Objects.requireNonNull(schemaRegistry);
         this.metaSchemaValidator = Objects.requireNonNull(metaSchemaValidator);
         this.disabledSchemaValidation = disabledSchemaValidation;
+        this.regexEngine = Objects.requireNonNull(regexEngine);
     }
 
     URI parseRootSchema(URI baseUri, JsonNode node) {
+        return parseRootSchema(baseUri, node, false);
+    }
+
+    /**
+     * Parses root schema loaded by {@link SchemaResolver}. Such schemas can be evicted from the registry
+     * (see {@link ValidatorFactory#withResolvedSchemaLimit(int)}), as they can be resolved again if needed.
+     */
+    URI parseResolvedRootSchema(URI baseUri, JsonNode node) {
+        return parseRootSchema(baseUri, node, true);
+    }
+
+    private URI parseRootSchema(URI baseUri, JsonNode node, boolean resolved) {
+        lock.lock();
+        try {
+            int savepoint = schemaRegistry.beginTransaction();
+            URI finalUri;
+            schemaRegistry.beginDocument(resolved);
+            try {
+                URI uriWithoutFragment = UriUtil.getUriWithoutFragment(baseUri);
+                finalUri = parseRootSchemaInternal(uriWithoutFragment, node);
+                schemaRegistry.endDocument(new ValidatorSnapshot.Entry(uriWithoutFragment, node));
+                schemaRegistry.commitTransaction();
+            } catch (RuntimeException e) {
+                schemaRegistry.abandonDocument();
+                schemaRegistry.rollbackTransaction(savepoint);
+                throw e;
+            }
+            schemaRegistry.evictResolvedDocuments();
+            return finalUri;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Removes the root schema owning given URI, along with all its subschemas, embedded schemas and aliases.
+     *
+     * @return true if the schema was registered
+     */
+    boolean unregisterRootSchema(URI uri) {
+        lock.lock();
+        try {
+            return schemaRegistry.unregisterDocument(uri) != null;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Parses independent root schemas in parallel and registers all of them at once.
+     * Schemas are split into chunks (a few per thread of provided executor, for balancing), and each chunk is parsed
+     * by a separate staging parser into its own registry (which falls back to the main one for lookups),
+     * so no lock is held while parsing and validating against meta-schemas.
+     * Staging registries are then merged within a single transaction.
+     * If parsing of any chunk fails, the first failure (in chunk order) is rethrown and nothing is registered.
+     * If any schema is a meta-schema of another one from the same batch, schemas cannot be parsed independently,
+     * so all of them are parsed sequentially within a single transaction instead.
+     */
+    List<URI> parseRootSchemas(List<ValidatorSnapshot.Entry> entries, Executor executor) {
+        if (hasMetaSchemasInBatch(entries)) {
+            return parseRootSchemasSequentially(entries);
+        }
+        int chunkCount = Math.min(entries.size(), getParallelism(executor) * 4);
+        List<CompletableFuture<JsonParser>> futures = new ArrayList<>(chunkCount);
+        URI[] uris = new URI[entries.size()];
+        for (int chunk = 0; chunk < chunkCount; chunk++) {
+            int from = entries.size() * chunk / chunkCount;
+            int to = entries.size() * (chunk + 1) / chunkCount;
+            futures.add(CompletableFuture.supplyAsync(() -> {
+                JsonParser stagingParser = createStagingParser();
+                for (int i = from; i < to; i++) {
+                    ValidatorSnapshot.Entry entry = entries.get(i);
+                    uris[i] = stagingParser.parseRootSchema(entry.baseUri, entry.schemaNode);
+                }
+                return stagingParser;
+            }, executor));
+        }
+        try {
+            CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0])).join();
+        } catch (CompletionException e) {
+            for (CompletableFuture<JsonParser> future : futures) {
+                if (future.isCompletedExceptionally()) {
+                    join(future);
+                }
+            }
+            throw e;
+        }
+
+        lock.lock();
+        try {
+            schemaRegistry.beginTransaction();
+            for (CompletableFuture<JsonParser> future : futures) {
+                JsonParser stagingParser = future.join();
+                schemaRegistry.merge(stagingParser.schemaRegistry);
+            }
+            schemaRegistry.commitTransaction();
+            return Arrays.asList(uris);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private static boolean hasMetaSchemasInBatch(List<ValidatorSnapshot.Entry> entries) {
+        Set<URI> batchUris = new HashSet<>();
+        Set<URI> metaSchemaUris = new HashSet<>();
+        for (ValidatorSnapshot.Entry entry : entries) {
+            URI baseUri = UriUtil.getUriWithoutFragment(entry.baseUri);
+            batchUris.add(baseUri);
+            JsonNodeUtil.getAsObject(entry.schemaNode).ifPresent(obj -> {
+                getIdUri(obj, baseUri, Keyword.ID).ifPresent(batchUris::add);
+                getIdUri(obj, baseUri, Keyword.LEGACY_ID).ifPresent(batchUris::add);
+                JsonNodeUtil.getStringField(obj, Keyword.SCHEMA)
+                        .map(UriUtil::getUriWithoutFragment)
+                        .ifPresent(metaSchemaUris::add);
+            });
+        }
+        return !Collections.disjoint(batchUris, metaSchemaUris);
+    }
+
+    private static int getParallelism(Executor executor) {
+        if (executor instanceof ForkJoinPool) {
+            return ((ForkJoinPool) executor).getParallelism();
+        }
+        /* Unbounded pools (like cached thread pools) are limited by processors anyway */
+        if (executor instanceof ThreadPoolExecutor && ((ThreadPoolExecutor) executor).getMaximumPoolSize() < Integer.MAX_VALUE) {
+            return ((ThreadPoolExecutor) executor).getMaximumPoolSize();
+        }
+        return Runtime.getRuntime().availableProcessors();
+    }
+
+    private static <T> T join(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    private List<URI> parseRootSchemasSequentially(List<ValidatorSnapshot.Entry> entries) {
         lock.lock();
         try {
-            SchemaRegistry.State snapshot = schemaRegistry.createSnapshot();
+            int savepoint = schemaRegistry.beginTransaction();
             try {
-                return parseRootSchemaInternal(UriUtil.getUriWithoutFragment(baseUri), node);
+                List<URI> uris = new ArrayList<>(entries.size());
+                for (ValidatorSnapshot.Entry entry : entries) {
+                    uris.add(parseRootSchema(entry.baseUri, entry.schemaNode));
+                }
+                schemaRegistry.commitTransaction();
+                return uris;
             } catch (RuntimeException e) {
-                schemaRegistry.restoreSnapshot(snapshot);
+                schemaRegistry.rollbackTransaction(savepoint);
                 throw e;
             }
         } finally {
@@ -46,6 +204,44 @@ final class JsonParser {
         }
     }
 
+    private JsonParser createStagingParser() {
+        SchemaRegistry stagingRegistry = new SchemaRegistry(schemaRegistry);
+        return new JsonParser(dialects, defaultDialect, evaluatorFactory, stagingRegistry,
+                metaSchemaValidator.withSchemaRegistry(stagingRegistry), disabledSchemaValidation, regexEngine);
+    }
+
+    /* Lookups of registered schemas outside of validation (see SchemaView), which must not interleave with registrations */
+    <T> T readRegistry(Function<SchemaRegistry, T> lookup) {
+        lock.lock();
+        try {
+            return lookup.apply(schemaRegistry);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    List<ValidatorSnapshot.Entry> getParsedRootSchemas() {
+        lock.lock();
+        try {
+            return schemaRegistry.getDocumentEntries();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    void parseTrustedRootSchemas(List<ValidatorSnapshot.Entry> entries) {
+        lock.lock();
+        try {
+            trustedSchemas = true;
+            for (ValidatorSnapshot.Entry entry : entries) {
+                parseRootSchema(entry.baseUri, entry.schemaNode);
+            }
+        } finally {
+            trustedSchemas = false;
+            lock.unlock();
+        }
+    }
+
     private URI parseRootSchemaInternal(URI baseUri, JsonNode node) {
         Optional<Map<String, JsonNode>> objectMapOptional = JsonNodeUtil.getAsObject(node);
         URI metaSchemaUri = Optional.ofNullable(
@@ -86,12 +282,12 @@ final class JsonParser {
         MetaSchemaData metaSchemaData = validateAgainstMetaSchema(node, metaSchemaUri, finalUri.toString());
 
         if (node.isBoolean()) {
-            SchemaParsingContext ctx = new SchemaParsingContext(metaSchemaData, baseUri, emptyMap());
+            SchemaParsingContext ctx = new SchemaParsingContext(metaSchemaData, baseUri, emptyMap(), regexEngine);
             List<EvaluatorWrapper> evaluators = singletonList(new EvaluatorWrapper(null, node, Schema.getBooleanEvaluator(node.asBoolean())));
             schemaRegistry.registerSchema(ctx, node, evaluators);
         } else if (objectMapOptional.isPresent()) {
             Map<String, JsonNode> objectMap = objectMapOptional.get();
-            SchemaParsingContext ctx = new SchemaParsingContext(metaSchemaData, finalUri, objectMap);
+            SchemaParsingContext ctx = new SchemaParsingContext(metaSchemaData, finalUri, objectMap, regexEngine);
             idField.ifPresent(id -> validateIdField(ctx, id));
             List<EvaluatorWrapper> evaluators = parseEvaluators(ctx, objectMap, node.getJsonPointer());
             schemaRegistry.registerSchema(ctx, node, evaluators);
@@ -222,11 +418,15 @@ final class JsonParser {
             if (dialect == null) {
                 throw MetaSchemaResolvingException.recursiveFailure(metaSchemaUri.toString());
             }
-            unfinishedSchema.callbacks.add(() -> metaSchemaValidator.validateSchema(this, metaSchemaUri, uri, node));
+            if (!trustedSchemas) {
+                unfinishedSchema.callbacks.add(() -> metaSchemaValidator.validateSchema(this, metaSchemaUri, uri, node));
+            }
             return new MetaSchemaData(dialect);
         }
 
-        MetaSchemaData metaSchemaData =  metaSchemaValidator.validateSchema(this, metaSchemaUri, uri, node);
+        MetaSchemaData metaSchemaData = trustedSchemas
+                ? metaSchemaValidator.resolveMetaSchema(this, metaSchemaUri).getMetaValidationData()
+                : metaSchemaValidator.validateSchema(this, metaSchemaUri, uri, node);
         if (dialect == null) {
             return metaSchemaData;
         }
@@ -0,0 +1,197 @@
+package dev.harrel.jsonschema;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * {@link EvaluationListener} implementation that aggregates evaluation times into latency histograms.
+ * There is one histogram per schema location (for whole schemas) and one per keyword location,
+ * which is the schema location followed by the keyword name (e.g. {@code https://harrel.dev/schema#/properties/foo/type}).
+ * Histograms have power-of-two buckets, so the memory used by each of them is constant.
+ * All the counters are lock-free, so the listener can be used in live traffic with concurrent validations.
+ */
+public final class LatencyHistogramListener implements EvaluationListener {
+    private final ConcurrentMap<String, Recorder> schemaRecorders = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, ConcurrentMap<String, Recorder>> keywordRecorders = new ConcurrentHashMap<>();
+
+    @Override
+    public void onSchemaExit(String schemaLocation, JsonNode node, boolean valid, long nanos) {
+        schemaRecorders.computeIfAbsent(schemaLocation, k -> new Recorder()).record(nanos);
+    }
+
+    @Override
+    public void onEvaluatorExit(String keyword, String schemaLocation, JsonNode node, boolean valid, long nanos) {
+        keywordRecorders.computeIfAbsent(schemaLocation, k -> new ConcurrentHashMap<>())
+                .computeIfAbsent(keyword, k -> new Recorder())
+                .record(nanos);
+    }
+
+    /**
+     * Returns snapshot of histograms of whole schemas.
+     *
+     * @return histograms by schema locations
+     */
+    public Map<String, Histogram> getSchemaHistograms() {
+        Map<String, Histogram> result = new TreeMap<>();
+        schemaRecorders.forEach((location, recorder) -> result.put(location, recorder.snapshot()));
+        return result;
+    }
+
+    /**
+     * Returns snapshot of histograms of keywords.
+     *
+     * @return histograms by keyword locations
+     */
+    public Map<String, Histogram> getKeywordHistograms() {
+        Map<String, Histogram> result = new TreeMap<>();
+        keywordRecorders.forEach((schemaLocation, recorders) ->
+                recorders.forEach((keyword, recorder) -> result.put(toKeywordLocation(schemaLocation, keyword), recorder.snapshot())));
+        return result;
+    }
+
+    /**
+     * Returns keyword locations sorted by the total time spent, descending.
+     *
+     * @param limit maximum number of returned entries
+     * @return the most expensive keyword locations with their histograms
+     */
+    public List<Map.Entry<String, Histogram>> getHottestKeywords(int limit) {
+        List<Map.Entry<String, Histogram>> entries = new ArrayList<>(getKeywordHistograms().entrySet());
+        entries.sort(Comparator.comparingLong((Map.Entry<String, Histogram> e) -> e.getValue().getTotalNanos()).reversed());
+        return entries.subList(0, Math.min(limit, entries.size()));
+    }
+
+    /**
+     * Clears all the histograms.
+     */
+    public void reset() {
+        schemaRecorders.clear();
+        keywordRecorders.clear();
+    }
+
+    private static String toKeywordLocation(String schemaLocation, String keyword) {
+        return schemaLocation.endsWith("/") ? schemaLocation + keyword : schemaLocation + "/" + keyword;
+    }
+
+    /**
+     * {@code Histogram} class represents a snapshot of evaluation times recorded for a single location.
+     * Bucket {@code i} counts evaluations that took less than 2<sup>i</sup> nanoseconds
+     * (and at least 2<sup>i-1</sup> nanoseconds, for {@code i > 0}).
+     */
+    public static final class Histogram {
+        private final long count;
+        private final long totalNanos;
+        private final long maxNanos;
+        private final long[] buckets;
+
+        private Histogram(long count, long totalNanos, long maxNanos, long[] buckets) {
+            this.count = count;
+            this.totalNanos = totalNanos;
+            this.maxNanos = maxNanos;
+            this.buckets = buckets;
+        }
+
+        /**
+         * Getter for the number of evaluations.
+         *
+         * @return number of evaluations
+         */
+        public long getCount() {
+            return count;
+        }
+
+        /**
+         * Getter for the total time of all evaluations.
+         *
+         * @return total time in nanoseconds
+         */
+        public long getTotalNanos() {
+            return totalNanos;
+        }
+
+        /**
+         * Getter for the longest evaluation time.
+         *
+         * @return maximum time in nanoseconds
+         */
+        public long getMaxNanos() {
+            return maxNanos;
+        }
+
+        /**
+         * Getter for the mean evaluation time.
+         *
+         * @return mean time in nanoseconds
+         */
+        public double getMeanNanos() {
+            return count == 0 ? 0 : (double) totalNanos / count;
+        }
+
+        /**
+         * Returns an upper bound of given percentile of evaluation times, with the precision of bucket boundaries.
+         *
+         * @param percentile percentile from range {@code [0, 100]}
+         * @return upper bound of the percentile in nanoseconds
+         */
+        public long getPercentileNanos(double percentile) {
+            if (percentile < 0 || percentile > 100) {
+                throw new IllegalArgumentException("Percentile must be between 0 and 100");
+            }
+            long threshold = (long) Math.ceil(count * percentile / 100);
+            long seen = 0;
+            for (int i = 0; i < buckets.length; i++) {
+                seen += buckets[i];
+                if (seen >= threshold && seen > 0) {
+                    return Math.min(i == 63 ? Long.MAX_VALUE : 1L << i, maxNanos);
+                }
+            }
+            return maxNanos;
+        }
+
+        /**
+         * Getter for the bucket counts.
+         *
+         * @return copy of bucket counts
+         */
+        public long[] getBuckets() {
+            return buckets.clone();
+        }
+
+        @Override
+        public String toString() {
+            return "Histogram{" +
+                    "count=" + count +
+                    ", meanNanos=" + Math.round(getMeanNanos()) +
+                    ", p99Nanos=" + getPercentileNanos(99) +
+                    ", maxNanos=" + maxNanos +
+                    '}';
+        }
+    }
+
+    private static final class Recorder {
+        private final AtomicLongArray buckets = new AtomicLongArray(64);
+        private final LongAdder count = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+        private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0);
+
+        void record(long nanos) {
+            long value = Math.max(nanos, 0);
+            buckets.incrementAndGet(Math.min(64 - Long.numberOfLeadingZeros(value), 63));
+            count.increment();
+            totalNanos.add(value);
+            maxNanos.accumulate(value);
+        }
+
+        Histogram snapshot() {
+            long[] counts = new long[buckets.length()];
+            for (int i = 0; i < counts.length; i++) {
+                counts[i] = buckets.get(i);
+            }
+            return new Histogram(count.sum(), totalNanos.sum(), maxNanos.get(), counts);
+        }
+    }
+}
@@ -0,0 +1,693 @@
+package dev.harrel.jsonschema;
+
+import java.util.*;
+
+/**
+ * {@link RegexEngine} implementation that never backtracks. Patterns are compiled (with Thompson's construction)
+ * into a non-deterministic automaton, which is then simulated over the input with all the active states in lock-step.
+ * Every input code point is checked at most once against every state, so matching time is
+ * {@code O(input length * pattern size)}.
+ * Semantics follow {@link java.util.regex.Pattern} (without flags), so both engines can be used interchangeably.
+ * Patterns with unsupported constructs are handed over to the fallback engine.
+ */
+final class LinearRegexEngine implements RegexEngine {
+    /* Counted repetitions are expanded, so automaton size needs to be limited */
+    private static final int MAX_PROGRAM_SIZE = 10_000;
+    private static final int MAX_REPETITION = 1_000;
+    private static final int MAX_CODE_POINT = Character.MAX_CODE_POINT;
+
+    private static final int CHAR = 0;
+    private static final int SPLIT = 1;
+    private static final int JUMP = 2;
+    private static final int BEGIN = 3;
+    private static final int END = 4;
+    private static final int MATCH = 5;
+
+    private static final CharClass DIGIT = new CharClass(new int[]{'0', '9'}, false);
+    private static final CharClass WORD = new CharClass(new int[]{'0', '9', 'A', 'Z', '_', '_', 'a', 'z'}, false);
+    private static final CharClass SPACE = new CharClass(new int[]{'\t', '\r', ' ', ' '}, false);
+    private static final CharClass DOT = new CharClass(new int[]{'\n', '\n', '\r', '\r', 0x85, 0x85, 0x2028, 0x2029}, true);
+
+    private final RegexEngine fallback;
+
+    LinearRegexEngine(RegexEngine fallback) {
+        this.fallback = Objects.requireNonNull(fallback);
+    }
+
+    RegexEngine getFallback() {
+        return fallback;
+    }
+
+    @Override
+    public Regex compile(String pattern) {
+        Regex regex = compileLinear(pattern);
+        return regex != null ? regex : fallback.compile(pattern);
+    }
+
+    /**
+     * Compiles the pattern without handing it over to the fallback engine.
+     *
+     * @return compiled pattern or null if it is not supported (or too large)
+     */
+    Regex compileLinear(String pattern) {
+        try {
+            Node node = new Parser(pattern).parse();
+            return new Program.Builder().build(node);
+        } catch (UnsupportedPatternException e) {
+            return null;
+        }
+    }
+
+    /* If given regex was compiled by this engine itself, not by the fallback engine */
+    static boolean isLinear(Regex regex) {
+        return regex instanceof Program;
+    }
+
+    /* Thrown for constructs that are not supported (or invalid, which is then reported by the fallback engine) */
+    private static final class UnsupportedPatternException extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+
+        UnsupportedPatternException() {
+            super(null, null, false, false);
+        }
+    }
+
+    private static final class Program implements Regex {
+        private final int[] ops;
+        private final int[] targets;
+        private final int[] altTargets;
+        private final CharClass[] classes;
+        private final boolean anchored;
+
+        private Program(int[] ops, int[] targets, int[] altTargets, CharClass[] classes) {
+            this.ops = ops;
+            this.targets = targets;
+            this.altTargets = altTargets;
+            this.classes = classes;
+            this.anchored = ops[0] == BEGIN;
+        }
+
+        @Override
+        public boolean find(CharSequence input) {
+            int size = ops.length;
+            int[] current = new int[size];
+            int[] next = new int[size];
+            int[] marks = new int[size];
+            int[] stack = new int[size];
+            int length = input.length();
+            int generation = 1;
+            int currentSize = 0;
+            int pos = 0;
+            while (true) {
+                /* Starting a new thread at every position gives 'find' semantics */
+                if (pos == 0 || !anchored) {
+                    currentSize = addState(current, currentSize, 0, input, pos, marks, generation, stack);
+                    if (currentSize < 0) {
+                        return true;
+                    }
+                }
+                if (pos >= length || currentSize == 0 && anchored) {
+                    return false;
+                }
+                int codePoint = Character.codePointAt(input, pos);
+                int nextPos = pos + Character.charCount(codePoint);
+                generation++;
+                int nextSize = 0;
+                for (int i = 0; i < currentSize; i++) {
+                    int pc = current[i];
+                    if (classes[pc].matches(codePoint)) {
+                        nextSize = addState(next, nextSize, pc + 1, input, nextPos, marks, generation, stack);
+                        if (nextSize < 0) {
+                            return true;
+                        }
+                    }
+                }
+                int[] tmp = current;
+                current = next;
+                next = tmp;
+                currentSize = nextSize;
+                pos = nextPos;
+            }
+        }
+
+        /* Follows all the epsilon transitions and adds reached CHAR states to the list. Returns -1 if MATCH was reached */
+        private int addState(int[] list, int size, int start, CharSequence input, int pos, int[] marks, int generation, int[] stack) {
+            if (marks[start] == generation) {
+                return size;
+            }
+            marks[start] = generation;
+            int top = 0;
+            stack[top++] = start;
+            while (top > 0) {
+                int pc = stack[--top];
+                int target = -1;
+                switch (ops[pc]) {
+                    case MATCH:
+                        return -1;
+                    case CHAR:
+                        list[size++] = pc;
+                        break;
+                    case JUMP:
+                        target = targets[pc];
+                        break;
+                    case SPLIT:
+                        int alt = altTargets[pc];
+                        if (marks[alt] != generation) {
+                            marks[alt] = generation;
+                            stack[top++] = alt;
+                        }
+                        target = targets[pc];
+                        break;
+                    case BEGIN:
+                        target = pos == 0 ? pc + 1 : -1;
+                        break;
+                    case END:
+                        target = isEnd(input, pos) ? pc + 1 : -1;
+                        break;
+                    default:
+                        throw new IllegalStateException();
+                }
+                if (target >= 0 && marks[target] != generation) {
+                    marks[target] = generation;
+                    stack[top++] = target;
+                }
+            }
+            return size;
+        }
+
+        /* Same as '$' of java.util.regex.Pattern - matches at the end and before a final line terminator */
+        private static boolean isEnd(CharSequence input, int pos) {
+            int length = input.length();
+            if (pos < length - 2) {
+                return false;
+            }
+            if (pos == length - 2) {
+                return input.charAt(pos) == '\r' && input.charAt(pos + 1) == '\n';
+            }
+            if (pos < length) {
+                char c = input.charAt(pos);
+                if (c == '\n') {
+                    return pos == 0 || input.charAt(pos - 1) != '\r';
+                }
+                return c == '\r' || c == 0x85 || c == 0x2028 || c == 0x2029;
+            }
+            return true;
+        }
+
+        private static final class Builder {
+            private int[] ops = new int[16];
+            private int[] targets = new int[16];
+            private int[] altTargets = new int[16];
+            private CharClass[] classes = new CharClass[16];
+            private int size = 0;
+
+            Program build(Node node) {
+                emit(node);
+                add(MATCH, null);
+                return new Program(
+                        Arrays.copyOf(ops, size),
+                        Arrays.copyOf(targets, size),
+                        Arrays.copyOf(altTargets, size),
+                        Arrays.copyOf(classes, size)
+                );
+            }
+
+            private void emit(Node node) {
+                if (node instanceof CharNode) {
+                    add(CHAR, ((CharNode) node).charClass);
+                } else if (node instanceof AssertionNode) {
+                    add(((AssertionNode) node).op, null);
+                } else if (node instanceof SequenceNode) {
+                    for (Node child : ((SequenceNode) node).nodes) {
+                        emit(child);
+                    }
+                } else if (node instanceof AlternationNode) {
+                    List<Node> alternatives = ((AlternationNode) node).alternatives;
+                    List<Integer> jumps = new ArrayList<>();
+                    for (int i = 0; i < alternatives.size() - 1; i++) {
+                        int split = add(SPLIT, null);
+                        targets[split] = size;
+                        emit(alternatives.get(i));
+                        jumps.add(add(JUMP, null));
+                        altTargets[split] = size;
+                    }
+                    emit(alternatives.get(alternatives.size() - 1));
+                    for (int jump : jumps) {
+                        targets[jump] = size;
+                    }
+                } else {
+                    RepetitionNode repetition = (RepetitionNode) node;
+                    for (int i = 0; i < repetition.min; i++) {
+                        emit(repetition.node);
+                    }
+                    if (repetition.max < 0) {
+                        int split = add(SPLIT, null);
+                        targets[split] = size;
+                        emit(repetition.node);
+                        /* add() may grow the arrays, so it must not be called within the array access */
+                        int jump = add(JUMP, null);
+                        targets[jump] = split;
+                        altTargets[split] = size;
+                    } else {
+                        List<Integer> splits = new ArrayList<>();
+                        for (int i = repetition.min; i < repetition.max; i++) {
+                            int split = add(SPLIT, null);
+                            targets[split] = size;
+                            splits.add(split);
+                            emit(repetition.node);
+                        }
+                        for (int split : splits) {
+                            altTargets[split] = size;
+                        }
+                    }
+                }
+            }
+
+            private int add(int op, CharClass charClass) {
+                if (size == MAX_PROGRAM_SIZE) {
+                    throw new UnsupportedPatternException();
+                }
+                if (size == ops.length) {
+                    int newLength = ops.length * 2;
+                    ops = Arrays.copyOf(ops, newLength);
+                    targets = Arrays.copyOf(targets, newLength);
+                    altTargets = Arrays.copyOf(altTargets, newLength);
+                    classes = Arrays.copyOf(classes, newLength);
+                }
+                ops[size] = op;
+                classes[size] = charClass;
+                return size++;
+            }
+        }
+    }
+
+    private static final class Parser {
+        private final int[] pattern;
+        private final Set<String> groupNames = new HashSet<>();
+        private int pos = 0;
+
+        Parser(String pattern) {
+            this.pattern = pattern.codePoints().toArray();
+        }
+
+        Node parse() {
+            Node node = parseAlternation();
+            if (pos != pattern.length) {
+                throw new UnsupportedPatternException();
+            }
+            return node;
+        }
+
+        private Node parseAlternation() {
+            List<Node> alternatives = new ArrayList<>();
+            alternatives.add(parseSequence());
+            while (peek('|')) {
+                pos++;
+                alternatives.add(parseSequence());
+            }
+            return alternatives.size() == 1 ? alternatives.get(0) : new AlternationNode(alternatives);
+        }
+
+        private Node parseSequence() {
+            List<Node> nodes = new ArrayList<>();
+            while (pos < pattern.length && pattern[pos] != '|' && pattern[pos] != ')') {
+                nodes.add(parseRepetition());
+            }
+            return new SequenceNode(nodes);
+        }
+
+        private Node parseRepetition() {
+            Node atom = parseAtom();
+            if (pos >= pattern.length) {
+                return atom;
+            }
+            int min;
+            int max;
+            switch (pattern[pos]) {
+                case '*':
+                    min = 0;
+                    max = -1;
+                    break;
+                case '+':
+                    min = 1;
+                    max = -1;
+                    break;
+                case '?':
+                    min = 0;
+                    max = 1;
+                    break;
+                case '{':
+                    pos++;
+                    min = parseNumber();
+                    if (peek(',')) {
+                        pos++;
+                        max = peek('}') ? -1 : parseNumber();
+                    } else {
+                        max = min;
+                    }
+                    if (!peek('}') || max >= 0 && max < min) {
+                        throw new UnsupportedPatternException();
+                    }
+                    break;
+                default:
+                    return atom;
+            }
+            pos++;
+            if (atom instanceof AssertionNode) {
+                throw new UnsupportedPatternException();
+            }
+            /* Laziness does not change the result of 'find', possessive quantifiers do */
+            if (peek('?')) {
+                pos++;
+            } else if (peek('+')) {
+                throw new UnsupportedPatternException();
+            }
+            return new RepetitionNode(atom, min, max);
+        }
+
+        private Node parseAtom() {
+            int c = pattern[pos++];
+            switch (c) {
+                case '(':
+                    return parseGroup();
+                case '[':
+                    return new CharNode(parseClass());
+                case '.':
+                    return new CharNode(DOT);
+                case '^':
+                    return new AssertionNode(BEGIN);
+                case '$':
+                    return new AssertionNode(END);
+                case '\\':
+                    int escaped = next();
+                    CharClass predefined = getPredefinedClass(escaped);
+                    return new CharNode(predefined != null ? predefined : CharClass.of(parseLiteralEscape(escaped)));
+                case '*':
+                case '+':
+                case '?':
+                case '{':
+                    throw new UnsupportedPatternException();
+                default:
+                    return new CharNode(CharClass.of(c));
+            }
+        }
+
+        private Node parseGroup() {
+            if (peek('?')) {
+                pos++;
+                if (peek(':')) {
+                    pos++;
+                } else if (peek('<') && pos + 1 < pattern.length && isAsciiLetter(pattern[pos + 1])) {
+                    int start = ++pos;
+                    while (pos < pattern.length && (isAsciiLetter(pattern[pos]) || pattern[pos] >= '0' && pattern[pos] <= '9')) {
+                        pos++;
+                    }
+                    if (!groupNames.add(new String(pattern, start, pos - start)) || !peek('>')) {
+                        throw new UnsupportedPatternException();
+                    }
+                    pos++;
+                } else {
+                    throw new UnsupportedPatternException();
+                }
+            }
+            Node node = parseAlternation();
+            if (!peek(')')) {
+                throw new UnsupportedPatternException();
+            }
+            pos++;
+            return node;
+        }
+
+        private CharClass parseClass() {
+            boolean negated = peek('^');
+            if (negated) {
+                pos++;
+            }
+            if (peek(']')) {
+                throw new UnsupportedPatternException();
+            }
+            CharClass.Builder builder = new CharClass.Builder();
+            while (true) {
+                int c = next();
+                if (c == ']') {
+                    return builder.build(negated);
+                }
+                if (c == '[' || c == '&' && peek('&')) {
+                    throw new UnsupportedPatternException();
+                }
+                int from = c;
+                if (c == '\\') {
+                    int escaped = next();
+                    CharClass predefined = getPredefinedClass(escaped);
+                    if (predefined != null) {
+                        if (peek('-')) {
+                            throw new UnsupportedPatternException();
+                        }
+                        builder.add(predefined);
+                        continue;
+                    }
+                    from = parseLiteralEscape(escaped);
+                }
+                if (peek('-') && pos + 1 < pattern.length && pattern[pos + 1] != ']') {
+                    pos++;
+                    int to = next();
+                    if (to == '[' || to == '&' && peek('&')) {
+                        throw new UnsupportedPatternException();
+                    }
+                    if (to == '\\') {
+                        int escaped = next();
+                        if (getPredefinedClass(escaped) != null) {
+                            throw new UnsupportedPatternException();
+                        }
+                        to = parseLiteralEscape(escaped);
+                    }
+                    if (to < from) {
+                        throw new UnsupportedPatternException();
+                    }
+                    builder.addRange(from, to);
+                } else {
+                    builder.addRange(from, from);
+                }
+            }
+        }
+
+        private int parseLiteralEscape(int c) {
+            switch (c) {
+                case 't':
+                    return '\t';
+                case 'n':
+                    return '\n';
+                case 'r':
+                    return '\r';
+                case 'f':
+                    return '\f';
+                case 'a':
+                    return 0x07;
+                case 'e':
+                    return 0x1B;
+                case 'x':
+                    return parseHex(2);
+                case 'u':
+                    int value = parseHex(4);
+                    if (Character.isSurrogate((char) value)) {
+                        throw new UnsupportedPatternException();
+                    }
+                    return value;
+                default:
+                    /* Backslash before any other alphanumeric character is either invalid or has a special meaning */
+                    if (c < 128 && !Character.isLetterOrDigit(c)) {
+                        return c;
+                    }
+                    throw new UnsupportedPatternException();
+            }
+        }
+
+        private int parseHex(int digits) {
+            int value = 0;
+            for (int i = 0; i < digits; i++) {
+                int digit = Character.digit(next(), 16);
+                if (digit < 0) {
+                    throw new UnsupportedPatternException();
+                }
+                value = value * 16 + digit;
+            }
+            return value;
+        }
+
+        private int parseNumber() {
+            int start = pos;
+            int value = 0;
+            while (pos < pattern.length && pattern[pos] >= '0' && pattern[pos] <= '9') {
+                value = value * 10 + pattern[pos++] - '0';
+                if (value > MAX_REPETITION) {
+                    throw new UnsupportedPatternException();
+                }
+            }
+            if (pos == start) {
+                throw new UnsupportedPatternException();
+            }
+            return value;
+        }
+
+        private int next() {
+            if (pos >= pattern.length) {
+                throw new UnsupportedPatternException();
+            }
+            return pattern[pos++];
+        }
+
+        private boolean peek(int c) {
+            return pos < pattern.length && pattern[pos] == c;
+        }
+
+        private static boolean isAsciiLetter(int c) {
+            return c >= 'a' && c <= 'z' || c >= 'A' && c <= 'Z';
+        }
+
+        private static CharClass getPredefinedClass(int c) {
+            switch (c) {
+                case 'd':
+                    return DIGIT;
+                case 'D':
+                    return DIGIT.negate();
+                case 'w':
+                    return WORD;
+                case 'W':
+                    return WORD.negate();
+                case 's':
+                    return SPACE;
+                case 'S':
+                    return SPACE.negate();
+                default:
+                    return null;
+            }
+        }
+    }
+
+    private static final class CharClass {
+        /* Sorted, non-overlapping inclusive ranges in form of [from1, to1, from2, to2, ...] */
+        private final int[] ranges;
+        private final boolean negated;
+
+        private CharClass(int[] ranges, boolean negated) {
+            this.ranges = ranges;
+            this.negated = negated;
+        }
+
+        static CharClass of(int codePoint) {
+            return new CharClass(new int[]{codePoint, codePoint}, false);
+        }
+
+        CharClass negate() {
+            return new CharClass(ranges, !negated);
+        }
+
+        boolean matches(int codePoint) {
+            int low = 0;
+            int high = ranges.length / 2 - 1;
+            while (low <= high) {
+                int mid = (low + high) >>> 1;
+                if (codePoint < ranges[mid * 2]) {
+                    high = mid - 1;
+                } else if (codePoint > ranges[mid * 2 + 1]) {
+                    low = mid + 1;
+                } else {
+                    return !negated;
+                }
+            }
+            return negated;
+        }
+
+        private static final class Builder {
+            private final List<int[]> ranges = new ArrayList<>();
+
+            void addRange(int from, int to) {
+                ranges.add(new int[]{from, to});
+            }
+
+            void add(CharClass charClass) {
+                if (!charClass.negated) {
+                    for (int i = 0; i < charClass.ranges.length; i += 2) {
+                        addRange(charClass.ranges[i], charClass.ranges[i + 1]);
+                    }
+                    return;
+                }
+                int from = 0;
+                for (int i = 0; i < charClass.ranges.length; i += 2) {
+                    if (charClass.ranges[i] > from) {
+                        addRange(from, charClass.ranges[i] - 1);
+                    }
+                    from = charClass.ranges[i + 1] + 1;
+                }
+                if (from <= MAX_CODE_POINT) {
+                    addRange(from, MAX_CODE_POINT);
+                }
+            }
+
+            CharClass build(boolean negated) {
+                ranges.sort(Comparator.comparingInt(range -> range[0]));
+                List<int[]> merged = new ArrayList<>();
+                for (int[] range : ranges) {
+                    int[] last = merged.isEmpty() ? null : merged.get(merged.size() - 1);
+                    if (last != null && range[0] <= last[1] + 1) {
+                        last[1] = Math.max(last[1], range[1]);
+                    } else {
+                        merged.add(new int[]{range[0], range[1]});
+                    }
+                }
+                int[] result = new int[merged.size() * 2];
+                for (int i = 0; i < merged.size(); i++) {
+                    result[i * 2] = merged.get(i)[0];
+                    result[i * 2 + 1] = merged.get(i)[1];
+                }
+                return new CharClass(result, negated);
+            }
+        }
+    }
+
+    private interface Node {}
+
+    private static final class CharNode implements Node {
+        private final CharClass charClass;
+
+        CharNode(CharClass charClass) {
+            this.charClass = charClass;
+        }
+    }
+
+    private static final class AssertionNode implements Node {
+        private final int op;
+
+        AssertionNode(int op) {
+            this.op = op;
+        }
+    }
+
+    private static final class SequenceNode implements Node {
+        private final List<Node> nodes;
+
+        SequenceNode(List<Node> nodes) {
+            this.nodes = nodes;
+        }
+    }
+
+    private static final class AlternationNode implements Node {
+        private final List<Node> alternatives;
+
+        AlternationNode(List<Node> alternatives) {
+            this.alternatives = alternatives;
+        }
+    }
+
+    private static final class RepetitionNode implements Node {
+        private final Node node;
+        private final int min;
+        private final int max;
+
+        RepetitionNode(Node node, int min, int max) {
+            this.node = node;
+            this.min = min;
+            this.max = max;
+        }
+    }
+}
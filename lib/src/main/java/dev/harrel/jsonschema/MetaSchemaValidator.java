@@ -24,21 +24,34 @@ class MetaSchemaValidator {
     private final SchemaRegistry schemaRegistry;
     private final SchemaResolver schemaResolver;
     private final MessageProvider messageProvider;
+    private final SharedMetaSchemas sharedMetaSchemas;
 
     MetaSchemaValidator(JsonNodeFactory jsonNodeFactory,
                         SchemaRegistry schemaRegistry,
                         SchemaResolver schemaResolver,
-                        MessageProvider messageProvider) {
+                        MessageProvider messageProvider,
+                        SharedMetaSchemas sharedMetaSchemas) {
         this.jsonNodeFactory = Objects.requireNonNull(jsonNodeFactory);
         this.schemaRegistry = Objects.requireNonNull(schemaRegistry);
         this.schemaResolver = Objects.requireNonNull(schemaResolver);
         this.messageProvider = Objects.requireNonNull(messageProvider);
+        this.sharedMetaSchemas = sharedMetaSchemas;
+    }
+
+    MetaSchemaValidator withSchemaRegistry(SchemaRegistry schemaRegistry) {
+        return new MetaSchemaValidator(jsonNodeFactory, schemaRegistry, schemaResolver, messageProvider, sharedMetaSchemas);
     }
 
     MetaSchemaData validateSchema(JsonParser jsonParser, URI metaSchemaUri, String schemaUri, JsonNode node) {
         Objects.requireNonNull(metaSchemaUri);
         Schema schema = resolveMetaSchema(jsonParser, metaSchemaUri);
-        EvaluationContext ctx = new EvaluationContext(jsonNodeFactory, jsonParser, schemaRegistry, schemaResolver, messageProvider);
+        /* Flag mode first, as the vast majority of schemas is valid - errors are only collected on a failure */
+        EvaluationContext flagCtx = new EvaluationContext(jsonNodeFactory, jsonParser, schemaRegistry, schemaResolver, messageProvider, true, false);
+        if (flagCtx.validateAgainstSchema(schema, node)) {
+            return schema.getMetaValidationData();
+        }
+        /* Only errors are reported, annotations are collected just for the keywords that consume them */
+        EvaluationContext ctx = new EvaluationContext(jsonNodeFactory, jsonParser, schemaRegistry, schemaResolver, messageProvider, false, false);
         if (!ctx.validateAgainstSchema(schema, node)) {
             throw new InvalidSchemaException(String.format("Schema [%s] failed to validate against meta-schema [%s]", schemaUri, metaSchemaUri),
                     new Validator.Result(false, ctx).getErrors());
@@ -61,12 +74,17 @@ class MetaSchemaValidator {
         if (schemaRegistry.get(baseUri) != null) {
             throw MetaSchemaResolvingException.resolvingFailure(uri.toString());
         }
+        SchemaRegistry.State sharedLayer = sharedMetaSchemas != null ? sharedMetaSchemas.getLayer(baseUri) : null;
+        if (sharedLayer != null) {
+            schemaRegistry.attachSharedLayer(sharedLayer);
+            return resolveMetaSchema(jsonParser, uri);
+        }
         SchemaResolver.Result result = schemaResolver.resolve(baseUri.toString());
         if (result.isEmpty()) {
             throw MetaSchemaResolvingException.resolvingFailure(uri.toString());
         }
         try {
-            result.toJsonNode(jsonNodeFactory).ifPresent(node -> jsonParser.parseRootSchema(baseUri, node));
+            result.toJsonNode(jsonNodeFactory).ifPresent(node -> jsonParser.parseResolvedRootSchema(baseUri, node));
         } catch (Exception e) {
             throw MetaSchemaResolvingException.parsingFailure(uri.toString(), e);
         }
@@ -0,0 +1,282 @@
+package dev.harrel.jsonschema;
+
+import java.util.*;
+import java.util.regex.Pattern;
+
+/**
+ * Matches a string against multiple regular expressions at once (with <i>find</i> semantics, as used by <i>patternProperties</i>).
+ * Patterns that are plain literals are not evaluated as regular expressions:
+ * <ul>
+ *     <li>{@code ^literal} patterns are matched with a single walk over a prefix trie,</li>
+ *     <li>{@code literal$} patterns are matched with a single walk over a suffix trie,</li>
+ *     <li>{@code literal} patterns are matched with {@link String#contains(CharSequence)}.</li>
+ * </ul>
+ * All other patterns are pre-filtered with one combined alternation, so a string that matches none of them
+ * is rejected in a single pass. With the linear-time engine, only patterns it compiles itself are combined,
+ * and only if the combined pattern is supported by it too - so the pre-filter never falls back to a backtracking engine.
+ */
+final class MultiPatternMatcher {
+    private static final String META_CHARS = "\\^$.|?*+()[]{}";
+    private static final Pattern BACKREFERENCE = Pattern.compile("\\\\[1-9]");
+
+    private final int size;
+    private final TrieNode prefixTrie;
+    private final TrieNode suffixTrie;
+    private final List<String> containsLiterals = new ArrayList<>();
+    private final List<Integer> containsIds = new ArrayList<>();
+    private final List<RegexEngine.Regex> regexes = new ArrayList<>();
+    private final List<Integer> regexIds = new ArrayList<>();
+    /* Indexes (in regexes list) of the patterns covered by the combined regex */
+    private final BitSet combinedIndexes = new BitSet();
+    private final RegexEngine.Regex combinedRegex;
+
+    MultiPatternMatcher(List<String> patterns, RegexEngine regexEngine) {
+        this.size = patterns.size();
+        TrieNode.Builder prefixBuilder = new TrieNode.Builder();
+        TrieNode.Builder suffixBuilder = new TrieNode.Builder();
+        List<String> combinedPatterns = new ArrayList<>();
+        boolean linearEngine = regexEngine instanceof LinearRegexEngine;
+        for (int i = 0; i < patterns.size(); i++) {
+            String pattern = patterns.get(i);
+            /* Always compiled, so that invalid patterns are rejected the same way */
+            RegexEngine.Regex compiled = AbstractEvaluatorFactory.compileRegex(regexEngine, pattern);
+            boolean anchoredStart = pattern.startsWith("^");
+            boolean anchoredEnd = pattern.endsWith("$") && !pattern.endsWith("\\$");
+            String literal = unescapeLiteral(pattern.substring(anchoredStart ? 1 : 0, pattern.length() - (anchoredEnd ? 1 : 0)));
+            if (literal == null || (anchoredStart && anchoredEnd)) {
+                /* Group numbers would shift in the alternation */
+                if (!BACKREFERENCE.matcher(pattern).find() && (!linearEngine || LinearRegexEngine.isLinear(compiled))) {
+                    combinedIndexes.set(regexes.size());
+                    combinedPatterns.add(pattern);
+                }
+                regexes.add(compiled);
+                regexIds.add(i);
+            } else if (anchoredStart) {
+                prefixBuilder.add(literal, i);
+            } else if (anchoredEnd) {
+                suffixBuilder.add(new StringBuilder(literal).reverse().toString(), i);
+            } else {
+                containsLiterals.add(literal);
+                containsIds.add(i);
+            }
+        }
+        this.prefixTrie = prefixBuilder.build();
+        this.suffixTrie = suffixBuilder.build();
+        this.combinedRegex = combinedPatterns.size() > 1 ? combine(regexEngine, combinedPatterns) : null;
+        if (combinedRegex == null) {
+            combinedIndexes.clear();
+        }
+    }
+
+    /**
+     * Checks if any of the patterns matches the input.
+     */
+    boolean matchesAny(String input) {
+        if (prefixTrie.matchesAny(input, false) || suffixTrie.matchesAny(input, true)) {
+            return true;
+        }
+        for (String literal : containsLiterals) {
+            if (input.contains(literal)) {
+                return true;
+            }
+        }
+        if (combinedRegex != null && combinedRegex.find(input)) {
+            return true;
+        }
+        for (int i = 0; i < regexes.size(); i++) {
+            if (!combinedIndexes.get(i) && regexes.get(i).find(input)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns indexes of all the patterns that match the input, or {@code null} if none of them does.
+     */
+    BitSet matches(String input) {
+        BitSet result = null;
+        result = prefixTrie.collect(input, false, result, size);
+        result = suffixTrie.collect(input, true, result, size);
+        for (int i = 0; i < containsLiterals.size(); i++) {
+            if (input.contains(containsLiterals.get(i))) {
+                result = set(result, containsIds.get(i));
+            }
+        }
+        boolean combinedFound = combinedRegex != null && combinedRegex.find(input);
+        for (int i = 0; i < regexes.size(); i++) {
+            if ((combinedFound || !combinedIndexes.get(i)) && regexes.get(i).find(input)) {
+                result = set(result, regexIds.get(i));
+            }
+        }
+        return result;
+    }
+
+    private BitSet set(BitSet bitSet, int index) {
+        BitSet result = bitSet == null ? new BitSet(size) : bitSet;
+        result.set(index);
+        return result;
+    }
+
+    private static RegexEngine.Regex combine(RegexEngine regexEngine, List<String> patterns) {
+        StringBuilder sb = new StringBuilder();
+        for (String pattern : patterns) {
+            if (sb.length() > 0) {
+                sb.append('|');
+            }
+            sb.append("(?:").append(pattern).append(')');
+        }
+        if (regexEngine instanceof LinearRegexEngine) {
+            /* Falling back for the whole alternation would expose patterns that are safe on their own to backtracking */
+            return ((LinearRegexEngine) regexEngine).compileLinear(sb.toString());
+        }
+        try {
+            return regexEngine.compile(sb.toString());
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    /* Returns literal value of the pattern, or null if it contains any regex constructs */
+    private static String unescapeLiteral(String pattern) {
+        StringBuilder sb = new StringBuilder(pattern.length());
+        for (int i = 0; i < pattern.length(); i++) {
+            char c = pattern.charAt(i);
+            if (c == '\\') {
+                if (i + 1 >= pattern.length()) {
+                    return null;
+                }
+                char escaped = pattern.charAt(++i);
+                if (Character.isLetterOrDigit(escaped) || escaped > 127) {
+                    return null;
+                }
+                sb.append(escaped);
+            } else if (META_CHARS.indexOf(c) >= 0) {
+                return null;
+            } else {
+                sb.append(c);
+            }
+        }
+        return sb.toString();
+    }
+
+    private static final class TrieNode {
+        private static final int[] NO_IDS = new int[0];
+        private static final TrieNode[] NO_CHILDREN = new TrieNode[0];
+
+        private final char[] keys;
+        private final TrieNode[] children;
+        private final int[] ids;
+
+        private TrieNode(char[] keys, TrieNode[] children, int[] ids) {
+            this.keys = keys;
+            this.children = children;
+            this.ids = ids;
+        }
+
+        boolean matchesAny(String input, boolean fromEnd) {
+            if (ids.length > 0) {
+                return true;
+            }
+            if (keys.length == 0) {
+                return false;
+            }
+            if (matchesAny(input, fromEnd, input.length())) {
+                return true;
+            }
+            int stripped = lengthWithoutLineTerminator(input);
+            return fromEnd && stripped != input.length() && matchesAny(input, true, stripped);
+        }
+
+        BitSet collect(String input, boolean fromEnd, BitSet result, int size) {
+            if (keys.length == 0 && ids.length == 0) {
+                return result;
+            }
+            result = collect(input, fromEnd, input.length(), result, size);
+            int stripped = lengthWithoutLineTerminator(input);
+            if (fromEnd && stripped != input.length()) {
+                result = collect(input, true, stripped, result, size);
+            }
+            return result;
+        }
+
+        private boolean matchesAny(String input, boolean fromEnd, int length) {
+            TrieNode node = this;
+            for (int i = 0; i < length; i++) {
+                node = node.child(input.charAt(fromEnd ? length - 1 - i : i));
+                if (node == null) {
+                    return false;
+                }
+                if (node.ids.length > 0) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private BitSet collect(String input, boolean fromEnd, int length, BitSet result, int size) {
+            TrieNode node = this;
+            for (int i = 0; ; i++) {
+                for (int id : node.ids) {
+                    if (result == null) {
+                        result = new BitSet(size);
+                    }
+                    result.set(id);
+                }
+                if (i == length) {
+                    return result;
+                }
+                node = node.child(input.charAt(fromEnd ? length - 1 - i : i));
+                if (node == null) {
+                    return result;
+                }
+            }
+        }
+
+        private TrieNode child(char c) {
+            int idx = Arrays.binarySearch(keys, c);
+            return idx >= 0 ? children[idx] : null;
+        }
+
+        /* Java's '$' also matches before a final line terminator */
+        private static int lengthWithoutLineTerminator(String input) {
+            int length = input.length();
+            if (input.endsWith("\r\n")) {
+                return length - 2;
+            }
+            if (length > 0) {
+                char last = input.charAt(length - 1);
+                if (last == '\n' || last == '\r' || last == '\u0085' || last == '\u2028' || last == '\u2029') {
+                    return length - 1;
+                }
+            }
+            return length;
+        }
+
+        private static final class Builder {
+            private final TreeMap<Character, Builder> children = new TreeMap<>();
+            private final List<Integer> ids = new ArrayList<>();
+
+            void add(String literal, int id) {
+                Builder node = this;
+                for (int i = 0; i < literal.length(); i++) {
+                    node = node.children.computeIfAbsent(literal.charAt(i), c -> new Builder());
+                }
+                node.ids.add(id);
+            }
+
+            TrieNode build() {
+                char[] keys = new char[children.size()];
+                TrieNode[] nodes = children.isEmpty() ? NO_CHILDREN : new TrieNode[children.size()];
+                int i = 0;
+                for (Map.Entry<Character, Builder> entry : children.entrySet()) {
+                    keys[i] = entry.getKey();
+                    nodes[i] = entry.getValue().build();
+                    i++;
+                }
+                int[] idsArray = ids.isEmpty() ? NO_IDS : ids.stream().mapToInt(Integer::intValue).toArray();
+                return new TrieNode(keys, nodes, idsArray);
+            }
+        }
+    }
+}
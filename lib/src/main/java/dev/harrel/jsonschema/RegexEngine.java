@@ -0,0 +1,91 @@
+package dev.harrel.jsonschema;
+
+/**
+ * {@code RegexEngine} interface provides a strategy for compiling regular expressions
+ * used by <i>pattern</i>, <i>patternProperties</i> keywords and <i>regex</i> format.
+ * Default implementations are provided by static factory methods.
+ *
+ * @see ValidatorFactory#withRegexEngine(RegexEngine)
+ */
+public interface RegexEngine {
+    /**
+     * Compiles a regular expression.
+     *
+     * @param pattern regular expression to compile
+     * @return compiled regular expression
+     * @throws IllegalArgumentException if the pattern is not a valid regular expression
+     */
+    Regex compile(String pattern);
+
+    /**
+     * Compiled regular expression.
+     */
+    @FunctionalInterface
+    interface Regex {
+        /**
+         * Checks if the regular expression matches any part of the input.
+         *
+         * @param input input to search
+         * @return true if a match was found
+         */
+        boolean find(CharSequence input);
+    }
+
+    /**
+     * Returns a {@code RegexEngine} implementation based on {@link java.util.regex.Pattern}.
+     * It is the default engine.
+     *
+     * @return {@code RegexEngine} implementation based on {@link java.util.regex.Pattern}
+     */
+    static RegexEngine javaUtilRegex() {
+        return JavaRegexEngine.INSTANCE;
+    }
+
+    /**
+     * Returns a {@code RegexEngine} implementation that matches in linear time of the input length,
+     * regardless of the pattern. It simulates an automaton instead of backtracking, so patterns
+     * like {@code (a+)+$} cannot cause catastrophic matching times.
+     * It supports the commonly used subset of regular expressions:
+     * <ul>
+     *     <li>literals and escaped characters ({@code \t}, {@code \n}, {@code \xhh}, unicode escapes, ...),</li>
+     *     <li>character classes with ranges and negation, {@code .}, {@code \d}, {@code \w}, {@code \s} and their negations,</li>
+     *     <li>anchors {@code ^} and {@code $},</li>
+     *     <li>alternation, capturing, non-capturing and named groups,</li>
+     *     <li>greedy and lazy quantifiers ({@code *}, {@code +}, {@code ?}, {@code {n}}, {@code {n,}}, {@code {n,m}}).</li>
+     * </ul>
+     * Matching semantics are the same as of {@link java.util.regex.Pattern}.
+     * Patterns using any other construct (e.g. backreferences, lookarounds, inline flags)
+     * are compiled by the provided fallback engine.
+     * The same silently happens for counted repetitions with bounds greater than 1000
+     * and for patterns that would expand into too large automatons.
+     *
+     * @param fallback engine used for patterns that are not supported
+     * @return linear-time {@code RegexEngine} implementation
+     */
+    static RegexEngine linear(RegexEngine fallback) {
+        return new LinearRegexEngine(fallback);
+    }
+
+    /**
+     * Returns a linear-time {@code RegexEngine} implementation,
+     * which falls back to {@link java.util.regex.Pattern} for unsupported constructs.
+     *
+     * @return linear-time {@code RegexEngine} implementation
+     * @see RegexEngine#linear(RegexEngine)
+     */
+    static RegexEngine linear() {
+        return linear(javaUtilRegex());
+    }
+}
+
+final class JavaRegexEngine implements RegexEngine {
+    static final JavaRegexEngine INSTANCE = new JavaRegexEngine();
+
+    private JavaRegexEngine() {}
+
+    @Override
+    public Regex compile(String pattern) {
+        java.util.regex.Pattern compiled = java.util.regex.Pattern.compile(pattern);
+        return input -> compiled.matcher(input).find();
+    }
+}
@@ -11,18 +11,32 @@ final class Schema {
 
     private final URI parentUri;
     private final URI schemaLocation;
+    private final JsonNode schemaNode;
     private final List<EvaluatorWrapper> evaluators;
+    /* Evaluators applicable to instances of each type, indexed by SimpleType ordinal */
+    private final List<List<EvaluatorWrapper>> evaluatorsByType;
     private final MetaSchemaData metaSchemaData;
+    private final boolean consumesAnnotations;
+    /* Dynamic anchors of the resource this schema belongs to - shared by all of its schemas and filled in while it is being parsed */
+    private final Map<String, Schema> dynamicAnchors;
 
     Schema(URI parentUri,
            URI schemaLocation,
+           JsonNode schemaNode,
            List<EvaluatorWrapper> evaluators,
            MetaSchemaData metaSchemaData,
-           Map<String, JsonNode> objectMap) {
+           Map<String, JsonNode> objectMap,
+           Map<String, Schema> dynamicAnchors) {
         this.parentUri = Objects.requireNonNull(parentUri);
+        this.dynamicAnchors = Objects.requireNonNull(dynamicAnchors);
         this.schemaLocation = Objects.requireNonNull(schemaLocation);
+        this.schemaNode = Objects.requireNonNull(schemaNode);
         this.evaluators = evaluators;
         this.evaluators.sort(Comparator.comparingInt(Evaluator::getOrder));
+        this.evaluatorsByType = partitionByType(evaluators);
+        this.consumesAnnotations = evaluators.stream()
+                .map(EvaluatorWrapper::getKeyword)
+                .anyMatch(keyword -> Keyword.UNEVALUATED_ITEMS.equals(keyword) || Keyword.UNEVALUATED_PROPERTIES.equals(keyword));
 
         Optional<Map<String, Boolean>> vocabulariesObject = JsonNodeUtil.getVocabulariesObject(objectMap);
         Set<String> vocabularies = vocabulariesObject
@@ -32,6 +46,32 @@ final class Schema {
                 vocabulariesObject.orElse(null), vocabularies);
     }
 
+    private static List<List<EvaluatorWrapper>> partitionByType(List<EvaluatorWrapper> evaluators) {
+        List<Set<SimpleType>> applicableTypes = new ArrayList<>(evaluators.size());
+        for (EvaluatorWrapper evaluator : evaluators) {
+            Set<SimpleType> types = EnumSet.noneOf(SimpleType.class);
+            types.addAll(evaluator.getApplicableTypes());
+            if (types.contains(SimpleType.NUMBER)) {
+                types.add(SimpleType.INTEGER);
+            }
+            applicableTypes.add(types);
+        }
+
+        SimpleType[] simpleTypes = SimpleType.values();
+        List<List<EvaluatorWrapper>> partitions = new ArrayList<>(simpleTypes.length);
+        for (SimpleType type : simpleTypes) {
+            List<EvaluatorWrapper> partition = new ArrayList<>();
+            for (int i = 0; i < evaluators.size(); i++) {
+                if (applicableTypes.get(i).contains(type)) {
+                    partition.add(evaluators.get(i));
+                }
+            }
+            /* Sharing the full list when nothing was filtered out */
+            partitions.add(partition.size() == evaluators.size() ? evaluators : partition);
+        }
+        return partitions;
+    }
+
     static Evaluator getBooleanEvaluator(boolean val) {
         return val ? TRUE_EVALUATOR : FALSE_EVALUATOR;
     }
@@ -44,10 +84,28 @@ final class Schema {
         return schemaLocation;
     }
 
+    JsonNode getSchemaNode() {
+        return schemaNode;
+    }
+
+    Map<String, Schema> getDynamicAnchors() {
+        return dynamicAnchors;
+    }
+
     List<EvaluatorWrapper> getEvaluators() {
         return evaluators;
     }
 
+    /* Evaluators that can affect instances of given type, in evaluation order */
+    List<EvaluatorWrapper> getEvaluators(SimpleType instanceType) {
+        return evaluatorsByType.get(instanceType.ordinal());
+    }
+
+    /* If annotations of subschemas are read by this schema's evaluators */
+    boolean consumesAnnotations() {
+        return consumesAnnotations;
+    }
+
     MetaSchemaData getMetaValidationData() {
         return metaSchemaData;
     }
@@ -15,25 +15,41 @@ public final class SchemaParsingContext {
     private final MetaSchemaData metaSchemaData;
     private final Map<String, JsonNode> currentSchemaObject;
     private final Deque<URI> uriStack;
+    private final RegexEngine regexEngine;
+    /* Shared by patternProperties and additionalProperties evaluators, so that the patterns are compiled once */
+    private MultiPatternMatcher patternPropertiesMatcher;
 
-    private SchemaParsingContext(MetaSchemaData metaSchemaData, Map<String, JsonNode> currentSchemaObject, Deque<URI> uriStack) {
+    private SchemaParsingContext(MetaSchemaData metaSchemaData, Map<String, JsonNode> currentSchemaObject, Deque<URI> uriStack, RegexEngine regexEngine) {
         this.metaSchemaData = Objects.requireNonNull(metaSchemaData);
         this.currentSchemaObject = Objects.requireNonNull(currentSchemaObject);
         this.uriStack = Objects.requireNonNull(uriStack);
+        this.regexEngine = Objects.requireNonNull(regexEngine);
     }
 
-    SchemaParsingContext(MetaSchemaData metaSchemaData, URI baseUri, Map<String, JsonNode> currentSchemaObject) {
-        this(metaSchemaData, currentSchemaObject, new ArrayDeque<>(Collections.singletonList(baseUri)));
+    SchemaParsingContext(MetaSchemaData metaSchemaData, URI baseUri, Map<String, JsonNode> currentSchemaObject, RegexEngine regexEngine) {
+        this(metaSchemaData, currentSchemaObject, new ArrayDeque<>(Collections.singletonList(baseUri)), regexEngine);
     }
 
     SchemaParsingContext forChild(MetaSchemaData metaSchemaData, Map<String, JsonNode> currentSchemaObject, URI parentUri) {
         ArrayDeque<URI> newUriStack = new ArrayDeque<>(uriStack);
         newUriStack.push(parentUri);
-        return new SchemaParsingContext(metaSchemaData, currentSchemaObject, newUriStack);
+        return new SchemaParsingContext(metaSchemaData, currentSchemaObject, newUriStack, regexEngine);
     }
 
     SchemaParsingContext forChild(Map<String, JsonNode> currentSchemaObject) {
-        return new SchemaParsingContext(metaSchemaData, currentSchemaObject, uriStack);
+        return new SchemaParsingContext(metaSchemaData, currentSchemaObject, uriStack, regexEngine);
+    }
+
+    /* Throws IllegalArgumentException if patternProperties of the current schema object is missing, not an object or has an invalid pattern */
+    MultiPatternMatcher getPatternPropertiesMatcher() {
+        if (patternPropertiesMatcher == null) {
+            JsonNode patternPropertiesNode = currentSchemaObject.get(Keyword.PATTERN_PROPERTIES);
+            if (patternPropertiesNode == null || !patternPropertiesNode.isObject()) {
+                throw new IllegalArgumentException();
+            }
+            patternPropertiesMatcher = new MultiPatternMatcher(new ArrayList<>(patternPropertiesNode.asObject().keySet()), regexEngine);
+        }
+        return patternPropertiesMatcher;
     }
 
     MetaSchemaData getMetaSchemaData() {
@@ -116,4 +132,14 @@ public final class SchemaParsingContext {
     public Set<String> getActiveVocabularies() {
         return Collections.unmodifiableSet(metaSchemaData.activeVocabularies);
     }
+
+    /**
+     * Returns the regex engine which should be used for compiling regular expressions.
+     *
+     * @return configured regex engine
+     * @see ValidatorFactory#withRegexEngine(RegexEngine)
+     */
+    public RegexEngine getRegexEngine() {
+        return regexEngine;
+    }
 }
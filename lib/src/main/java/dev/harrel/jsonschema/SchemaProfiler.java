@@ -0,0 +1,392 @@
+package dev.harrel.jsonschema;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.lang.management.ManagementFactory;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * {@link EvaluationListener} implementation that attributes evaluation time (and optionally allocated memory)
+ * to schema locations, along the stack of evaluated schemas and keywords. Unlike a JVM profiler, which only shows
+ * recursive evaluation calls, it shows which subschema (e.g. {@code #/$defs/address/oneOf/3}) is responsible.
+ * Results can be written as collapsed stacks (one line per stack: frames separated by {@code ;} and a value),
+ * which can be turned into a flame graph by tools like {@code flamegraph.pl} or speedscope, or summarized as a top-N report.
+ * <p>
+ * Allocated bytes are measured with {@code com.sun.management.ThreadMXBean}, which has a noticeable cost,
+ * so it needs to be enabled explicitly. Each thread has its own stack of frames, so the profiler can be used
+ * with concurrent validations. With parallel evaluation, subschemas evaluated by pool threads appear as separate stacks.
+ * It is meant for diagnosing slow validations rather than being enabled permanently - see {@link LatencyHistogramListener} for that.
+ */
+public final class SchemaProfiler implements EvaluationListener {
+    private final com.sun.management.ThreadMXBean threadMXBean;
+    private final Node root = new Node("", false);
+    private final ThreadLocal<FrameStack> frameStacks = ThreadLocal.withInitial(FrameStack::new);
+
+    /**
+     * Creates profiler measuring only evaluation time.
+     */
+    public SchemaProfiler() {
+        this(false);
+    }
+
+    /**
+     * Creates profiler measuring evaluation time and optionally allocated bytes.
+     *
+     * @param measureAllocations if allocated bytes should be measured
+     * @throws UnsupportedOperationException if allocation measurement is requested, but not supported by the JVM
+     */
+    public SchemaProfiler(boolean measureAllocations) {
+        this.threadMXBean = measureAllocations ? getAllocationMXBean() : null;
+    }
+
+    /**
+     * Metric used for the values of collapsed stacks.
+     */
+    public enum Metric {
+        /**
+         * Wall time in nanoseconds.
+         */
+        WALL_TIME,
+        /**
+         * Allocated bytes.
+         */
+        ALLOCATED_BYTES
+    }
+
+    @Override
+    public void onSchemaEnter(String schemaLocation, JsonNode node) {
+        enter(schemaLocation, true);
+    }
+
+    @Override
+    public void onSchemaExit(String schemaLocation, JsonNode node, boolean valid, long nanos) {
+        exit(nanos);
+    }
+
+    @Override
+    public void onEvaluatorEnter(String keyword, String schemaLocation, JsonNode node) {
+        enter(keyword, false);
+    }
+
+    @Override
+    public void onEvaluatorExit(String keyword, String schemaLocation, JsonNode node, boolean valid, long nanos) {
+        exit(nanos);
+    }
+
+    private void enter(String name, boolean schema) {
+        FrameStack stack = frameStacks.get();
+        Node parent = stack.depth == 0 ? root : stack.peek().node;
+        Frame frame = stack.push();
+        frame.node = parent.child(name, schema);
+        frame.childNanos = 0;
+        frame.childBytes = 0;
+        frame.startBytes = allocatedBytes();
+    }
+
+    private void exit(long nanos) {
+        FrameStack stack = frameStacks.get();
+        if (stack.depth == 0) {
+            return;
+        }
+        Frame frame = stack.pop();
+        long bytes = threadMXBean != null ? allocatedBytes() - frame.startBytes : 0;
+        frame.node.record(nanos, nanos - frame.childNanos, bytes, bytes - frame.childBytes);
+        if (stack.depth > 0) {
+            Frame parent = stack.peek();
+            parent.childNanos += nanos;
+            parent.childBytes += bytes;
+        }
+    }
+
+    private long allocatedBytes() {
+        return threadMXBean != null ? threadMXBean.getThreadAllocatedBytes(Thread.currentThread().getId()) : 0;
+    }
+
+    /**
+     * Writes collapsed stacks: each line contains frames (schema locations and keywords) separated by {@code ;},
+     * followed by a space and the value of given metric attributed to the last frame itself (excluding its callees).
+     * Provided writer is neither flushed nor closed.
+     *
+     * @param out    writer to write the stacks to
+     * @param metric metric to use for values
+     * @throws UncheckedIOException if writing fails
+     */
+    public void writeCollapsedStacks(Writer out, Metric metric) {
+        Objects.requireNonNull(metric);
+        try {
+            for (Node child : root.children.values()) {
+                writeCollapsedStacks(out, metric, child, escapeFrame(child.name));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static void writeCollapsedStacks(Writer out, Metric metric, Node node, String stack) throws IOException {
+        long value = metric == Metric.WALL_TIME ? node.selfNanos.sum() : node.selfBytes.sum();
+        if (value > 0) {
+            out.write(stack);
+            out.write(' ');
+            out.write(Long.toString(value));
+            out.write('\n');
+        }
+        for (Node child : node.children.values()) {
+            writeCollapsedStacks(out, metric, child, stack + ';' + escapeFrame(child.name));
+        }
+    }
+
+    private static String escapeFrame(String name) {
+        return name.replace(";", "%3B");
+    }
+
+    /**
+     * Returns schema locations sorted by their total evaluation time, descending. Total time of a location includes
+     * evaluation of its subschemas (counted once for recursive schemas), self time does not.
+     *
+     * @param limit maximum number of returned locations
+     * @return the most expensive schema locations
+     */
+    public List<LocationStats> getTopLocations(int limit) {
+        Map<String, LocationStats> stats = new HashMap<>();
+        for (Node child : root.children.values()) {
+            collectStats(child, stats, new HashSet<>());
+        }
+        long allNanos = 0;
+        for (Node child : root.children.values()) {
+            allNanos += child.totalNanos.sum();
+        }
+        List<LocationStats> result = new ArrayList<>(stats.values());
+        for (LocationStats locationStats : result) {
+            locationStats.allNanos = allNanos;
+        }
+        result.sort(Comparator.comparingLong(LocationStats::getTotalNanos).reversed()
+                .thenComparing(LocationStats::getSchemaLocation));
+        return result.subList(0, Math.min(limit, result.size()));
+    }
+
+    private static void collectStats(Node node, Map<String, LocationStats> stats, Set<String> ancestors) {
+        boolean outermost = true;
+        if (node.schema) {
+            LocationStats locationStats = stats.computeIfAbsent(node.name, LocationStats::new);
+            outermost = ancestors.add(node.name);
+            locationStats.selfNanos += node.selfNanos.sum();
+            locationStats.selfBytes += node.selfBytes.sum();
+            locationStats.count += node.count.sum();
+            if (outermost) {
+                locationStats.totalNanos += node.totalNanos.sum();
+                locationStats.totalBytes += node.totalBytes.sum();
+            }
+        }
+        for (Node child : node.children.values()) {
+            collectStats(child, stats, ancestors);
+        }
+        if (node.schema && outermost) {
+            ancestors.remove(node.name);
+        }
+    }
+
+    /**
+     * Returns a human-readable report of the most expensive schema locations.
+     *
+     * @param limit maximum number of reported locations
+     * @return report with one location per line
+     */
+    public String getReport(int limit) {
+        StringBuilder sb = new StringBuilder();
+        sb.append(String.format("%7s %12s %12s %14s %10s  %s%n", "total%", "total ms", "self ms", "allocated kB", "count", "schema location"));
+        for (LocationStats stats : getTopLocations(limit)) {
+            sb.append(String.format("%6.2f%% %12.3f %12.3f %14d %10d  %s%n",
+                    stats.getTimeShare() * 100,
+                    stats.getTotalNanos() / 1_000_000.0,
+                    stats.getSelfNanos() / 1_000_000.0,
+                    stats.getTotalBytes() / 1024,
+                    stats.getCount(),
+                    stats.getSchemaLocation()));
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Clears all the collected data. Should not be called while validations are in progress.
+     */
+    public void reset() {
+        root.children.clear();
+    }
+
+    private static com.sun.management.ThreadMXBean getAllocationMXBean() {
+        java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        if (!(bean instanceof com.sun.management.ThreadMXBean)) {
+            throw new UnsupportedOperationException("Measuring allocated bytes is not supported by this JVM");
+        }
+        com.sun.management.ThreadMXBean allocationBean = (com.sun.management.ThreadMXBean) bean;
+        if (!allocationBean.isThreadAllocatedMemorySupported()) {
+            throw new UnsupportedOperationException("Measuring allocated bytes is not supported by this JVM");
+        }
+        if (!allocationBean.isThreadAllocatedMemoryEnabled()) {
+            allocationBean.setThreadAllocatedMemoryEnabled(true);
+        }
+        return allocationBean;
+    }
+
+    /**
+     * {@code LocationStats} class represents profiling data aggregated for a single schema location.
+     */
+    public static final class LocationStats {
+        private final String schemaLocation;
+        private long count;
+        private long totalNanos;
+        private long selfNanos;
+        private long totalBytes;
+        private long selfBytes;
+        private long allNanos;
+
+        private LocationStats(String schemaLocation) {
+            this.schemaLocation = schemaLocation;
+        }
+
+        /**
+         * Getter for absolute schema location.
+         *
+         * @return schema location
+         */
+        public String getSchemaLocation() {
+            return schemaLocation;
+        }
+
+        /**
+         * Getter for the number of evaluations.
+         *
+         * @return number of evaluations
+         */
+        public long getCount() {
+            return count;
+        }
+
+        /**
+         * Getter for the evaluation time, including subschemas.
+         *
+         * @return total time in nanoseconds
+         */
+        public long getTotalNanos() {
+            return totalNanos;
+        }
+
+        /**
+         * Getter for the evaluation time, excluding subschemas and keywords.
+         *
+         * @return self time in nanoseconds
+         */
+        public long getSelfNanos() {
+            return selfNanos;
+        }
+
+        /**
+         * Getter for the allocated bytes, including subschemas. Zero if allocations are not measured.
+         *
+         * @return total allocated bytes
+         */
+        public long getTotalBytes() {
+            return totalBytes;
+        }
+
+        /**
+         * Getter for the allocated bytes, excluding subschemas and keywords. Zero if allocations are not measured.
+         *
+         * @return self allocated bytes
+         */
+        public long getSelfBytes() {
+            return selfBytes;
+        }
+
+        /**
+         * Returns the share of total time in the time of all profiled validations.
+         *
+         * @return share from range {@code [0, 1]}
+         */
+        public double getTimeShare() {
+            return allNanos == 0 ? 0 : (double) totalNanos / allNanos;
+        }
+
+        @Override
+        public String toString() {
+            return "LocationStats{" +
+                    "schemaLocation='" + schemaLocation + '\'' +
+                    ", count=" + count +
+                    ", totalNanos=" + totalNanos +
+                    ", selfNanos=" + selfNanos +
+                    ", totalBytes=" + totalBytes +
+                    ", selfBytes=" + selfBytes +
+                    '}';
+        }
+    }
+
+    /**
+     * Node of the call tree - a schema location or a keyword, reached through a specific stack of frames.
+     */
+    private static final class Node {
+        private final String name;
+        private final boolean schema;
+        private final ConcurrentMap<String, Node> children = new ConcurrentHashMap<>();
+        private final LongAdder count = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+        private final LongAdder selfNanos = new LongAdder();
+        private final LongAdder totalBytes = new LongAdder();
+        private final LongAdder selfBytes = new LongAdder();
+
+        private Node(String name, boolean schema) {
+            this.name = name;
+            this.schema = schema;
+        }
+
+        Node child(String name, boolean schema) {
+            Node child = children.get(name);
+            return child != null ? child : children.computeIfAbsent(name, k -> new Node(k, schema));
+        }
+
+        void record(long nanos, long ownNanos, long bytes, long ownBytes) {
+            count.increment();
+            totalNanos.add(nanos);
+            selfNanos.add(ownNanos);
+            totalBytes.add(bytes);
+            selfBytes.add(ownBytes);
+        }
+    }
+
+    /* Frames are reused, so profiling does not allocate on its own (apart from new call tree nodes) */
+    private static final class FrameStack {
+        private Frame[] frames = new Frame[16];
+        private int depth = 0;
+
+        Frame push() {
+            if (depth == frames.length) {
+                frames = Arrays.copyOf(frames, depth * 2);
+            }
+            Frame frame = frames[depth];
+            if (frame == null) {
+                frame = new Frame();
+                frames[depth] = frame;
+            }
+            depth++;
+            return frame;
+        }
+
+        Frame pop() {
+            return frames[--depth];
+        }
+
+        Frame peek() {
+            return frames[depth - 1];
+        }
+    }
+
+    private static final class Frame {
+        private Node node;
+        private long childNanos;
+        private long childBytes;
+        private long startBytes;
+    }
+}
@@ -3,30 +3,242 @@ package dev.harrel.jsonschema;
 import java.net.URI;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.stream.Collectors;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 import static java.util.Collections.*;
 
+/**
+ * Registry of parsed schemas. Changes are made in transactions (see {@link SchemaRegistry#beginTransaction()}),
+ * which record how to undo each change, so a failed registration can be rolled back
+ * at the cost proportional to its own size, not to the size of the whole registry.
+ * Only one thread may make changes at a time, which is guaranteed by {@link JsonParser}.
+ */
 final class SchemaRegistry {
-    private volatile State state = State.empty();
+    private final State state = State.empty();
+    /* Registry consulted when URI is not present in the state - set for staging registries (see JsonParser#parseRootSchemas) */
+    private final SchemaRegistry parent;
+    /* Alias URI -> original URI, so aliases can be recreated when merging */
+    private final Map<URI, URI> aliases = new ConcurrentHashMap<>();
+    /* Read-only layers of official meta-schemas (see SharedMetaSchemas), consulted when URI is not present in the state */
+    private final CopyOnWriteArrayList<State> sharedLayers = new CopyOnWriteArrayList<>();
+    /* Undo actions of all the changes since the outermost transaction began */
+    private final List<Runnable> undoLog = new ArrayList<>();
+    private int transactionDepth = 0;
+    /* Documents (root schemas) by all the URIs they own, so they can be unregistered as a whole */
+    private final Map<URI, Document> documents = new ConcurrentHashMap<>();
+    /* Documents that are currently being registered - a document can trigger registration of another one (e.g. meta-schema) */
+    private final Deque<Document> documentStack = new ArrayDeque<>();
+    /* Documents loaded by SchemaResolver, in the order of eviction (CLOCK algorithm) */
+    private final Deque<Document> resolvedDocuments = new ArrayDeque<>();
+    private final int resolvedDocumentsLimit;
+    /* Sequence number of the next registered document, so documents can be listed in the order of registration */
+    private long documentSequence = 0;
+    /* Incremented after each change visible to lookups, which invalidates all the links (see getLinked) */
+    private volatile int modCount = 0;
 
-    State createSnapshot() {
-        return state.copy();
+    SchemaRegistry() {
+        this(null, 0);
     }
 
-    void restoreSnapshot(State state) {
-        this.state = state;
+    SchemaRegistry(SchemaRegistry parent) {
+        this(parent, 0);
+    }
+
+    SchemaRegistry(int resolvedDocumentsLimit) {
+        this(null, resolvedDocumentsLimit);
+    }
+
+    private SchemaRegistry(SchemaRegistry parent, int resolvedDocumentsLimit) {
+        this.parent = parent;
+        this.resolvedDocumentsLimit = resolvedDocumentsLimit;
+    }
+
+    /**
+     * Begins a transaction, which can be nested in another one.
+     *
+     * @return savepoint to be passed to {@link SchemaRegistry#rollbackTransaction(int)}
+     */
+    int beginTransaction() {
+        transactionDepth++;
+        return undoLog.size();
+    }
+
+    /* Changes of a nested transaction can still be rolled back by the enclosing one */
+    void commitTransaction() {
+        endTransaction();
+    }
+
+    void rollbackTransaction(int savepoint) {
+        for (int i = undoLog.size() - 1; i >= savepoint; i--) {
+            undoLog.remove(i).run();
+        }
+        modCount++;
+        endTransaction();
+    }
+
+    private void endTransaction() {
+        if (--transactionDepth == 0) {
+            undoLog.clear();
+        }
+    }
+
+    private void logUndo(Runnable undo) {
+        if (transactionDepth > 0) {
+            undoLog.add(undo);
+        }
+    }
+
+    /**
+     * Starts registration of a document. All the URIs that schemas get registered under, until
+     * {@link SchemaRegistry#endDocument(ValidatorSnapshot.Entry)} is called, become owned by this document.
+     *
+     * @param resolved if the document was loaded by {@link SchemaResolver} (and not registered explicitly)
+     */
+    void beginDocument(boolean resolved) {
+        documentStack.push(new Document(resolved));
+    }
+
+    void endDocument(ValidatorSnapshot.Entry entry) {
+        Document document = documentStack.pop();
+        document.entry = entry;
+        document.sequence = documentSequence++;
+        if (document.resolved) {
+            resolvedDocuments.addLast(document);
+            logUndo(() -> resolvedDocuments.removeLastOccurrence(document));
+        }
+    }
+
+    /* Changes made so far are rolled back by the enclosing transaction */
+    void abandonDocument() {
+        documentStack.pop();
+    }
+
+    /**
+     * Removes the whole document which owns given URI: the root schema, its subschemas (including embedded ones
+     * with their own <i>$id</i>), anchors and aliases.
+     *
+     * @return removed document or null if there is no document owning the URI
+     */
+    Document unregisterDocument(URI uri) {
+        Document document = documents.get(UriUtil.getUriWithoutFragment(uri));
+        if (document == null) {
+            return null;
+        }
+        removeDocument(document);
+        if (document.resolved) {
+            resolvedDocuments.remove(document);
+        }
+        return document;
+    }
+
+    /**
+     * Evicts documents loaded by {@link SchemaResolver} if there are more of them than the limit.
+     * Documents are evicted in the order of loading, but the ones that were used since the last check get a second chance,
+     * which approximates evicting the least recently used ones without any bookkeeping on lookups besides setting a flag.
+     * Does nothing inside a transaction, as evicted schemas could be restored by its rollback.
+     *
+     */
+    void evictResolvedDocuments() {
+        if (resolvedDocumentsLimit == 0 || transactionDepth > 0 || resolvedDocuments.size() <= resolvedDocumentsLimit) {
+            return;
+        }
+        while (resolvedDocuments.size() > resolvedDocumentsLimit) {
+            Document document = resolvedDocuments.removeFirst();
+            if (document.referenced) {
+                document.referenced = false;
+                resolvedDocuments.addLast(document);
+            } else {
+                removeDocument(document);
+            }
+        }
+    }
+
+    /**
+     * Returns root schemas of all the registered documents, in the order of registration.
+     */
+    List<ValidatorSnapshot.Entry> getDocumentEntries() {
+        List<ValidatorSnapshot.Entry> entries = new ArrayList<>();
+        for (Document document : getDocumentsInOrder()) {
+            entries.add(document.entry);
+        }
+        return entries;
+    }
+
+    private List<Document> getDocumentsInOrder() {
+        /* Documents are mapped by each URI they own */
+        Set<Document> distinct = newSetFromMap(new IdentityHashMap<>());
+        distinct.addAll(documents.values());
+        List<Document> sorted = new ArrayList<>(distinct);
+        sorted.sort(Comparator.comparingLong(document -> document.sequence));
+        return sorted;
+    }
+
+    private void removeDocument(Document document) {
+        for (URI uri : document.uris) {
+            /* URI might have been taken over by a document registered later */
+            if (documents.remove(uri, document)) {
+                state.fragments.remove(uri);
+                aliases.remove(uri);
+            }
+        }
+        modCount++;
+    }
+
+    void attachSharedLayer(State layer) {
+        if (sharedLayers.addIfAbsent(layer)) {
+            modCount++;
+        }
+    }
+
+    State createSharedLayer() {
+        return state.readOnly();
     }
 
     Schema get(URI baseUri) {
         return get(new CompoundUri(baseUri, ""));
     }
 
+    /**
+     * Same as {@link SchemaRegistry#get(CompoundUri)}, but the result is linked to provided URI instance
+     * (which is held by an evaluator), so the next lookups do not need to hash the URI and search the maps.
+     * Any change of the registry (registration, unregistration, eviction or rollback) invalidates all the links,
+     * so a linked schema is always the same as the one found by a lookup.
+     */
+    Schema getLinked(CompoundUri compoundUri) {
+        int currentModCount = getModCount();
+        Link link = compoundUri.link;
+        if (link != null && link.registry == this && link.modCount == currentModCount) {
+            if (link.owner != null) {
+                markReferenced(link.owner);
+            }
+            return link.schema;
+        }
+        Fragments fragments = getFragments(compoundUri.uri);
+        if (fragments == null) {
+            return null;
+        }
+        markReferenced(fragments.owner);
+        Schema schema = fragments.schemas.get(compoundUri.fragment);
+        if (schema == null) {
+            schema = fragments.additionalSchemas.get(compoundUri.fragment);
+        }
+        if (schema != null) {
+            compoundUri.link = new Link(this, currentModCount, schema, fragments.owner);
+        }
+        return schema;
+    }
+
+    /* Changes of the parent registry invalidate links as well */
+    int getModCount() {
+        return parent != null ? modCount + parent.getModCount() : modCount;
+    }
+
     Schema get(CompoundUri compoundUri) {
-        Fragments fragments = state.getFragments(compoundUri.uri);
+        Fragments fragments = getFragments(compoundUri.uri);
         if (fragments == null) {
             return null;
         }
+        markReferenced(fragments.owner);
         Schema schema = fragments.schemas.get(compoundUri.fragment);
         if (schema != null) {
             return schema;
@@ -34,30 +246,86 @@ final class SchemaRegistry {
         return fragments.additionalSchemas.get(compoundUri.fragment);
     }
 
-    Schema getDynamic(URI baseUri) {
-        return getDynamic(new CompoundUri(baseUri, ""));
-    }
-
     Schema getDynamic(CompoundUri compoundUri) {
-        Fragments fragments = state.getFragments(compoundUri.uri);
+        Fragments fragments = getFragments(compoundUri.uri);
         if (fragments == null) {
             return null;
         }
+        markReferenced(fragments.owner);
         return fragments.dynamicSchemas.get(compoundUri.fragment);
     }
 
+    private static void markReferenced(Document owner) {
+        if (owner != null && owner.resolved && !owner.referenced) {
+            owner.referenced = true;
+        }
+    }
+
+    private Fragments getFragments(URI uri) {
+        Fragments fragments = state.getFragments(uri);
+        if (fragments == null && parent != null) {
+            fragments = parent.getFragments(uri);
+        }
+        if (fragments != null || sharedLayers.isEmpty()) {
+            return fragments;
+        }
+        for (State layer : sharedLayers) {
+            fragments = layer.getFragments(uri);
+            if (fragments != null) {
+                return fragments;
+            }
+        }
+        return null;
+    }
+
     void registerAlias(URI originalUri, URI aliasUri) {
-        Fragments originalFragments = state.createIfAbsent(originalUri);
+        registerAlias(originalUri, aliasUri, documentStack.peek());
+    }
+
+    private void registerAlias(URI originalUri, URI aliasUri, Document owner) {
+        Fragments originalFragments = createIfAbsent(originalUri, owner);
         /* As long as registering schema under one URI multiple times is not forbidden, */
         /* aliases can cause unexpected changes - thus use of readOnly */
-        state.fragments.put(aliasUri, originalFragments.readOnly());
+        Fragments aliasFragments = originalFragments.readOnly();
+        own(aliasUri, aliasFragments, owner);
+        Fragments previous = state.fragments.put(aliasUri, aliasFragments);
+        modCount++;
+        logUndo(previous == null ? () -> state.fragments.remove(aliasUri) : () -> state.fragments.put(aliasUri, previous));
+        URI previousOriginal = aliases.put(aliasUri, originalUri);
+        logUndo(previousOriginal == null ? () -> aliases.remove(aliasUri) : () -> aliases.put(aliasUri, previousOriginal));
+    }
+
+    /**
+     * Adds all the schemas of another registry (usually a staging one) to this registry, as a part of the current transaction.
+     */
+    void merge(SchemaRegistry other) {
+        for (Map.Entry<URI, Fragments> entry : other.state.fragments.entrySet()) {
+            if (other.aliases.containsKey(entry.getKey())) {
+                continue;
+            }
+            Fragments source = entry.getValue();
+            Fragments target = createIfAbsent(entry.getKey(), other.documents.get(entry.getKey()));
+            source.schemas.forEach((key, schema) -> put(target.schemas, key, schema));
+            source.additionalSchemas.forEach((key, schema) -> put(target.additionalSchemas, key, schema));
+            source.dynamicSchemas.forEach((key, schema) -> put(target.dynamicSchemas, key, schema));
+        }
+        other.aliases.forEach((aliasUri, originalUri) -> registerAlias(originalUri, aliasUri, other.documents.get(aliasUri)));
+        other.sharedLayers.forEach(this::attachSharedLayer);
+        for (Document document : other.resolvedDocuments) {
+            resolvedDocuments.addLast(document);
+            logUndo(() -> resolvedDocuments.removeLastOccurrence(document));
+        }
+        for (Document document : other.getDocumentsInOrder()) {
+            document.sequence = documentSequence++;
+        }
     }
 
     void registerSchema(SchemaParsingContext ctx,
                         JsonNode schemaNode,
                         List<EvaluatorWrapper> evaluators) {
-        Schema schema = new Schema(ctx.getParentUri(), ctx.getTrueAbsoluteUri(schemaNode.getJsonPointer()), evaluators, ctx.getMetaSchemaData(), ctx.getCurrentSchemaObject());
-        state.createIfAbsent(ctx.getBaseUri()).schemas.put(schemaNode.getJsonPointer(), schema);
+        Schema schema = new Schema(ctx.getParentUri(), ctx.getTrueAbsoluteUri(schemaNode.getJsonPointer()), schemaNode, evaluators, ctx.getMetaSchemaData(), ctx.getCurrentSchemaObject(),
+                createIfAbsent(ctx.getParentUri()).dynamicSchemas);
+        put(createIfAbsent(ctx.getBaseUri()).schemas, schemaNode.getJsonPointer(), schema);
         registerAnchorsIfPresent(ctx, schemaNode, schema);
     }
 
@@ -65,18 +333,19 @@ final class SchemaRegistry {
                                 URI id,
                                 JsonNode schemaNode,
                                 List<EvaluatorWrapper> evaluators) {
-        Fragments baseFragments = state.createIfAbsent(ctx.getBaseUri());
-        Fragments idFragments = state.createIfAbsent(UriUtil.getUriWithoutFragment(id));
+        Fragments baseFragments = createIfAbsent(ctx.getBaseUri());
+        Fragments idFragments = createIfAbsent(UriUtil.getUriWithoutFragment(id));
 
         baseFragments.schemas.entrySet().stream()
                 .filter(e -> e.getKey().startsWith(schemaNode.getJsonPointer()))
                 .forEach(e -> {
                     String newJsonPointer = e.getKey().substring(schemaNode.getJsonPointer().length());
-                    idFragments.additionalSchemas.put(newJsonPointer, e.getValue());
+                    put(idFragments.additionalSchemas, newJsonPointer, e.getValue());
                 });
-        Schema identifiableSchema = new Schema(ctx.getParentUri(), ctx.getTrueAbsoluteUri(schemaNode.getJsonPointer()), evaluators, ctx.getMetaSchemaData(), ctx.getCurrentSchemaObject());
-        idFragments.schemas.put("", identifiableSchema);
-        baseFragments.schemas.put(schemaNode.getJsonPointer(), identifiableSchema);
+        Schema identifiableSchema = new Schema(ctx.getParentUri(), ctx.getTrueAbsoluteUri(schemaNode.getJsonPointer()), schemaNode, evaluators, ctx.getMetaSchemaData(), ctx.getCurrentSchemaObject(),
+                createIfAbsent(ctx.getParentUri()).dynamicSchemas);
+        put(idFragments.schemas, "", identifiableSchema);
+        put(baseFragments.schemas, schemaNode.getJsonPointer(), identifiableSchema);
         registerAnchorsIfPresent(ctx, schemaNode, identifiableSchema);
     }
 
@@ -85,25 +354,66 @@ final class SchemaRegistry {
             return;
         }
         Map<String, JsonNode> objectMap = schemaNode.asObject();
-        Fragments fragments = state.createIfAbsent(ctx.getParentUri());
+        Fragments fragments = createIfAbsent(ctx.getParentUri());
 
         if (ctx.getDialect().getSpecificationVersion().getOrder() > SpecificationVersion.DRAFT7.getOrder()) {
             JsonNodeUtil.getStringField(objectMap, Keyword.ANCHOR)
-                    .ifPresent(anchorString -> fragments.additionalSchemas.put(anchorString, schema));
+                    .ifPresent(anchorString -> put(fragments.additionalSchemas, anchorString, schema));
             if (ctx.getDialect().getSpecificationVersion() == SpecificationVersion.DRAFT2019_09) {
                 JsonNodeUtil.getBooleanField(objectMap, Keyword.RECURSIVE_ANCHOR)
                         .filter(anchor -> anchor)
-                        .ifPresent(anchorString -> fragments.dynamicSchemas.put("", schema));
+                        .ifPresent(anchorString -> put(fragments.dynamicSchemas, "", schema));
             } else {
                 JsonNodeUtil.getStringField(objectMap, Keyword.DYNAMIC_ANCHOR)
-                        .ifPresent(anchorString -> fragments.dynamicSchemas.put(anchorString, schema));
+                        .ifPresent(anchorString -> put(fragments.dynamicSchemas, anchorString, schema));
             }
         } else {
             JsonNodeUtil.getStringField(objectMap, Keyword.getIdKeyword(ctx.getDialect().getSpecificationVersion()))
                     .map(URI::create)
                     .map(URI::getFragment)
-                    .ifPresent(anchorString -> fragments.additionalSchemas.put(anchorString, schema));
+                    .ifPresent(anchorString -> put(fragments.additionalSchemas, anchorString, schema));
+        }
+    }
+
+    private Fragments createIfAbsent(URI uri) {
+        return createIfAbsent(uri, documentStack.peek());
+    }
+
+    private Fragments createIfAbsent(URI uri, Document owner) {
+        Fragments fragments = state.getFragments(uri);
+        if (fragments == null) {
+            fragments = Fragments.empty();
+            state.fragments.put(uri, fragments);
+            modCount++;
+            logUndo(() -> state.fragments.remove(uri));
         }
+        own(uri, fragments, owner);
+        return fragments;
+    }
+
+    private void own(URI uri, Fragments fragments, Document owner) {
+        /* Documents merged from a staging registry already list the URI, but are not mapped by it yet */
+        if (owner == null || documents.get(uri) == owner) {
+            return;
+        }
+        owner.uris.add(uri);
+        Document previousOwner = fragments.owner;
+        fragments.owner = owner;
+        Document previous = documents.put(uri, owner);
+        logUndo(() -> {
+            fragments.owner = previousOwner;
+            if (previous == null) {
+                documents.remove(uri);
+            } else {
+                documents.put(uri, previous);
+            }
+        });
+    }
+
+    private void put(Map<String, Schema> schemas, String key, Schema schema) {
+        Schema previous = schemas.put(key, schema);
+        modCount++;
+        logUndo(previous == null ? () -> schemas.remove(key) : () -> schemas.put(key, previous));
     }
 
     static final class State {
@@ -117,14 +427,10 @@ final class SchemaRegistry {
             return fragments.get(uri);
         }
 
-        private Fragments createIfAbsent(URI uri) {
-            return fragments.computeIfAbsent(uri, key -> Fragments.empty());
-        }
-
-        private State copy() {
-            Map<URI, Fragments> copiedMap = this.fragments.entrySet().stream()
-                    .collect(Collectors.toConcurrentMap(Map.Entry::getKey, e -> e.getValue().copy()));
-            return new State(copiedMap);
+        private State readOnly() {
+            Map<URI, Fragments> readOnlyMap = new HashMap<>();
+            fragments.forEach((uri, uriFragments) -> readOnlyMap.put(uri, uriFragments.readOnly()));
+            return new State(unmodifiableMap(readOnlyMap));
         }
 
         private static State empty() {
@@ -132,10 +438,44 @@ final class SchemaRegistry {
         }
     }
 
+    /**
+     * Schema found for a specific {@link CompoundUri} instance, valid as long as the registry is not changed.
+     */
+    static final class Link {
+        private final SchemaRegistry registry;
+        private final int modCount;
+        private final Schema schema;
+        private final Document owner;
+
+        private Link(SchemaRegistry registry, int modCount, Schema schema, Document owner) {
+            this.registry = registry;
+            this.modCount = modCount;
+            this.schema = schema;
+            this.owner = owner;
+        }
+    }
+
+    /**
+     * Root schema document registered by {@link JsonParser}, along with all the URIs it owns.
+     */
+    static final class Document {
+        private final boolean resolved;
+        private final Set<URI> uris = new HashSet<>();
+        private ValidatorSnapshot.Entry entry;
+        private long sequence;
+        /* Set on lookups, cleared by eviction - races are harmless, as it is only a hint */
+        private boolean referenced = true;
+
+        private Document(boolean resolved) {
+            this.resolved = resolved;
+        }
+    }
+
     private static final class Fragments {
         private final Map<String, Schema> schemas;
         private final Map<String, Schema> additionalSchemas;
         private final Map<String, Schema> dynamicSchemas;
+        private Document owner;
 
         private Fragments(Map<String, Schema> schemas,
                           Map<String, Schema> additionalSchemas,
@@ -145,10 +485,6 @@ final class SchemaRegistry {
             this.dynamicSchemas = dynamicSchemas;
         }
 
-        private Fragments copy() {
-            return new Fragments(new ConcurrentHashMap<>(this.schemas), new ConcurrentHashMap<>(this.additionalSchemas), new ConcurrentHashMap<>(this.dynamicSchemas));
-        }
-
         private Fragments readOnly() {
             return new Fragments(unmodifiableMap(this.schemas), unmodifiableMap(this.additionalSchemas), unmodifiableMap(this.dynamicSchemas));
         }
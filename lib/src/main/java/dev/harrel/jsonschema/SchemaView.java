@@ -0,0 +1,192 @@
+package dev.harrel.jsonschema;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+import static java.util.Collections.unmodifiableList;
+
+/**
+ * {@code SchemaView} class is a read-only view of a schema registered in {@link Validator}.
+ * It allows tools (e.g. compilers of schemas into specialized code) to traverse the schema graph:
+ * views of subschemas can be obtained with {@link SchemaView#getSubschema(JsonNode)}
+ * and targets of <i>$ref</i> keyword with {@link SchemaView#getRefTarget()}.
+ * A view reflects the schema as it was when the view was created,
+ * it is not affected by schemas registered or unregistered later.
+ * Lookups of subschemas and <i>$ref</i> targets are synchronized with registrations,
+ * so views can be traversed while other schemas are being registered.
+ * Views are equal if they represent the same schema.
+ *
+ * @see Validator#getSchemaView(URI)
+ */
+public final class SchemaView {
+    private final Validator validator;
+    private final JsonParser jsonParser;
+    private final Schema schema;
+
+    SchemaView(Validator validator, JsonParser jsonParser, Schema schema) {
+        this.validator = validator;
+        this.jsonParser = jsonParser;
+        this.schema = schema;
+    }
+
+    /**
+     * Getter for absolute schema location.
+     *
+     * @return schema location
+     */
+    public URI getSchemaLocation() {
+        return schema.getSchemaLocation();
+    }
+
+    /**
+     * Getter for the JSON representation of the schema, which is either an object or a boolean.
+     *
+     * @return schema node
+     */
+    public JsonNode getSchemaNode() {
+        return schema.getSchemaNode();
+    }
+
+    /**
+     * Returns keywords of the schema that are evaluated, in evaluation order.
+     * Keywords ignored by the dialect (or not belonging to active vocabularies) are not included.
+     *
+     * @return unmodifiable list of evaluated keywords
+     */
+    public List<String> getKeywords() {
+        List<String> keywords = new ArrayList<>();
+        for (EvaluatorWrapper evaluator : schema.getEvaluators()) {
+            if (evaluator.getKeyword() != null) {
+                keywords.add(evaluator.getKeyword());
+            }
+        }
+        return unmodifiableList(keywords);
+    }
+
+    /**
+     * Returns evaluator of given keyword.
+     *
+     * @param keyword keyword name
+     * @return evaluator or null if the keyword is not evaluated
+     */
+    public Evaluator getEvaluator(String keyword) {
+        EvaluatorWrapper wrapper = getEvaluatorWrapper(keyword);
+        return wrapper == null ? null : wrapper.getEvaluator();
+    }
+
+    /**
+     * Checks if given keyword is evaluated by a built-in evaluator, so it behaves as defined by the specification.
+     * This is not the case for keywords evaluated by custom {@link EvaluatorFactory} or {@link Dialect} implementations.
+     *
+     * @param keyword keyword name
+     * @return if the keyword is evaluated by a built-in evaluator
+     */
+    public boolean isBuiltIn(String keyword) {
+        EvaluatorWrapper wrapper = getEvaluatorWrapper(keyword);
+        return wrapper != null && wrapper.isBuiltIn();
+    }
+
+    /**
+     * Checks if given keyword is evaluated by a built-in evaluator that only produces an annotation and never fails
+     * (e.g. <i>title</i> or unknown keywords with string values).
+     *
+     * @param keyword keyword name
+     * @return if the keyword is an annotation
+     */
+    public boolean isAnnotation(String keyword) {
+        EvaluatorWrapper wrapper = getEvaluatorWrapper(keyword);
+        return wrapper != null && wrapper.getEvaluator() instanceof AbstractEvaluatorFactory.AnnotationEvaluator;
+    }
+
+    /**
+     * Checks if schema resource of this schema declares any dynamic anchors (<i>$dynamicAnchor</i> or <i>$recursiveAnchor</i>).
+     * If not, the outcome of validation against schemas evaluated from within this resource does not depend on it being in the dynamic scope.
+     *
+     * @return if schema resource declares dynamic anchors
+     */
+    public boolean hasDynamicAnchors() {
+        return !schema.getDynamicAnchors().isEmpty();
+    }
+
+    /**
+     * Returns view of a subschema.
+     *
+     * @param subschemaNode node of the subschema, which is a descendant of {@link SchemaView#getSchemaNode()}
+     * @return subschema view or null if provided node is not a registered subschema
+     */
+    public SchemaView getSubschema(JsonNode subschemaNode) {
+        URI baseUri = UriUtil.getUriWithoutFragment(schema.getSchemaLocation());
+        CompoundUri compoundUri = new CompoundUri(baseUri, subschemaNode.getJsonPointer());
+        Schema subschema = jsonParser.readRegistry(schemaRegistry -> schemaRegistry.get(compoundUri));
+        return subschema == null ? null : new SchemaView(validator, jsonParser, subschema);
+    }
+
+    /**
+     * Returns view of a schema referenced by <i>$ref</i> keyword.
+     * Schemas that are not registered yet are not resolved.
+     *
+     * @return referenced schema view or null if <i>$ref</i> is not evaluated, or its target is not registered
+     */
+    public SchemaView getRefTarget() {
+        Evaluator evaluator = getEvaluator(Keyword.REF);
+        CompoundUri ref;
+        if (evaluator instanceof RefEvaluator) {
+            ref = ((RefEvaluator) evaluator).getRef();
+        } else if (evaluator instanceof LegacyRefEvaluator) {
+            ref = ((LegacyRefEvaluator) evaluator).getRef();
+        } else {
+            return null;
+        }
+        Schema target = jsonParser.readRegistry(schemaRegistry -> {
+            Schema found = schemaRegistry.get(ref);
+            return found != null ? found : schemaRegistry.getDynamic(ref);
+        });
+        return target == null ? null : new SchemaView(validator, jsonParser, target);
+    }
+
+    /**
+     * Checks if instance is valid against this schema, as {@link Validator#isValid(URI, JsonNode)} does.
+     * If this is a subschema, the dynamic scope of evaluation starts at it.
+     *
+     * @param instanceNode instance node
+     * @return if validation was successful
+     */
+    public boolean isValid(JsonNode instanceNode) {
+        return validator.isValid(schema, instanceNode);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof SchemaView)) {
+            return false;
+        }
+        return schema == ((SchemaView) o).schema;
+    }
+
+    @Override
+    public int hashCode() {
+        return System.identityHashCode(schema);
+    }
+
+    @Override
+    public String toString() {
+        return "SchemaView{" +
+                "schemaLocation=" + schema.getSchemaLocation() +
+                '}';
+    }
+
+    private EvaluatorWrapper getEvaluatorWrapper(String keyword) {
+        Objects.requireNonNull(keyword);
+        for (EvaluatorWrapper evaluator : schema.getEvaluators()) {
+            if (keyword.equals(evaluator.getKeyword())) {
+                return evaluator;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,155 @@
+package dev.harrel.jsonschema;
+
+import java.net.URI;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Official meta-schemas compiled once per JVM. Each specification version is compiled into a read-only
+ * {@link SchemaRegistry.State} layer, which is then attached to every {@link SchemaRegistry} that needs it,
+ * instead of resolving, parsing and validating the meta-schemas for each {@link Validator} separately.
+ * Layers are only used if the configuration would produce equivalent meta-schemas: official dialects are not overridden,
+ * no additional {@link EvaluatorFactory} is used, user provided {@link SchemaResolver} does not resolve any of the official URIs,
+ * and both {@link JsonNodeFactory} and {@link RegexEngine} are the built-in ones. Instances of these two may carry arbitrary
+ * configuration, so only the defaults (and {@link RegexEngine#linear()}) are known to produce equivalent evaluators.
+ * Layers are kept per regex engine class.
+ */
+final class SharedMetaSchemas {
+    private static final ConcurrentMap<LayerKey, Layer> LAYERS = new ConcurrentHashMap<>();
+
+    private final SchemaResolver userSchemaResolver;
+    private final JsonNodeFactory jsonNodeFactory;
+    private final RegexEngine regexEngine;
+    /* Specifications which meta-schemas are resolved by the user resolver, so they cannot be shared */
+    private final Set<SpecificationVersion> overridden = ConcurrentHashMap.newKeySet();
+
+    private SharedMetaSchemas(SchemaResolver userSchemaResolver, JsonNodeFactory jsonNodeFactory, RegexEngine regexEngine) {
+        this.userSchemaResolver = userSchemaResolver;
+        this.jsonNodeFactory = Objects.requireNonNull(jsonNodeFactory);
+        this.regexEngine = Objects.requireNonNull(regexEngine);
+    }
+
+    /**
+     * Returns null if the configuration is not compatible with shared meta-schemas.
+     */
+    static SharedMetaSchemas forConfiguration(Map<URI, Dialect> dialects,
+                                              EvaluatorFactory evaluatorFactory,
+                                              SchemaResolver userSchemaResolver,
+                                              JsonNodeFactory jsonNodeFactory,
+                                              RegexEngine regexEngine) {
+        if (evaluatorFactory != null || !isBuiltIn(regexEngine)) {
+            return null;
+        }
+        for (Map.Entry<URI, Dialect> entry : Dialects.OFFICIAL_DIALECTS.entrySet()) {
+            if (dialects.get(entry.getKey()) != entry.getValue()) {
+                return null;
+            }
+        }
+        return new SharedMetaSchemas(userSchemaResolver, jsonNodeFactory, regexEngine);
+    }
+
+    private static boolean isBuiltIn(RegexEngine regexEngine) {
+        if (regexEngine instanceof LinearRegexEngine) {
+            regexEngine = ((LinearRegexEngine) regexEngine).getFallback();
+        }
+        return regexEngine == RegexEngine.javaUtilRegex();
+    }
+
+    /**
+     * Returns the layer containing meta-schema with given URI, or null if it is not an official meta-schema
+     * or it cannot be shared.
+     */
+    SchemaRegistry.State getLayer(URI baseUri) {
+        SpecificationVersion specVersion = findSpecificationVersion(baseUri);
+        if (specVersion == null || overridden.contains(specVersion)) {
+            return null;
+        }
+        if (userSchemaResolver != null) {
+            for (URI uri : specVersion.getResourceUris()) {
+                if (!userSchemaResolver.resolve(uri.toString()).isEmpty()) {
+                    overridden.add(specVersion);
+                    return null;
+                }
+            }
+        }
+        LayerKey key = new LayerKey(specVersion, regexEngine.getClass());
+        return LAYERS.computeIfAbsent(key, k -> new Layer()).get(specVersion, jsonNodeFactory, regexEngine);
+    }
+
+    private static SpecificationVersion findSpecificationVersion(URI baseUri) {
+        for (SpecificationVersion specVersion : SpecificationVersion.values()) {
+            if (specVersion.getResourceUris().contains(baseUri)) {
+                return specVersion;
+            }
+        }
+        return null;
+    }
+
+    private static SchemaRegistry.State compile(SpecificationVersion specVersion, JsonNodeFactory jsonNodeFactory, RegexEngine regexEngine) {
+        SchemaRegistry schemaRegistry = new SchemaRegistry();
+        SchemaResolver schemaResolver = new ValidatorFactory.DefaultSchemaResolver();
+        MetaSchemaValidator metaSchemaValidator = new MetaSchemaValidator(jsonNodeFactory, schemaRegistry, schemaResolver,
+                MessageProvider.fromLocale(Locale.getDefault()), null);
+        JsonParser jsonParser = new JsonParser(Dialects.OFFICIAL_DIALECTS, new Dialects.Draft2020Dialect(), null,
+                schemaRegistry, metaSchemaValidator, false, regexEngine);
+
+        URI rootUri = UriUtil.getUriWithoutFragment(specVersion.getId());
+        metaSchemaValidator.resolveMetaSchema(jsonParser, rootUri);
+        /* Validating the meta-schema against itself resolves all the meta-schemas it refers to */
+        JsonNode rootNode = schemaResolver.resolve(rootUri.toString())
+                .toJsonNode(jsonNodeFactory)
+                .orElseThrow(() -> MetaSchemaResolvingException.resolvingFailure(rootUri.toString()));
+        metaSchemaValidator.validateSchema(jsonParser, rootUri, rootUri.toString(), rootNode);
+        for (URI uri : specVersion.getResourceUris()) {
+            metaSchemaValidator.resolveMetaSchema(jsonParser, uri);
+        }
+        return schemaRegistry.createSharedLayer();
+    }
+
+    private static final class Layer {
+        private volatile SchemaRegistry.State state;
+
+        /* Compiled outside the map lock, so layers of different specifications can be compiled concurrently */
+        SchemaRegistry.State get(SpecificationVersion specVersion, JsonNodeFactory jsonNodeFactory, RegexEngine regexEngine) {
+            SchemaRegistry.State result = state;
+            if (result == null) {
+                synchronized (this) {
+                    result = state;
+                    if (result == null) {
+                        result = compile(specVersion, jsonNodeFactory, regexEngine);
+                        state = result;
+                    }
+                }
+            }
+            return result;
+        }
+    }
+
+    private static final class LayerKey {
+        private final SpecificationVersion specVersion;
+        private final Class<?> regexEngineClass;
+
+        private LayerKey(SpecificationVersion specVersion, Class<?> regexEngineClass) {
+            this.specVersion = specVersion;
+            this.regexEngineClass = regexEngineClass;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof LayerKey)) {
+                return false;
+            }
+            LayerKey other = (LayerKey) o;
+            return specVersion == other.specVersion && regexEngineClass == other.regexEngineClass;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(specVersion, regexEngineClass);
+        }
+    }
+}
@@ -67,6 +67,11 @@ public enum SpecificationVersion {
         return order;
     }
 
+    /* URIs of all the documents provided by this specification (without fragments) */
+    Set<URI> getResourceUris() {
+        return additionalResources.keySet();
+    }
+
     private static URI getLastPathSegmentWithoutExtension(URI uri) {
         int start = uri.getPath().lastIndexOf('/');
         int end = uri.getPath().lastIndexOf('.');
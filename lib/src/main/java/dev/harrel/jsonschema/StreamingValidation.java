@@ -0,0 +1,344 @@
+package dev.harrel.jsonschema;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.NullNode;
+import dev.harrel.jsonschema.providers.JacksonNode;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.*;
+
+import static java.util.Collections.emptyList;
+
+/**
+ * Validation of instances that are read from a stream with Jackson streaming API.
+ * If the instance is an array and the root schema (or a schema it only references with <i>$ref</i>)
+ * only uses keywords which apply subschemas to elements one at a time (or only look at the array size),
+ * elements are read, validated and dropped one by one. Otherwise, the whole instance is read into memory and validated as usual.
+ * Either way, the outcome is the same as if the whole instance was validated at once.
+ */
+final class StreamingValidation {
+    static final ObjectMapper MAPPER = new ObjectMapper(new JsonFactory().disable(com.fasterxml.jackson.core.JsonParser.Feature.AUTO_CLOSE_SOURCE))
+            .enable(DeserializationFeature.USE_BIG_DECIMAL_FOR_FLOATS);
+    /* Limits the number of followed references, as they might form a cycle */
+    private static final int MAX_REF_DEPTH = 16;
+
+    private final Schema schema;
+    private final com.fasterxml.jackson.core.JsonParser parser;
+    private final ArrayShape shape = new ArrayShape();
+    /* Schemas referenced by root schema (and by each other) that lead to the streamed schema, with their $ref evaluators */
+    private final List<Schema> refSchemas = new ArrayList<>();
+    private final List<EvaluatorWrapper> refEvaluators = new ArrayList<>();
+    /* Evaluator applying subschemas to the leading elements (prefixItems or array form of items) */
+    private EvaluatorWrapper prefixEvaluator;
+    private List<CompoundUri> prefixRefs = emptyList();
+    /* Evaluator applying a single subschema to the rest of elements (items or additionalItems) */
+    private EvaluatorWrapper restEvaluator;
+    private CompoundUri restRef;
+
+    private boolean streamed = false;
+    private boolean prefixValid = true;
+    private boolean restValid = true;
+    private EvaluationContext.Results prefixResults;
+    private EvaluationContext.Results restResults;
+
+    private StreamingValidation(Schema schema, com.fasterxml.jackson.core.JsonParser parser) {
+        this.schema = schema;
+        this.parser = parser;
+    }
+
+    static boolean validate(EvaluationContext ctx, Schema schema, InputStream in) {
+        try (com.fasterxml.jackson.core.JsonParser parser = MAPPER.getFactory().createParser(in)) {
+            JsonToken token = parser.nextToken();
+            if (token == null) {
+                throw new IllegalArgumentException("Provided stream does not contain any JSON value");
+            }
+            StreamingValidation streaming = new StreamingValidation(schema, parser);
+            boolean valid;
+            if (token == JsonToken.START_ARRAY && streaming.analyzeSchema(ctx)) {
+                valid = streaming.validate(ctx);
+            } else {
+                valid = ctx.validateAgainstRootSchema(schema, new JacksonNode(readValue(parser)));
+            }
+            if (parser.nextToken() != null) {
+                throw new IllegalArgumentException("Provided stream contains more than one JSON value");
+            }
+            return valid;
+        } catch (IOException e) {
+            throw wrapException(e);
+        }
+    }
+
+    static com.fasterxml.jackson.databind.JsonNode readValue(com.fasterxml.jackson.core.JsonParser parser) throws IOException {
+        com.fasterxml.jackson.databind.JsonNode node = MAPPER.readTree(parser);
+        return node != null ? node : NullNode.getInstance();
+    }
+
+    private static RuntimeException wrapException(IOException e) {
+        if (e instanceof JsonProcessingException) {
+            return new IllegalArgumentException(e);
+        }
+        return new UncheckedIOException(e);
+    }
+
+    /**
+     * Checks if the instance can be streamed. Evaluators of the schemas leading to the streamed one may only be
+     * size independent, and all the other evaluators of the streamed schema may only read the array size,
+     * as they are given {@link ArrayShape} instead of the instance.
+     */
+    private boolean analyzeSchema(EvaluationContext ctx) {
+        Schema current = schema;
+        EvaluatorWrapper refEvaluator;
+        while ((refEvaluator = findRefEvaluator(current)) != null) {
+            if (refSchemas.size() == MAX_REF_DEPTH) {
+                return false;
+            }
+            Schema target = ctx.getInternalSchema(((RefEvaluator) refEvaluator.getEvaluator()).getRef());
+            if (target == null) {
+                return false;
+            }
+            refSchemas.add(target);
+            refEvaluators.add(refEvaluator);
+            current = target;
+        }
+        return analyzeStreamedSchema(current);
+    }
+
+    /* Returns $ref evaluator if it is the only one among evaluators of the schema that is not size independent */
+    private static EvaluatorWrapper findRefEvaluator(Schema schema) {
+        if (schema.consumesAnnotations()) {
+            return null;
+        }
+        EvaluatorWrapper refEvaluator = null;
+        for (EvaluatorWrapper wrapper : schema.getEvaluators(SimpleType.ARRAY)) {
+            Evaluator evaluator = wrapper.getEvaluator();
+            if (evaluator instanceof RefEvaluator && refEvaluator == null) {
+                refEvaluator = wrapper;
+            } else if (!isSizeIndependent(evaluator)) {
+                return null;
+            }
+        }
+        return refEvaluator;
+    }
+
+    private boolean analyzeStreamedSchema(Schema streamedSchema) {
+        if (streamedSchema.consumesAnnotations()) {
+            return false;
+        }
+        List<EvaluatorWrapper> evaluators = streamedSchema.getEvaluators(SimpleType.ARRAY);
+        for (EvaluatorWrapper wrapper : evaluators) {
+            Evaluator evaluator = wrapper.getEvaluator();
+            if (evaluator instanceof PrefixItemsEvaluator && prefixEvaluator == null) {
+                prefixEvaluator = wrapper;
+                prefixRefs = ((PrefixItemsEvaluator) evaluator).getPrefixRefs();
+            } else if (evaluator instanceof ItemsEvaluator && restEvaluator == null) {
+                restEvaluator = wrapper;
+                restRef = ((ItemsEvaluator) evaluator).getSchemaRef();
+            } else if (evaluator instanceof ItemsLegacyEvaluator && ((ItemsLegacyEvaluator) evaluator).getSchemaRef() != null && restEvaluator == null) {
+                restEvaluator = wrapper;
+                restRef = ((ItemsLegacyEvaluator) evaluator).getSchemaRef();
+            } else if (evaluator instanceof ItemsLegacyEvaluator && prefixEvaluator == null) {
+                prefixEvaluator = wrapper;
+                prefixRefs = ((ItemsLegacyEvaluator) evaluator).getSchemaRefs();
+            } else if (!(evaluator instanceof AdditionalItemsEvaluator) && !isSizeIndependent(evaluator) && !isSizeEvaluator(evaluator)) {
+                return false;
+            }
+        }
+        /* additionalItems only reads elements after the array form of items, otherwise it is always valid */
+        for (EvaluatorWrapper wrapper : evaluators) {
+            if (wrapper.getEvaluator() instanceof AdditionalItemsEvaluator && isLegacyPrefix()) {
+                if (restEvaluator != null) {
+                    return false;
+                }
+                restEvaluator = wrapper;
+                restRef = ((AdditionalItemsEvaluator) wrapper.getEvaluator()).getSchemaRef();
+            }
+        }
+        if (restEvaluator == null || prefixEvaluator == null) {
+            return true;
+        }
+        /* Only prefixItems and items (2020-12) or array form of items and additionalItems work together */
+        Evaluator rest = restEvaluator.getEvaluator();
+        return isLegacyPrefix() ? rest instanceof AdditionalItemsEvaluator : rest instanceof ItemsEvaluator;
+    }
+
+    private boolean isLegacyPrefix() {
+        return prefixEvaluator != null && prefixEvaluator.getEvaluator() instanceof ItemsLegacyEvaluator;
+    }
+
+    /* Evaluators that never look at array elements nor size */
+    private static boolean isSizeIndependent(Evaluator evaluator) {
+        return evaluator instanceof TypeEvaluator
+                || evaluator instanceof AbstractEvaluatorFactory.AnnotationEvaluator
+                || evaluator == Schema.getBooleanEvaluator(true)
+                || evaluator == Schema.getBooleanEvaluator(false);
+    }
+
+    /* Evaluators that only look at array size */
+    private static boolean isSizeEvaluator(Evaluator evaluator) {
+        return evaluator instanceof MinItemsEvaluator || evaluator instanceof MaxItemsEvaluator;
+    }
+
+    private boolean validate(EvaluationContext ctx) throws IOException {
+        Schema streamedSchema = refSchemas.isEmpty() ? schema : refSchemas.get(refSchemas.size() - 1);
+        List<EvaluatorWrapper> evaluators = new ArrayList<>();
+        for (EvaluatorWrapper wrapper : streamedSchema.getEvaluators(SimpleType.ARRAY)) {
+            evaluators.add(new EvaluatorWrapper(wrapper.getKeyword(), wrapper.getKeywordPath(), (evalCtx, node) -> {
+                stream(evalCtx);
+                return evaluate(evalCtx, wrapper);
+            }));
+        }
+        /* Going back from the streamed schema, each $ref evaluator is replaced with one validating against already replaced evaluators */
+        for (int i = refSchemas.size() - 1; i >= 0; i--) {
+            Schema refSchema = refSchemas.get(i);
+            List<EvaluatorWrapper> refTargetEvaluators = evaluators;
+            EvaluatorWrapper refEvaluator = refEvaluators.get(i);
+            Schema referringSchema = i == 0 ? schema : refSchemas.get(i - 1);
+            evaluators = new ArrayList<>();
+            for (EvaluatorWrapper wrapper : referringSchema.getEvaluators(SimpleType.ARRAY)) {
+                if (wrapper == refEvaluator) {
+                    evaluators.add(new EvaluatorWrapper(wrapper.getKeyword(), wrapper.getKeywordPath(), (evalCtx, node) ->
+                            evalCtx.validateAgainstRefSchema(refSchema, refTargetEvaluators, node) ? Evaluator.Result.success() : Evaluator.Result.failure()));
+                } else {
+                    evaluators.add(wrapper);
+                }
+            }
+        }
+        boolean valid = ctx.validateAgainstRootSchema(schema, evaluators, shape);
+        if (!streamed) {
+            parser.skipChildren();
+        }
+        return valid;
+    }
+
+    /**
+     * Reads all the elements, validating them against applicable subschemas. Evaluation of the streamed schema
+     * is already in progress at this point, but results of elements are put aside,
+     * so they can be added back in the order of evaluators. Results of elements do not reference their nodes,
+     * so memory is bounded by the largest element and the collected results, not by the whole instance.
+     */
+    private void stream(EvaluationContext ctx) {
+        if (streamed) {
+            return;
+        }
+        streamed = true;
+        int errorsSize = ctx.getErrorsSize();
+        int annotationsSize = ctx.getAnnotationsSize();
+        try {
+            while (parser.nextToken() != JsonToken.END_ARRAY) {
+                int index = shape.size;
+                if (index < prefixRefs.size()) {
+                    int elementErrorsSize = ctx.getErrorsSize();
+                    int elementAnnotationsSize = ctx.getAnnotationsSize();
+                    prefixValid = ctx.validateOnBehalfOf(prefixEvaluator, prefixRefs.get(index), readElement(index)) && prefixValid;
+                    ctx.detachInstanceNodes(elementErrorsSize, elementAnnotationsSize);
+                } else if (restEvaluator != null) {
+                    if (prefixResults == null) {
+                        prefixResults = ctx.extractResults(errorsSize, annotationsSize);
+                    }
+                    int elementErrorsSize = ctx.getErrorsSize();
+                    int elementAnnotationsSize = ctx.getAnnotationsSize();
+                    restValid = ctx.validateOnBehalfOf(restEvaluator, restRef, readElement(index)) && restValid;
+                    ctx.detachInstanceNodes(elementErrorsSize, elementAnnotationsSize);
+                } else {
+                    parser.skipChildren();
+                }
+                shape.size++;
+            }
+        } catch (IOException e) {
+            throw wrapException(e);
+        }
+        if (prefixResults == null) {
+            prefixResults = ctx.extractResults(errorsSize, annotationsSize);
+        }
+        restResults = ctx.extractResults(errorsSize, annotationsSize);
+    }
+
+    private JsonNode readElement(int index) throws IOException {
+        return new JacksonNode(readValue(parser), "/" + index);
+    }
+
+    /* Mirrors evaluation logic of array applicators, given the outcome of streaming */
+    private Evaluator.Result evaluate(EvaluationContext ctx, EvaluatorWrapper wrapper) {
+        int prefixSize = prefixRefs.size();
+        if (wrapper == prefixEvaluator) {
+            ctx.restoreResults(prefixResults);
+            Object annotation = shape.size <= prefixSize ? Boolean.TRUE : prefixSize;
+            return prefixValid ? Evaluator.Result.success(annotation) : Evaluator.Result.annotatedFailure(annotation);
+        } else if (wrapper == restEvaluator) {
+            ctx.restoreResults(restResults);
+            if (prefixEvaluator != null && shape.size <= prefixSize) {
+                return Evaluator.Result.success();
+            }
+            return restValid ? Evaluator.Result.success(true) : Evaluator.Result.annotatedFailure(true);
+        } else {
+            return wrapper.evaluate(ctx, shape);
+        }
+    }
+
+    /**
+     * Stands for the root array, which elements are not held in memory. It is only given to evaluators
+     * that do not read elements (see {@link StreamingValidation#analyzeSchema(EvaluationContext)}),
+     * so the remaining accessors are never called.
+     */
+    private static final class ArrayShape implements JsonNode {
+        private int size = 0;
+
+        @Override
+        public String getJsonPointer() {
+            return "";
+        }
+
+        @Override
+        public SimpleType getNodeType() {
+            return SimpleType.ARRAY;
+        }
+
+        @Override
+        public boolean asBoolean() {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public String asString() {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public BigInteger asInteger() {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public BigDecimal asNumber() {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public List<JsonNode> asArray() {
+            return new AbstractList<JsonNode>() {
+                @Override
+                public JsonNode get(int index) {
+                    throw new UnsupportedOperationException("Elements of streamed array are not available");
+                }
+
+                @Override
+                public int size() {
+                    return size;
+                }
+            };
+        }
+
+        @Override
+        public Map<String, JsonNode> asObject() {
+            throw new UnsupportedOperationException();
+        }
+    }
+}
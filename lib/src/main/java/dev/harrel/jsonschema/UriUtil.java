@@ -13,6 +13,8 @@ import java.util.Objects;
 final class CompoundUri {
     final URI uri;
     final String fragment;
+    /* Schema this URI resolved to, see SchemaRegistry#getLinked - Link is immutable, so it can be shared without synchronization */
+    SchemaRegistry.Link link;
 
     static CompoundUri fromUri(URI uri) {
         if (uri.getRawFragment() == null) {
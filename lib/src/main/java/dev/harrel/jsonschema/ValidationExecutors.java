@@ -0,0 +1,16 @@
+package dev.harrel.jsonschema;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Provides default executor for asynchronous validation. There is a separate version of this class for Java 21+
+ * (in multi-release JAR), which uses virtual threads instead.
+ */
+final class ValidationExecutors {
+    private ValidationExecutors() {}
+
+    static Executor defaultExecutor() {
+        return ForkJoinPool.commonPool();
+    }
+}
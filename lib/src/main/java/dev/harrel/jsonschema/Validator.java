@@ -2,8 +2,18 @@ package dev.harrel.jsonschema;
 
 import dev.harrel.jsonschema.providers.JacksonNode;
 
+import java.io.*;
 import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Consumer;
+import java.util.function.ObjIntConsumer;
 
 /**
  * Main class for performing JSON schema validation. It can be created via {@link ValidatorFactory}.
@@ -14,25 +24,46 @@ import java.util.*;
  * @see Validator.Result
  */
 public final class Validator {
+    /* Number of values in a single task of validateLines, and the maximum number of tasks not consumed yet */
+    private static final int LINES_BATCH_SIZE = 64;
+    private static final int MAX_PENDING_LINE_BATCHES = 64;
+
     private final JsonNodeFactory schemaNodeFactory;
     private final JsonNodeFactory instanceNodeFactory;
     private final SchemaResolver schemaResolver;
     private final MessageProvider messageProvider;
     private final SchemaRegistry schemaRegistry;
     private final JsonParser jsonParser;
+    private final boolean annotationsEnabled;
+    private final EvaluationContextPool contextPool;
+    private final EvaluationContextPool flagContextPool;
+    private final ForkJoinPool forkJoinPool;
+    private final int parallelThreshold;
+    private final EvaluationListener evaluationListener;
 
     Validator(JsonNodeFactory schemaNodeFactory,
               JsonNodeFactory instanceNodeFactory,
               SchemaResolver schemaResolver,
               MessageProvider messageProvider,
               SchemaRegistry schemaRegistry,
-              JsonParser jsonParser) {
+              JsonParser jsonParser,
+              boolean annotationsEnabled,
+              int contextPoolHighWaterMark,
+              ForkJoinPool forkJoinPool,
+              int parallelThreshold,
+              EvaluationListener evaluationListener) {
         this.schemaNodeFactory = Objects.requireNonNull(schemaNodeFactory);
         this.instanceNodeFactory = Objects.requireNonNull(instanceNodeFactory);
         this.schemaResolver = Objects.requireNonNull(schemaResolver);
         this.messageProvider = Objects.requireNonNull(messageProvider);
         this.schemaRegistry = Objects.requireNonNull(schemaRegistry);
         this.jsonParser = Objects.requireNonNull(jsonParser);
+        this.annotationsEnabled = annotationsEnabled;
+        this.forkJoinPool = forkJoinPool;
+        this.parallelThreshold = parallelThreshold;
+        this.evaluationListener = evaluationListener;
+        this.contextPool = new EvaluationContextPool(() -> createNewEvaluationContext(false), contextPoolHighWaterMark);
+        this.flagContextPool = new EvaluationContextPool(() -> createNewEvaluationContext(true), contextPoolHighWaterMark);
     }
 
     /**
@@ -100,6 +131,61 @@ public final class Validator {
         return jsonParser.parseRootSchema(generateSchemaUri().resolve(uri), schemaNode);
     }
 
+    /**
+     * Registers multiple schemas at specified URIs, using the default executor:
+     * a new virtual thread for every task on Java 21+, or {@link ForkJoinPool#commonPool()} on older Java versions.
+     *
+     * @param schemas schemas by their URIs
+     * @return unmodifiable map of provided URIs to URIs of registered schemas, in the iteration order of provided map
+     * @see Validator#registerSchemas(Map, Executor)
+     */
+    public Map<URI, URI> registerSchemas(Map<URI, ?> schemas) {
+        return registerSchemas(schemas, ValidationExecutors.defaultExecutor());
+    }
+
+    /**
+     * Registers multiple schemas at specified URIs. Schemas are parsed and validated against their meta-schemas in parallel,
+     * on provided executor, and then registered all at once. If any of the schemas is invalid, none of them is registered.
+     * Schemas may refer to each other. However, if one of them is a meta-schema of another, the whole batch is registered sequentially,
+     * in the iteration order of provided map - so the meta-schema needs to come first.
+     * Schemas of type {@code String} are treated as string representations of schema JSON (like in {@link Validator#registerSchema(URI, String)}),
+     * {@link JsonNode}s are used directly, and any other objects are treated as provider nodes (like in {@link Validator#registerSchema(URI, Object)}).
+     *
+     * @param schemas  schemas by their URIs
+     * @param executor executor used for parsing schemas
+     * @return unmodifiable map of provided URIs to URIs of registered schemas (which might be different due to <i>$id</i> keyword),
+     * in the iteration order of provided map
+     */
+    public Map<URI, URI> registerSchemas(Map<URI, ?> schemas, Executor executor) {
+        Objects.requireNonNull(executor);
+        List<URI> keys = new ArrayList<>(schemas.size());
+        List<ValidatorSnapshot.Entry> entries = new ArrayList<>(schemas.size());
+        for (Map.Entry<URI, ?> entry : schemas.entrySet()) {
+            keys.add(entry.getKey());
+            entries.add(new ValidatorSnapshot.Entry(generateSchemaUri().resolve(entry.getKey()), toSchemaNode(entry.getValue())));
+        }
+        List<URI> uris = jsonParser.parseRootSchemas(entries, executor);
+        Map<URI, URI> result = new LinkedHashMap<>();
+        for (int i = 0; i < keys.size(); i++) {
+            result.put(keys.get(i), uris.get(i));
+        }
+        return Collections.unmodifiableMap(result);
+    }
+
+    /**
+     * Unregisters schema, so it can no longer be referenced and its memory can be reclaimed.
+     * The whole schema document is removed: the root schema with all of its subschemas and anchors,
+     * including the ones with their own <i>$id</i>. Any URI of the document can be used,
+     * e.g. the one returned by {@link Validator#registerSchema(String)} or the value of <i>$id</i> keyword.
+     * Schemas resolved by {@link SchemaResolver} can be unregistered as well - they will be resolved again if referenced.
+     *
+     * @param uri URI of any schema in the document
+     * @return true if the schema was registered
+     */
+    public boolean unregisterSchema(URI uri) {
+        return jsonParser.unregisterRootSchema(Objects.requireNonNull(uri));
+    }
+
     /**
      * Validates instance JSON against schema resolved from provided URI.
      *
@@ -131,10 +217,429 @@ public final class Validator {
      * @return validation result
      */
     public Result validate(URI schemaUri, JsonNode instanceNode) {
+        return validate(getRootSchema(schemaUri), instanceNodeFactory.wrap(instanceNode));
+    }
+
+    /**
+     * Validates instance JSON read from a stream against a root schema resolved from provided URI.
+     * If instance {@link JsonNodeFactory} is {@link JacksonNode.Factory}, the instance is an array and the root schema
+     * (or a schema it references with <i>$ref</i>) only uses <i>type</i>, <i>items</i>, <i>prefixItems</i>,
+     * <i>additionalItems</i>, <i>minItems</i>, <i>maxItems</i> and annotation keywords, the elements are read and validated one at a time,
+     * so the whole instance is never held in memory (collected errors and annotations still are).
+     * Otherwise, the whole instance is buffered in memory before validation (read as UTF-8 for factories other than {@link JacksonNode.Factory}),
+     * so memory usage is the same as for {@link Validator#validate(URI, String)}. In particular, this applies to objects
+     * and to schemas using other keywords, e.g. <i>uniqueItems</i>, <i>contains</i> or applicators like <i>allOf</i>.
+     * The result is the same as for other {@code validate} methods.
+     * Provided stream is not closed.
+     *
+     * @param schemaUri      URI of a root schema to use for validation
+     * @param instanceStream stream containing instance JSON
+     * @return validation result
+     * @throws IllegalArgumentException if the stream does not contain a single, well-formed JSON value
+     * @throws UncheckedIOException     if reading from the stream fails
+     */
+    public Result validateStream(URI schemaUri, InputStream instanceStream) {
+        Schema schema = getRootSchema(schemaUri);
+        /* Streaming relies on Jackson, which is an optional dependency */
+        if (!(instanceNodeFactory instanceof JacksonNode.Factory)) {
+            return validate(schema, instanceNodeFactory.create(readFully(instanceStream)));
+        }
+        EvaluationContext ctx = contextPool.acquire();
+        try {
+            boolean valid = StreamingValidation.validate(ctx, schema, instanceStream);
+            return new Result(valid, ctx);
+        } finally {
+            contextPool.release(ctx);
+        }
+    }
+
+    /**
+     * Validates multiple independent instances against a root schema resolved from provided URI, using the default executor:
+     * a new virtual thread for every instance on Java 21+, or {@link ForkJoinPool#commonPool()} on older Java versions.
+     *
+     * @param schemaUri URI of a root schema to use for validation
+     * @param instances instances to validate
+     * @return unmodifiable list of validation results, in the order of instances
+     * @see Validator#validateAll(URI, List, Executor)
+     */
+    public List<Result> validateAll(URI schemaUri, List<?> instances) {
+        return validateAll(schemaUri, instances, ValidationExecutors.defaultExecutor());
+    }
+
+    /**
+     * Validates multiple independent instances against a root schema resolved from provided URI.
+     * The schema is resolved once in the calling thread, and then each instance is validated as a separate task of provided executor.
+     * Instances of type {@code String} are treated as string representations of instance JSON (like in {@link Validator#validate(URI, String)}),
+     * any other objects are treated as provider nodes or {@link JsonNode}s (like in {@link Validator#validate(URI, Object)}).
+     * If validation of any instance throws an exception, it is rethrown by this method.
+     *
+     * @param schemaUri URI of a root schema to use for validation
+     * @param instances instances to validate
+     * @param executor  executor used for validation of instances
+     * @return unmodifiable list of validation results, in the order of instances
+     * @throws SchemaNotFoundException if the schema cannot be resolved
+     */
+    public List<Result> validateAll(URI schemaUri, List<?> instances, Executor executor) {
+        Objects.requireNonNull(executor);
+        Schema schema = getRootSchema(schemaUri);
+        List<CompletableFuture<Result>> futures = new ArrayList<>(instances.size());
+        for (Object instance : instances) {
+            futures.add(CompletableFuture.supplyAsync(() -> validate(schema, toInstanceNode(instance)), executor));
+        }
+        List<Result> results = new ArrayList<>(futures.size());
+        for (CompletableFuture<Result> future : futures) {
+            results.add(join(future));
+        }
+        return Collections.unmodifiableList(results);
+    }
+
+    /**
+     * Validates instance asynchronously against a root schema resolved from provided URI, using the default executor.
+     *
+     * @param schemaUri URI of a root schema to use for validation
+     * @param instance  instance to validate
+     * @return future of validation result
+     * @see Validator#validateAsync(URI, Object, Executor)
+     * @see Validator#validateAll(URI, List)
+     */
+    public CompletableFuture<Result> validateAsync(URI schemaUri, Object instance) {
+        return validateAsync(schemaUri, instance, ValidationExecutors.defaultExecutor());
+    }
+
+    /**
+     * Validates instance asynchronously against a root schema resolved from provided URI.
+     * Instance of type {@code String} is treated as string representation of instance JSON (like in {@link Validator#validate(URI, String)}),
+     * any other object is treated as a provider node or {@link JsonNode} (like in {@link Validator#validate(URI, Object)}).
+     * Any exception (including {@link SchemaNotFoundException}) completes the returned future exceptionally.
+     *
+     * @param schemaUri URI of a root schema to use for validation
+     * @param instance  instance to validate
+     * @param executor  executor used for schema resolution and validation
+     * @return future of validation result
+     */
+    public CompletableFuture<Result> validateAsync(URI schemaUri, Object instance, Executor executor) {
+        Objects.requireNonNull(executor);
+        return CompletableFuture.supplyAsync(() -> validate(getRootSchema(schemaUri), toInstanceNode(instance)), executor);
+    }
+
+    /**
+     * Validates JSON values read from a reader in <a href="https://jsonlines.org">JSON Lines</a> format
+     * against a root schema resolved from provided URI. Each non-blank line is parsed by the instance {@link JsonNodeFactory}
+     * (with {@link JacksonNode.Factory}, a single parser is used for all the lines) and validated in the calling thread.
+     * A line that is not a well-formed JSON value does not stop the processing,
+     * its result is invalid and contains a single error describing the problem (with <i>malformedJson</i> message key).
+     * Provided reader is not closed.
+     *
+     * @param schemaUri URI of a root schema to use for validation
+     * @param reader    reader providing JSON values, one per line
+     * @param consumer  consumer of validation results, called in the order of lines
+     * @throws UncheckedIOException if reading fails
+     */
+    public void validateLines(URI schemaUri, Reader reader, Consumer<LineResult> consumer) {
+        Objects.requireNonNull(consumer);
+        Schema schema = getRootSchema(schemaUri);
+        readLines(reader, (value, lineNumber) -> consumer.accept(validateLine(schema, value, lineNumber)));
+    }
+
+    /**
+     * Validates JSON values read from a reader in <a href="https://jsonlines.org">JSON Lines</a> format
+     * against a root schema resolved from provided URI. Lines are read in the calling thread,
+     * and parsed and validated by provided executor in small batches. With {@link JacksonNode.Factory} as the instance {@link JsonNodeFactory},
+     * lines are parsed in the calling thread instead, by a single parser used for all the lines.
+     * Results are passed to the consumer in the calling thread, in the order of lines.
+     * The number of lines that were read, but whose results were not consumed yet, is bounded.
+     * A line that is not a well-formed JSON value does not stop the processing,
+     * its result is invalid and contains a single error describing the problem (with <i>malformedJson</i> message key).
+     * Provided reader is not closed.
+     *
+     * @param schemaUri URI of a root schema to use for validation
+     * @param reader    reader providing JSON values, one per line
+     * @param executor  executor used for parsing and validation of values
+     * @param consumer  consumer of validation results, called in the order of lines
+     * @throws UncheckedIOException if reading fails
+     */
+    public void validateLines(URI schemaUri, Reader reader, Executor executor, Consumer<LineResult> consumer) {
+        Objects.requireNonNull(executor);
+        Objects.requireNonNull(consumer);
         Schema schema = getRootSchema(schemaUri);
-        EvaluationContext ctx = createNewEvaluationContext();
-        boolean valid = ctx.validateAgainstRootSchema(schema, instanceNodeFactory.wrap(instanceNode));
-        return new Result(valid, ctx);
+        /* Lines are handed over to the executor in batches, as validation of a single value is usually too cheap to be worth a task */
+        Deque<CompletableFuture<List<LineResult>>> pending = new ArrayDeque<>();
+        List<Object> values = new ArrayList<>(LINES_BATCH_SIZE);
+        List<Integer> lineNumbers = new ArrayList<>(LINES_BATCH_SIZE);
+        readLines(reader, (value, lineNumber) -> {
+            values.add(value);
+            lineNumbers.add(lineNumber);
+            if (values.size() == LINES_BATCH_SIZE) {
+                pending.add(submitLinesBatch(schema, values, lineNumbers, executor));
+                values.clear();
+                lineNumbers.clear();
+                if (pending.size() > MAX_PENDING_LINE_BATCHES) {
+                    join(pending.remove()).forEach(consumer);
+                }
+                while (!pending.isEmpty() && pending.element().isDone()) {
+                    join(pending.remove()).forEach(consumer);
+                }
+            }
+        });
+        if (!values.isEmpty()) {
+            pending.add(submitLinesBatch(schema, values, lineNumbers, executor));
+        }
+        while (!pending.isEmpty()) {
+            join(pending.remove()).forEach(consumer);
+        }
+    }
+
+    /**
+     * Validates JSON values read from a UTF-8 encoded stream in <a href="https://jsonlines.org">JSON Lines</a> format
+     * against a root schema resolved from provided URI. Values are validated one after another in the calling thread.
+     * Provided stream is not closed.
+     *
+     * @param schemaUri URI of a root schema to use for validation
+     * @param in        stream providing JSON values, one per line
+     * @param consumer  consumer of validation results, called in the order of lines
+     * @see Validator#validateLines(URI, Reader, Consumer)
+     */
+    public void validateLines(URI schemaUri, InputStream in, Consumer<LineResult> consumer) {
+        validateLines(schemaUri, new InputStreamReader(in, StandardCharsets.UTF_8), consumer);
+    }
+
+    /**
+     * Validates JSON values read from a UTF-8 encoded stream in <a href="https://jsonlines.org">JSON Lines</a> format
+     * against a root schema resolved from provided URI, using provided executor.
+     * Provided stream is not closed.
+     *
+     * @param schemaUri URI of a root schema to use for validation
+     * @param in        stream providing JSON values, one per line
+     * @param executor  executor used for parsing and validation of values
+     * @param consumer  consumer of validation results, called in the order of lines
+     * @see Validator#validateLines(URI, Reader, Executor, Consumer)
+     */
+    public void validateLines(URI schemaUri, InputStream in, Executor executor, Consumer<LineResult> consumer) {
+        validateLines(schemaUri, new InputStreamReader(in, StandardCharsets.UTF_8), executor, consumer);
+    }
+
+    /**
+     * Validates JSON values read from a UTF-8 encoded file in <a href="https://jsonlines.org">JSON Lines</a> format
+     * against a root schema resolved from provided URI. Values are validated one after another in the calling thread.
+     *
+     * @param schemaUri URI of a root schema to use for validation
+     * @param path      path of the file with JSON values, one per line
+     * @param consumer  consumer of validation results, called in the order of lines
+     * @see Validator#validateLines(URI, Reader, Consumer)
+     */
+    public void validateLines(URI schemaUri, Path path, Consumer<LineResult> consumer) {
+        try (InputStream in = Files.newInputStream(path)) {
+            validateLines(schemaUri, in, consumer);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Validates JSON values read from a UTF-8 encoded file in <a href="https://jsonlines.org">JSON Lines</a> format
+     * against a root schema resolved from provided URI, using provided executor.
+     *
+     * @param schemaUri URI of a root schema to use for validation
+     * @param path      path of the file with JSON values, one per line
+     * @param executor  executor used for parsing and validation of values
+     * @param consumer  consumer of validation results, called in the order of lines
+     * @see Validator#validateLines(URI, Reader, Executor, Consumer)
+     */
+    public void validateLines(URI schemaUri, Path path, Executor executor, Consumer<LineResult> consumer) {
+        try (InputStream in = Files.newInputStream(path)) {
+            validateLines(schemaUri, in, executor, consumer);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Checks if instance JSON is valid against schema resolved from provided URI.
+     * This is a cheaper alternative to {@link Validator#validate(URI, String)} when only the boolean outcome is needed.
+     *
+     * @param schemaUri   URI of schema to use for validation
+     * @param rawInstance string representation of instance JSON
+     * @return if validation was successful
+     */
+    public boolean isValid(URI schemaUri, String rawInstance) {
+        return isValid(schemaUri, instanceNodeFactory.create(rawInstance));
+    }
+
+    /**
+     * Checks if instance JSON is valid against schema resolved from provided URI.
+     * This is a cheaper alternative to {@link Validator#validate(URI, Object)} when only the boolean outcome is needed.
+     *
+     * @param schemaUri            URI of schema to use for validation
+     * @param instanceProviderNode object representing instance JSON for currently set {@link JsonNodeFactory}.
+     *                             E.g. {@code com.fasterxml.jackson.databind.JsonNode} for default {@link JsonNodeFactory} ({@link JacksonNode.Factory})
+     * @return if validation was successful
+     */
+    public boolean isValid(URI schemaUri, Object instanceProviderNode) {
+        return isValid(schemaUri, instanceNodeFactory.wrap(instanceProviderNode));
+    }
+
+    /**
+     * Checks if instance JSON is valid against a root schema resolved from provided URI.
+     * This is a cheaper alternative to {@link Validator#validate(URI, JsonNode)} when only the boolean outcome is needed:
+     * evaluation stops as soon as the outcome is known, and no errors or annotations are collected.
+     *
+     * @param schemaUri    URI of a root schema to use for validation
+     * @param instanceNode {@link JsonNode} instance JSON, which could be created via {@link JsonNodeFactory}
+     * @return if validation was successful
+     */
+    public boolean isValid(URI schemaUri, JsonNode instanceNode) {
+        return isValid(getRootSchema(schemaUri), instanceNodeFactory.wrap(instanceNode));
+    }
+
+    /**
+     * Returns a read-only view of a schema resolved from provided URI, which allows traversing the schema graph.
+     * It is meant for tools processing registered schemas, e.g. compilers of schemas into specialized code.
+     *
+     * @param schemaUri URI of a schema (it might point to a subschema, e.g. {@code https://harrel.dev/schema#/$defs/foo})
+     * @return view of the schema
+     * @throws SchemaNotFoundException if the schema cannot be resolved
+     * @see SchemaView
+     */
+    public SchemaView getSchemaView(URI schemaUri) {
+        return new SchemaView(this, jsonParser, getRootSchema(schemaUri));
+    }
+
+    boolean isValid(Schema schema, JsonNode instanceNode) {
+        EvaluationContext ctx = flagContextPool.acquire();
+        try {
+            return ctx.validateAgainstRootSchema(schema, instanceNode);
+        } finally {
+            flagContextPool.release(ctx);
+        }
+    }
+
+    /**
+     * Writes all the registered schemas (including meta-schemas and schemas loaded by {@link SchemaResolver})
+     * in a compact binary form. It can be loaded with {@link ValidatorFactory#fromSnapshot(InputStream)},
+     * which recreates the schema registry without meta-schema validation and schema resolution.
+     * Provided stream is not closed.
+     *
+     * @param out stream to write the snapshot to
+     * @throws UncheckedIOException if writing to the stream fails
+     */
+    public void exportSnapshot(OutputStream out) {
+        ValidatorSnapshot.write(jsonParser.getParsedRootSchemas(), out);
+    }
+
+    void importSnapshot(InputStream in) {
+        jsonParser.parseTrustedRootSchemas(ValidatorSnapshot.read(in, schemaNodeFactory));
+    }
+
+    private Result validate(Schema schema, JsonNode instanceNode) {
+        EvaluationContext ctx = contextPool.acquire();
+        try {
+            boolean valid = ctx.validateAgainstRootSchema(schema, instanceNode);
+            return new Result(valid, ctx);
+        } finally {
+            contextPool.release(ctx);
+        }
+    }
+
+    private JsonNode toSchemaNode(Object schema) {
+        if (schema instanceof String) {
+            return schemaNodeFactory.create((String) schema);
+        } else if (schema instanceof JsonNode) {
+            return (JsonNode) schema;
+        }
+        return schemaNodeFactory.wrap(schema);
+    }
+
+    private JsonNode toInstanceNode(Object instance) {
+        if (instance instanceof String) {
+            return instanceNodeFactory.create((String) instance);
+        }
+        return instanceNodeFactory.wrap(instance);
+    }
+
+    /* Value is either a raw line, a parsed node or an exception describing a malformed line (see readLines) */
+    private LineResult validateLine(Schema schema, Object value, int lineNumber) {
+        if (value instanceof JsonNode) {
+            return new LineResult(lineNumber, validate(schema, (JsonNode) value));
+        }
+        if (value instanceof RuntimeException) {
+            return malformedLine(schema, (RuntimeException) value, lineNumber);
+        }
+        JsonNode node;
+        try {
+            node = instanceNodeFactory.create((String) value);
+        } catch (RuntimeException e) {
+            /* Providers differ in exceptions thrown for malformed JSON */
+            return malformedLine(schema, e, lineNumber);
+        }
+        return new LineResult(lineNumber, validate(schema, node));
+    }
+
+    private LineResult malformedLine(Schema schema, RuntimeException e, int lineNumber) {
+        Error error = new Error("", schema.getSchemaLocation().toString(), "", null, messageProvider.getMessage("malformedJson", e.getMessage()));
+        return new LineResult(lineNumber, new Result(false, Collections.singletonList(error), Collections.emptyList()));
+    }
+
+    private CompletableFuture<List<LineResult>> submitLinesBatch(Schema schema, List<Object> values, List<Integer> lineNumbers, Executor executor) {
+        Object[] batchValues = values.toArray();
+        Integer[] batchLineNumbers = lineNumbers.toArray(new Integer[0]);
+        return CompletableFuture.supplyAsync(() -> {
+            List<LineResult> results = new ArrayList<>(batchValues.length);
+            for (int i = 0; i < batchValues.length; i++) {
+                results.add(validateLine(schema, batchValues[i], batchLineNumbers[i]));
+            }
+            return results;
+        }, executor);
+    }
+
+    /*
+     * Passes values of non-blank lines along with their numbers (starting from 1).
+     * With Jackson, all the lines are parsed in the calling thread by a single parser, like in validateStream,
+     * and the values are nodes (or exceptions for malformed lines). Otherwise, raw lines are passed to be parsed by validateLine.
+     */
+    private void readLines(Reader reader, ObjIntConsumer<Object> consumer) {
+        /* Jackson is an optional dependency */
+        if (instanceNodeFactory instanceof JacksonNode.Factory) {
+            JsonLinesParser.parse(reader, consumer);
+            return;
+        }
+        BufferedReader bufferedReader = reader instanceof BufferedReader ? (BufferedReader) reader : new BufferedReader(reader);
+        try {
+            int lineNumber = 0;
+            String line;
+            while ((line = bufferedReader.readLine()) != null) {
+                lineNumber++;
+                if (!line.trim().isEmpty()) {
+                    consumer.accept(line, lineNumber);
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static String readFully(InputStream in) {
+        try {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            byte[] buffer = new byte[8192];
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                out.write(buffer, 0, read);
+            }
+            return new String(out.toByteArray(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static <T> T join(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
     }
 
     private Schema getRootSchema(URI uri) {
@@ -161,7 +666,7 @@ public final class Validator {
         return schemaResolver.resolve(compoundUri.uri.toString())
                 .toJsonNode(schemaNodeFactory)
                 .map(node -> {
-                    jsonParser.parseRootSchema(compoundUri.uri, node);
+                    jsonParser.parseResolvedRootSchema(compoundUri.uri, node);
                     return schemaRegistry.get(compoundUri);
                 })
                 .orElse(null);
@@ -171,8 +676,38 @@ public final class Validator {
         return URI.create("https://harrel.dev/" + UUID.randomUUID().toString().substring(0, 8));
     }
 
-    private EvaluationContext createNewEvaluationContext() {
-        return new EvaluationContext(schemaNodeFactory, jsonParser, schemaRegistry, schemaResolver, messageProvider);
+    private EvaluationContext createNewEvaluationContext(boolean flagMode) {
+        return new EvaluationContext(schemaNodeFactory, jsonParser, schemaRegistry, schemaResolver, messageProvider, flagMode, annotationsEnabled,
+                forkJoinPool, parallelThreshold, evaluationListener);
+    }
+
+    /**
+     * {@code LineResult} class represents validation outcome of a single JSON value read by {@code validateLines(...)} methods.
+     * If the line is not a well-formed JSON value, the result is invalid and has a single error with empty evaluation path
+     * and no keyword.
+     */
+    public static final class LineResult {
+        private final int lineNumber;
+        private final Result result;
+
+        LineResult(int lineNumber, Result result) {
+            this.lineNumber = lineNumber;
+            this.result = result;
+        }
+
+        /**
+         * Returns number of the line (starting from 1) containing the JSON value.
+         */
+        public int getLineNumber() {
+            return lineNumber;
+        }
+
+        /**
+         * Returns validation result of the JSON value.
+         */
+        public Result getResult() {
+            return result;
+        }
     }
 
     /**
@@ -189,6 +724,12 @@ public final class Validator {
             this.annotations = ctx.getAnnotations();
         }
 
+        Result(boolean valid, List<Error> errors, List<Annotation> annotations) {
+            this.valid = valid;
+            this.errors = errors;
+            this.annotations = annotations;
+        }
+
         /**
          * Checks if validation was successful.
          */
@@ -2,29 +2,49 @@ package dev.harrel.jsonschema;
 
 import dev.harrel.jsonschema.providers.JacksonNode;
 
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
 import java.net.URI;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.function.Supplier;
 
 /**
- * Configurable factory for {@link Validator} class. Provides methods for ad-hoc validation, which parse schema each time they are invoked.
+ * Configurable factory for {@link Validator} class. Provides methods for ad-hoc validation,
+ * which keep a bounded cache of recently used schemas.
  *
  * @see Validator
  */
 public final class ValidatorFactory {
+    private static final Supplier<JsonNodeFactory> DEFAULT_NODE_FACTORY = JacksonNode.Factory::new;
+
     private final Map<URI, Dialect> dialects = new HashMap<>(Dialects.OFFICIAL_DIALECTS);
     private Dialect defaultDialect = new Dialects.Draft2020Dialect();
     private EvaluatorFactory evaluatorFactory;
-    private Supplier<JsonNodeFactory> schemaNodeFactory = JacksonNode.Factory::new;
+    private Supplier<JsonNodeFactory> schemaNodeFactory = DEFAULT_NODE_FACTORY;
     private Supplier<JsonNodeFactory> instanceNodeFactory = schemaNodeFactory;
     private SchemaResolver schemaResolver = new DefaultSchemaResolver();
+    private SchemaResolver userSchemaResolver;
     private MessageProvider messageProvider = MessageProvider.fromLocale(Locale.getDefault());
     private boolean disabledSchemaValidation = false;
+    private boolean disabledAnnotations = false;
+    private int contextPoolHighWaterMark = 1024;
+    private RegexEngine regexEngine = RegexEngine.javaUtilRegex();
+    private int parallelThreshold = 0;
+    private ForkJoinPool forkJoinPool;
+    private int resolvedSchemaLimit = 0;
+    private EvaluationListener evaluationListener;
+    private final SchemaCache schemaCache = new SchemaCache(32);
 
     /**
      * Creates new instance of {@link Validator} using current configuration.
+     * Official meta-schemas are compiled once per JVM and shared between validators, unless official dialects are overridden,
+     * additional {@link EvaluatorFactory}, custom {@link JsonNodeFactory} or custom {@link RegexEngine} is set,
+     * or provided {@link SchemaResolver} resolves them.
      *
      * @return new {@link Validator} instance
      */
@@ -32,10 +52,32 @@ public final class ValidatorFactory {
         Map<URI, Dialect> dialectsCopy = Collections.unmodifiableMap(new HashMap<>(dialects));
         JsonNodeFactory schemaFactory = schemaNodeFactory.get();
         JsonNodeFactory instanceFactory = instanceNodeFactory.get();
-        SchemaRegistry schemaRegistry = new SchemaRegistry();
-        MetaSchemaValidator metaSchemaValidator = new MetaSchemaValidator(schemaFactory, schemaRegistry, schemaResolver, messageProvider);
-        JsonParser jsonParser = new JsonParser(dialectsCopy, defaultDialect, evaluatorFactory, schemaRegistry, metaSchemaValidator, disabledSchemaValidation);
-        return new Validator(schemaFactory, instanceFactory, schemaResolver, messageProvider, schemaRegistry, jsonParser);
+        SchemaRegistry schemaRegistry = new SchemaRegistry(resolvedSchemaLimit);
+        SharedMetaSchemas sharedMetaSchemas = schemaNodeFactory == DEFAULT_NODE_FACTORY
+                ? SharedMetaSchemas.forConfiguration(dialectsCopy, evaluatorFactory, userSchemaResolver, schemaFactory, regexEngine)
+                : null;
+        MetaSchemaValidator metaSchemaValidator = new MetaSchemaValidator(schemaFactory, schemaRegistry, schemaResolver, messageProvider, sharedMetaSchemas);
+        JsonParser jsonParser = new JsonParser(dialectsCopy, defaultDialect, evaluatorFactory, schemaRegistry, metaSchemaValidator, disabledSchemaValidation, regexEngine);
+        return new Validator(schemaFactory, instanceFactory, schemaResolver, messageProvider, schemaRegistry, jsonParser, !disabledAnnotations, contextPoolHighWaterMark,
+                forkJoinPool, parallelThreshold, evaluationListener);
+    }
+
+    /**
+     * Creates new instance of {@link Validator} using current configuration,
+     * with all the schemas from a snapshot created by {@link Validator#exportSnapshot(OutputStream)}.
+     * Schemas from the snapshot were already validated against their meta-schemas, so this step is skipped,
+     * and no {@link SchemaResolver} calls are made for schemas present in the snapshot.
+     * Evaluators are not part of the snapshot - they are recreated, so the configuration should be equivalent
+     * to the one used by the exporting {@link Validator}. Provided stream is not closed.
+     *
+     * @param in stream to read the snapshot from
+     * @return new {@link Validator} instance
+     * @throws UncheckedIOException if reading from the stream fails
+     */
+    public Validator fromSnapshot(InputStream in) {
+        Validator validator = createValidator();
+        validator.importSnapshot(in);
+        return validator;
     }
 
     /**
@@ -63,6 +105,7 @@ public final class ValidatorFactory {
             }
             dialects.put(uri.uri, dialect);
         }
+        schemaCache.clear();
         return this;
     }
 
@@ -75,6 +118,7 @@ public final class ValidatorFactory {
      */
     public ValidatorFactory withDefaultDialect(Dialect dialect) {
         this.defaultDialect = Objects.requireNonNull(dialect);
+        schemaCache.clear();
         return this;
     }
 
@@ -87,6 +131,7 @@ public final class ValidatorFactory {
      */
     public ValidatorFactory withEvaluatorFactory(EvaluatorFactory evaluatorFactory) {
         this.evaluatorFactory = Objects.requireNonNull(evaluatorFactory);
+        schemaCache.clear();
         return this;
     }
 
@@ -118,6 +163,7 @@ public final class ValidatorFactory {
         Objects.requireNonNull(instanceNodeFactory);
         this.schemaNodeFactory = () -> schemaNodeFactory;
         this.instanceNodeFactory = () -> instanceNodeFactory;
+        schemaCache.clear();
         return this;
     }
 
@@ -130,7 +176,9 @@ public final class ValidatorFactory {
      * @see SpecificationVersion
      */
     public ValidatorFactory withSchemaResolver(SchemaResolver schemaResolver) {
-        this.schemaResolver = SchemaResolver.compose(Objects.requireNonNull(schemaResolver), new DefaultSchemaResolver());
+        this.userSchemaResolver = Objects.requireNonNull(schemaResolver);
+        this.schemaResolver = SchemaResolver.compose(schemaResolver, new DefaultSchemaResolver());
+        schemaCache.clear();
         return this;
     }
 
@@ -143,6 +191,7 @@ public final class ValidatorFactory {
      */
     public ValidatorFactory withMessageProvider(MessageProvider messageProvider) {
         this.messageProvider = Objects.requireNonNull(messageProvider);
+        schemaCache.clear();
         return this;
     }
 
@@ -154,12 +203,146 @@ public final class ValidatorFactory {
      */
     public ValidatorFactory withDisabledSchemaValidation(boolean disabledSchemaValidation) {
         this.disabledSchemaValidation = disabledSchemaValidation;
+        schemaCache.clear();
+        return this;
+    }
+
+    /**
+     * Disables collection of annotations for {@link Validator.Result#getAnnotations()}.
+     * Annotations are still produced internally when they are required by other keywords (e.g. <i>unevaluatedProperties</i>),
+     * so validation outcome is not affected. Can speed up validation if you are only interested in errors.
+     *
+     * @param disabledAnnotations if annotations should not be collected
+     * @return self
+     */
+    public ValidatorFactory withDisabledAnnotations(boolean disabledAnnotations) {
+        this.disabledAnnotations = disabledAnnotations;
+        schemaCache.clear();
+        return this;
+    }
+
+    /**
+     * Sets the high-water mark for reusing internal evaluation state between validations.
+     * {@link Validator} keeps a small, thread-safe pool of evaluation contexts, so high-rate validation does not
+     * reallocate its buffers on every call. Buffers that grew beyond given number of elements (errors or annotations)
+     * are not retained. Value of {@code 0} disables the pooling. Defaults to {@code 1024}.
+     *
+     * @param highWaterMark maximum size of a buffer that can be retained
+     * @return self
+     */
+    public ValidatorFactory withContextPooling(int highWaterMark) {
+        if (highWaterMark < 0) {
+            throw new IllegalArgumentException("High-water mark cannot be negative");
+        }
+        this.contextPoolHighWaterMark = highWaterMark;
+        schemaCache.clear();
+        return this;
+    }
+
+    /**
+     * Sets {@link RegexEngine} used for <i>pattern</i>, <i>patternProperties</i> keywords and <i>regex</i> format.
+     * Default engine is based on {@link java.util.regex.Pattern}, which uses backtracking - some patterns
+     * may take exponential time to match. If schemas come from untrusted sources, consider using {@link RegexEngine#linear()}.
+     *
+     * @param regexEngine regex engine to use
+     * @return self
+     */
+    public ValidatorFactory withRegexEngine(RegexEngine regexEngine) {
+        this.regexEngine = Objects.requireNonNull(regexEngine);
+        schemaCache.clear();
+        return this;
+    }
+
+    /**
+     * Enables parallel evaluation of large arrays and objects within a single instance, using {@link ForkJoinPool#commonPool()}.
+     *
+     * @param threshold minimum number of children to evaluate in parallel
+     * @return self
+     * @see ValidatorFactory#withParallelEvaluation(int, ForkJoinPool)
+     */
+    public ValidatorFactory withParallelEvaluation(int threshold) {
+        return withParallelEvaluation(threshold, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Enables parallel evaluation of large arrays and objects within a single instance.
+     * When <i>items</i>, <i>prefixItems</i>, <i>additionalItems</i>, <i>properties</i> or <i>additionalProperties</i> keyword
+     * applies its subschemas to at least {@code threshold} children, they are split into fork/join tasks executed by provided pool.
+     * Errors and annotations are merged back in the same order, so validation results are identical to sequential evaluation.
+     * This only pays off for instances with many (or big) children, as each split has its overhead.
+     * Value of {@code 0} disables parallel evaluation, which is the default.
+     *
+     * @param threshold    minimum number of children to evaluate in parallel
+     * @param forkJoinPool pool to execute fork/join tasks
+     * @return self
+     */
+    public ValidatorFactory withParallelEvaluation(int threshold, ForkJoinPool forkJoinPool) {
+        if (threshold < 0) {
+            throw new IllegalArgumentException("Parallel evaluation threshold cannot be negative");
+        }
+        this.parallelThreshold = threshold;
+        this.forkJoinPool = Objects.requireNonNull(forkJoinPool);
+        schemaCache.clear();
+        return this;
+    }
+
+    /**
+     * Sets {@link EvaluationListener} notified about evaluation of schemas and keywords, e.g. to measure their evaluation times.
+     * Validation of schemas against meta-schemas is not reported. There is no listener by default,
+     * in which case evaluation is not instrumented at all.
+     *
+     * @param evaluationListener listener to notify
+     * @return self
+     * @see LatencyHistogramListener
+     */
+    public ValidatorFactory withEvaluationListener(EvaluationListener evaluationListener) {
+        this.evaluationListener = Objects.requireNonNull(evaluationListener);
+        schemaCache.clear();
+        return this;
+    }
+
+    /**
+     * Sets the maximum number of schema documents loaded by {@link SchemaResolver} that {@link Validator} keeps registered.
+     * When the limit is exceeded, documents that were not used recently are unregistered (along with their subschemas),
+     * and they are resolved again when referenced. This bounds memory usage when schemas reference many remote documents.
+     * Schemas registered explicitly are never evicted (see {@link Validator#unregisterSchema(URI)}).
+     * Value of {@code 0} means no limit, which is the default.
+     *
+     * @param maxCount maximum number of resolved schema documents
+     * @return self
+     */
+    public ValidatorFactory withResolvedSchemaLimit(int maxCount) {
+        if (maxCount < 0) {
+            throw new IllegalArgumentException("Resolved schema limit cannot be negative");
+        }
+        this.resolvedSchemaLimit = maxCount;
+        schemaCache.clear();
+        return this;
+    }
+
+    /**
+     * Sets the maximum number of schemas cached by {@code validate(...)} methods.
+     * Each cached schema is held by its own {@link Validator}, along with all the schemas it references.
+     * Cache key is the structure of a schema document, so schemas that are equal as JSON values share the entry,
+     * no matter how they were provided. When the cache is full, the least recently used schema is dropped.
+     * Any change of configuration clears the cache. Value of {@code 0} disables the cache. Defaults to {@code 32}.
+     *
+     * @param maxSize maximum number of cached schemas
+     * @return self
+     * @see ValidatorFactory#getSchemaCacheStats()
+     */
+    public ValidatorFactory withSchemaCache(int maxSize) {
+        if (maxSize < 0) {
+            throw new IllegalArgumentException("Schema cache size cannot be negative");
+        }
+        schemaCache.resize(maxSize);
         return this;
     }
 
     /**
      * Validates JSON <i>instance</i> against <i>schema</i>.
-     * Each invocation creates temporary {@link Validator} which parses schema from scratch.
+     * Parsed schemas are cached (see {@link ValidatorFactory#withSchemaCache(int)}), so validating against a schema
+     * that is structurally equal to a recently used one does not parse it again.
      * If you want to validate multiple JSON instances against same schema - please use {@link ValidatorFactory#createValidator()}
      * and use {@link Validator} class directly.
      *
@@ -173,7 +356,8 @@ public final class ValidatorFactory {
 
     /**
      * Validates JSON <i>instance</i> against <i>schema</i>.
-     * Each invocation creates temporary {@link Validator} which parses schema from scratch.
+     * Parsed schemas are cached (see {@link ValidatorFactory#withSchemaCache(int)}), so validating against a schema
+     * that is structurally equal to a recently used one does not parse it again.
      * If you want to validate multiple JSON instances against same schema - please use {@link ValidatorFactory#createValidator()}
      * and use {@link Validator} class directly.
      *
@@ -189,7 +373,8 @@ public final class ValidatorFactory {
 
     /**
      * Validates JSON <i>instance</i> against <i>schema</i>.
-     * Each invocation creates temporary {@link Validator} which parses schema from scratch.
+     * Parsed schemas are cached (see {@link ValidatorFactory#withSchemaCache(int)}), so validating against a schema
+     * that is structurally equal to a recently used one does not parse it again.
      * If you want to validate multiple JSON instances against same schema - please use {@link ValidatorFactory#createValidator()}
      * and use {@link Validator} class directly.
      *
@@ -204,7 +389,8 @@ public final class ValidatorFactory {
 
     /**
      * Validates JSON <i>instance</i> against <i>schema</i>.
-     * Each invocation creates temporary {@link Validator} which parses schema from scratch.
+     * Parsed schemas are cached (see {@link ValidatorFactory#withSchemaCache(int)}), so validating against a schema
+     * that is structurally equal to a recently used one does not parse it again.
      * If you want to validate multiple JSON instances against same schema - please use {@link ValidatorFactory#createValidator()}
      * and use {@link Validator} class directly.
      *
@@ -220,7 +406,8 @@ public final class ValidatorFactory {
 
     /**
      * Validates JSON <i>instance</i> against <i>schema</i>.
-     * Each invocation creates temporary {@link Validator} which parses schema from scratch.
+     * Parsed schemas are cached (see {@link ValidatorFactory#withSchemaCache(int)}), so validating against a schema
+     * that is structurally equal to a recently used one does not parse it again.
      * If you want to validate multiple JSON instances against same schema - please use {@link ValidatorFactory#createValidator()}
      * and use {@link Validator} class directly.
      *
@@ -237,7 +424,8 @@ public final class ValidatorFactory {
 
     /**
      * Validates JSON <i>instance</i> against <i>schema</i>.
-     * Each invocation creates temporary {@link Validator} which parses schema from scratch.
+     * Parsed schemas are cached (see {@link ValidatorFactory#withSchemaCache(int)}), so validating against a schema
+     * that is structurally equal to a recently used one does not parse it again.
      * If you want to validate multiple JSON instances against same schema - please use {@link ValidatorFactory#createValidator()}
      * and use {@link Validator} class directly.
      *
@@ -253,7 +441,8 @@ public final class ValidatorFactory {
 
     /**
      * Validates JSON <i>instance</i> against <i>schema</i>.
-     * Each invocation creates temporary {@link Validator} which parses schema from scratch.
+     * Parsed schemas are cached (see {@link ValidatorFactory#withSchemaCache(int)}), so validating against a schema
+     * that is structurally equal to a recently used one does not parse it again.
      * If you want to validate multiple JSON instances against same schema - please use {@link ValidatorFactory#createValidator()}
      * and use {@link Validator} class directly.
      *
@@ -268,7 +457,8 @@ public final class ValidatorFactory {
 
     /**
      * Validates JSON <i>instance</i> against <i>schema</i>.
-     * Each invocation creates temporary {@link Validator} which parses schema from scratch.
+     * Parsed schemas are cached (see {@link ValidatorFactory#withSchemaCache(int)}), so validating against a schema
+     * that is structurally equal to a recently used one does not parse it again.
      * If you want to validate multiple JSON instances against same schema - please use {@link ValidatorFactory#createValidator()}
      * and use {@link Validator} class directly.
      *
@@ -284,7 +474,8 @@ public final class ValidatorFactory {
 
     /**
      * Validates JSON <i>instance</i> against <i>schema</i>.
-     * Each invocation creates temporary {@link Validator} which parses schema from scratch.
+     * Parsed schemas are cached (see {@link ValidatorFactory#withSchemaCache(int)}), so validating against a schema
+     * that is structurally equal to a recently used one does not parse it again.
      * If you want to validate multiple JSON instances against same schema - please use {@link ValidatorFactory#createValidator()}
      * and use {@link Validator} class directly.
      *
@@ -294,9 +485,172 @@ public final class ValidatorFactory {
      * @see ValidatorFactory#validate(String, String)
      */
     public Validator.Result validate(JsonNode schemaNode, JsonNode instanceNode) {
-        Validator validator = createValidator();
-        URI uri = validator.registerSchema(schemaNode);
-        return validator.validate(uri, instanceNode);
+        if (!schemaCache.isEnabled()) {
+            Validator validator = createValidator();
+            URI uri = validator.registerSchema(schemaNode);
+            return validator.validate(uri, instanceNode);
+        }
+        SchemaKey key = new SchemaKey(schemaNode);
+        CompiledSchema compiled = schemaCache.get(key);
+        if (compiled == null) {
+            Validator validator = createValidator();
+            compiled = schemaCache.putIfAbsent(key, new CompiledSchema(validator, validator.registerSchema(schemaNode)));
+        }
+        return compiled.validator.validate(compiled.uri, instanceNode);
+    }
+
+    /**
+     * Returns statistics of the schema cache used by {@code validate(...)} methods.
+     *
+     * @return current statistics
+     * @see ValidatorFactory#withSchemaCache(int)
+     */
+    public SchemaCacheStats getSchemaCacheStats() {
+        return schemaCache.stats();
+    }
+
+    /**
+     * Statistics of the schema cache used by {@code validate(...)} methods of {@link ValidatorFactory}.
+     * Hit and miss counts are accumulated over the lifetime of the factory.
+     */
+    public static final class SchemaCacheStats {
+        private final long hitCount;
+        private final long missCount;
+        private final int size;
+
+        SchemaCacheStats(long hitCount, long missCount, int size) {
+            this.hitCount = hitCount;
+            this.missCount = missCount;
+            this.size = size;
+        }
+
+        /**
+         * Returns number of validations that reused a cached schema.
+         *
+         * @return hit count
+         */
+        public long getHitCount() {
+            return hitCount;
+        }
+
+        /**
+         * Returns number of validations that had to parse a schema.
+         *
+         * @return miss count
+         */
+        public long getMissCount() {
+            return missCount;
+        }
+
+        /**
+         * Returns number of currently cached schemas.
+         *
+         * @return cache size
+         */
+        public int getSize() {
+            return size;
+        }
+
+        @Override
+        public String toString() {
+            return "SchemaCacheStats{hitCount=" + hitCount + ", missCount=" + missCount + ", size=" + size + '}';
+        }
+    }
+
+    /* LRU cache guarded by its own monitor, as validate(...) methods may be called concurrently */
+    private static final class SchemaCache {
+        private final LinkedHashMap<SchemaKey, CompiledSchema> entries = new LinkedHashMap<SchemaKey, CompiledSchema>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<SchemaKey, CompiledSchema> eldest) {
+                return size() > maxSize;
+            }
+        };
+        private final LongAdder hitCount = new LongAdder();
+        private final LongAdder missCount = new LongAdder();
+        private volatile int maxSize;
+
+        private SchemaCache(int maxSize) {
+            this.maxSize = maxSize;
+        }
+
+        boolean isEnabled() {
+            return maxSize > 0;
+        }
+
+        CompiledSchema get(SchemaKey key) {
+            CompiledSchema compiled;
+            synchronized (entries) {
+                compiled = entries.get(key);
+            }
+            (compiled != null ? hitCount : missCount).increment();
+            return compiled;
+        }
+
+        /* Schema might have been parsed concurrently by another thread, in which case the first one wins */
+        CompiledSchema putIfAbsent(SchemaKey key, CompiledSchema compiled) {
+            synchronized (entries) {
+                CompiledSchema existing = entries.putIfAbsent(key, compiled);
+                return existing != null ? existing : compiled;
+            }
+        }
+
+        void resize(int maxSize) {
+            synchronized (entries) {
+                this.maxSize = maxSize;
+                entries.clear();
+            }
+        }
+
+        void clear() {
+            synchronized (entries) {
+                entries.clear();
+            }
+        }
+
+        SchemaCacheStats stats() {
+            int size;
+            synchronized (entries) {
+                size = entries.size();
+            }
+            return new SchemaCacheStats(hitCount.sum(), missCount.sum(), size);
+        }
+    }
+
+    private static final class SchemaKey {
+        private final JsonNode schemaNode;
+        private final int hash;
+
+        private SchemaKey(JsonNode schemaNode) {
+            this.schemaNode = schemaNode;
+            this.hash = JsonNodeUtil.hashCode(schemaNode);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof SchemaKey)) {
+                return false;
+            }
+            SchemaKey other = (SchemaKey) o;
+            return hash == other.hash && JsonNodeUtil.equals(schemaNode, other.schemaNode);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+
+    private static final class CompiledSchema {
+        private final Validator validator;
+        private final URI uri;
+
+        private CompiledSchema(Validator validator, URI uri) {
+            this.validator = validator;
+            this.uri = uri;
+        }
     }
 
     static class DefaultSchemaResolver implements SchemaResolver {
@@ -0,0 +1,152 @@
+package dev.harrel.jsonschema;
+
+import java.io.*;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Binary (gzipped) form of all the root schemas that were successfully parsed by {@link JsonParser},
+ * in the order of parsing. It includes meta-schemas (apart from shared official ones, see {@link SharedMetaSchemas})
+ * and schemas loaded by {@link SchemaResolver}.
+ * Evaluators can be provided by arbitrary {@link EvaluatorFactory} implementations, so they are not serialized -
+ * they are recreated from schemas on import, but without meta-schema validation and without resolving anything.
+ */
+final class ValidatorSnapshot {
+    private static final int MAGIC = 0x4A53534E;
+    private static final int VERSION = 1;
+
+    private ValidatorSnapshot() {}
+
+    static void write(List<Entry> entries, OutputStream out) {
+        try {
+            GZIPOutputStream gzip = new GZIPOutputStream(out);
+            DataOutputStream data = new DataOutputStream(new BufferedOutputStream(gzip));
+            data.writeInt(MAGIC);
+            data.writeInt(VERSION);
+            data.writeInt(entries.size());
+            StringBuilder sb = new StringBuilder();
+            for (Entry entry : entries) {
+                writeString(data, entry.baseUri.toString());
+                sb.setLength(0);
+                writeJson(sb, entry.schemaNode);
+                writeString(data, sb.toString());
+            }
+            data.flush();
+            /* Provided stream is not closed */
+            gzip.finish();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    static List<Entry> read(InputStream in, JsonNodeFactory jsonNodeFactory) {
+        try {
+            DataInputStream data = new DataInputStream(new BufferedInputStream(new GZIPInputStream(in)));
+            if (data.readInt() != MAGIC) {
+                throw new IllegalArgumentException("Provided stream is not a validator snapshot");
+            }
+            int version = data.readInt();
+            if (version != VERSION) {
+                throw new IllegalArgumentException(String.format("Unsupported validator snapshot version [%d]", version));
+            }
+            int size = data.readInt();
+            List<Entry> entries = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                URI baseUri = URI.create(readString(data));
+                entries.add(new Entry(baseUri, jsonNodeFactory.create(readString(data))));
+            }
+            return entries;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static void writeString(DataOutputStream data, String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        data.writeInt(bytes.length);
+        data.write(bytes);
+    }
+
+    private static String readString(DataInputStream data) throws IOException {
+        byte[] bytes = new byte[data.readInt()];
+        data.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static void writeJson(StringBuilder sb, JsonNode node) {
+        switch (node.getNodeType()) {
+            case NULL:
+                sb.append("null");
+                break;
+            case BOOLEAN:
+                sb.append(node.asBoolean());
+                break;
+            case STRING:
+                writeJsonString(sb, node.asString());
+                break;
+            case INTEGER:
+                sb.append(node.asInteger());
+                break;
+            case NUMBER:
+                sb.append(node.asNumber());
+                break;
+            case ARRAY:
+                sb.append('[');
+                List<JsonNode> elements = node.asArray();
+                for (int i = 0; i < elements.size(); i++) {
+                    if (i > 0) {
+                        sb.append(',');
+                    }
+                    writeJson(sb, elements.get(i));
+                }
+                sb.append(']');
+                break;
+            case OBJECT:
+                sb.append('{');
+                boolean first = true;
+                for (Map.Entry<String, JsonNode> entry : node.asObject().entrySet()) {
+                    if (!first) {
+                        sb.append(',');
+                    }
+                    first = false;
+                    writeJsonString(sb, entry.getKey());
+                    sb.append(':');
+                    writeJson(sb, entry.getValue());
+                }
+                sb.append('}');
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown node type: " + node.getNodeType());
+        }
+    }
+
+    private static void writeJsonString(StringBuilder sb, String value) {
+        sb.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"' || c == '\\') {
+                sb.append('\\').append(c);
+            } else if (c < 0x20) {
+                sb.append(String.format("\\u%04x", (int) c));
+            } else {
+                sb.append(c);
+            }
+        }
+        sb.append('"');
+    }
+
+    static final class Entry {
+        final URI baseUri;
+        final JsonNode schemaNode;
+
+        Entry(URI baseUri, JsonNode schemaNode) {
+            this.baseUri = baseUri;
+            this.schemaNode = schemaNode;
+        }
+    }
+}
@@ -19,21 +19,59 @@ import static java.util.Collections.*;
 public abstract class AbstractJsonNode<T> implements JsonNode {
     private final SimpleType nodeType;
     protected final T node;
-    protected final String jsonPointer;
+    /* Child nodes only keep a reference to the parent, JSON pointer is computed on the first use */
+    private final AbstractJsonNode<T> parent;
+    private final String key;
+    private final int index;
+    private String jsonPointer;
     protected Object rawNode;
     protected BigInteger rawBigInt;
 
+    /* computeNodeType() must only depend on its argument, as it is called before subclass is initialized */
+    @SuppressWarnings("this-escape")
     protected AbstractJsonNode(T node, String jsonPointer) {
         this.nodeType = computeNodeType(node);
         this.node = node;
+        this.parent = null;
+        this.key = null;
+        this.index = -1;
         this.jsonPointer = Objects.requireNonNull(jsonPointer);
     }
 
+    @SuppressWarnings("this-escape")
+    protected AbstractJsonNode(T node, AbstractJsonNode<T> parent, String key) {
+        this.nodeType = computeNodeType(node);
+        this.node = node;
+        this.parent = Objects.requireNonNull(parent);
+        this.key = Objects.requireNonNull(key);
+        this.index = -1;
+    }
+
+    @SuppressWarnings("this-escape")
+    protected AbstractJsonNode(T node, AbstractJsonNode<T> parent, int index) {
+        this.nodeType = computeNodeType(node);
+        this.node = node;
+        this.parent = Objects.requireNonNull(parent);
+        this.key = null;
+        this.index = index;
+    }
+
     @Override
     public String getJsonPointer() {
+        if (jsonPointer == null) {
+            String segment = key != null ? JsonNode.encodeJsonPointer(key) : Integer.toString(index);
+            jsonPointer = parent.getJsonPointer() + "/" + segment;
+        }
         return jsonPointer;
     }
 
+    /**
+     * Returns if this node is a root of the JSON tree, i.e. its JSON pointer is empty.
+     */
+    protected boolean isRoot() {
+        return parent == null && jsonPointer.isEmpty();
+    }
+
     @Override
     public SimpleType getNodeType() {
         return nodeType;
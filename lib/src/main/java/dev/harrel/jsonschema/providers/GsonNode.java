@@ -13,12 +13,16 @@ import java.math.BigDecimal;
 import java.util.*;
 
 public final class GsonNode extends AbstractJsonNode<JsonElement> {
-    private GsonNode(JsonElement node, String jsonPointer) {
-        super(Objects.requireNonNull(node), jsonPointer);
+    private GsonNode(JsonElement node, GsonNode parent, String key) {
+        super(Objects.requireNonNull(node), parent, key);
+    }
+
+    private GsonNode(JsonElement node, GsonNode parent, int index) {
+        super(Objects.requireNonNull(node), parent, index);
     }
 
     public GsonNode(JsonElement node) {
-        this(node, "");
+        super(Objects.requireNonNull(node), "");
     }
 
     @Override
@@ -27,7 +31,7 @@ public final class GsonNode extends AbstractJsonNode<JsonElement> {
         List<JsonNode> result = new ArrayList<>(array.size());
         int i = 0;
         for (JsonElement elem : array) {
-            result.add(new GsonNode(elem, jsonPointer + "/" + i++));
+            result.add(new GsonNode(elem, this, i++));
         }
         return result;
     }
@@ -37,7 +41,7 @@ public final class GsonNode extends AbstractJsonNode<JsonElement> {
         Set<Map.Entry<String, JsonElement>> objectMap = node.getAsJsonObject().entrySet();
         Map<String, JsonNode> result = newHashMap(objectMap.size());
         for (Map.Entry<String, JsonElement> entry : objectMap) {
-            result.put(entry.getKey(), new GsonNode(entry.getValue(), this.jsonPointer + "/" + JsonNode.encodeJsonPointer(entry.getKey())));
+            result.put(entry.getKey(), new GsonNode(entry.getValue(), this, entry.getKey()));
         }
         return result;
     }
@@ -78,7 +82,7 @@ public final class GsonNode extends AbstractJsonNode<JsonElement> {
         public GsonNode wrap(Object node) {
             if (node instanceof GsonNode) {
                 GsonNode providerNode = (GsonNode) node;
-                return providerNode.jsonPointer.isEmpty() ? providerNode : new GsonNode((providerNode).node);
+                return providerNode.isRoot() ? providerNode : new GsonNode((providerNode).node);
             } else if (node instanceof JsonElement) {
                 return new GsonNode((JsonElement) node);
             } else {
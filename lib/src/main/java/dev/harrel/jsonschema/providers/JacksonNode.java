@@ -12,19 +12,33 @@ import java.math.BigDecimal;
 import java.util.*;
 
 public final class JacksonNode extends AbstractJsonNode<com.fasterxml.jackson.databind.JsonNode> {
-    private JacksonNode(com.fasterxml.jackson.databind.JsonNode node, String jsonPointer) {
-        super(Objects.requireNonNull(node), jsonPointer);
+    private JacksonNode(com.fasterxml.jackson.databind.JsonNode node, JacksonNode parent, String key) {
+        super(Objects.requireNonNull(node), parent, key);
+    }
+
+    private JacksonNode(com.fasterxml.jackson.databind.JsonNode node, JacksonNode parent, int index) {
+        super(Objects.requireNonNull(node), parent, index);
     }
 
     public JacksonNode(com.fasterxml.jackson.databind.JsonNode node) {
-        this(node, "");
+        super(Objects.requireNonNull(node), "");
+    }
+
+    /**
+     * Creates a node that is a part of a larger JSON document (e.g. read from a stream one element at a time).
+     *
+     * @param node        Jackson node
+     * @param jsonPointer JSON pointer of the node within the document
+     */
+    public JacksonNode(com.fasterxml.jackson.databind.JsonNode node, String jsonPointer) {
+        super(Objects.requireNonNull(node), jsonPointer);
     }
 
     @Override
     protected List<JsonNode> createArray() {
         List<JsonNode> elements = new ArrayList<>(node.size());
         for (Iterator<com.fasterxml.jackson.databind.JsonNode> iterator = node.elements(); iterator.hasNext(); ) {
-            elements.add(new JacksonNode(iterator.next(), jsonPointer + "/" + elements.size()));
+            elements.add(new JacksonNode(iterator.next(), this, elements.size()));
         }
         return elements;
     }
@@ -34,7 +48,7 @@ public final class JacksonNode extends AbstractJsonNode<com.fasterxml.jackson.da
         Map<String, JsonNode> map = newHashMap(node.size());
         for (Iterator<Map.Entry<String, com.fasterxml.jackson.databind.JsonNode>> iterator = node.fields(); iterator.hasNext(); ) {
             Map.Entry<String, com.fasterxml.jackson.databind.JsonNode> entry = iterator.next();
-            map.put(entry.getKey(), new JacksonNode(entry.getValue(), jsonPointer + "/" + JsonNode.encodeJsonPointer(entry.getKey())));
+            map.put(entry.getKey(), new JacksonNode(entry.getValue(), this, entry.getKey()));
         }
         return map;
     }
@@ -81,7 +95,7 @@ public final class JacksonNode extends AbstractJsonNode<com.fasterxml.jackson.da
         public JacksonNode wrap(Object node) {
             if (node instanceof JacksonNode) {
                 JacksonNode providerNode = (JacksonNode) node;
-                return providerNode.jsonPointer.isEmpty() ? providerNode : new JacksonNode((providerNode).node);
+                return providerNode.isRoot() ? providerNode : new JacksonNode((providerNode).node);
             } else if (node instanceof com.fasterxml.jackson.databind.JsonNode) {
                 return new JacksonNode((com.fasterxml.jackson.databind.JsonNode) node);
             } else {
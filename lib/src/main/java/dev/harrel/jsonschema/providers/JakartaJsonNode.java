@@ -13,12 +13,16 @@ import java.math.BigDecimal;
 import java.util.*;
 
 public final class JakartaJsonNode extends AbstractJsonNode<JsonValue> {
-    private JakartaJsonNode(JsonValue node, String jsonPointer) {
-        super(Objects.requireNonNull(node), jsonPointer);
+    private JakartaJsonNode(JsonValue node, JakartaJsonNode parent, String key) {
+        super(Objects.requireNonNull(node), parent, key);
+    }
+
+    private JakartaJsonNode(JsonValue node, JakartaJsonNode parent, int index) {
+        super(Objects.requireNonNull(node), parent, index);
     }
 
     public JakartaJsonNode(JsonValue node) {
-        this(node, "");
+        super(Objects.requireNonNull(node), "");
     }
 
     @Override
@@ -26,7 +30,7 @@ public final class JakartaJsonNode extends AbstractJsonNode<JsonValue> {
         JsonArray jsonArray = node.asJsonArray();
         List<JsonNode> result = new ArrayList<>(jsonArray.size());
         for (int i = 0; i < jsonArray.size(); i++) {
-            result.add(new JakartaJsonNode(jsonArray.get(i), jsonPointer + "/" + i));
+            result.add(new JakartaJsonNode(jsonArray.get(i), this, i));
         }
         return result;
     }
@@ -36,7 +40,7 @@ public final class JakartaJsonNode extends AbstractJsonNode<JsonValue> {
         Set<Map.Entry<String, JsonValue>> objectMap = node.asJsonObject().entrySet();
         Map<String, JsonNode> result = newHashMap(objectMap.size());
         for (Map.Entry<String, JsonValue> entry : objectMap) {
-            result.put(entry.getKey(), new JakartaJsonNode(entry.getValue(), jsonPointer + "/" + JsonNode.encodeJsonPointer(entry.getKey())));
+            result.put(entry.getKey(), new JakartaJsonNode(entry.getValue(), this, entry.getKey()));
         }
         return result;
     }
@@ -86,7 +90,7 @@ public final class JakartaJsonNode extends AbstractJsonNode<JsonValue> {
         public JakartaJsonNode wrap(Object node) {
             if (node instanceof JakartaJsonNode) {
                 JakartaJsonNode providerNode = (JakartaJsonNode) node;
-                return providerNode.jsonPointer.isEmpty() ? providerNode : new JakartaJsonNode((providerNode).node);
+                return providerNode.isRoot() ? providerNode : new JakartaJsonNode((providerNode).node);
             } else if (node instanceof JsonValue) {
                 return new JakartaJsonNode((JsonValue) node);
             } else {
@@ -11,12 +11,16 @@ import java.util.*;
 
 public final class JettisonNode extends SimpleJsonNode {
 
-    private JettisonNode(Object node, String jsonPointer) {
-        super(Objects.requireNonNull(node), jsonPointer);
+    private JettisonNode(Object node, JettisonNode parent, String key) {
+        super(Objects.requireNonNull(node), parent, key);
+    }
+
+    private JettisonNode(Object node, JettisonNode parent, int index) {
+        super(Objects.requireNonNull(node), parent, index);
     }
 
     public JettisonNode(Object node) {
-        this(node, "");
+        super(Objects.requireNonNull(node), "");
     }
 
     @Override
@@ -24,7 +28,7 @@ public final class JettisonNode extends SimpleJsonNode {
         JSONArray arrayNode = (JSONArray) node;
         List<JsonNode> elements = new ArrayList<>(arrayNode.length());
         for (int i = 0; i < arrayNode.length(); ++i) {
-            elements.add(new JettisonNode(arrayNode.opt(i), jsonPointer + "/" + elements.size()));
+            elements.add(new JettisonNode(arrayNode.opt(i), this, elements.size()));
         }
         return elements;
     }
@@ -36,7 +40,7 @@ public final class JettisonNode extends SimpleJsonNode {
         Map<String, JsonNode> map = newHashMap(jsonObject.length());
         for (Object object : jsonObject.toMap().entrySet()) {
             Map.Entry<Object, Object> entry = (Map.Entry<Object, Object>) object;
-            map.put(entry.getKey().toString(), new JettisonNode(entry.getValue(), jsonPointer + "/" + JsonNode.encodeJsonPointer(entry.getKey().toString())));
+            map.put(entry.getKey().toString(), new JettisonNode(entry.getValue(), this, entry.getKey().toString()));
         }
         return map;
     }
@@ -61,7 +65,7 @@ public final class JettisonNode extends SimpleJsonNode {
         public JsonNode wrap(Object node) {
             if (node instanceof JettisonNode) {
                 JettisonNode providerNode = (JettisonNode) node;
-                return providerNode.jsonPointer.isEmpty() ? providerNode : new JettisonNode((providerNode).node);
+                return providerNode.isRoot() ? providerNode : new JettisonNode((providerNode).node);
             } else {
                 return new JettisonNode(node);
             }
@@ -10,12 +10,16 @@ import java.math.BigDecimal;
 import java.util.*;
 
 public final class KotlinxJsonNode extends AbstractJsonNode<JsonElement> {
-    private KotlinxJsonNode(JsonElement node, String jsonPointer) {
-        super(Objects.requireNonNull(node), jsonPointer);
+    private KotlinxJsonNode(JsonElement node, KotlinxJsonNode parent, String key) {
+        super(Objects.requireNonNull(node), parent, key);
+    }
+
+    private KotlinxJsonNode(JsonElement node, KotlinxJsonNode parent, int index) {
+        super(Objects.requireNonNull(node), parent, index);
     }
 
     private KotlinxJsonNode(JsonElement node) {
-        this(node, "");
+        super(Objects.requireNonNull(node), "");
     }
 
     @Override
@@ -23,7 +27,7 @@ public final class KotlinxJsonNode extends AbstractJsonNode<JsonElement> {
         JsonArray array = (JsonArray) node;
         List<JsonNode> result = new ArrayList<>(array.size());
         for (int i = 0; i < array.size(); i++) {
-            result.add(new KotlinxJsonNode(array.get(i), jsonPointer + "/" + i));
+            result.add(new KotlinxJsonNode(array.get(i), this, i));
         }
         return result;
     }
@@ -33,7 +37,7 @@ public final class KotlinxJsonNode extends AbstractJsonNode<JsonElement> {
         JsonObject object = (JsonObject) node;
         Map<String, JsonNode> result = newHashMap(object.size());
         for (Map.Entry<String, JsonElement> entry : object.getEntries()) {
-            result.put(entry.getKey(), new KotlinxJsonNode(entry.getValue(), this.jsonPointer + "/" + JsonNode.encodeJsonPointer(entry.getKey())));
+            result.put(entry.getKey(), new KotlinxJsonNode(entry.getValue(), this, entry.getKey()));
         }
         return result;
     }
@@ -87,7 +91,7 @@ public final class KotlinxJsonNode extends AbstractJsonNode<JsonElement> {
         public KotlinxJsonNode wrap(Object node) {
             if (node instanceof KotlinxJsonNode) {
                 KotlinxJsonNode providerNode = (KotlinxJsonNode) node;
-                return providerNode.jsonPointer.isEmpty() ? providerNode : new KotlinxJsonNode((providerNode).node);
+                return providerNode.isRoot() ? providerNode : new KotlinxJsonNode((providerNode).node);
             } else if (node instanceof JsonElement) {
                 return new KotlinxJsonNode((JsonElement) node);
             } else {
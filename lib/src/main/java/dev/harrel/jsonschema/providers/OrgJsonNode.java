@@ -10,12 +10,16 @@ import java.util.*;
 
 public final class OrgJsonNode extends SimpleJsonNode {
 
-    private OrgJsonNode(Object node, String jsonPointer) {
-        super(Objects.requireNonNull(node), jsonPointer);
+    private OrgJsonNode(Object node, OrgJsonNode parent, String key) {
+        super(Objects.requireNonNull(node), parent, key);
+    }
+
+    private OrgJsonNode(Object node, OrgJsonNode parent, int index) {
+        super(Objects.requireNonNull(node), parent, index);
     }
 
     public OrgJsonNode(Object node) {
-        this(node, "");
+        super(Objects.requireNonNull(node), "");
     }
 
     @Override
@@ -23,7 +27,7 @@ public final class OrgJsonNode extends SimpleJsonNode {
         JSONArray jsonArray = (JSONArray) node;
         List<JsonNode> elements = new ArrayList<>(jsonArray.length());
         for (Object o : jsonArray) {
-            elements.add(new OrgJsonNode(o, jsonPointer + "/" + elements.size()));
+            elements.add(new OrgJsonNode(o, this, elements.size()));
         }
         return elements;
     }
@@ -33,7 +37,7 @@ public final class OrgJsonNode extends SimpleJsonNode {
         JSONObject jsonObject = (JSONObject) node;
         Map<String, JsonNode> map = newHashMap(jsonObject.length());
         for (String key : jsonObject.keySet()) {
-            map.put(key, new OrgJsonNode(jsonObject.get(key), jsonPointer + "/" + JsonNode.encodeJsonPointer(key)));
+            map.put(key, new OrgJsonNode(jsonObject.get(key), this, key));
         }
         return map;
     }
@@ -58,7 +62,7 @@ public final class OrgJsonNode extends SimpleJsonNode {
         public JsonNode wrap(Object node) {
             if (node instanceof OrgJsonNode) {
                 OrgJsonNode providerNode = (OrgJsonNode) node;
-                return providerNode.jsonPointer.isEmpty() ? providerNode : new OrgJsonNode((providerNode).node);
+                return providerNode.isRoot() ? providerNode : new OrgJsonNode((providerNode).node);
             } else {
                 return new OrgJsonNode(node);
             }
@@ -11,6 +11,14 @@ abstract class SimpleJsonNode extends AbstractJsonNode<Object> {
         super(node, jsonPointer);
     }
 
+    SimpleJsonNode(Object node, SimpleJsonNode parent, String key) {
+        super(node, parent, key);
+    }
+
+    SimpleJsonNode(Object node, SimpleJsonNode parent, int index) {
+        super(node, parent, index);
+    }
+
     abstract boolean isNull(Object node);
 
     abstract boolean isArray(Object node);
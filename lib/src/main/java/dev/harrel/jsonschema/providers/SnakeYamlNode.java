@@ -20,12 +20,16 @@ public final class SnakeYamlNode extends AbstractJsonNode<Node> {
     private static final SafeConstructor.ConstructYamlInt INT_CREATOR = CONSTR.new ConstructYamlInt();
     private static final SafeConstructor.ConstructYamlFloat NUMBER_CREATOR = CONSTR.new ConstructYamlFloat();
 
-    private SnakeYamlNode(Node node, String jsonPointer) {
-        super(Objects.requireNonNull(node), jsonPointer);
+    private SnakeYamlNode(Node node, SnakeYamlNode parent, String key) {
+        super(Objects.requireNonNull(node), parent, key);
+    }
+
+    private SnakeYamlNode(Node node, SnakeYamlNode parent, int index) {
+        super(Objects.requireNonNull(node), parent, index);
     }
 
     private SnakeYamlNode(Node node) {
-        this(node, "");
+        super(Objects.requireNonNull(node), "");
     }
 
     @Override
@@ -33,7 +37,7 @@ public final class SnakeYamlNode extends AbstractJsonNode<Node> {
         List<Node> arrayNode = ((SequenceNode) node).getValue();
         List<JsonNode> elements = new ArrayList<>(arrayNode.size());
         for (int i = 0; i < arrayNode.size(); i++) {
-            elements.add(new SnakeYamlNode(arrayNode.get(i), jsonPointer + "/" + i));
+            elements.add(new SnakeYamlNode(arrayNode.get(i), this, i));
         }
         return elements;
     }
@@ -44,7 +48,7 @@ public final class SnakeYamlNode extends AbstractJsonNode<Node> {
         Map<String, JsonNode> map = newHashMap(objectNode.size());
         for (NodeTuple entry : objectNode) {
             String key = ((ScalarNode) entry.getKeyNode()).getValue();
-            map.put(key, new SnakeYamlNode(entry.getValueNode(), jsonPointer + "/" + JsonNode.encodeJsonPointer(key)));
+            map.put(key, new SnakeYamlNode(entry.getValueNode(), this, key));
         }
         return map;
     }
@@ -117,7 +121,7 @@ public final class SnakeYamlNode extends AbstractJsonNode<Node> {
         public JsonNode wrap(Object node) {
             if (node instanceof SnakeYamlNode) {
                 SnakeYamlNode providerNode = (SnakeYamlNode) node;
-                return providerNode.jsonPointer.isEmpty() ? providerNode : new SnakeYamlNode((providerNode).node);
+                return providerNode.isRoot() ? providerNode : new SnakeYamlNode((providerNode).node);
             } else if (node instanceof Node) {
                 Node providerNode = (Node) node;
                 assertKeyUniqueness(providerNode);
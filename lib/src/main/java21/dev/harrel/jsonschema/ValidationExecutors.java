@@ -0,0 +1,17 @@
+package dev.harrel.jsonschema;
+
+import java.util.concurrent.Executor;
+
+/**
+ * Provides default executor for asynchronous validation. This version (from multi-release JAR) is used on Java 21+
+ * and starts a new virtual thread for every task.
+ */
+final class ValidationExecutors {
+    private static final Executor VIRTUAL_THREAD_EXECUTOR = Thread::startVirtualThread;
+
+    private ValidationExecutors() {}
+
+    static Executor defaultExecutor() {
+        return VIRTUAL_THREAD_EXECUTOR;
+    }
+}
@@ -0,0 +1,143 @@
+package dev.harrel.jsonschema;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DiscriminatorIndexTest {
+    private static final String SCHEMA_TEMPLATE = """
+            {
+              "%s": [
+                {"$ref": "#/$defs/a"},
+                {"$ref": "#/$defs/b"},
+                {"x-visit": "any", "required": ["value"]},
+                {
+                  "x-visit": "c",
+                  "required": ["kind"],
+                  "allOf": [{"properties": {"kind": {"enum": ["c", "d"]}}}]
+                }
+              ],
+              "$defs": {
+                "a": {
+                  "x-visit": "a",
+                  "properties": {"kind": {"const": "a"}, "value": {"type": "string"}},
+                  "required": ["kind"]
+                },
+                "b": {
+                  "x-visit": "b",
+                  "properties": {"kind": {"const": "b"}, "value": {"type": "integer"}},
+                  "required": ["kind", "value"]
+                }
+              }
+            }""";
+
+    private final List<String> visited = new ArrayList<>();
+    private Validator validator;
+
+    @BeforeEach
+    void setUp() {
+        EvaluatorFactory visitFactory = (ctx, fieldName, fieldNode) -> {
+            if ("x-visit".equals(fieldName)) {
+                return Optional.of((evaluationContext, node) -> {
+                    visited.add(fieldNode.asString());
+                    return Evaluator.Result.success();
+                });
+            }
+            return Optional.empty();
+        };
+        validator = new ValidatorFactory()
+                .withEvaluatorFactory(visitFactory)
+                .createValidator();
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"oneOf", "anyOf"})
+    void evaluatesOnlyMatchingBranches(String keyword) {
+        URI uri = validator.registerSchema(SCHEMA_TEMPLATE.formatted(keyword));
+
+        assertThat(validator.isValid(uri, "{\"kind\": \"d\"}")).isTrue();
+        assertThat(visited).containsExactly("any", "c");
+
+        visited.clear();
+        assertThat(validator.isValid(uri, "{\"kind\": \"x\"}")).isFalse();
+        assertThat(visited).containsExactly("any");
+
+        visited.clear();
+        assertThat(validator.isValid(uri, "{\"kind\": 1, \"value\": 1}")).isTrue();
+        assertThat(visited).containsExactly("any");
+
+        visited.clear();
+        Validator.Result result = validator.validate(uri, "{\"kind\": \"d\"}");
+        assertThat(result.isValid()).isTrue();
+        assertThat(visited).containsExactly("any", "c");
+    }
+
+    @Test
+    void evaluatesAllBranchesForNonObjects() {
+        URI uri = validator.registerSchema(SCHEMA_TEMPLATE.formatted("anyOf"));
+
+        assertThat(validator.validate(uri, "[]").isValid()).isTrue();
+        assertThat(visited).containsExactly("a", "b", "any", "c");
+    }
+
+    @Test
+    void reportsErrorsOfAllBranches() {
+        URI uri = validator.registerSchema(SCHEMA_TEMPLATE.formatted("oneOf"));
+
+        Validator.Result result = validator.validate(uri, "{\"kind\": \"x\"}");
+        assertThat(result.isValid()).isFalse();
+        assertThat(result.getErrors())
+                .extracting(Error::getEvaluationPath)
+                .containsExactly(
+                        "/oneOf/0/$ref/properties/kind/const",
+                        "/oneOf/1/$ref/properties/kind/const",
+                        "/oneOf/1/$ref/required",
+                        "/oneOf/2/required",
+                        "/oneOf/3/allOf/0/properties/kind/enum",
+                        "/oneOf/3/allOf",
+                        "/oneOf"
+                );
+    }
+
+    @Test
+    void reportsMultipleMatches() {
+        URI uri = validator.registerSchema(SCHEMA_TEMPLATE.formatted("oneOf"));
+
+        Validator.Result result = validator.validate(uri, "{\"kind\": \"b\", \"value\": 1}");
+        assertThat(result.isValid()).isFalse();
+        assertThat(result.getErrors()).hasSize(5);
+        assertThat(result.getErrors().get(4).getError()).isEqualTo("Value matches against more than one schema. Matched schema indexes [1, 2]");
+    }
+
+    @Test
+    void indexIsRebuiltAfterReregistration() {
+        URI uri = validator.registerSchema("""
+                {
+                  "oneOf": [{"$ref": "urn:b"}, {"$ref": "urn:c"}]
+                }""");
+        validator.registerSchema(URI.create("urn:b"), "{\"properties\": {\"kind\": {\"const\": \"b\"}}, \"required\": [\"kind\"]}");
+        validator.registerSchema(URI.create("urn:c"), "{\"properties\": {\"kind\": {\"const\": \"c\"}}, \"required\": [\"kind\"]}");
+        assertThat(validator.isValid(uri, "{\"kind\": \"c\"}")).isTrue();
+        assertThat(validator.isValid(uri, "{\"kind\": \"d\"}")).isFalse();
+
+        validator.unregisterSchema(URI.create("urn:b"));
+        validator.registerSchema(URI.create("urn:b"), "{\"properties\": {\"kind\": {\"const\": \"c\"}}, \"required\": [\"kind\"]}");
+
+        assertThat(validator.isValid(uri, "{\"kind\": \"c\"}")).isFalse();
+        assertThat(validator.validate(uri, "{\"kind\": \"c\"}").isValid()).isFalse();
+
+        validator.unregisterSchema(URI.create("urn:b"));
+        validator.registerSchema(URI.create("urn:b"), "{\"properties\": {\"kind\": {\"const\": \"d\"}}, \"required\": [\"kind\"]}");
+
+        assertThat(validator.isValid(uri, "{\"kind\": \"d\"}")).isTrue();
+        assertThat(validator.validate(uri, "{\"kind\": \"d\"}").isValid()).isTrue();
+    }
+}
@@ -0,0 +1,161 @@
+package dev.harrel.jsonschema;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.StringWriter;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+
+class EvaluationListenerTest {
+    private static final String SCHEMA = """
+            {
+              "$id": "urn:listened",
+              "properties": {
+                "a": {"type": "string"}
+              },
+              "required": ["a"]
+            }""";
+
+    @Test
+    void notifiesAboutSchemasAndKeywords() {
+        List<String> events = new ArrayList<>();
+        EvaluationListener listener = new EvaluationListener() {
+            @Override
+            public void onSchemaEnter(String schemaLocation, JsonNode node) {
+                events.add("enter " + schemaLocation + " " + node.getJsonPointer());
+            }
+
+            @Override
+            public void onSchemaExit(String schemaLocation, JsonNode node, boolean valid, long nanos) {
+                events.add("exit " + schemaLocation + " " + valid);
+            }
+
+            @Override
+            public void onEvaluatorEnter(String keyword, String schemaLocation, JsonNode node) {
+                events.add("before " + keyword);
+            }
+
+            @Override
+            public void onEvaluatorExit(String keyword, String schemaLocation, JsonNode node, boolean valid, long nanos) {
+                events.add("after " + keyword + " " + valid);
+            }
+        };
+        Validator validator = new ValidatorFactory().withEvaluationListener(listener).createValidator();
+        URI uri = validator.registerSchema(SCHEMA);
+
+        validator.validate(uri, "{\"a\": 1}");
+
+        assertThat(events).containsExactly(
+                "enter urn:listened# ",
+                "before properties",
+                "enter urn:listened#/properties/a /a",
+                "before type",
+                "after type false",
+                "exit urn:listened#/properties/a false",
+                "after properties false",
+                "before required",
+                "after required true",
+                "exit urn:listened# false"
+        );
+    }
+
+    @Test
+    void latencyHistogramListenerAggregatesByLocation() {
+        LatencyHistogramListener listener = new LatencyHistogramListener();
+        Validator validator = new ValidatorFactory().withEvaluationListener(listener).createValidator();
+        URI uri = validator.registerSchema(SCHEMA);
+
+        for (int i = 0; i < 10; i++) {
+            validator.validate(uri, "{\"a\": \"x\"}");
+            validator.isValid(uri, "{}");
+        }
+
+        Map<String, LatencyHistogramListener.Histogram> keywords = listener.getKeywordHistograms();
+        assertThat(keywords).containsOnlyKeys(
+                "urn:listened#/properties",
+                "urn:listened#/properties/a/type",
+                "urn:listened#/required"
+        );
+        assertThat(keywords.get("urn:listened#/properties").getCount()).isEqualTo(20);
+        assertThat(keywords.get("urn:listened#/properties/a/type").getCount()).isEqualTo(10);
+        assertThat(keywords.get("urn:listened#/required").getCount()).isEqualTo(20);
+        assertThat(listener.getSchemaHistograms()).containsOnlyKeys("urn:listened#", "urn:listened#/properties/a");
+        assertThat(listener.getHottestKeywords(2)).hasSize(2);
+
+        LatencyHistogramListener.Histogram histogram = keywords.get("urn:listened#/required");
+        assertThat(histogram.getBuckets()).hasSize(64);
+        assertThat(histogram.getPercentileNanos(100)).isEqualTo(histogram.getMaxNanos());
+        assertThat(histogram.getTotalNanos()).isGreaterThanOrEqualTo(histogram.getMaxNanos());
+        assertThatThrownBy(() -> histogram.getPercentileNanos(101)).isInstanceOf(IllegalArgumentException.class);
+
+        listener.reset();
+        assertThat(listener.getKeywordHistograms()).isEmpty();
+    }
+
+    @Test
+    void schemaProfilerWritesCollapsedStacks() {
+        SchemaProfiler profiler = new SchemaProfiler(true);
+        Validator validator = new ValidatorFactory().withEvaluationListener(profiler).createValidator();
+        URI uri = validator.registerSchema("""
+                {
+                  "$id": "urn:profiled",
+                  "$defs": {
+                    "address": {
+                      "oneOf": [{"type": "integer"}, {"type": "string"}]
+                    }
+                  },
+                  "items": {"$ref": "#/$defs/address"}
+                }""");
+
+        validator.validate(uri, "[1, \"a\"]");
+
+        StringWriter time = new StringWriter();
+        profiler.writeCollapsedStacks(time, SchemaProfiler.Metric.WALL_TIME);
+        List<String> stacks = time.toString().lines()
+                .map(line -> line.substring(0, line.lastIndexOf(' ')))
+                .toList();
+        assertThat(stacks).contains(
+                "urn:profiled#;items;urn:profiled#/items;$ref;urn:profiled#/$defs/address;oneOf;urn:profiled#/$defs/address/oneOf/0;type",
+                "urn:profiled#;items;urn:profiled#/items;$ref;urn:profiled#/$defs/address;oneOf;urn:profiled#/$defs/address/oneOf/1;type"
+        );
+        assertThat(time.toString().lines()).allMatch(line -> line.matches(".+ \\d+"));
+        StringWriter allocations = new StringWriter();
+        profiler.writeCollapsedStacks(allocations, SchemaProfiler.Metric.ALLOCATED_BYTES);
+        assertThat(allocations.toString()).isNotEmpty();
+    }
+
+    @Test
+    void schemaProfilerReportsTopLocations() {
+        SchemaProfiler profiler = new SchemaProfiler();
+        Validator validator = new ValidatorFactory().withEvaluationListener(profiler).createValidator();
+        URI uri = validator.registerSchema("""
+                {
+                  "$id": "urn:recursive",
+                  "properties": {
+                    "child": {"$ref": "#"}
+                  }
+                }""");
+
+        validator.validate(uri, "{\"child\": {\"child\": {}}}");
+
+        List<SchemaProfiler.LocationStats> top = profiler.getTopLocations(10);
+        assertThat(top).extracting(SchemaProfiler.LocationStats::getSchemaLocation, SchemaProfiler.LocationStats::getCount)
+                .containsExactly(
+                        tuple("urn:recursive#", 3L),
+                        tuple("urn:recursive#/properties/child", 2L)
+                );
+        /* Recursive evaluations are only counted once in the total time */
+        assertThat(top.getFirst().getTimeShare()).isEqualTo(1.0);
+        assertThat(top.getFirst().getTotalBytes()).isZero();
+        assertThat(profiler.getReport(1).lines()).hasSize(2);
+
+        profiler.reset();
+        assertThat(profiler.getTopLocations(10)).isEmpty();
+    }
+}
@@ -2,7 +2,9 @@ package dev.harrel.jsonschema;
 
 import org.junit.jupiter.api.Test;
 
+import java.util.Collections;
 import java.util.Objects;
+import java.util.Set;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.mock;
@@ -37,6 +39,22 @@ class EvaluatorWrapperTest {
         assertThat(wrapper.getOrder()).isEqualTo(123);
     }
 
+    @Test
+    void shouldDelegateEvaluatorApplicableTypes() {
+        Evaluator evaluator = new Evaluator() {
+            @Override
+            public Result evaluate(EvaluationContext ctx, JsonNode node) {
+                return Result.success();
+            }
+            @Override
+            public Set<SimpleType> getApplicableTypes() {
+                return Collections.singleton(SimpleType.OBJECT);
+            }
+        };
+        EvaluatorWrapper wrapper = new EvaluatorWrapper("keyword", "keywordPath", evaluator);
+        assertThat(wrapper.getApplicableTypes()).containsExactly(SimpleType.OBJECT);
+    }
+
     @Test
     void shouldDelegateEvaluatorEvaluate() {
         Evaluator evaluator = (ctx, node) -> Evaluator.Result.failure(String.valueOf(Objects.hash(ctx, node)));
@@ -0,0 +1,93 @@
+package dev.harrel.jsonschema;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.List;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+
+class MultiPatternMatcherTest {
+    private static final List<String> PATTERNS = List.of(
+            "^x-", "^x-foo", "^", "$", "", "bar$", "\\.json$", "^a\\-b", "mid",
+            "(?i)^LOC_", "^[a-z]{2}-[A-Z]{2}$", "q(?-i)Z", "(a)\\1", "^abc$", "\\$"
+    );
+    private static final MultiPatternMatcher MATCHER = new MultiPatternMatcher(PATTERNS, RegexEngine.javaUtilRegex());
+    private static final MultiPatternMatcher LINEAR_MATCHER = new MultiPatternMatcher(PATTERNS, RegexEngine.linear());
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "x-foo", "x-", "x", "", "foobar", "bar\n", "bar\r\n", "bar\n\n", "a.json", "ajson", "a-b", "amid",
+            "loc_x", "LOC_y", "en-US", "en-US\n", "qz", "QZ", "aa", "abc", "abc\n", "$", "über"
+    })
+    void matchesSameAsSeparatePatterns(String input) {
+        BitSet expected = new BitSet();
+        for (int i = 0; i < PATTERNS.size(); i++) {
+            if (Pattern.compile(PATTERNS.get(i)).matcher(input).find()) {
+                expected.set(i);
+            }
+        }
+
+        for (MultiPatternMatcher matcher : List.of(MATCHER, LINEAR_MATCHER)) {
+            BitSet actual = matcher.matches(input);
+            assertThat(actual == null ? new BitSet() : actual).isEqualTo(expected);
+            assertThat(matcher.matchesAny(input)).isEqualTo(!expected.isEmpty());
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"x-a", "LOC_a", "123", "zab", "other", ""})
+    void combinedRegexMatchesAny(String input) {
+        List<String> patterns = List.of("^x-", "(?i)^loc_", "[0-9]+", "ab$", "^o.+r$");
+        boolean expected = patterns.stream().anyMatch(p -> Pattern.compile(p).matcher(input).find());
+
+        assertThat(new MultiPatternMatcher(patterns, RegexEngine.javaUtilRegex()).matchesAny(input)).isEqualTo(expected);
+        assertThat(new MultiPatternMatcher(patterns, RegexEngine.linear()).matchesAny(input)).isEqualTo(expected);
+    }
+
+    @Test
+    void returnsNullWithoutMatches() {
+        MultiPatternMatcher matcher = new MultiPatternMatcher(List.of("^x-", "y$", "[0-9]"), RegexEngine.linear());
+        assertThat(matcher.matches("abc")).isNull();
+        assertThat(matcher.matchesAny("abc")).isFalse();
+    }
+
+    @Test
+    void linearPatternsAreNotCombinedWithFallbackPatterns() {
+        MultiPatternMatcher matcher = new MultiPatternMatcher(List.of("^(a+)+$", "(a|b)+c$", "(?<=x)y"), RegexEngine.linear());
+        String input = "a".repeat(64) + "!";
+        assertTimeoutPreemptively(Duration.ofSeconds(5), () -> {
+            assertThat(matcher.matches(input)).isNull();
+            assertThat(matcher.matchesAny(input)).isFalse();
+        });
+        assertThat(matcher.matches("xy")).isEqualTo(BitSet.valueOf(new long[]{0b100}));
+    }
+
+    @Test
+    void linearPatternsAreNotCombinedIntoTooLargePattern() {
+        List<String> patterns = new ArrayList<>(Collections.nCopies(12, "x{900}y"));
+        patterns.add("^(a+)+$");
+        MultiPatternMatcher matcher = new MultiPatternMatcher(patterns, RegexEngine.linear());
+        String input = "a".repeat(64) + "!";
+        assertTimeoutPreemptively(Duration.ofSeconds(5), () -> {
+            assertThat(matcher.matches(input)).isNull();
+            assertThat(matcher.matchesAny(input)).isFalse();
+        });
+        assertThat(matcher.matchesAny("aaa")).isTrue();
+    }
+
+    @Test
+    void rejectsInvalidPatterns() {
+        assertThatThrownBy(() -> new MultiPatternMatcher(List.of("^x-", "[a-"), RegexEngine.linear()))
+                .isInstanceOf(PatternSyntaxException.class);
+    }
+}
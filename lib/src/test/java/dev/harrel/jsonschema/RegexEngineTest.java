@@ -0,0 +1,202 @@
+package dev.harrel.jsonschema;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+
+class RegexEngineTest {
+    private static final List<String> INPUTS = List.of(
+            "", "a", "ab", "abc", "aab", "x-a", "en-US", "en-US\n", "en-US\r\n", "en-US\n\n", "colour", "color",
+            "123-4567", "a@b.com", "a.json", "ajson", "\n", "\r\n", "A", "}", "]", "1.5", "1.", "end ", "🐲"
+    );
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "^x-", "a+b", "^[a-z]{2}-[A-Z]{2}$", "(a|b)*c", "colou?r", "\\d{3}-\\d{4}", "^\\w+@\\w+\\.com$", "[^abc]", ".",
+            "^.$", "^$", "$", "", "a{2,}", "a{2,3}$", "(?:ab)+?", "(?<name>a)b", "[\\s\\S]", "[a\\-z]", "[-a]", "[a-]",
+            "\\.json$", "\\x41", "[\\x00-\\x1f]", "^(a+)+$", "(|a)*b", "(a*)*$", "[\\D]", "[^\\W]", "a.c", "}", "]",
+            "^[0-9]+(\\.[0-9]+)?$", "(^a)|b$", "a??b", "^ab|cd$", "^🐲$"
+    })
+    void linearEngineMatchesSameAsJavaUtilRegex(String pattern) {
+        RegexEngine.Regex regex = RegexEngine.linear(p -> {
+            throw new AssertionError("Fallback used for: " + p);
+        }).compile(pattern);
+        Pattern expected = Pattern.compile(pattern);
+        for (String input : INPUTS) {
+            assertThat(regex.find(input))
+                    .describedAs("pattern %s, input %s", pattern, input)
+                    .isEqualTo(expected.matcher(input).find());
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"(a)\\1", "(?i)abc", "a(?=b)", "(?<!a)b", "\\bword", "\\p{L}", "a*+", "[a&&[b]]", "a{2000}"})
+    void linearEngineFallsBackForUnsupportedConstructs(String pattern) {
+        List<String> fallbackPatterns = new ArrayList<>();
+        RegexEngine engine = RegexEngine.linear(p -> {
+            fallbackPatterns.add(p);
+            return RegexEngine.javaUtilRegex().compile(p);
+        });
+
+        engine.compile(pattern);
+        assertThat(fallbackPatterns).containsExactly(pattern);
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"[a-", "(a", "a)", "*a", "a{2,1}", "\\k"})
+    void linearEngineRejectsInvalidPatterns(String pattern) {
+        assertThatThrownBy(() -> RegexEngine.linear().compile(pattern))
+                .isInstanceOf(PatternSyntaxException.class);
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"^[a-z]{13}x*$", "abcdefghijklmnx*", "^[a-z]{29}x*$", "^a{30}(b|c)*$", "(ab|cd){20}"})
+    void linearEngineCompilesProgramsLargerThanInitialCapacity(String pattern) {
+        RegexEngine.Regex regex = RegexEngine.linear(p -> {
+            throw new AssertionError("Fallback used for: " + p);
+        }).compile(pattern);
+        Pattern expected = Pattern.compile(pattern);
+        List<String> inputs = List.of("abc", "abcdefghijklm", "abcdefghijklmxx", "abcdefghijklmnxxx", "a".repeat(29) + "x",
+                "a".repeat(30) + "bcb", "ab".repeat(19) + "cd", "ab".repeat(19));
+        for (String input : inputs) {
+            assertThat(regex.find(input))
+                    .describedAs("pattern %s, input %s", pattern, input)
+                    .isEqualTo(expected.matcher(input).find());
+        }
+    }
+
+    @Test
+    void linearEngineValidatesLargePatterns() {
+        Validator validator = new ValidatorFactory()
+                .withRegexEngine(RegexEngine.linear())
+                .createValidator();
+        URI uri = validator.registerSchema("{\"pattern\": \"^[a-z]{13}x*$\"}");
+
+        assertThat(validator.isValid(uri, "\"abc\"")).isFalse();
+        assertThat(validator.isValid(uri, "\"abcdefghijklmxx\"")).isTrue();
+    }
+
+    @Test
+    void regexEngineFailuresAreNotSwallowed() {
+        IllegalStateException failure = new IllegalStateException("engine failure");
+        Validator validator = new ValidatorFactory()
+                .withRegexEngine(pattern -> {
+                    throw failure;
+                })
+                .withDisabledSchemaValidation(true)
+                .createValidator();
+
+        assertThatThrownBy(() -> validator.registerSchema("{\"pattern\": \"^a\"}"))
+                .hasMessageContaining("^a")
+                .hasCause(failure);
+        assertThatThrownBy(() -> validator.registerSchema("{\"patternProperties\": {\"^b\": false}}"))
+                .hasMessageContaining("^b")
+                .hasCause(failure);
+    }
+
+    @Test
+    void invalidPatternsAreIgnored() {
+        Validator validator = new ValidatorFactory()
+                .withRegexEngine(RegexEngine.linear())
+                .withDisabledSchemaValidation(true)
+                .createValidator();
+        URI uri = validator.registerSchema("{\"pattern\": \"[a-\"}");
+
+        assertThat(validator.isValid(uri, "\"b\"")).isTrue();
+    }
+
+    @Test
+    void linearEngineDoesNotBacktrack() {
+        RegexEngine.Regex regex = RegexEngine.linear().compile("^(a+)+$");
+        String input = "a".repeat(10_000) + "!";
+
+        assertTimeoutPreemptively(Duration.ofSeconds(5), () -> assertThat(regex.find(input)).isFalse());
+    }
+
+    @Test
+    void validatorUsesConfiguredEngine() {
+        List<String> compiled = new ArrayList<>();
+        RegexEngine engine = pattern -> {
+            compiled.add(pattern);
+            return input -> input.length() == 3;
+        };
+        Validator validator = new ValidatorFactory()
+                .withRegexEngine(engine)
+                .withEvaluatorFactory(new FormatEvaluatorFactory())
+                .withDisabledSchemaValidation(true)
+                .createValidator();
+        URI uri = validator.registerSchema("""
+                {
+                  "properties": {
+                    "pattern": {"pattern": "^a+$"},
+                    "regex": {"format": "regex"}
+                  },
+                  "patternProperties": {
+                    "b+": {"type": "integer"}
+                  }
+                }""");
+
+        assertThat(compiled).containsExactlyInAnyOrder("^a+$", "b+");
+        assertThat(validator.validate(uri, "{\"pattern\": \"abc\", \"regex\": \"[\"}").isValid()).isTrue();
+        assertThat(validator.validate(uri, "{\"pattern\": \"a\"}").isValid()).isFalse();
+        assertThat(validator.validate(uri, "{\"xyz\": \"not an integer\"}").isValid()).isFalse();
+        assertThat(compiled).containsExactlyInAnyOrder("^a+$", "b+", "[");
+    }
+
+    @Test
+    void patternPropertiesAreCompiledOnceForAdditionalProperties() {
+        List<String> compiled = new ArrayList<>();
+        RegexEngine engine = pattern -> {
+            compiled.add(pattern);
+            return input -> input.toString().startsWith(pattern);
+        };
+        Validator validator = new ValidatorFactory()
+                .withRegexEngine(engine)
+                .withDisabledSchemaValidation(true)
+                .createValidator();
+        URI uri = validator.registerSchema("""
+                {
+                  "additionalProperties": false,
+                  "patternProperties": {
+                    "a": {"type": "integer"},
+                    "b": {"type": "string"}
+                  }
+                }""");
+
+        assertThat(compiled).containsExactlyInAnyOrder("a", "b");
+        assertThat(validator.validate(uri, "{\"a1\": 1, \"b1\": \"x\"}").isValid()).isTrue();
+        assertThat(validator.validate(uri, "{\"a1\": \"x\"}").isValid()).isFalse();
+        assertThat(validator.validate(uri, "{\"c1\": 1}").isValid()).isFalse();
+        assertThat(compiled).containsExactlyInAnyOrder("a", "b");
+    }
+
+    @Test
+    void linearEngineCanBeUsedByValidator() {
+        Validator validator = new ValidatorFactory()
+                .withRegexEngine(RegexEngine.linear())
+                .createValidator();
+        URI uri = validator.registerSchema("""
+                {
+                  "pattern": "^(a|aa)+$",
+                  "patternProperties": {"^x-": false},
+                  "additionalProperties": {"pattern": "(a)\\\\1"}
+                }""");
+
+        assertThat(validator.validate(uri, "\"aaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaa\"").isValid()).isTrue();
+        assertThat(validator.validate(uri, "\"aaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaab\"").isValid()).isFalse();
+        assertThat(validator.validate(uri, "{\"x-a\": 1}").isValid()).isFalse();
+        assertThat(validator.validate(uri, "{\"a\": \"aa\"}").isValid()).isTrue();
+        assertThat(validator.validate(uri, "{\"a\": \"ab\"}").isValid()).isFalse();
+    }
+}
@@ -12,9 +12,9 @@ import static org.assertj.core.api.Assertions.assertThat;
 class SchemaRegistryTest {
 
     @Test
-    void shouldRestoreStateProperly() {
+    void shouldRollbackStateProperly() {
         SchemaRegistry schemaRegistry = new SchemaRegistry();
-        SchemaParsingContext ctx = new SchemaParsingContext(new MetaSchemaData(new Dialects.Draft2020Dialect()), URI.create("urn:test"), emptyMap());
+        SchemaParsingContext ctx = new SchemaParsingContext(new MetaSchemaData(new Dialects.Draft2020Dialect()), URI.create("urn:test"), emptyMap(), RegexEngine.javaUtilRegex());
         JacksonNode.Factory factory = new JacksonNode.Factory();
         JacksonNode rootSchemaNode = factory.create("""
                 {
@@ -27,17 +27,41 @@ class SchemaRegistryTest {
         schemaRegistry.registerSchema(ctx, subSchemaNode, new ArrayList<>());
         assertThat(schemaRegistry.get(CompoundUri.fromString("urn:test#/properties/field"))).isNotNull();
 
-        SchemaRegistry.State snapshot = schemaRegistry.createSnapshot();
+        int savepoint = schemaRegistry.beginTransaction();
         schemaRegistry.registerSchema(ctx, rootSchemaNode, new ArrayList<>());
         assertThat(schemaRegistry.get(CompoundUri.fromString("urn:test#"))).isNotNull();
-        SchemaRegistry.State nextSnapshot = schemaRegistry.createSnapshot();
-
-        schemaRegistry.restoreSnapshot(snapshot);
+        schemaRegistry.rollbackTransaction(savepoint);
         assertThat(schemaRegistry.get(CompoundUri.fromString("urn:test#/properties/field"))).isNotNull();
         assertThat(schemaRegistry.get(CompoundUri.fromString("urn:test#"))).isNull();
 
-        schemaRegistry.restoreSnapshot(nextSnapshot);
+        schemaRegistry.beginTransaction();
+        schemaRegistry.registerSchema(ctx, rootSchemaNode, new ArrayList<>());
+        schemaRegistry.commitTransaction();
         assertThat(schemaRegistry.get(CompoundUri.fromString("urn:test#/properties/field"))).isNotNull();
         assertThat(schemaRegistry.get(CompoundUri.fromString("urn:test#"))).isNotNull();
     }
-}
\ No newline at end of file
+
+    @Test
+    void shouldRollbackNestedTransactions() {
+        SchemaRegistry schemaRegistry = new SchemaRegistry();
+        SchemaParsingContext ctx1 = new SchemaParsingContext(new MetaSchemaData(new Dialects.Draft2020Dialect()), URI.create("urn:test1"), emptyMap(), RegexEngine.javaUtilRegex());
+        SchemaParsingContext ctx2 = new SchemaParsingContext(new MetaSchemaData(new Dialects.Draft2020Dialect()), URI.create("urn:test2"), emptyMap(), RegexEngine.javaUtilRegex());
+        JsonNode schemaNode = new JacksonNode.Factory().create("true");
+
+        int outer = schemaRegistry.beginTransaction();
+        schemaRegistry.registerSchema(ctx1, schemaNode, new ArrayList<>());
+        int inner = schemaRegistry.beginTransaction();
+        schemaRegistry.registerSchema(ctx2, schemaNode, new ArrayList<>());
+        schemaRegistry.rollbackTransaction(inner);
+        assertThat(schemaRegistry.get(URI.create("urn:test1"))).isNotNull();
+        assertThat(schemaRegistry.get(URI.create("urn:test2"))).isNull();
+
+        schemaRegistry.beginTransaction();
+        schemaRegistry.registerSchema(ctx2, schemaNode, new ArrayList<>());
+        schemaRegistry.commitTransaction();
+        assertThat(schemaRegistry.get(URI.create("urn:test2"))).isNotNull();
+        schemaRegistry.rollbackTransaction(outer);
+        assertThat(schemaRegistry.get(URI.create("urn:test1"))).isNull();
+        assertThat(schemaRegistry.get(URI.create("urn:test2"))).isNull();
+    }
+}
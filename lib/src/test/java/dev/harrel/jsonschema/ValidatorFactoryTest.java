@@ -8,6 +8,7 @@ import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.CsvSource;
 
 import java.net.URI;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 
@@ -351,4 +352,195 @@ class ValidatorFactoryTest {
         assertThat(result.getErrors().get(0).getError()).isEqualTo("\"x\" is shorter than 2 characters");
         assertThat(result.getErrors().get(1).getError()).isEqualTo("custom error");
     }
-}
\ No newline at end of file
+
+    @Test
+    void disabledAnnotationsAreNotReported() {
+        String schema = """
+                {
+                  "title": "object",
+                  "properties": {
+                    "a": {"title": "a"}
+                  },
+                  "contains": true
+                }""";
+        Validator.Result result = new ValidatorFactory()
+                .withDisabledAnnotations(true)
+                .validate(schema, "{\"a\": 1}");
+
+        assertThat(result.isValid()).isTrue();
+        assertThat(result.getAnnotations()).isEmpty();
+    }
+
+    @Test
+    void disabledAnnotationsStillApplyToUnevaluatedKeywords() {
+        String schema = """
+                {
+                  "properties": {"a": true},
+                  "patternProperties": {"^b": true},
+                  "anyOf": [
+                    {"properties": {"c": true}},
+                    {"properties": {"d": true}}
+                  ],
+                  "unevaluatedProperties": false
+                }""";
+        ValidatorFactory factory = new ValidatorFactory().withDisabledAnnotations(true);
+
+        Validator.Result valid = factory.validate(schema, "{\"a\": 1, \"b\": 2, \"c\": 3, \"d\": 4}");
+        assertThat(valid.isValid()).isTrue();
+        assertThat(valid.getAnnotations()).isEmpty();
+
+        Validator.Result invalid = factory.validate(schema, "{\"a\": 1, \"e\": 2}");
+        assertThat(invalid.isValid()).isFalse();
+        assertThat(invalid.getAnnotations()).isEmpty();
+        assertThat(invalid.getErrors()).hasSize(1);
+        assertThat(invalid.getErrors().get(0).getInstanceLocation()).isEqualTo("/e");
+    }
+
+    @Test
+    void schemaCacheReusesStructurallyEqualSchemas() {
+        ValidatorFactory factory = new ValidatorFactory();
+
+        assertThat(factory.validate("{\"type\": \"string\", \"minLength\": 2}", "\"x\"").isValid()).isFalse();
+        assertThat(factory.validate("{\"minLength\": 2, \"type\": \"string\"}", "\"xx\"").isValid()).isTrue();
+        assertThat(factory.validate("{\"minLength\": 3, \"type\": \"string\"}", "\"xx\"").isValid()).isFalse();
+
+        ValidatorFactory.SchemaCacheStats stats = factory.getSchemaCacheStats();
+        assertThat(stats.getHitCount()).isEqualTo(1);
+        assertThat(stats.getMissCount()).isEqualTo(2);
+        assertThat(stats.getSize()).isEqualTo(2);
+    }
+
+    @Test
+    void schemaCacheEvictsLeastRecentlyUsedSchema() {
+        ValidatorFactory factory = new ValidatorFactory().withSchemaCache(2);
+
+        factory.validate("{\"type\": \"string\"}", "1");
+        factory.validate("{\"type\": \"number\"}", "1");
+        factory.validate("{\"type\": \"string\"}", "1");
+        factory.validate("{\"type\": \"object\"}", "1");
+        assertThat(factory.getSchemaCacheStats().getSize()).isEqualTo(2);
+
+        factory.validate("{\"type\": \"string\"}", "1");
+        assertThat(factory.getSchemaCacheStats().getHitCount()).isEqualTo(2);
+        factory.validate("{\"type\": \"number\"}", "1");
+        assertThat(factory.getSchemaCacheStats().getHitCount()).isEqualTo(2);
+        assertThat(factory.getSchemaCacheStats().getMissCount()).isEqualTo(4);
+    }
+
+    @Test
+    void schemaCacheIsClearedOnConfigurationChange() {
+        String schema = """
+                {
+                  "properties": {
+                    "a": {"title": "a"}
+                  }
+                }""";
+        ValidatorFactory factory = new ValidatorFactory();
+        assertThat(factory.validate(schema, "{\"a\": 1}").getAnnotations()).hasSize(2);
+        assertThat(factory.getSchemaCacheStats().getSize()).isEqualTo(1);
+
+        factory.withDisabledAnnotations(true);
+        assertThat(factory.getSchemaCacheStats().getSize()).isZero();
+        assertThat(factory.validate(schema, "{\"a\": 1}").getAnnotations()).isEmpty();
+        assertThat(factory.getSchemaCacheStats().getMissCount()).isEqualTo(2);
+    }
+
+    @Test
+    void disabledSchemaCacheParsesSchemaEveryTime() {
+        ValidatorFactory factory = new ValidatorFactory().withSchemaCache(0);
+
+        assertThat(factory.validate(RAW_SCHEMA, RAW_INSTANCE).isValid()).isFalse();
+        assertThat(factory.validate(RAW_SCHEMA, RAW_INSTANCE).isValid()).isFalse();
+
+        ValidatorFactory.SchemaCacheStats stats = factory.getSchemaCacheStats();
+        assertThat(stats.getHitCount()).isZero();
+        assertThat(stats.getMissCount()).isZero();
+        assertThat(stats.getSize()).isZero();
+    }
+
+    @Test
+    void negativeSchemaCacheSizeIsRejected() {
+        ValidatorFactory factory = new ValidatorFactory();
+        assertThatThrownBy(() -> factory.withSchemaCache(-1))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void sharedMetaSchemasGiveSameErrors() {
+        String schema = """
+                {
+                  "$schema": "https://json-schema.org/draft/2019-09/schema",
+                  "properties": {
+                    "a": {"minLength": -1}
+                  }
+                }""";
+        ValidatorFactory sharedFactory = new ValidatorFactory();
+        /* additional evaluator factory makes validators compile their own meta-schemas */
+        ValidatorFactory ownFactory = new ValidatorFactory().withEvaluatorFactory((ctx, fieldName, node) -> Optional.empty());
+
+        List<Error> first = catchThrowableOfType(InvalidSchemaException.class, () -> sharedFactory.createValidator().registerSchema(schema)).getErrors();
+        List<Error> second = catchThrowableOfType(InvalidSchemaException.class, () -> sharedFactory.createValidator().registerSchema(schema)).getErrors();
+        List<Error> own = catchThrowableOfType(InvalidSchemaException.class, () -> ownFactory.createValidator().registerSchema(schema)).getErrors();
+
+        for (List<Error> errors : List.of(second, own)) {
+            assertThat(errors).hasSameSizeAs(first);
+            for (int i = 0; i < errors.size(); i++) {
+                assertError(errors.get(i), first.get(i).getEvaluationPath(), first.get(i).getSchemaLocation(),
+                        first.get(i).getInstanceLocation(), first.get(i).getKeyword(), first.get(i).getError());
+            }
+        }
+        assertError(first.getFirst(),
+                "/allOf/1/$ref/properties/properties/additionalProperties/$recursiveRef/allOf/2/$ref/properties/minLength/$ref/$ref/minimum",
+                "https://json-schema.org/draft/2019-09/meta/validation#/$defs/nonNegativeInteger",
+                "/properties/a/minLength",
+                "minimum",
+                "-1 is less than 0");
+    }
+
+    @Test
+    void userResolvedMetaSchemasAreNotShared() {
+        String schema = """
+                {
+                  "$schema": "https://json-schema.org/draft/2019-09/schema",
+                  "minLength": 1
+                }""";
+        new ValidatorFactory().createValidator().registerSchema(schema);
+
+        SchemaResolver resolver = uri -> {
+            if (uri.equals("https://json-schema.org/draft/2019-09/meta/validation")) {
+                return SchemaResolver.Result.fromString("""
+                        {
+                          "$schema": "https://json-schema.org/draft/2019-09/schema",
+                          "properties": {"minLength": false}
+                        }""");
+            }
+            return SchemaResolver.Result.empty();
+        };
+        Validator validator = new ValidatorFactory().withSchemaResolver(resolver).createValidator();
+        assertThatThrownBy(() -> validator.registerSchema(schema))
+                .isInstanceOf(InvalidSchemaException.class);
+    }
+
+    @Test
+    void customRegexEnginesCompileOwnMetaSchemas() {
+        String schema = """
+                {
+                  "$schema": "https://json-schema.org/draft/2019-09/schema",
+                  "$anchor": "item"
+                }""";
+        /* both engines are instances of the same class, but each needs to see meta-schema patterns */
+        for (int i = 0; i < 2; i++) {
+            List<String> patterns = new ArrayList<>();
+            RegexEngine engine = recordingEngine(patterns);
+            new ValidatorFactory().withRegexEngine(engine).createValidator().registerSchema(schema);
+            assertThat(patterns).contains("^[A-Za-z][-A-Za-z0-9.:_]*$");
+        }
+    }
+
+    private static RegexEngine recordingEngine(List<String> patterns) {
+        return pattern -> {
+            patterns.add(pattern);
+            return RegexEngine.javaUtilRegex().compile(pattern);
+        };
+    }
+}
@@ -2,23 +2,51 @@ package dev.harrel.jsonschema;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import dev.harrel.jsonschema.providers.GsonNode;
 import dev.harrel.jsonschema.providers.JacksonNode;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
 import org.junit.jupiter.params.provider.ValueSource;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.StringReader;
+import java.io.UncheckedIOException;
 import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 import java.util.stream.Stream;
 
 import static dev.harrel.jsonschema.util.TestUtil.assertAnnotation;
 import static dev.harrel.jsonschema.util.TestUtil.assertError;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
 
 class ValidatorTest {
     private static final URI SCHEMA_URI = URI.create("urn:test");
@@ -461,6 +489,888 @@ class ValidatorTest {
                 .hasMessage("Resolution of $id [%s] against base URI [urn:test] did not produce an absolute URI.".formatted(id));
     }
 
+    @Test
+    void isValidReturnsOutcome() {
+        Validator validator = new ValidatorFactory().createValidator();
+        validator.registerSchema(SCHEMA_URI, RAW_SCHEMA);
+        assertThat(validator.isValid(SCHEMA_URI, RAW_INSTANCE)).isTrue();
+        assertThat(validator.isValid(SCHEMA_URI, "true")).isFalse();
+    }
+
+    @Test
+    void isValidFailsForNonExistentSchema() {
+        Validator validator = new ValidatorFactory().createValidator();
+        URI invalidUri = URI.create("urn:test2");
+        assertThatThrownBy(() -> validator.isValid(invalidUri, RAW_INSTANCE))
+                .isInstanceOf(SchemaNotFoundException.class)
+                .hasMessageContaining(invalidUri.toString());
+    }
+
+    @Test
+    void isValidCollectsAnnotationsForUnevaluatedKeywords() {
+        Validator validator = new ValidatorFactory().createValidator();
+        URI uri = validator.registerSchema("""
+                {
+                  "anyOf": [
+                    {"properties": {"a": true}},
+                    {"properties": {"b": true}}
+                  ],
+                  "contains": {"type": "string"},
+                  "unevaluatedProperties": false,
+                  "unevaluatedItems": false
+                }""");
+        assertThat(validator.isValid(uri, "{\"a\": 1, \"b\": 2}")).isTrue();
+        assertThat(validator.isValid(uri, "{\"a\": 1, \"c\": 2}")).isFalse();
+        assertThat(validator.isValid(uri, "[\"a\", \"b\"]")).isTrue();
+        assertThat(validator.isValid(uri, "[\"a\", 1]")).isFalse();
+    }
+
+    @Test
+    void isValidStopsOnSecondOneOfMatch() {
+        Validator validator = new ValidatorFactory().createValidator();
+        URI uri = validator.registerSchema("""
+                {
+                  "oneOf": [
+                    {"type": "integer"},
+                    {"minimum": 0},
+                    {"maximum": 10}
+                  ]
+                }""");
+        assertThat(validator.isValid(uri, "5")).isFalse();
+        assertThat(validator.isValid(uri, "-5")).isFalse();
+        assertThat(validator.isValid(uri, "-5.5")).isTrue();
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {0, 1, 1024})
+    void resultsAreNotAffectedByContextReuse(int highWaterMark) {
+        Validator validator = new ValidatorFactory()
+                .withContextPooling(highWaterMark)
+                .createValidator();
+        URI uri = validator.registerSchema("""
+                {
+                  "title": "root",
+                  "items": {"type": "string"}
+                }""");
+        Validator.Result invalid = validator.validate(uri, "[1, 2]");
+        Validator.Result valid = validator.validate(uri, "[\"a\"]");
+        validator.validate(uri, "[1, 2, 3]");
+
+        assertThat(invalid.isValid()).isFalse();
+        assertThat(invalid.getErrors()).hasSize(2);
+        assertThat(invalid.getAnnotations()).isEmpty();
+        assertThat(valid.isValid()).isTrue();
+        assertThat(valid.getErrors()).isEmpty();
+        assertThat(valid.getAnnotations()).hasSize(2);
+    }
+
+    @Test
+    void contextReuseAfterException() {
+        Validator validator = new ValidatorFactory()
+                .withDisabledSchemaValidation(true)
+                .withSchemaResolver(uri -> {
+                    if (uri.equals("urn:missing")) {
+                        throw new IllegalStateException("resolver failure");
+                    }
+                    return SchemaResolver.Result.empty();
+                })
+                .createValidator();
+        URI uri = validator.registerSchema("""
+                {
+                  "properties": {
+                    "a": {"$ref": "urn:missing"}
+                  }
+                }""");
+        assertThatThrownBy(() -> validator.validate(uri, "{\"a\": 1}"))
+                .isInstanceOf(IllegalStateException.class);
+        Validator.Result result = validator.validate(uri, "{\"b\": 1}");
+        assertThat(result.isValid()).isTrue();
+        assertThat(result.getErrors()).isEmpty();
+    }
+
+    @Test
+    void negativeContextPoolingHighWaterMarkIsRejected() {
+        ValidatorFactory factory = new ValidatorFactory();
+        assertThatThrownBy(() -> factory.withContextPooling(-1))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void snapshotRestoresSchemasWithoutResolving() {
+        SchemaResolver remoteResolver = uri -> "urn:remote".equals(uri)
+                ? SchemaResolver.Result.fromString("{\"type\": \"integer\"}")
+                : new ValidatorFactory.DefaultSchemaResolver().resolve(uri);
+        Validator validator = new ValidatorFactory().withSchemaResolver(remoteResolver).createValidator();
+        validator.registerSchema(SCHEMA_URI, """
+                {
+                  "$schema": "https://json-schema.org/draft/2020-12/schema",
+                  "properties": {
+                    "remote": {"$ref": "urn:remote"},
+                    "anchored": {"$ref": "#item"},
+                    "text": {"pattern": "^\\"é\\n"}
+                  },
+                  "$defs": {
+                    "item": {"$anchor": "item", "minimum": 1.5E3}
+                  }
+                }""");
+        URI draft7Uri = validator.registerSchema("{\"$schema\": \"http://json-schema.org/draft-07/schema#\", \"items\": {\"type\": \"number\"}}");
+        assertThatThrownBy(() -> validator.registerSchema(URI.create("urn:invalid"), "{\"type\": 5}"))
+                .isInstanceOf(InvalidSchemaException.class);
+        assertThat(validator.validate(SCHEMA_URI, "{\"remote\": 1}").isValid()).isTrue();
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        validator.exportSnapshot(out);
+        Validator restored = new ValidatorFactory()
+                .withSchemaResolver(uri -> {
+                    throw new AssertionError("Unexpected resolution of " + uri);
+                })
+                .fromSnapshot(new ByteArrayInputStream(out.toByteArray()));
+
+        List<String> instances = List.of(
+                "{\"remote\": 1}", "{\"remote\": \"1\"}", "{\"anchored\": 1500}", "{\"anchored\": 1}",
+                "{\"text\": \"\\\"é\\n!\"}", "{\"text\": \"é\"}"
+        );
+        for (String instance : instances) {
+            Validator.Result expected = validator.validate(SCHEMA_URI, instance);
+            Validator.Result actual = restored.validate(SCHEMA_URI, instance);
+            assertThat(actual.isValid()).isEqualTo(expected.isValid());
+            assertThat(actual.getErrors()).hasSameSizeAs(expected.getErrors());
+        }
+        assertThat(restored.isValid(draft7Uri, "[1, 2]")).isTrue();
+        assertThat(restored.isValid(draft7Uri, "[1, \"2\"]")).isFalse();
+        assertThatThrownBy(() -> restored.validate(URI.create("urn:invalid"), "null"))
+                .isInstanceOf(AssertionError.class);
+    }
+
+    @Test
+    void invalidSnapshotIsRejected() {
+        ValidatorFactory factory = new ValidatorFactory();
+        assertThatThrownBy(() -> factory.fromSnapshot(new ByteArrayInputStream(new byte[]{1, 2, 3})))
+                .isInstanceOf(UncheckedIOException.class);
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"[]", "[\"a\"]", "[\"a\", {\"id\": 1}]", "[1, {\"id\": \"x\", \"other\": 2}, {\"id\": 3}, []]", "{\"id\": 1}", "null"})
+    void validateStreamGivesSameResultAsValidate(String instance) {
+        Validator validator = new ValidatorFactory().createValidator();
+        URI uri = validator.registerSchema("""
+                {
+                  "title": "records",
+                  "type": "array",
+                  "minItems": 2,
+                  "prefixItems": [{"type": "string"}],
+                  "items": {"$ref": "#/$defs/record"},
+                  "$defs": {
+                    "record": {
+                      "properties": {"id": {"type": "integer"}},
+                      "unevaluatedProperties": false
+                    }
+                  }
+                }""");
+
+        Validator.Result expected = validator.validate(uri, instance);
+        Validator.Result actual = validator.validateStream(uri, new ByteArrayInputStream(instance.getBytes(StandardCharsets.UTF_8)));
+        assertSameResult(actual, expected);
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"[]", "[1]", "[1, 2, 3, 4]", "[1, \"2\", 3.5]", "{}"})
+    void validateStreamFollowsRootRef(String instance) {
+        Validator validator = new ValidatorFactory().createValidator();
+        URI uri = validator.registerSchema("""
+                {
+                  "type": "array",
+                  "title": "root",
+                  "$ref": "#/$defs/list",
+                  "$defs": {
+                    "list": {"$ref": "#/$defs/integers"},
+                    "integers": {
+                      "maxItems": 3,
+                      "items": {"type": "integer", "title": "element"}
+                    }
+                  }
+                }""");
+
+        Validator.Result expected = validator.validate(uri, instance);
+        Validator.Result actual = validator.validateStream(uri, new ByteArrayInputStream(instance.getBytes(StandardCharsets.UTF_8)));
+        assertSameResult(actual, expected);
+    }
+
+    @Test
+    void validateStreamUsesConfiguredInstanceFactory() {
+        JsonNodeFactory jacksonFactory = new JacksonNode.Factory();
+        List<String> created = new ArrayList<>();
+        JsonNodeFactory instanceFactory = new JsonNodeFactory() {
+            @Override
+            public JsonNode wrap(Object node) {
+                return jacksonFactory.wrap(node);
+            }
+
+            @Override
+            public JsonNode create(String rawJson) {
+                created.add(rawJson);
+                return jacksonFactory.create(rawJson);
+            }
+        };
+        Validator validator = new ValidatorFactory().withJsonNodeFactories(jacksonFactory, instanceFactory).createValidator();
+        URI uri = validator.registerSchema("{\"items\": {\"type\": \"integer\"}}");
+
+        Validator.Result result = validator.validateStream(uri, new ByteArrayInputStream("[1, \"ż\"]".getBytes(StandardCharsets.UTF_8)));
+        assertThat(result.isValid()).isFalse();
+        assertThat(result.getErrors()).hasSize(1);
+        assertError(result.getErrors().get(0), "/items/type", uri + "#/items", "/1", "type");
+        assertThat(created).containsExactly("[1, \"ż\"]");
+    }
+
+    @Test
+    void validateStreamReadsWholeInstanceIfNeeded() {
+        Validator validator = new ValidatorFactory().createValidator();
+        URI uri = validator.registerSchema("{\"items\": {\"type\": \"integer\"}, \"uniqueItems\": true}");
+
+        assertThat(validator.validateStream(uri, new ByteArrayInputStream("[1, 2, 3]".getBytes(StandardCharsets.UTF_8))).isValid()).isTrue();
+        Validator.Result result = validator.validateStream(uri, new ByteArrayInputStream("[1, 2, 1]".getBytes(StandardCharsets.UTF_8)));
+        assertThat(result.isValid()).isFalse();
+        assertThat(result.getErrors()).hasSize(1);
+        assertError(result.getErrors().get(0), "/uniqueItems", uri.toString(), "", "uniqueItems");
+    }
+
+    @ParameterizedTest
+    @MethodSource("streamingData")
+    void validateStreamReadsElementsOneAtATimeIfPossible(String schema, String instance, boolean streamed) {
+        byte[] bytes = instance.getBytes(StandardCharsets.UTF_8);
+        AtomicLong bytesRead = new AtomicLong();
+        AtomicLong bytesReadAtFirstElement = new AtomicLong(-1);
+        EvaluationListener listener = new EvaluationListener() {
+            @Override
+            public void onSchemaEnter(String schemaLocation, JsonNode node) {
+                if (node.getJsonPointer().equals("/0")) {
+                    bytesReadAtFirstElement.compareAndSet(-1, bytesRead.get());
+                }
+            }
+        };
+        Validator validator = new ValidatorFactory().withEvaluationListener(listener).createValidator();
+        URI uri = validator.registerSchema(schema);
+        InputStream in = new FilterInputStream(new ByteArrayInputStream(bytes)) {
+            @Override
+            public int read(byte[] b, int off, int len) throws IOException {
+                int read = super.read(b, off, len);
+                bytesRead.addAndGet(Math.max(read, 0));
+                return read;
+            }
+        };
+
+        assertThat(validator.validateStream(uri, in).isValid()).isTrue();
+        assertThat(bytesRead.get()).isEqualTo(bytes.length);
+        if (streamed) {
+            assertThat(bytesReadAtFirstElement.get()).isBetween(0L, bytes.length / 10L);
+        } else {
+            assertThat(bytesReadAtFirstElement.get()).isEqualTo(bytes.length);
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"", "[1", "[1] [2]", "{\"a\": }"})
+    void validateStreamRejectsMalformedInstance(String instance) {
+        Validator validator = new ValidatorFactory().createValidator();
+        URI uri = validator.registerSchema("{\"items\": {\"type\": \"integer\"}}");
+
+        assertThatThrownBy(() -> validator.validateStream(uri, new ByteArrayInputStream(instance.getBytes(StandardCharsets.UTF_8))))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void validateLinesReportsResultsInOrder() {
+        Validator validator = new ValidatorFactory().createValidator();
+        URI uri = validator.registerSchema("{\"required\": [\"id\"], \"properties\": {\"id\": {\"type\": \"integer\"}}}");
+        String lines = "{\"id\": 1}\n{\"id\": \"1\"}\n\n{\"name\": \"x\"}\r\n  {\"id\": 2}\n";
+
+        List<Validator.LineResult> results = new ArrayList<>();
+        validator.validateLines(uri, new StringReader(lines), results::add);
+
+        assertThat(results).extracting(Validator.LineResult::getLineNumber).containsExactly(1, 2, 4, 5);
+        assertThat(results).extracting(r -> r.getResult().isValid()).containsExactly(true, false, false, true);
+        assertError(results.get(1).getResult().getErrors().get(0), "/properties/id/type", uri.toString(), "/id", "type");
+    }
+
+    @Test
+    void validateLinesWithExecutorReportsResultsInOrder() throws InterruptedException {
+        Validator validator = new ValidatorFactory().createValidator();
+        URI uri = validator.registerSchema("{\"type\": \"integer\", \"multipleOf\": 3}");
+        String lines = IntStream.range(0, 10_000).mapToObj(Integer::toString).collect(Collectors.joining("\n"));
+
+        List<Validator.LineResult> results = new ArrayList<>();
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            validator.validateLines(uri, new ByteArrayInputStream(lines.getBytes(StandardCharsets.UTF_8)), executor, results::add);
+        } finally {
+            executor.shutdown();
+            assertThat(executor.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+        }
+
+        assertThat(results).hasSize(10_000);
+        for (int i = 0; i < results.size(); i++) {
+            assertThat(results.get(i).getLineNumber()).isEqualTo(i + 1);
+            assertThat(results.get(i).getResult().isValid()).isEqualTo(i % 3 == 0);
+        }
+    }
+
+    @Test
+    void validateLinesReadsFile(@TempDir Path dir) throws IOException {
+        Validator validator = new ValidatorFactory().createValidator();
+        URI uri = validator.registerSchema("{\"type\": \"string\"}");
+        Path file = Files.write(dir.resolve("values.jsonl"), List.of("\"a\"", "1", "\"ą\""), StandardCharsets.UTF_8);
+
+        List<Validator.LineResult> results = new ArrayList<>();
+        validator.validateLines(uri, file, results::add);
+
+        assertThat(results).extracting(r -> r.getResult().isValid()).containsExactly(true, false, true);
+    }
+
+    @Test
+    void validateLinesReportsMalformedLines() throws InterruptedException {
+        Validator validator = new ValidatorFactory().createValidator();
+        URI uri = validator.registerSchema("{}");
+        String lines = "{}\n{\"a\"\n[]\n";
+
+        List<Validator.LineResult> results = new ArrayList<>();
+        validator.validateLines(uri, new StringReader(lines), results::add);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            validator.validateLines(uri, new StringReader(lines), executor, results::add);
+        } finally {
+            executor.shutdown();
+            assertThat(executor.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+        }
+
+        assertThat(results).extracting(Validator.LineResult::getLineNumber).containsExactly(1, 2, 3, 1, 2, 3);
+        assertThat(results).extracting(r -> r.getResult().isValid()).containsExactly(true, false, true, true, false, true);
+        for (Validator.LineResult result : List.of(results.get(1), results.get(4))) {
+            assertThat(result.getResult().getErrors()).hasSize(1);
+            assertError(result.getResult().getErrors().get(0), "", uri.toString(), "", null);
+            assertThat(result.getResult().getErrors().get(0).getError()).startsWith("Malformed JSON value");
+        }
+    }
+
+    @Test
+    void validateLinesParsesEachLineSeparately() {
+        Validator validator = new ValidatorFactory().createValidator();
+        URI uri = validator.registerSchema("{\"type\": \"object\"}");
+        String longValue = "{\"a\": \"%s\"}".formatted("x".repeat(20_000));
+        String lines = String.join("\n", "{\"a\": [1,", "2]}", longValue, "{} x", "1 2", "{\"a\": \"b", "{\"a\": {\"b\": [}}", "{}");
+
+        List<Validator.LineResult> results = new ArrayList<>();
+        validator.validateLines(uri, new StringReader(lines), results::add);
+
+        assertThat(results).extracting(Validator.LineResult::getLineNumber).containsExactly(1, 2, 3, 4, 5, 6, 7, 8);
+        assertThat(results).extracting(r -> r.getResult().isValid()).containsExactly(false, false, true, true, false, false, false, true);
+        assertThat(results).extracting(r -> r.getResult().getErrors().stream().anyMatch(e -> e.getError().startsWith("Malformed JSON value")))
+                .containsExactly(true, true, false, false, false, true, true, false);
+    }
+
+    @Test
+    void validateLinesTakesMalformedMessageFromProvider() {
+        MessageProvider messageProvider = (key, args) -> key + ": " + args[0];
+        URI uri = URI.create("urn:lines");
+        for (JsonNodeFactory instanceFactory : List.of(new JacksonNode.Factory(), new GsonNode.Factory())) {
+            Validator validator = new ValidatorFactory()
+                    .withJsonNodeFactories(new JacksonNode.Factory(), instanceFactory)
+                    .withMessageProvider(messageProvider)
+                    .createValidator();
+            validator.registerSchema(uri, "{}");
+
+            List<Validator.LineResult> results = new ArrayList<>();
+            validator.validateLines(uri, new StringReader("{\"a\"\n"), results::add);
+
+            assertThat(results).hasSize(1);
+            assertThat(results.get(0).getResult().getErrors()).hasSize(1);
+            assertThat(results.get(0).getResult().getErrors().get(0).getError()).startsWith("malformedJson: ");
+        }
+    }
+
+    @Test
+    void validateLinesUsesConfiguredInstanceFactory() {
+        JsonNodeFactory jacksonFactory = new JacksonNode.Factory();
+        List<String> created = new ArrayList<>();
+        JsonNodeFactory instanceFactory = new JsonNodeFactory() {
+            @Override
+            public JsonNode wrap(Object node) {
+                return jacksonFactory.wrap(node);
+            }
+
+            @Override
+            public JsonNode create(String rawJson) {
+                created.add(rawJson);
+                return jacksonFactory.create(rawJson);
+            }
+        };
+        Validator validator = new ValidatorFactory().withJsonNodeFactories(jacksonFactory, instanceFactory).createValidator();
+        URI uri = validator.registerSchema("{\"type\": \"integer\"}");
+
+        List<Validator.LineResult> results = new ArrayList<>();
+        validator.validateLines(uri, new StringReader("1\n\"2\"\n"), results::add);
+
+        assertThat(results).extracting(r -> r.getResult().isValid()).containsExactly(true, false);
+        assertThat(created).containsExactly("1", "\"2\"");
+    }
+
+    @Test
+    void validateAllReturnsResultsInOrder() {
+        Validator validator = new ValidatorFactory().createValidator();
+        URI uri = validator.registerSchema("{\"type\": \"integer\", \"minimum\": 3}");
+        List<Object> instances = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            instances.add(Integer.toString(i));
+        }
+        instances.add(new JacksonNode.Factory().create("2"));
+
+        List<Validator.Result> results = validator.validateAll(uri, instances);
+
+        assertThat(results).hasSize(101);
+        for (int i = 0; i < 100; i++) {
+            assertThat(results.get(i).isValid()).isEqualTo(i >= 3);
+        }
+        assertThat(results.get(100).isValid()).isFalse();
+        assertThat(results.get(100).getErrors()).hasSize(1);
+    }
+
+    @Test
+    void validateAllPropagatesExceptions() {
+        Validator validator = new ValidatorFactory().createValidator();
+        URI uri = validator.registerSchema("{\"type\": \"integer\"}");
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            assertThatThrownBy(() -> validator.validateAll(URI.create("urn:missing"), List.of("1"), executor))
+                    .isInstanceOf(SchemaNotFoundException.class);
+            assertThatThrownBy(() -> validator.validateAll(uri, List.of("1", "{"), executor))
+                    .isInstanceOf(IllegalArgumentException.class);
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void validateAsyncCompletesWithResult() {
+        Validator validator = new ValidatorFactory().createValidator();
+        URI uri = validator.registerSchema("{\"type\": \"integer\"}");
+
+        assertThat(validator.validateAsync(uri, "1").join().isValid()).isTrue();
+        assertThat(validator.validateAsync(uri, "\"1\"", Runnable::run).join().isValid()).isFalse();
+        assertThat(validator.validateAsync(URI.create("urn:missing"), "1"))
+                .failsWithin(Duration.ofSeconds(10))
+                .withThrowableOfType(ExecutionException.class)
+                .withCauseInstanceOf(SchemaNotFoundException.class);
+    }
+
+    @ParameterizedTest
+    @ValueSource(booleans = {false, true})
+    void parallelEvaluationGivesSameResultAsSequential(boolean flagMode) {
+        String schema = """
+                {
+                  "type": "array",
+                  "prefixItems": [{"type": "string"}],
+                  "items": {
+                    "properties": {"id": {"type": "integer"}},
+                    "additionalProperties": {"type": "string"},
+                    "unevaluatedProperties": false
+                  },
+                  "unevaluatedItems": false
+                }""";
+        StringBuilder instance = new StringBuilder("[\"first\"");
+        for (int i = 0; i < 2000; i++) {
+            instance.append(i % 97 == 0 ? ", {\"id\": \"x\", \"name\": 1}" : ", {\"id\": " + i + ", \"name\": \"n\"}");
+        }
+        instance.append(']');
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            Validator sequential = new ValidatorFactory().createValidator();
+            Validator parallel = new ValidatorFactory().withParallelEvaluation(2, pool).createValidator();
+            URI uri = URI.create("urn:parallel");
+            sequential.registerSchema(uri, schema);
+            parallel.registerSchema(uri, schema);
+
+            if (flagMode) {
+                assertThat(parallel.isValid(uri, instance.toString())).isFalse();
+                assertThat(parallel.isValid(uri, "[\"first\", {\"id\": 1}, {\"id\": 2}]")).isTrue();
+                return;
+            }
+            Validator.Result expected = sequential.validate(uri, instance.toString());
+            Validator.Result actual = parallel.validate(uri, instance.toString());
+            assertThat(actual.isValid()).isFalse();
+            assertThat(actual.getErrors())
+                    .extracting(Error::getEvaluationPath, Error::getInstanceLocation, Error::getError)
+                    .containsExactlyElementsOf(expected.getErrors().stream()
+                            .map(e -> tuple(e.getEvaluationPath(), e.getInstanceLocation(), e.getError()))
+                            .collect(Collectors.toList()));
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    void negativeParallelEvaluationThresholdIsRejected() {
+        ValidatorFactory factory = new ValidatorFactory();
+        assertThatThrownBy(() -> factory.withParallelEvaluation(-1))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void registerSchemasRegistersAllSchemas() {
+        Validator validator = new ValidatorFactory().createValidator();
+        Map<URI, Object> schemas = new LinkedHashMap<>();
+        for (int i = 0; i < 200; i++) {
+            schemas.put(URI.create("urn:schema" + i), """
+                    {
+                      "properties": {
+                        "next": {"$ref": "urn:schema%d"}
+                      },
+                      "required": ["id%d"]
+                    }""".formatted((i + 1) % 200, i));
+        }
+        schemas.put(URI.create("urn:node"), new JacksonNode.Factory().create("{\"$id\": \"urn:identified\", \"type\": \"string\"}"));
+
+        Map<URI, URI> uris = validator.registerSchemas(schemas);
+
+        assertThat(uris).hasSize(201);
+        assertThat(uris.get(URI.create("urn:schema5"))).isEqualTo(URI.create("urn:schema5"));
+        assertThat(uris.get(URI.create("urn:node"))).isEqualTo(URI.create("urn:identified"));
+        assertThat(validator.validate(URI.create("urn:schema0"), "{\"id0\": 1, \"next\": {\"id1\": 1}}").isValid()).isTrue();
+        assertThat(validator.validate(URI.create("urn:schema0"), "{\"id0\": 1, \"next\": {}}").isValid()).isFalse();
+        assertThat(validator.validate(URI.create("urn:identified"), "1").isValid()).isFalse();
+
+        assertThat(validator.unregisterSchema(URI.create("urn:identified"))).isTrue();
+        assertThatThrownBy(() -> validator.validate(URI.create("urn:node"), "\"a\""))
+                .isInstanceOf(SchemaNotFoundException.class);
+    }
+
+    @Test
+    void registerSchemasRegistersNothingIfAnySchemaIsInvalid() {
+        Validator validator = new ValidatorFactory().createValidator();
+        Map<URI, Object> schemas = new LinkedHashMap<>();
+        schemas.put(URI.create("urn:valid"), "{\"type\": \"string\"}");
+        schemas.put(URI.create("urn:invalid"), "{\"type\": 1}");
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            assertThatThrownBy(() -> validator.registerSchemas(schemas, executor))
+                    .isInstanceOf(InvalidSchemaException.class);
+            assertThatThrownBy(() -> validator.validate(URI.create("urn:valid"), "\"a\""))
+                    .isInstanceOf(SchemaNotFoundException.class);
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void registerSchemasDoesNotParseFailedBatchAgain() {
+        AtomicInteger parsed = new AtomicInteger();
+        Validator validator = new ValidatorFactory()
+                .withEvaluatorFactory((ctx, fieldName, node) -> {
+                    if ("counted".equals(fieldName)) {
+                        parsed.incrementAndGet();
+                    }
+                    return Optional.empty();
+                })
+                .createValidator();
+        Map<URI, Object> schemas = new LinkedHashMap<>();
+        schemas.put(URI.create("urn:valid"), "{\"counted\": true}");
+        schemas.put(URI.create("urn:invalid"), "{\"type\": 1}");
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            assertThatThrownBy(() -> validator.registerSchemas(schemas, executor))
+                    .isInstanceOf(InvalidSchemaException.class);
+            assertThat(parsed).hasValue(1);
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void registerSchemasSupportsMetaSchemasFromTheSameBatch() {
+        Validator validator = new ValidatorFactory().createValidator();
+        Map<URI, Object> schemas = new LinkedHashMap<>();
+        schemas.put(URI.create("urn:meta"), """
+                {
+                  "$schema": "https://json-schema.org/draft/2020-12/schema",
+                  "$dynamicAnchor": "meta",
+                  "$ref": "https://json-schema.org/draft/2020-12/schema",
+                  "properties": {
+                    "type": {"const": "string"}
+                  }
+                }""");
+        schemas.put(URI.create("urn:schema"), "{\"$schema\": \"urn:meta\", \"type\": \"string\"}");
+
+        validator.registerSchemas(schemas);
+
+        assertThat(validator.validate(URI.create("urn:schema"), "\"a\"").isValid()).isTrue();
+        assertThatThrownBy(() -> validator.registerSchema("{\"$schema\": \"urn:meta\", \"type\": \"integer\"}"))
+                .isInstanceOf(InvalidSchemaException.class);
+    }
+
+    @Test
+    void unregisterSchemaRemovesWholeDocument() {
+        Validator validator = new ValidatorFactory().createValidator();
+        URI uri = validator.registerSchema("""
+                {
+                  "$id": "urn:root",
+                  "$defs": {
+                    "embedded": {"$id": "urn:embedded", "type": "string"},
+                    "anchored": {"$anchor": "int", "type": "integer"}
+                  }
+                }""");
+
+        assertThat(validator.unregisterSchema(URI.create("urn:embedded"))).isTrue();
+
+        assertThat(validator.unregisterSchema(uri)).isFalse();
+        assertThatThrownBy(() -> validator.validate(uri, "{}")).isInstanceOf(SchemaNotFoundException.class);
+        assertThatThrownBy(() -> validator.validate(URI.create("urn:embedded"), "{}")).isInstanceOf(SchemaNotFoundException.class);
+        assertThatThrownBy(() -> validator.validate(URI.create("urn:root#int"), "{}")).isInstanceOf(SchemaNotFoundException.class);
+    }
+
+    @Test
+    void unregisterSchemaKeepsOtherSchemas() {
+        Validator validator = new ValidatorFactory().createValidator();
+        URI uri1 = validator.registerSchema("{\"type\": \"string\"}");
+        URI uri2 = validator.registerSchema(URI.create("urn:other"), "{\"type\": \"integer\"}");
+
+        assertThat(validator.unregisterSchema(uri1)).isTrue();
+
+        assertThat(validator.validate(uri2, "1").isValid()).isTrue();
+        assertThat(validator.unregisterSchema(URI.create("urn:unknown"))).isFalse();
+    }
+
+    @Test
+    void unregisteredResolvedSchemaIsResolvedAgain() {
+        List<String> resolved = new ArrayList<>();
+        Validator validator = new ValidatorFactory()
+                .withSchemaResolver(uri -> {
+                    if (!uri.startsWith("urn:remote")) {
+                        return SchemaResolver.Result.empty();
+                    }
+                    resolved.add(uri);
+                    return SchemaResolver.Result.fromString("{\"type\": \"integer\"}");
+                })
+                .createValidator();
+        URI uri = validator.registerSchema("{\"$ref\": \"urn:remote\"}");
+        validator.validate(uri, "1");
+
+        assertThat(validator.unregisterSchema(URI.create("urn:remote"))).isTrue();
+        assertThat(validator.validate(uri, "1").isValid()).isTrue();
+        assertThat(resolved).containsExactly("urn:remote", "urn:remote");
+    }
+
+    @Test
+    void evictsResolvedSchemasOverLimit() {
+        List<String> resolved = new ArrayList<>();
+        Validator validator = new ValidatorFactory()
+                .withResolvedSchemaLimit(1)
+                .withSchemaResolver(uri -> {
+                    if (!uri.startsWith("urn:remote")) {
+                        return SchemaResolver.Result.empty();
+                    }
+                    resolved.add(uri);
+                    return SchemaResolver.Result.fromString("{\"type\": \"integer\"}");
+                })
+                .createValidator();
+        URI uri = validator.registerSchema("""
+                {
+                  "properties": {
+                    "a": {"$ref": "urn:remote1"},
+                    "b": {"$ref": "urn:remote2"}
+                  }
+                }""");
+
+        assertThat(validator.validate(uri, "{\"a\": 1, \"b\": 2}").isValid()).isTrue();
+        assertThat(validator.validate(uri, "{\"a\": 1, \"b\": \"x\"}").isValid()).isFalse();
+        assertThat(resolved).containsExactly("urn:remote1", "urn:remote2", "urn:remote1", "urn:remote2");
+    }
+
+    @Test
+    void linkedRefsFollowRegistryChanges() {
+        Validator validator = new ValidatorFactory().createValidator();
+        URI uri = validator.registerSchema("{\"items\": {\"$ref\": \"urn:target\"}}");
+        validator.registerSchema(URI.create("urn:target"), "{\"type\": \"integer\"}");
+        assertThat(validator.validate(uri, "[1, 2]").isValid()).isTrue();
+        assertThat(validator.validate(uri, "[1, 2]").isValid()).isTrue();
+
+        validator.unregisterSchema(URI.create("urn:target"));
+        assertThat(validator.validate(uri, "[1, 2]").getErrors())
+                .extracting(Error::getError)
+                .containsExactly("Resolution of $ref [urn:target] failed", "Resolution of $ref [urn:target] failed");
+
+        validator.registerSchema(URI.create("urn:target"), "{\"type\": \"string\"}");
+        assertThat(validator.validate(uri, "[1, 2]").isValid()).isFalse();
+        assertThat(validator.validate(uri, "[\"a\"]").isValid()).isTrue();
+    }
+
+    @Test
+    void dynamicRefsResolveToOutermostDynamicAnchor() {
+        Validator validator = new ValidatorFactory().createValidator();
+        URI tree = validator.registerSchema("""
+                {
+                  "$id": "urn:tree",
+                  "$dynamicAnchor": "node",
+                  "properties": {
+                    "tag": {"$dynamicRef": "#tag"},
+                    "children": {
+                      "type": "array",
+                      "items": {"$dynamicRef": "#node"}
+                    }
+                  },
+                  "$defs": {
+                    "tag": {"$dynamicAnchor": "tag", "type": "string"}
+                  }
+                }""");
+        URI strictTree = validator.registerSchema("""
+                {
+                  "$id": "urn:strict-tree",
+                  "$dynamicAnchor": "node",
+                  "$ref": "urn:tree",
+                  "required": ["name"],
+                  "$defs": {
+                    "tag": {"$dynamicAnchor": "tag", "maxLength": 3}
+                  }
+                }""");
+        String instance = """
+                {"name": "a", "tag": "abc", "children": [{"name": "b", "children": [{"tag": "abcd"}]}]}""";
+
+        assertThat(validator.isValid(tree, instance)).isTrue();
+        assertThat(validator.validate(strictTree, instance).getErrors())
+                .extracting(Error::getInstanceLocation)
+                .containsExactlyInAnyOrder("/children/0/children/0", "/children/0/children/0/tag");
+        assertThat(validator.isValid(strictTree, "{\"name\": \"a\", \"children\": [{\"name\": \"b\", \"tag\": 1}]}")).isTrue();
+    }
+
+    @Test
+    void recursiveRefsResolveToOutermostRecursiveAnchor() {
+        Validator validator = new ValidatorFactory().createValidator();
+        URI tree = validator.registerSchema("""
+                {
+                  "$schema": "https://json-schema.org/draft/2019-09/schema",
+                  "$id": "urn:recursive-tree",
+                  "$recursiveAnchor": true,
+                  "properties": {
+                    "children": {"items": {"$recursiveRef": "#"}}
+                  }
+                }""");
+        URI strictTree = validator.registerSchema("""
+                {
+                  "$schema": "https://json-schema.org/draft/2019-09/schema",
+                  "$id": "urn:strict-recursive-tree",
+                  "$recursiveAnchor": true,
+                  "$ref": "urn:recursive-tree",
+                  "required": ["name"]
+                }""");
+        URI looseTree = validator.registerSchema("""
+                {
+                  "$schema": "https://json-schema.org/draft/2019-09/schema",
+                  "$id": "urn:loose-recursive-tree",
+                  "$ref": "urn:recursive-tree",
+                  "required": ["name"]
+                }""");
+        String instance = """
+                {"name": "a", "children": [{"name": "b", "children": [{}]}]}""";
+
+        assertThat(validator.isValid(tree, instance)).isTrue();
+        assertThat(validator.validate(strictTree, instance).getErrors())
+                .extracting(Error::getInstanceLocation)
+                .containsExactly("/children/0/children/0");
+        assertThat(validator.isValid(looseTree, instance)).isTrue();
+    }
+
+    @Test
+    void schemaViewExposesKeywordsAndSubschemas() {
+        Validator validator = new ValidatorFactory()
+                .withEvaluatorFactory(new EvaluatorFactory.Builder()
+                        .withKeyword("even", () -> (ctx, node) -> node.isInteger() && node.asInteger().testBit(0) ? Evaluator.Result.failure() : Evaluator.Result.success())
+                        .build())
+                .createValidator();
+        URI uri = validator.registerSchema(URI.create("urn:view"), """
+                {
+                  "title": "view",
+                  "type": "object",
+                  "properties": {
+                    "a": {"even": true}
+                  },
+                  "$ref": "#/$defs/b",
+                  "$defs": {
+                    "b": {"required": ["a"]}
+                  }
+                }""");
+
+        SchemaView view = validator.getSchemaView(uri);
+        assertThat(view.getSchemaLocation()).isEqualTo(URI.create("urn:view#"));
+        assertThat(view.getKeywords()).containsExactlyInAnyOrder("title", "type", "properties", "$ref");
+        assertThat(view.isAnnotation("title")).isTrue();
+        assertThat(view.isBuiltIn("type")).isTrue();
+        assertThat(view.isAnnotation("type")).isFalse();
+        assertThat(view.getEvaluator("$defs")).isNull();
+        assertThat(view.hasDynamicAnchors()).isFalse();
+
+        SchemaView refTarget = view.getRefTarget();
+        assertThat(refTarget.getSchemaLocation()).isEqualTo(URI.create("urn:view#/$defs/b"));
+        assertThat(refTarget).isEqualTo(view.getSubschema(view.getSchemaNode().asObject().get("$defs").asObject().get("b")));
+
+        SchemaView property = view.getSubschema(view.getSchemaNode().asObject().get("properties").asObject().get("a"));
+        assertThat(property.getKeywords()).containsExactly("even");
+        assertThat(property.isBuiltIn("even")).isFalse();
+        assertThat(property.getRefTarget()).isNull();
+        JacksonNode.Factory factory = new JacksonNode.Factory();
+        assertThat(property.isValid(factory.create("2"))).isTrue();
+        assertThat(property.isValid(factory.create("3"))).isFalse();
+    }
+
+    @Test
+    void evaluatorsAreNotInvokedForNonApplicableTypes() {
+        List<String> invokedFor = new ArrayList<>();
+        Evaluator evaluator = new Evaluator() {
+            @Override
+            public Result evaluate(EvaluationContext ctx, JsonNode node) {
+                invokedFor.add(node.getNodeType().getName());
+                return Result.failure();
+            }
+
+            @Override
+            public Set<SimpleType> getApplicableTypes() {
+                return EnumSet.of(SimpleType.STRING, SimpleType.NUMBER);
+            }
+        };
+        Validator validator = new ValidatorFactory()
+                .withEvaluatorFactory(new EvaluatorFactory.Builder()
+                        .withKeyword("custom", () -> evaluator)
+                        .build())
+                .createValidator();
+        URI uri = validator.registerSchema("""
+                {
+                  "custom": true
+                }""");
+
+        assertThat(validator.validate(uri, "null").isValid()).isTrue();
+        assertThat(validator.validate(uri, "{}").isValid()).isTrue();
+        assertThat(validator.validate(uri, "[]").isValid()).isTrue();
+        assertThat(validator.isValid(uri, "\"a\"")).isFalse();
+        assertThat(validator.isValid(uri, "1")).isFalse();
+        assertThat(validator.isValid(uri, "1.5")).isFalse();
+        assertThat(invokedFor).containsExactly("string", "integer", "number");
+    }
+
+    @Test
+    void negativeResolvedSchemaLimitIsRejected() {
+        ValidatorFactory factory = new ValidatorFactory();
+        assertThatThrownBy(() -> factory.withResolvedSchemaLimit(-1))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static Stream<Arguments> streamingData() {
+        String array = IntStream.range(0, 100_000).mapToObj(i -> "[%d]".formatted(i)).collect(Collectors.joining(",", "[", "]"));
+        String object = IntStream.range(0, 100_000).mapToObj(i -> "\"%d\": [%d]".formatted(i, i)).collect(Collectors.joining(",", "{", "}"));
+        return Stream.of(
+                Arguments.of("{\"items\": {\"type\": \"array\"}}", array, true),
+                Arguments.of("{\"$ref\": \"#/$defs/a\", \"$defs\": {\"a\": {\"items\": {\"items\": {\"type\": \"integer\"}}}}}", array, true),
+                Arguments.of("{\"items\": {\"type\": \"array\"}, \"uniqueItems\": true}", array, false),
+                Arguments.of("{\"allOf\": [{\"items\": {\"type\": \"array\"}}]}", array, false),
+                Arguments.of("{\"additionalProperties\": {\"type\": \"array\"}}", object, false)
+        );
+    }
+
     private static Stream<Arguments> resolutionData() {
         return Stream.of(
                 Arguments.of("https://json-schema.org", "https://json-schema.com", "https://json-schema.com"),
@@ -498,4 +1408,18 @@ class ValidatorTest {
                 Arguments.of("urn:schema", "https://json-schema.org/321", "https://json-schema.org/321")
                 );
     }
-}
\ No newline at end of file
+
+    private static void assertSameResult(Validator.Result actual, Validator.Result expected) {
+        assertThat(actual.isValid()).isEqualTo(expected.isValid());
+        assertThat(actual.getErrors())
+                .extracting(Error::getEvaluationPath, Error::getSchemaLocation, Error::getInstanceLocation, Error::getKeyword, Error::getError)
+                .containsExactlyElementsOf(expected.getErrors().stream()
+                        .map(e -> tuple(e.getEvaluationPath(), e.getSchemaLocation(), e.getInstanceLocation(), e.getKeyword(), e.getError()))
+                        .collect(Collectors.toList()));
+        assertThat(actual.getAnnotations())
+                .extracting(Annotation::getEvaluationPath, Annotation::getSchemaLocation, Annotation::getInstanceLocation, Annotation::getKeyword, Annotation::getAnnotation)
+                .containsExactlyElementsOf(expected.getAnnotations().stream()
+                        .map(a -> tuple(a.getEvaluationPath(), a.getSchemaLocation(), a.getInstanceLocation(), a.getKeyword(), a.getAnnotation()))
+                        .collect(Collectors.toList()));
+    }
+}
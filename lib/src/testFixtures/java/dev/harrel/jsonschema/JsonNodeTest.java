@@ -219,6 +219,16 @@ public abstract class JsonNodeTest implements ProviderTest {
         assertThat(object.get("a").asArray().get(1).asObject().get("b").getJsonPointer()).isEqualTo("/a/1/b");
     }
 
+    @Test
+    void jsonPointerForEscapedKeys() {
+        JsonNode node = getJsonNodeFactory().create("{\"a/b\": {\"c~d\": [true]}}");
+        JsonNode leaf = node.asObject().get("a/b").asObject().get("c~d").asArray().get(0);
+        /* Deepest node first, so parents compute their pointers on demand */
+        assertThat(leaf.getJsonPointer()).isEqualTo("/a~1b/c~0d/0");
+        assertThat(node.asObject().get("a/b").getJsonPointer()).isEqualTo("/a~1b");
+        assertThat(node.getJsonPointer()).isEmpty();
+    }
+
     @Test
     void nullEquals() {
         JsonNodeFactory nodeFactory = getJsonNodeFactory();
@@ -20,7 +20,7 @@ public abstract class SpecificationSuiteTest implements ProviderTest {
                 .withSchemaResolver(createSchemaResolver())
                 .createValidator();
 
-        SuiteTestGenerator generator = new SuiteTestGenerator(new ProviderMapper(getJsonNodeFactory()), validator, Map.of(
+        SuiteTestGenerator generator = createGenerator(validator, Map.of(
                 // Unfortunately, java regex does not support \\p{Letter} - \\p{L} would work, but well...
                 "pattern", Map.of("pattern with Unicode property escape requires unicode mode", Set.of("Digits do not match"))
         ));
@@ -35,7 +35,7 @@ public abstract class SpecificationSuiteTest implements ProviderTest {
                 .withSchemaResolver(createSchemaResolver())
                 .createValidator();
 
-        SuiteTestGenerator generator = new SuiteTestGenerator(new ProviderMapper(getJsonNodeFactory()), validator, Map.of());
+        SuiteTestGenerator generator = createGenerator(validator, Map.of());
         return generator.generate(getTestPath() + "/draft2019-09");
     }
 
@@ -47,7 +47,7 @@ public abstract class SpecificationSuiteTest implements ProviderTest {
                 .withSchemaResolver(createSchemaResolver())
                 .createValidator();
 
-        SuiteTestGenerator generator = new SuiteTestGenerator(new ProviderMapper(getJsonNodeFactory()), validator, Map.of());
+        SuiteTestGenerator generator = createGenerator(validator, Map.of());
         return generator.generate(getTestPath() + "/draft7");
     }
 
@@ -59,7 +59,7 @@ public abstract class SpecificationSuiteTest implements ProviderTest {
                 .withSchemaResolver(createSchemaResolver())
                 .createValidator();
 
-        SuiteTestGenerator generator = new SuiteTestGenerator(new ProviderMapper(getJsonNodeFactory()), validator, Map.of());
+        SuiteTestGenerator generator = createGenerator(validator, Map.of());
         return generator.generate(getTestPath() + "/draft6");
     }
 
@@ -71,7 +71,7 @@ public abstract class SpecificationSuiteTest implements ProviderTest {
                 .withSchemaResolver(createSchemaResolver())
                 .createValidator();
 
-        SuiteTestGenerator generator = new SuiteTestGenerator(new ProviderMapper(getJsonNodeFactory()), validator, Map.of());
+        SuiteTestGenerator generator = createGenerator(validator, Map.of());
         return generator.generate(getTestPath() + "/draft4");
     }
 
@@ -83,7 +83,7 @@ public abstract class SpecificationSuiteTest implements ProviderTest {
                 .withSchemaResolver(createSchemaResolver())
                 .createValidator();
 
-        SuiteTestGenerator generator = new SuiteTestGenerator(new ProviderMapper(getJsonNodeFactory()), validator, skippedFormatTests());
+        SuiteTestGenerator generator = createGenerator(validator, skippedFormatTests());
         return generator.generate(getTestPath() + "/draft2020-12/optional/format");
     }
 
@@ -96,7 +96,7 @@ public abstract class SpecificationSuiteTest implements ProviderTest {
                 .withSchemaResolver(createSchemaResolver())
                 .createValidator();
 
-        SuiteTestGenerator generator = new SuiteTestGenerator(new ProviderMapper(getJsonNodeFactory()), validator, skippedFormatTests());
+        SuiteTestGenerator generator = createGenerator(validator, skippedFormatTests());
         return generator.generate(getTestPath() + "/draft2019-09/optional/format");
     }
 
@@ -109,7 +109,7 @@ public abstract class SpecificationSuiteTest implements ProviderTest {
                 .withSchemaResolver(createSchemaResolver())
                 .createValidator();
 
-        SuiteTestGenerator generator = new SuiteTestGenerator(new ProviderMapper(getJsonNodeFactory()), validator, skippedFormatTests());
+        SuiteTestGenerator generator = createGenerator(validator, skippedFormatTests());
         return generator.generate(getTestPath() + "/draft7/optional/format");
     }
 
@@ -122,7 +122,7 @@ public abstract class SpecificationSuiteTest implements ProviderTest {
                 .withSchemaResolver(createSchemaResolver())
                 .createValidator();
 
-        SuiteTestGenerator generator = new SuiteTestGenerator(new ProviderMapper(getJsonNodeFactory()), validator, skippedFormatTests());
+        SuiteTestGenerator generator = createGenerator(validator, skippedFormatTests());
         return generator.generate(getTestPath() + "/draft6/optional/format");
     }
 
@@ -135,7 +135,7 @@ public abstract class SpecificationSuiteTest implements ProviderTest {
                 .withSchemaResolver(createSchemaResolver())
                 .createValidator();
 
-        SuiteTestGenerator generator = new SuiteTestGenerator(new ProviderMapper(getJsonNodeFactory()), validator, skippedFormatTests());
+        SuiteTestGenerator generator = createGenerator(validator, skippedFormatTests());
         return generator.generate(getTestPath() + "/draft4/optional/format");
     }
 
@@ -146,7 +146,7 @@ public abstract class SpecificationSuiteTest implements ProviderTest {
                 .withSchemaResolver(createSchemaResolver())
                 .createValidator();
 
-        SuiteTestGenerator generator = new SuiteTestGenerator(new ProviderMapper(getJsonNodeFactory()), validator, Map.of());
+        SuiteTestGenerator generator = createGenerator(validator, Map.of());
         return Stream.of(
                 generator.generate(getTestPath() + "/draft2020-12/optional/bignum" + getFileExtension()),
                 generator.generate(getTestPath() + "/draft2020-12/optional/cross-draft" + getFileExtension()),
@@ -165,7 +165,7 @@ public abstract class SpecificationSuiteTest implements ProviderTest {
                 .withSchemaResolver(createSchemaResolver())
                 .createValidator();
 
-        SuiteTestGenerator generator = new SuiteTestGenerator(new ProviderMapper(getJsonNodeFactory()), validator, Map.of());
+        SuiteTestGenerator generator = createGenerator(validator, Map.of());
         return Stream.of(
                 generator.generate(getTestPath() + "/draft2019-09/optional/bignum" + getFileExtension()),
                 generator.generate(getTestPath() + "/draft2019-09/optional/cross-draft" + getFileExtension()),
@@ -184,7 +184,7 @@ public abstract class SpecificationSuiteTest implements ProviderTest {
                 .withSchemaResolver(createSchemaResolver())
                 .createValidator();
 
-        SuiteTestGenerator generator = new SuiteTestGenerator(new ProviderMapper(getJsonNodeFactory()), validator, Map.of());
+        SuiteTestGenerator generator = createGenerator(validator, Map.of());
         return Stream.of(
                 generator.generate(getTestPath() + "/draft7/optional/bignum" + getFileExtension()),
                 generator.generate(getTestPath() + "/draft7/optional/cross-draft" + getFileExtension()),
@@ -201,7 +201,7 @@ public abstract class SpecificationSuiteTest implements ProviderTest {
                 .withSchemaResolver(createSchemaResolver())
                 .createValidator();
 
-        SuiteTestGenerator generator = new SuiteTestGenerator(new ProviderMapper(getJsonNodeFactory()), validator, Map.of());
+        SuiteTestGenerator generator = createGenerator(validator, Map.of());
         return Stream.of(
                 generator.generate(getTestPath() + "/draft6/optional/bignum" + getFileExtension()),
                 generator.generate(getTestPath() + "/draft6/optional/float-overflow" + getFileExtension()),
@@ -217,7 +217,7 @@ public abstract class SpecificationSuiteTest implements ProviderTest {
                 .withSchemaResolver(createSchemaResolver())
                 .createValidator();
 
-        SuiteTestGenerator generator = new SuiteTestGenerator(new ProviderMapper(getJsonNodeFactory()), validator, Map.of());
+        SuiteTestGenerator generator = createGenerator(validator, Map.of());
         return Stream.of(
                 generator.generate(getTestPath() + "/draft4/optional/bignum" + getFileExtension()),
                 generator.generate(getTestPath() + "/draft4/optional/float-overflow" + getFileExtension()),
@@ -225,6 +225,10 @@ public abstract class SpecificationSuiteTest implements ProviderTest {
         ).flatMap(Function.identity());
     }
 
+    protected SuiteTestGenerator createGenerator(Validator validator, Map<String, Map<String, Set<String>>> skippedTests) {
+        return new SuiteTestGenerator(new ProviderMapper(getJsonNodeFactory()), validator, skippedTests);
+    }
+
     SchemaResolver createSchemaResolver() {
         return new RemoteSchemaResolver();
     }
@@ -94,6 +94,11 @@ public class SuiteTestGenerator {
 //        logger.info(String.valueOf(valid));
 
         URI uri = validator.registerSchema(schema);
+        assertValidation(uri, instance, valid);
+    }
+
+    protected void assertValidation(URI uri, JsonNode instance, boolean valid) {
         Assertions.assertEquals(valid, validator.validate(uri, instance).isValid());
+        Assertions.assertEquals(valid, validator.isValid(uri, instance));
     }
 }
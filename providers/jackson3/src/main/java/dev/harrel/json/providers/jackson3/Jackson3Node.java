@@ -12,19 +12,23 @@ import java.math.BigDecimal;
 import java.util.*;
 
 public final class Jackson3Node extends AbstractJsonNode<tools.jackson.databind.JsonNode> {
-    private Jackson3Node(tools.jackson.databind.JsonNode node, String jsonPointer) {
-        super(Objects.requireNonNull(node), jsonPointer);
+    private Jackson3Node(tools.jackson.databind.JsonNode node, Jackson3Node parent, String key) {
+        super(Objects.requireNonNull(node), parent, key);
+    }
+
+    private Jackson3Node(tools.jackson.databind.JsonNode node, Jackson3Node parent, int index) {
+        super(Objects.requireNonNull(node), parent, index);
     }
 
     private Jackson3Node(tools.jackson.databind.JsonNode node) {
-        this(node, "");
+        super(Objects.requireNonNull(node), "");
     }
 
     @Override
     protected List<JsonNode> createArray() {
         List<JsonNode> elements = new ArrayList<>(node.size());
         for (tools.jackson.databind.JsonNode jsonNode : node.values()) {
-            elements.add(new Jackson3Node(jsonNode, jsonPointer + "/" + elements.size()));
+            elements.add(new Jackson3Node(jsonNode, this, elements.size()));
         }
         return elements;
     }
@@ -33,7 +37,7 @@ public final class Jackson3Node extends AbstractJsonNode<tools.jackson.databind.
     protected Map<String, JsonNode> createObject() {
         Map<String, JsonNode> map = newHashMap(node.size());
         for (Map.Entry<String, tools.jackson.databind.JsonNode> entry : node.properties()) {
-            map.put(entry.getKey(), new Jackson3Node(entry.getValue(), jsonPointer + "/" + JsonNode.encodeJsonPointer(entry.getKey())));
+            map.put(entry.getKey(), new Jackson3Node(entry.getValue(), this, entry.getKey()));
         }
         return map;
     }
@@ -79,7 +83,7 @@ public final class Jackson3Node extends AbstractJsonNode<tools.jackson.databind.
         @Override
         public Jackson3Node wrap(Object node) {
             if (node instanceof Jackson3Node providerNode) {
-                return providerNode.jsonPointer.isEmpty() ? providerNode : new Jackson3Node(providerNode.node);
+                return providerNode.isRoot() ? providerNode : new Jackson3Node(providerNode.node);
             } else if (node instanceof tools.jackson.databind.JsonNode providerNode) {
                 return new Jackson3Node(providerNode);
             } else {